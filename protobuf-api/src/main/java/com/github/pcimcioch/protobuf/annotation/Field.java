@@ -1,5 +1,8 @@
 package com.github.pcimcioch.protobuf.annotation;
 
+import com.github.pcimcioch.protobuf.dto.ListStorage;
+import com.github.pcimcioch.protobuf.dto.RawMessage;
+
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 
@@ -50,6 +53,31 @@ public @interface Field {
      */
     boolean packed() default false;
 
+    /**
+     * Storage of the repeated field. Compact storages are supported only by integer fields, arena storage only by
+     * string and bytes fields
+     *
+     * @return storage of the repeated field
+     */
+    ListStorage storage() default ListStorage.AUTO;
+
+    /**
+     * Whether message field is kept in encoded form, as {@link RawMessage}. Such field is not parsed while reading and
+     * is written back as it is. Supported only by message fields
+     *
+     * @return whether message field is kept in encoded form
+     */
+    boolean raw() default false;
+
+    /**
+     * Whether message field is flattened into the parent message. Fields of the nested message are stored as
+     * components of the parent record, together with the presence flag, and the nested message is created only when
+     * accessed. Supported only by singular message fields, whose type contains singular scalar and enum fields only
+     *
+     * @return whether message field is flattened into the parent message
+     */
+    boolean inline() default false;
+
     /**
      * double
      */
@@ -45,6 +45,30 @@ public @interface Message {
      * @return support unknown fields
      */
     boolean supportUnknownFields() default false;
+
+    /**
+     * Whether supported unknown fields should be kept in the encoded form.
+     * <p>
+     * If disabled, each unknown field is saved as a separate {@link com.github.pcimcioch.protobuf.io.UnknownField} record.
+     * <p>
+     * If enabled, all unknown fields are saved as one contiguous range of bytes in
+     * {@link com.github.pcimcioch.protobuf.io.UnknownFields}, written back with a single copy. Used only if
+     * {@link #supportUnknownFields()} is enabled
+     *
+     * @return keep unknown fields encoded
+     */
+    boolean rawUnknownFields() default false;
+
+    /**
+     * Whether message should keep its encoded form.
+     * <p>
+     * If enabled, message is encoded only once, the first time it is written or its size is computed. Following writes,
+     * also as a field of other messages, copy already encoded bytes. Encoded form is kept as long as the message is in
+     * use. Useful for immutable messages that are sent many times
+     *
+     * @return cache encoded message
+     */
+    boolean cacheEncoded() default false;
 }
 
 
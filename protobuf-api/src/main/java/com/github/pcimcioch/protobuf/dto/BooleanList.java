@@ -1,35 +1,35 @@
 package com.github.pcimcioch.protobuf.dto;
 
+import com.github.pcimcioch.protobuf.io.ProtobufReader.BooleanConsumer;
+
 import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.RandomAccess;
+import java.util.function.IntConsumer;
 
 import static java.lang.Math.max;
-import static java.lang.Math.min;
 
 /**
- * Immutable list of booleans
+ * Immutable list of booleans. Elements are stored as bits, 64 elements in a single long
  */
 public final class BooleanList extends AbstractList<Boolean> implements RandomAccess {
-    private static final BooleanList EMPTY = new BooleanList(new boolean[0], 0);
+    private static final BooleanList EMPTY = new BooleanList(new long[0], 0);
 
-    private final boolean[] values;
+    private final long[] words;
     private final int size;
+    private int hash;
 
-    private BooleanList(boolean[] values, int size) {
-        this.values = values;
+    private BooleanList(long[] words, int size) {
+        this.words = words;
         this.size = size;
     }
 
-    private BooleanList(boolean[] values) {
-        this(values, values.length);
-    }
-
     @Override
     @Deprecated
     public Boolean get(int index) {
-        return values[rangeCheck(index)];
+        return at(rangeCheck(index));
     }
 
     /**
@@ -39,7 +39,7 @@ public final class BooleanList extends AbstractList<Boolean> implements RandomAc
      * @return primitive value
      */
     public boolean getBoolean(int index) {
-        return values[rangeCheck(index)];
+        return at(rangeCheck(index));
     }
 
     @Override
@@ -47,11 +47,79 @@ public final class BooleanList extends AbstractList<Boolean> implements RandomAc
         return size;
     }
 
+    /**
+     * Returns number of {@code true} elements
+     *
+     * @return number of {@code true} elements
+     */
+    public int cardinality() {
+        int result = 0;
+        for (long word : words) {
+            result += Long.bitCount(word);
+        }
+        return result;
+    }
+
+    /**
+     * Calls action with index of every {@code true} element, in ascending order
+     *
+     * @param action action to call
+     */
+    public void forEachTrue(IntConsumer action) {
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0L) {
+                action.accept((i << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * Calls action with every element, in order, without boxing
+     *
+     * @param action action to call
+     */
+    public void forEachBoolean(BooleanConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(at(i));
+        }
+    }
+
+    /**
+     * Copy all elements to given array
+     *
+     * @param destination destination array
+     * @param offset      position in the destination array of the first element
+     * @throws IndexOutOfBoundsException if elements do not fit in the destination array
+     */
+    public void copyTo(boolean[] destination, int offset) {
+        Objects.checkFromIndexSize(offset, size, destination.length);
+        for (int i = 0; i < size; i++) {
+            destination[offset + i] = at(i);
+        }
+    }
+
+    /**
+     * Returns new array with all elements
+     *
+     * @return array of elements
+     */
+    public boolean[] toBooleanArray() {
+        boolean[] result = new boolean[size];
+        copyTo(result, 0);
+        return result;
+    }
+
     @Override
     public int hashCode() {
-        int result = 1;
-        for (int i = 0; i < size; i++) {
-            result = 31 * result + (values[i] ? 1231 : 1237);
+        int result = hash;
+        if (result == 0) {
+            result = 1;
+            for (int i = 0; i < size; i++) {
+                result = 31 * result + (at(i) ? 1231 : 1237);
+            }
+            hash = result;
         }
 
         return result;
@@ -59,9 +127,16 @@ public final class BooleanList extends AbstractList<Boolean> implements RandomAc
 
     @Override
     public boolean equals(Object o) {
-        return o instanceof BooleanList other && other.size == size
-                ? Arrays.equals(values, 0, size, other.values, 0, size)
-                : super.equals(o);
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof BooleanList other) || other.size != size) {
+            return super.equals(o);
+        }
+        if (hash != 0 && other.hash != 0 && hash != other.hash) {
+            return false;
+        }
+        return Arrays.equals(words, other.words);
     }
 
     /**
@@ -80,7 +155,16 @@ public final class BooleanList extends AbstractList<Boolean> implements RandomAc
      * @return new list
      */
     public static BooleanList of(boolean... elements) {
-        return elements.length == 0 ? EMPTY : new BooleanList(elements);
+        if (elements.length == 0) {
+            return EMPTY;
+        }
+        long[] data = new long[words(elements.length)];
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i]) {
+                data[i >>> 6] |= 1L << i;
+            }
+        }
+        return new BooleanList(data, elements.length);
     }
 
     /**
@@ -93,12 +177,19 @@ public final class BooleanList extends AbstractList<Boolean> implements RandomAc
         if (elements.isEmpty()) {
             return EMPTY;
         }
-        boolean[] data = new boolean[elements.size()];
+        long[] data = new long[words(elements.size())];
         int i = 0;
         for (boolean element : elements) {
-            data[i++] = element;
+            if (element) {
+                data[i >>> 6] |= 1L << i;
+            }
+            i++;
         }
-        return new BooleanList(data);
+        return new BooleanList(data, elements.size());
+    }
+
+    private boolean at(int index) {
+        return (words[index >>> 6] & (1L << index)) != 0L;
     }
 
     private int rangeCheck(int index) {
@@ -108,11 +199,17 @@ public final class BooleanList extends AbstractList<Boolean> implements RandomAc
         return index;
     }
 
+    private static int words(int size) {
+        return (size + 63) >>> 6;
+    }
+
     /**
-     * Builder
+     * Builder. Storage is allocated on the first added element and kept by {@link #clear()} and {@link #build()}, so
+     * one builder can be reused to build many lists. Builder is not thread safe, and should be confined to a single
+     * thread
      */
     public static final class Builder {
-        private boolean[] values = new boolean[8];
+        private long[] words = EMPTY.words;
         private int size = 0;
 
         /**
@@ -122,7 +219,7 @@ public final class BooleanList extends AbstractList<Boolean> implements RandomAc
          */
         public void add(boolean element) {
             grow(1);
-            values[size++] = element;
+            append(element);
         }
 
         /**
@@ -133,44 +230,82 @@ public final class BooleanList extends AbstractList<Boolean> implements RandomAc
         public void addAll(Collection<Boolean> elements) {
             grow(elements.size());
 
-            if (elements instanceof BooleanList our) {
-                System.arraycopy(our.values, 0, values, size, our.size);
+            if (elements instanceof BooleanList our && (size & 63) == 0) {
+                System.arraycopy(our.words, 0, words, size >>> 6, our.words.length);
                 size += our.size;
+            } else if (elements instanceof BooleanList our) {
+                for (int i = 0; i < our.size; i++) {
+                    append(our.at(i));
+                }
             } else {
                 for (boolean element : elements) {
-                    values[size++] = element;
+                    append(element);
                 }
             }
         }
 
         /**
-         * Clear all elements
+         * Returns number of added elements
+         *
+         * @return number of elements
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns element added at given position
+         *
+         * @param index index of the element
+         * @return element
+         */
+        public boolean getBoolean(int index) {
+            Objects.checkIndex(index, size);
+            return (words[index >>> 6] & (1L << index)) != 0L;
+        }
+
+        /**
+         * Clear all elements. Allocated storage is kept
          */
         public void clear() {
             size = 0;
-            values = new boolean[8];
         }
 
         /**
-         * Build list
+         * Build list. Elements are copied, so builder can be still used afterwards
          *
          * @return new immutable list
          */
         public BooleanList build() {
-            BooleanList list = size == 0 ? EMPTY : new BooleanList(values, size);
-            values = null;
-            return list;
+            if (size == 0) {
+                return EMPTY;
+            }
+
+            long[] data = Arrays.copyOf(words, words(size));
+            if ((size & 63) != 0) {
+                data[data.length - 1] &= (1L << size) - 1;
+            }
+            return new BooleanList(data, size);
+        }
+
+        private void append(boolean element) {
+            if (element) {
+                words[size >>> 6] |= 1L << size;
+            } else {
+                words[size >>> 6] &= ~(1L << size);
+            }
+            size++;
         }
 
         private void grow(int toAdd) {
-            if (size + toAdd <= values.length) {
+            int required = words(size + toAdd);
+            if (required <= words.length) {
                 return;
             }
 
-            int oldCapacity = values.length;
-            int newCapacity = max(min(oldCapacity << 1, 128), oldCapacity + toAdd);
+            int newCapacity = max(max(words.length << 1, 1), required);
 
-            values = Arrays.copyOf(values, newCapacity);
+            words = Arrays.copyOf(words, newCapacity);
         }
     }
 }
@@ -0,0 +1,118 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import com.github.pcimcioch.protobuf.io.ProtobufReader.BytesConsumer;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Encoded elements stored one after another in a single byte array. Element {@code i} spans from {@code offsets[i]}
+ * to {@code offsets[i + 1]}
+ */
+final class ByteArena {
+    private static final int MAX_DATA_SIZE = Integer.MAX_VALUE - 8;
+    static final ByteArena EMPTY = new ByteArena(new byte[0], new int[1], 0);
+
+    final byte[] data;
+    final int[] offsets;
+    final int size;
+
+    private ByteArena(byte[] data, int[] offsets, int size) {
+        this.data = data;
+        this.offsets = offsets;
+        this.size = size;
+    }
+
+    int offset(int index) {
+        return offsets[Objects.checkIndex(index, size)];
+    }
+
+    int length(int index) {
+        Objects.checkIndex(index, size);
+        return offsets[index + 1] - offsets[index];
+    }
+
+    int dataSize() {
+        return offsets[size];
+    }
+
+    void forEach(BytesConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(data, offsets[i], offsets[i + 1] - offsets[i]);
+        }
+    }
+
+    boolean contentEquals(ByteArena other) {
+        return size == other.size
+                && Arrays.equals(offsets, 0, size + 1, other.offsets, 0, size + 1)
+                && Arrays.equals(data, 0, dataSize(), other.data, 0, other.dataSize());
+    }
+
+    static final class Builder {
+        private byte[] data = EMPTY.data;
+        private int[] offsets = new int[1];
+        private int size = 0;
+
+        void add(byte[] source, int offset, int length) {
+            int end = offsets[size];
+            grow(1, length);
+            System.arraycopy(source, offset, data, end, length);
+            offsets[++size] = end + length;
+        }
+
+        void addAll(ByteArena arena) {
+            int end = offsets[size];
+            grow(arena.size, arena.dataSize());
+            System.arraycopy(arena.data, 0, data, end, arena.dataSize());
+            for (int i = 1; i <= arena.size; i++) {
+                offsets[size + i] = end + arena.offsets[i];
+            }
+            size += arena.size;
+        }
+
+        int size() {
+            return size;
+        }
+
+        byte[] data() {
+            return data;
+        }
+
+        int offset(int index) {
+            return offsets[Objects.checkIndex(index, size)];
+        }
+
+        int length(int index) {
+            Objects.checkIndex(index, size);
+            return offsets[index + 1] - offsets[index];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        ByteArena build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            return new ByteArena(Arrays.copyOf(data, offsets[size]), Arrays.copyOf(offsets, size + 1), size);
+        }
+
+        private void grow(int elementsToAdd, int bytesToAdd) {
+            if (size + elementsToAdd >= offsets.length) {
+                offsets = Arrays.copyOf(offsets, max(max(offsets.length << 1, 9), size + elementsToAdd + 1));
+            }
+
+            long required = (long) offsets[size] + bytesToAdd;
+            if (required > MAX_DATA_SIZE) {
+                throw new OutOfMemoryError("Arena cannot exceed " + MAX_DATA_SIZE + " bytes");
+            }
+            if (required > data.length) {
+                data = Arrays.copyOf(data, (int) min(max(max((long) data.length << 1, 64L), required), MAX_DATA_SIZE));
+            }
+        }
+    }
+}
@@ -14,6 +14,7 @@ public final class ByteArray {
      * Byte array
      */
     private final byte[] data;
+    private int hash;
 
     private ByteArray(byte[] data) {
         this.data = data;
@@ -75,12 +76,18 @@ public final class ByteArray {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ByteArray byteArray = (ByteArray) o;
+        if (hash != 0 && byteArray.hash != 0 && hash != byteArray.hash) return false;
         return Arrays.equals(data, byteArray.data);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(data);
+        int result = hash;
+        if (result == 0) {
+            result = Arrays.hashCode(data);
+            hash = result;
+        }
+        return result;
     }
 
     /**
@@ -0,0 +1,267 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import com.github.pcimcioch.protobuf.io.ProtobufReader.BytesConsumer;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of bytes, see {@link ListStorage#ARENA}. All elements are kept in a single byte array, so the list
+ * does not hold {@link ByteArray} object per element. Elements are copied on every access. Hash code is computed once
+ * and cached
+ */
+public final class BytesList extends AbstractList<ByteArray> implements RandomAccess {
+    private static final BytesList EMPTY = new BytesList(ByteArena.EMPTY);
+
+    private final ByteArena arena;
+    private int hash;
+
+    private BytesList(ByteArena arena) {
+        this.arena = arena;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public ByteArray get(int index) {
+        int offset = arena.offset(index);
+        return ByteArray.unsafeFromByteArray(Arrays.copyOfRange(arena.data, offset, offset + arena.length(index)));
+    }
+
+    @Override
+    public int size() {
+        return arena.size;
+    }
+
+    /**
+     * Returns length of the element
+     *
+     * @param index index of the element
+     * @return length of the element in bytes
+     */
+    public int encodedLength(int index) {
+        return arena.length(index);
+    }
+
+    /**
+     * Returns position of the element in {@link #internalData()}
+     *
+     * @param index index of the element
+     * @return offset of the element
+     */
+    public int encodedOffset(int index) {
+        return arena.offset(index);
+    }
+
+    /**
+     * Returns total length of all elements
+     *
+     * @return length of elements in bytes
+     */
+    public int encodedSize() {
+        return arena.dataSize();
+    }
+
+    /**
+     * Performs action for content of each element, without copying it. Passed array must not be modified
+     *
+     * @param action action to perform
+     */
+    public void forEachEncoded(BytesConsumer action) {
+        arena.forEach(action);
+    }
+
+    /**
+     * Returns internal byte array with elements. Returned array is an internal state of this list. If modified, it will
+     * mutate this list
+     *
+     * @return internal state of this list
+     * @deprecated This method is unsafe as it allows you to mutate internal state of the list by modifying returned
+     * array. Use {@link #forEachEncoded(BytesConsumer)} instead. This method is made public only for performance
+     * reasons. You can use it if you promise you will not modify the byte array
+     */
+    @Deprecated
+    public byte[] internalData() {
+        return arena.data;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = 1;
+            for (int i = 0; i < arena.size; i++) {
+                result = 31 * result + elementHash(arena.offsets[i], arena.offsets[i + 1]);
+            }
+            hash = result;
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof BytesList other) {
+            if (hash != 0 && other.hash != 0 && hash != other.hash) {
+                return false;
+            }
+            return arena.contentEquals(other.arena);
+        }
+        return super.equals(o);
+    }
+
+    // same as ByteArray.hashCode, without copying the element
+    private int elementHash(int from, int to) {
+        int result = 1;
+        for (int i = from; i < to; i++) {
+            result = 31 * result + arena.data[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns new builder
+     *
+     * @return new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create new list from given elements
+     *
+     * @param elements elements
+     * @return new list
+     */
+    public static BytesList of(ByteArray... elements) {
+        if (elements.length == 0) {
+            return EMPTY;
+        }
+
+        Builder builder = new Builder();
+        for (ByteArray element : elements) {
+            builder.add(element);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Return immutable copy of given collection
+     *
+     * @param elements elements
+     * @return bytes list
+     */
+    public static BytesList copyOf(Collection<ByteArray> elements) {
+        if (elements instanceof BytesList list) {
+            return list;
+        }
+        if (elements.isEmpty()) {
+            return EMPTY;
+        }
+
+        Builder builder = new Builder();
+        builder.addAll(elements);
+        return builder.build();
+    }
+
+    /**
+     * Builder. Storage is allocated on the first added element and kept by {@link #clear()} and {@link #build()}, so
+     * one builder can be reused to build many lists. As a {@link BytesConsumer}, builder adds every accepted range with
+     * {@link #addEncoded(byte[], int, int)}. Builder is not thread safe, and should be confined to a single thread
+     */
+    public static final class Builder implements BytesConsumer {
+        private final ByteArena.Builder arena = new ByteArena.Builder();
+
+        private Builder() {
+        }
+
+        /**
+         * Add element
+         *
+         * @param element element to add
+         */
+        @SuppressWarnings("deprecation")
+        public void add(ByteArray element) {
+            if (element == null) {
+                throw new NullPointerException();
+            }
+            arena.add(element.internalData(), 0, element.length());
+        }
+
+        /**
+         * Add element given as a range of byte array. Bytes are copied
+         *
+         * @param data   array with the element
+         * @param offset position of the element in the array
+         * @param length length of the element
+         */
+        public void addEncoded(byte[] data, int offset, int length) {
+            arena.add(data, offset, length);
+        }
+
+        @Override
+        public void accept(byte[] data, int offset, int length) {
+            arena.add(data, offset, length);
+        }
+
+        /**
+         * Add all elements
+         *
+         * @param elements elements to add
+         */
+        public void addAll(Collection<ByteArray> elements) {
+            if (elements instanceof BytesList list) {
+                arena.addAll(list.arena);
+                return;
+            }
+
+            for (ByteArray element : elements) {
+                add(element);
+            }
+        }
+
+        /**
+         * Returns number of added elements
+         *
+         * @return number of elements
+         */
+        public int size() {
+            return arena.size();
+        }
+
+        /**
+         * Returns element added at given position
+         *
+         * @param index index of the element
+         * @return element
+         */
+        @SuppressWarnings("deprecation")
+        public ByteArray get(int index) {
+            int offset = arena.offset(index);
+            byte[] element = Arrays.copyOfRange(arena.data(), offset, offset + arena.length(index));
+            return ByteArray.unsafeFromByteArray(element);
+        }
+
+        /**
+         * Clear all elements. Allocated storage is kept
+         */
+        public void clear() {
+            arena.clear();
+        }
+
+        /**
+         * Build list. Elements are copied, so builder can be still used afterwards
+         *
+         * @return new immutable list
+         */
+        public BytesList build() {
+            ByteArena built = arena.build();
+            return built == ByteArena.EMPTY ? EMPTY : new BytesList(built);
+        }
+    }
+}
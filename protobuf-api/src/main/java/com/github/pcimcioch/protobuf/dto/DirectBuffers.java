@@ -0,0 +1,56 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Direct buffers of off-heap lists. Native memory is released right away with {@code sun.misc.Unsafe.invokeCleaner}
+ * from jdk.unsupported module. When it is not available, memory is released when the buffer is reclaimed by garbage
+ * collector
+ */
+final class DirectBuffers {
+    static final ByteBuffer EMPTY = ByteBuffer.allocateDirect(0).order(ByteOrder.nativeOrder());
+    private static final MethodHandle INVOKE_CLEANER = invokeCleaner();
+
+    private DirectBuffers() {
+    }
+
+    static ByteBuffer allocate(int bytes) {
+        return bytes == 0 ? EMPTY : ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    static ByteBuffer copyOf(ByteBuffer buffer, int bytes) {
+        ByteBuffer copy = allocate(bytes);
+        copy.put(0, buffer, 0, Math.min(bytes, buffer.capacity()));
+        free(buffer);
+        return copy;
+    }
+
+    static void free(ByteBuffer buffer) {
+        if (buffer == EMPTY || INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact(buffer);
+        } catch (Throwable ex) {
+            // left to the garbage collector
+        }
+    }
+
+    private static MethodHandle invokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field unsafeField = unsafeClass.getDeclaredField("theUnsafe");
+            unsafeField.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(unsafeField.get(null));
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            return null;
+        }
+    }
+}
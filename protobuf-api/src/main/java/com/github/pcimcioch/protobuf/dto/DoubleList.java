@@ -3,22 +3,38 @@ package com.github.pcimcioch.protobuf.dto;
 import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.RandomAccess;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 
+import static com.github.pcimcioch.protobuf.dto.Segments.SEGMENT_MASK;
+import static com.github.pcimcioch.protobuf.dto.Segments.SEGMENT_SHIFT;
+import static com.github.pcimcioch.protobuf.dto.Segments.SEGMENT_SIZE;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 
 /**
- * Immutable list of doubles
+ * Immutable list of doubles. Large lists are stored in fixed size segments, see {@link ListStorage}
  */
 public final class DoubleList extends AbstractList<Double> implements RandomAccess {
     private static final DoubleList EMPTY = new DoubleList(new double[0], 0);
 
     private final double[] values;
+    private final double[][] segments;
     private final int size;
+    private int hash;
 
     private DoubleList(double[] values, int size) {
         this.values = values;
+        this.segments = null;
+        this.size = size;
+    }
+
+    private DoubleList(double[][] segments, int size) {
+        this.values = null;
+        this.segments = segments;
         this.size = size;
     }
 
@@ -29,7 +45,7 @@ public final class DoubleList extends AbstractList<Double> implements RandomAcce
     @Override
     @Deprecated
     public Double get(int index) {
-        return values[rangeCheck(index)];
+        return at(rangeCheck(index));
     }
 
     /**
@@ -39,7 +55,7 @@ public final class DoubleList extends AbstractList<Double> implements RandomAcce
      * @return primitive value
      */
     public double getDouble(int index) {
-        return values[rangeCheck(index)];
+        return at(rangeCheck(index));
     }
 
     @Override
@@ -47,12 +63,87 @@ public final class DoubleList extends AbstractList<Double> implements RandomAcce
         return size;
     }
 
+    /**
+     * Returns whether elements are stored in fixed size segments instead of single contiguous array
+     *
+     * @return whether list is segmented
+     */
+    public boolean isSegmented() {
+        return segments != null;
+    }
+
+    /**
+     * Calls action with every element, in order, without boxing
+     *
+     * @param action action to call
+     */
+    public void forEachDouble(DoubleConsumer action) {
+        if (values != null) {
+            for (int i = 0; i < size; i++) {
+                action.accept(values[i]);
+            }
+        } else {
+            for (int segment = 0; segment < segments.length; segment++) {
+                double[] elements = segments[segment];
+                int length = Segments.length(segment, size);
+                for (int i = 0; i < length; i++) {
+                    action.accept(elements[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns sequential stream of elements, without boxing
+     *
+     * @return stream of elements
+     */
+    public DoubleStream doubleStream() {
+        return values != null
+                ? Arrays.stream(values, 0, size)
+                : IntStream.range(0, size).mapToDouble(this::at);
+    }
+
+    /**
+     * Copy all elements to given array
+     *
+     * @param destination destination array
+     * @param offset      position in the destination array of the first element
+     * @throws IndexOutOfBoundsException if elements do not fit in the destination array
+     */
+    public void copyTo(double[] destination, int offset) {
+        Objects.checkFromIndexSize(offset, size, destination.length);
+        if (values != null) {
+            System.arraycopy(values, 0, destination, offset, size);
+        } else {
+            for (int segment = 0; segment < segments.length; segment++) {
+                System.arraycopy(segments[segment], 0, destination, offset + (segment << SEGMENT_SHIFT),
+                        Segments.length(segment, size));
+            }
+        }
+    }
+
+    /**
+     * Returns new array with all elements
+     *
+     * @return array of elements
+     */
+    public double[] toDoubleArray() {
+        double[] result = new double[size];
+        copyTo(result, 0);
+        return result;
+    }
+
     @Override
     public int hashCode() {
-        int result = 1;
-        for (int i = 0; i < size; i++) {
-            long bits = Double.doubleToLongBits(values[i]);
-            result = 31 * result + (int) (bits ^ (bits >>> 32));
+        int result = hash;
+        if (result == 0) {
+            result = 1;
+            for (int i = 0; i < size; i++) {
+                long bits = Double.doubleToLongBits(at(i));
+                result = 31 * result + (int) (bits ^ (bits >>> 32));
+            }
+            hash = result;
         }
 
         return result;
@@ -60,18 +151,44 @@ public final class DoubleList extends AbstractList<Double> implements RandomAcce
 
     @Override
     public boolean equals(Object o) {
-        return o instanceof DoubleList other && other.size == size
-                ? Arrays.equals(values, 0, size, other.values, 0, size)
-                : super.equals(o);
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof DoubleList other) || other.size != size) {
+            return super.equals(o);
+        }
+        if (hash != 0 && other.hash != 0 && hash != other.hash) {
+            return false;
+        }
+        if (values != null && other.values != null) {
+            return Arrays.equals(values, 0, size, other.values, 0, size);
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (Double.doubleToLongBits(at(i)) != Double.doubleToLongBits(other.at(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * Returns new builder
+     * Returns new builder that chooses storage automatically
      *
      * @return new builder
      */
     public static Builder builder() {
-        return new Builder();
+        return new Builder(ListStorage.AUTO);
+    }
+
+    /**
+     * Returns new builder that uses given storage
+     *
+     * @param storage storage of the built lists
+     * @return new builder
+     */
+    public static Builder builder(ListStorage storage) {
+        return new Builder(storage);
     }
 
     /**
@@ -84,6 +201,17 @@ public final class DoubleList extends AbstractList<Double> implements RandomAcce
         return elements.length == 0 ? EMPTY : new DoubleList(elements);
     }
 
+    /**
+     * Create new list backed by given array, without copying. The list takes ownership of the array, so it must not be
+     * modified afterwards
+     *
+     * @param elements elements
+     * @return new list
+     */
+    public static DoubleList wrap(double[] elements) {
+        return elements.length == 0 ? EMPTY : new DoubleList(elements);
+    }
+
     /**
      * Return immutable copy of given collection
      *
@@ -102,6 +230,10 @@ public final class DoubleList extends AbstractList<Double> implements RandomAcce
         return new DoubleList(data);
     }
 
+    private double at(int index) {
+        return (segments == null ? values[index] : segments[index >>> SEGMENT_SHIFT][index & SEGMENT_MASK]);
+    }
+
     private int rangeCheck(int index) {
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException();
@@ -110,12 +242,21 @@ public final class DoubleList extends AbstractList<Double> implements RandomAcce
     }
 
     /**
-     * Builder
+     * Builder. Storage is allocated on the first added element and kept by {@link #clear()} and {@link #build()}, so
+     * one builder can be reused to build many lists. Builder is not thread safe, and should be confined to a single
+     * thread
      */
     public static final class Builder {
-        private double[] values = new double[8];
+        private final ListStorage storage;
+        private double[] values = EMPTY.values;
+        private double[][] segments = null;
+        private int allocatedSegments = 0;
         private int size = 0;
 
+        private Builder(ListStorage storage) {
+            this.storage = storage;
+        }
+
         /**
          * Add element
          *
@@ -123,7 +264,7 @@ public final class DoubleList extends AbstractList<Double> implements RandomAcce
          */
         public void add(double element) {
             grow(1);
-            values[size++] = element;
+            append(element);
         }
 
         /**
@@ -135,43 +276,114 @@ public final class DoubleList extends AbstractList<Double> implements RandomAcce
             grow(elements.size());
 
             if (elements instanceof DoubleList our) {
-                System.arraycopy(our.values, 0, values, size, our.size);
-                size += our.size;
+                if (segments == null && our.values != null) {
+                    System.arraycopy(our.values, 0, values, size, our.size);
+                    size += our.size;
+                } else {
+                    for (int i = 0; i < our.size; i++) {
+                        append(our.at(i));
+                    }
+                }
             } else {
                 for (double element : elements) {
-                    values[size++] = element;
+                    append(element);
                 }
             }
         }
 
         /**
-         * Clear all elements
+         * Returns number of added elements
+         *
+         * @return number of elements
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns element added at given position
+         *
+         * @param index index of the element
+         * @return element
+         */
+        public double getDouble(int index) {
+            Objects.checkIndex(index, size);
+            return (segments == null ? values[index] : segments[index >>> SEGMENT_SHIFT][index & SEGMENT_MASK]);
+        }
+
+        /**
+         * Clear all elements. Allocated storage is kept
          */
         public void clear() {
             size = 0;
-            values = new double[8];
         }
 
         /**
-         * Build list
+         * Build list. Elements are copied, so builder can be still used afterwards
          *
          * @return new immutable list
          */
         public DoubleList build() {
-            DoubleList list = size == 0 ? EMPTY : new DoubleList(values, size);
-            values = null;
-            return list;
+            if (size == 0) {
+                return EMPTY;
+            }
+            if (segments == null) {
+                return new DoubleList(Arrays.copyOf(values, size));
+            }
+            if (storage != ListStorage.SEGMENTED && size <= SEGMENT_SIZE) {
+                return new DoubleList(Arrays.copyOf(segments[0], size));
+            }
+
+            double[][] copy = new double[Segments.count(size)][];
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] = Arrays.copyOf(segments[i], Segments.length(i, size));
+            }
+            return new DoubleList(copy, size);
+        }
+
+        private void append(double element) {
+            if (segments == null) {
+                values[size++] = element;
+            } else {
+                segments[size >>> SEGMENT_SHIFT][size & SEGMENT_MASK] = element;
+                size++;
+            }
         }
 
         private void grow(int toAdd) {
+            if (segments != null) {
+                growSegments(size + toAdd);
+                return;
+            }
             if (size + toAdd <= values.length) {
                 return;
             }
 
-            int oldCapacity = values.length;
-            int newCapacity = max(min(oldCapacity << 1, 128), oldCapacity + toAdd);
+            if (storage == ListStorage.SEGMENTED || (storage != ListStorage.CONTIGUOUS && size + toAdd > SEGMENT_SIZE)) {
+                segments = new double[max(Segments.count(size + toAdd), 4)][];
+                segments[0] = Arrays.copyOf(values, SEGMENT_SIZE);
+                allocatedSegments = 1;
+                values = EMPTY.values;
+                growSegments(size + toAdd);
+                return;
+            }
+
+            int newCapacity = max(max(values.length << 1, 8), size + toAdd);
+            if (storage != ListStorage.CONTIGUOUS) {
+                newCapacity = min(newCapacity, SEGMENT_SIZE);
+            }
 
             values = Arrays.copyOf(values, newCapacity);
         }
+
+        private void growSegments(int capacity) {
+            int required = Segments.count(capacity);
+            if (required > segments.length) {
+                segments = Arrays.copyOf(segments, max(segments.length << 1, required));
+            }
+            while (allocatedSegments < required) {
+                segments[allocatedSegments++] = new double[SEGMENT_SIZE];
+            }
+        }
     }
 }
@@ -0,0 +1,182 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import com.github.pcimcioch.protobuf.io.ProtobufWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.function.ToIntFunction;
+
+/**
+ * Cache of encoded messages. Messages are held weakly and compared by identity, so an entry lives only as long as its
+ * message is used somewhere else. Used by messages generated with {@code cacheEncoded} enabled. Lookups of cached
+ * messages do not allocate nor lock. This class is thread safe
+ *
+ * @param <T> message type
+ */
+public final class EncodedCache<T> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ReferenceQueue<Object> staleEntries = new ReferenceQueue<>();
+    private final ToIntFunction<T> sizer;
+    private final Encoder<T> encoder;
+
+    // modified only under lock. Lock free readers may miss an entry added or moved concurrently, so every miss is
+    // checked again under lock
+    private volatile Entry[] table = new Entry[INITIAL_CAPACITY];
+    private int count;
+
+    /**
+     * Constructor
+     *
+     * @param sizer   computes encoded size of the message
+     * @param encoder writes encoded message
+     */
+    public EncodedCache(ToIntFunction<T> sizer, Encoder<T> encoder) {
+        this.sizer = sizer;
+        this.encoder = encoder;
+    }
+
+    /**
+     * Returns encoded message. Message is encoded on the first call only. Returned array must not be modified
+     *
+     * @param message message
+     * @return encoded message
+     */
+    public byte[] get(T message) {
+        byte[] encoded = find(table, message);
+        return encoded != null ? encoded : put(message, encode(message));
+    }
+
+    /**
+     * Returns size of encoded message. Message that is not cached yet is not encoded, and its size is computed instead
+     *
+     * @param message message
+     * @return size of encoded message
+     */
+    public int encodedSize(T message) {
+        byte[] encoded = find(table, message);
+        return encoded != null ? encoded.length : sizer.applyAsInt(message);
+    }
+
+    /**
+     * Returns number of cached messages
+     *
+     * @return number of cached messages
+     */
+    public synchronized int size() {
+        removeStaleEntries();
+        return count;
+    }
+
+    private byte[] encode(T message) {
+        byte[] data = new byte[sizer.applyAsInt(message)];
+        try (ProtobufWriter writer = new ProtobufWriter(data)) {
+            encoder.encode(message, writer);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return data;
+    }
+
+    private synchronized byte[] put(T message, byte[] encoded) {
+        removeStaleEntries();
+
+        Entry[] entries = table;
+        byte[] previous = find(entries, message);
+        if (previous != null) {
+            return previous;
+        }
+
+        if (count >= entries.length - (entries.length >>> 2)) {
+            entries = resize(entries);
+        }
+        int hash = System.identityHashCode(message);
+        int index = hash & (entries.length - 1);
+        entries[index] = new Entry(message, hash, encoded, entries[index], staleEntries);
+        count++;
+        table = entries;
+
+        return encoded;
+    }
+
+    // entries are copied, not relinked, so that concurrent readers of the old table never follow a cycle
+    private Entry[] resize(Entry[] entries) {
+        Entry[] resized = new Entry[entries.length << 1];
+        for (Entry head : entries) {
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                Object message = entry.get();
+                if (message == null) {
+                    count--;
+                } else {
+                    int index = entry.hash & (resized.length - 1);
+                    resized[index] = new Entry(message, entry.hash, entry.encoded, resized[index], staleEntries);
+                }
+            }
+        }
+        return resized;
+    }
+
+    private void removeStaleEntries() {
+        Reference<?> stale;
+        while ((stale = staleEntries.poll()) != null) {
+            Entry[] entries = table;
+            int index = ((Entry) stale).hash & (entries.length - 1);
+            Entry previous = null;
+            for (Entry entry = entries[index]; entry != null; previous = entry, entry = entry.next) {
+                if (entry == stale) {
+                    if (previous == null) {
+                        entries[index] = entry.next;
+                    } else {
+                        previous.next = entry.next;
+                    }
+                    count--;
+                    break;
+                }
+            }
+        }
+    }
+
+    private static byte[] find(Entry[] entries, Object message) {
+        int index = System.identityHashCode(message) & (entries.length - 1);
+        for (Entry entry = entries[index]; entry != null; entry = entry.next) {
+            if (entry.get() == message) {
+                return entry.encoded;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes message fields
+     *
+     * @param <T> message type
+     */
+    @FunctionalInterface
+    public interface Encoder<T> {
+
+        /**
+         * Writes fields of the message to given writer
+         *
+         * @param message message
+         * @param writer  writer
+         * @throws IOException in case of any write error
+         */
+        void encode(T message, ProtobufWriter writer) throws IOException;
+    }
+
+    private static final class Entry extends WeakReference<Object> {
+        private final int hash;
+        private final byte[] encoded;
+        private Entry next;
+
+        private Entry(Object message, int hash, byte[] encoded, Entry next, ReferenceQueue<Object> queue) {
+            super(message, queue);
+            this.hash = hash;
+            this.encoded = encoded;
+            this.next = next;
+        }
+    }
+}
@@ -2,11 +2,13 @@ package com.github.pcimcioch.protobuf.dto;
 
 import java.util.AbstractList;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.RandomAccess;
 import java.util.function.IntFunction;
 
 /**
- * Immutable list of protobuf enums
+ * Immutable list of protobuf enums. Lists created by builder store enum values in the narrowest array that fits them:
+ * bytes, chars or ints
  */
 @SuppressWarnings("unchecked")
 public final class EnumList<T extends ProtobufEnumeration> extends AbstractList<T> implements RandomAccess {
@@ -14,14 +16,24 @@ public final class EnumList<T extends ProtobufEnumeration> extends AbstractList<
 
     private final IntList values;
     private final IntFunction<T> enumMapper;
+    private final Object[] resolved;
+    private int hash;
 
     private EnumList(IntList values, IntFunction<T> enumMapper) {
+        this(values, enumMapper, null);
+    }
+
+    private EnumList(IntList values, IntFunction<T> enumMapper, Object[] resolved) {
         this.values = values;
         this.enumMapper = enumMapper;
+        this.resolved = resolved;
     }
 
     @Override
     public T get(int index) {
+        if (resolved != null) {
+            return (T) resolved[Objects.checkIndex(index, resolved.length)];
+        }
         return enumMapper.apply(values.getInt(index));
     }
 
@@ -39,6 +51,52 @@ public final class EnumList<T extends ProtobufEnumeration> extends AbstractList<
         return values;
     }
 
+    /**
+     * Returns list with all elements resolved to enums up front. Reading elements of such list does not call the
+     * enumeration factory, which pays off when the list is iterated many times
+     *
+     * @return list with resolved elements, or this list if it is already resolved
+     */
+    public EnumList<T> resolved() {
+        if (resolved != null || values.isEmpty()) {
+            return this;
+        }
+
+        Object[] elements = new Object[values.size()];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = enumMapper.apply(values.getInt(i));
+        }
+        return new EnumList<>(values, enumMapper, elements);
+    }
+
+    /**
+     * Returns whether elements are resolved to enums up front
+     *
+     * @return whether elements are resolved
+     */
+    public boolean isResolved() {
+        return resolved != null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = super.hashCode();
+            hash = result;
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof EnumList<?> other && hash != 0 && other.hash != 0 && hash != other.hash) {
+            return false;
+        }
+        return super.equals(o);
+    }
+
     /**
      * Returns new builder
      *
@@ -75,7 +133,7 @@ public final class EnumList<T extends ProtobufEnumeration> extends AbstractList<
             intElements.add(element.number());
         }
 
-        return new EnumList<>(intElements.build(), enumMapper);
+        return new EnumList<>(intElements.buildNarrow(), enumMapper);
     }
 
     /**
@@ -92,7 +150,7 @@ public final class EnumList<T extends ProtobufEnumeration> extends AbstractList<
             intElements.add(element);
         }
 
-        return new EnumList<>(intElements.build(), enumMapper);
+        return new EnumList<>(intElements.buildNarrow(), enumMapper);
     }
 
     /**
@@ -112,15 +170,17 @@ public final class EnumList<T extends ProtobufEnumeration> extends AbstractList<
         for (E element : elements) {
             intElements.add(element.number());
         }
-        return new EnumList<>(intElements.build(), enumMapper);
+        return new EnumList<>(intElements.buildNarrow(), enumMapper);
     }
 
     /**
-     * Builder
+     * Builder. Storage is allocated on the first added element and kept by {@link #clear()} and {@link #build()}, so
+     * one builder can be reused to build many lists. Builder is not thread safe, and should be confined to a single
+     * thread
      */
     public static final class Builder<V extends ProtobufEnumeration> {
         private final IntFunction<V> enumMapper;
-        private IntList.Builder values = IntList.builder();
+        private final IntList.Builder values = IntList.builder();
 
         private Builder(IntFunction<V> enumMapper) {
             this.enumMapper = enumMapper;
@@ -176,21 +236,49 @@ public final class EnumList<T extends ProtobufEnumeration> extends AbstractList<
         }
 
         /**
-         * Clear all elements
+         * Returns number of added elements
+         *
+         * @return number of elements
+         */
+        public int size() {
+            return values.size();
+        }
+
+        /**
+         * Returns element added at given position
+         *
+         * @param index index of the element
+         * @return element
+         */
+        public V get(int index) {
+            return enumMapper.apply(values.getInt(index));
+        }
+
+        /**
+         * Returns value of the element added at given position
+         *
+         * @param index index of the element
+         * @return element value
+         */
+        public int getValue(int index) {
+            return values.getInt(index);
+        }
+
+        /**
+         * Clear all elements. Allocated storage is kept
          */
         public void clear() {
             values.clear();
         }
 
         /**
-         * Build list
+         * Build list. Elements are copied to the narrowest array that fits them, so builder can be still used
+         * afterwards
          *
          * @return new immutable list
          */
         public EnumList<V> build() {
-            IntList list = values.build();
-            values = null;
-
+            IntList list = values.buildNarrow();
             return list.isEmpty() ? (EnumList<V>) EMPTY : new EnumList<>(list, enumMapper);
         }
     }
@@ -1,12 +1,16 @@
 package com.github.pcimcioch.protobuf.dto;
 
+import com.github.pcimcioch.protobuf.io.ProtobufReader.FloatConsumer;
+
 import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.RandomAccess;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 
 import static java.lang.Math.max;
-import static java.lang.Math.min;
 
 /**
  * Immutable list of floats
@@ -16,6 +20,7 @@ public final class FloatList extends AbstractList<Float> implements RandomAccess
 
     private final float[] values;
     private final int size;
+    private int hash;
 
     private FloatList(float[] values, int size) {
         this.values = values;
@@ -47,11 +52,56 @@ public final class FloatList extends AbstractList<Float> implements RandomAccess
         return size;
     }
 
+    /**
+     * Calls action with every element, in order, without boxing
+     *
+     * @param action action to call
+     */
+    public void forEachFloat(FloatConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    /**
+     * Returns sequential stream of elements widened to doubles, without boxing
+     *
+     * @return stream of elements
+     */
+    public DoubleStream doubleStream() {
+        return IntStream.range(0, size).mapToDouble(i -> values[i]);
+    }
+
+    /**
+     * Copy all elements to given array
+     *
+     * @param destination destination array
+     * @param offset      position in the destination array of the first element
+     * @throws IndexOutOfBoundsException if elements do not fit in the destination array
+     */
+    public void copyTo(float[] destination, int offset) {
+        Objects.checkFromIndexSize(offset, size, destination.length);
+        System.arraycopy(values, 0, destination, offset, size);
+    }
+
+    /**
+     * Returns new array with all elements
+     *
+     * @return array of elements
+     */
+    public float[] toFloatArray() {
+        return Arrays.copyOf(values, size);
+    }
+
     @Override
     public int hashCode() {
-        int result = 1;
-        for (int i = 0; i < size; i++) {
-            result = 31 * result + Float.floatToIntBits(values[i]);
+        int result = hash;
+        if (result == 0) {
+            result = 1;
+            for (int i = 0; i < size; i++) {
+                result = 31 * result + Float.floatToIntBits(values[i]);
+            }
+            hash = result;
         }
 
         return result;
@@ -59,9 +109,16 @@ public final class FloatList extends AbstractList<Float> implements RandomAccess
 
     @Override
     public boolean equals(Object o) {
-        return o instanceof FloatList other && other.size == size
-                ? Arrays.equals(values, 0, size, other.values, 0, size)
-                : super.equals(o);
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof FloatList other) || other.size != size) {
+            return super.equals(o);
+        }
+        if (hash != 0 && other.hash != 0 && hash != other.hash) {
+            return false;
+        }
+        return Arrays.equals(values, 0, size, other.values, 0, size);
     }
 
     /**
@@ -83,6 +140,17 @@ public final class FloatList extends AbstractList<Float> implements RandomAccess
         return elements.length == 0 ? EMPTY : new FloatList(elements);
     }
 
+    /**
+     * Create new list backed by given array, without copying. The list takes ownership of the array, so it must not be
+     * modified afterwards
+     *
+     * @param elements elements
+     * @return new list
+     */
+    public static FloatList wrap(float[] elements) {
+        return elements.length == 0 ? EMPTY : new FloatList(elements);
+    }
+
     /**
      * Return immutable copy of given collection
      *
@@ -109,10 +177,12 @@ public final class FloatList extends AbstractList<Float> implements RandomAccess
     }
 
     /**
-     * Builder
+     * Builder. Storage is allocated on the first added element and kept by {@link #clear()} and {@link #build()}, so
+     * one builder can be reused to build many lists. Builder is not thread safe, and should be confined to a single
+     * thread
      */
     public static final class Builder {
-        private float[] values = new float[8];
+        private float[] values = EMPTY.values;
         private int size = 0;
 
         /**
@@ -144,22 +214,39 @@ public final class FloatList extends AbstractList<Float> implements RandomAccess
         }
 
         /**
-         * Clear all elements
+         * Returns number of added elements
+         *
+         * @return number of elements
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns element added at given position
+         *
+         * @param index index of the element
+         * @return element
+         */
+        public float getFloat(int index) {
+            Objects.checkIndex(index, size);
+            return values[index];
+        }
+
+        /**
+         * Clear all elements. Allocated storage is kept
          */
         public void clear() {
             size = 0;
-            values = new float[8];
         }
 
         /**
-         * Build list
+         * Build list. Elements are copied, so builder can be still used afterwards
          *
          * @return new immutable list
          */
         public FloatList build() {
-            FloatList list = size == 0 ? EMPTY : new FloatList(values, size);
-            values = null;
-            return list;
+            return size == 0 ? EMPTY : new FloatList(Arrays.copyOf(values, size));
         }
 
         private void grow(int toAdd) {
@@ -167,8 +254,7 @@ public final class FloatList extends AbstractList<Float> implements RandomAccess
                 return;
             }
 
-            int oldCapacity = values.length;
-            int newCapacity = max(min(oldCapacity << 1, 128), oldCapacity + toAdd);
+            int newCapacity = max(max(values.length << 1, 8), size + toAdd);
 
             values = Arrays.copyOf(values, newCapacity);
         }
@@ -1,24 +1,54 @@
 package com.github.pcimcioch.protobuf.dto;
 
+import com.github.pcimcioch.protobuf.io.Size;
+
 import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.RandomAccess;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
+import static com.github.pcimcioch.protobuf.dto.Segments.SEGMENT_MASK;
+import static com.github.pcimcioch.protobuf.dto.Segments.SEGMENT_SHIFT;
+import static com.github.pcimcioch.protobuf.dto.Segments.SEGMENT_SIZE;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 
 /**
- * Immutable list of ints
+ * Immutable list of ints. Large lists are stored in fixed size segments, and lists can be stored in compact, bit
+ * packed form, see {@link ListStorage}
  */
 public final class IntList extends AbstractList<Integer> implements RandomAccess {
     private static final IntList EMPTY = new IntList(new int[0], 0);
 
     private final int[] values;
+    private final int[][] segments;
+    private final PackedValues packed;
     private final int size;
+    private int hash;
+    private int varintSize;
+    private int zigzagSize;
 
     private IntList(int[] values, int size) {
         this.values = values;
+        this.segments = null;
+        this.packed = null;
+        this.size = size;
+    }
+
+    private IntList(int[][] segments, int size) {
+        this.values = null;
+        this.segments = segments;
+        this.packed = null;
+        this.size = size;
+    }
+
+    private IntList(PackedValues packed, int size) {
+        this.values = null;
+        this.segments = null;
+        this.packed = packed;
         this.size = size;
     }
 
@@ -29,7 +59,7 @@ public final class IntList extends AbstractList<Integer> implements RandomAccess
     @Override
     @Deprecated
     public Integer get(int index) {
-        return values[rangeCheck(index)];
+        return at(rangeCheck(index));
     }
 
     /**
@@ -39,7 +69,7 @@ public final class IntList extends AbstractList<Integer> implements RandomAccess
      * @return primitive value
      */
     public int getInt(int index) {
-        return values[rangeCheck(index)];
+        return at(rangeCheck(index));
     }
 
     @Override
@@ -47,11 +77,138 @@ public final class IntList extends AbstractList<Integer> implements RandomAccess
         return size;
     }
 
+    /**
+     * Returns whether elements are stored in fixed size segments instead of single contiguous array
+     *
+     * @return whether list is segmented
+     */
+    public boolean isSegmented() {
+        return segments != null;
+    }
+
+    /**
+     * Returns whether elements are stored in compact, bit packed form, see {@link ListStorage#BIT_PACKED} and
+     * {@link ListStorage#DELTA}
+     *
+     * @return whether list is compact
+     */
+    public boolean isCompact() {
+        return packed != null;
+    }
+
+    /**
+     * Calls action with every element, in order, without boxing
+     *
+     * @param action action to call
+     */
+    public void forEachInt(IntConsumer action) {
+        if (values != null) {
+            for (int i = 0; i < size; i++) {
+                action.accept(values[i]);
+            }
+        } else if (segments != null) {
+            for (int segment = 0; segment < segments.length; segment++) {
+                int[] elements = segments[segment];
+                int length = Segments.length(segment, size);
+                for (int i = 0; i < length; i++) {
+                    action.accept(elements[i]);
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                action.accept(at(i));
+            }
+        }
+    }
+
+    /**
+     * Returns sequential stream of elements, without boxing
+     *
+     * @return stream of elements
+     */
+    public IntStream intStream() {
+        return values != null
+                ? Arrays.stream(values, 0, size)
+                : IntStream.range(0, size).map(this::at);
+    }
+
+    /**
+     * Copy all elements to given array
+     *
+     * @param destination destination array
+     * @param offset      position in the destination array of the first element
+     * @throws IndexOutOfBoundsException if elements do not fit in the destination array
+     */
+    public void copyTo(int[] destination, int offset) {
+        Objects.checkFromIndexSize(offset, size, destination.length);
+        if (values != null) {
+            System.arraycopy(values, 0, destination, offset, size);
+        } else if (segments != null) {
+            for (int segment = 0; segment < segments.length; segment++) {
+                System.arraycopy(segments[segment], 0, destination, offset + (segment << SEGMENT_SHIFT),
+                        Segments.length(segment, size));
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                destination[offset + i] = at(i);
+            }
+        }
+    }
+
+    /**
+     * Returns new array with all elements
+     *
+     * @return array of elements
+     */
+    public int[] toIntArray() {
+        int[] result = new int[size];
+        copyTo(result, 0);
+        return result;
+    }
+
+    /**
+     * Returns size of all elements encoded as varints, as in packed int32 and uint32 fields. Computed once and cached
+     *
+     * @return encoded size of elements
+     */
+    public int varintSize() {
+        int result = varintSize;
+        if (result == 0) {
+            for (int i = 0; i < size; i++) {
+                result += Size.varint32Size(at(i));
+            }
+            varintSize = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns size of all elements encoded as zigzag varints, as in packed sint32 fields. Computed once and cached
+     *
+     * @return encoded size of elements
+     */
+    public int zigzagSize() {
+        int result = zigzagSize;
+        if (result == 0) {
+            for (int i = 0; i < size; i++) {
+                result += Size.zigzag32Size(at(i));
+            }
+            zigzagSize = result;
+        }
+
+        return result;
+    }
+
     @Override
     public int hashCode() {
-        int result = 1;
-        for (int i = 0; i < size; i++) {
-            result = 31 * result + values[i];
+        int result = hash;
+        if (result == 0) {
+            result = 1;
+            for (int i = 0; i < size; i++) {
+                result = 31 * result + at(i);
+            }
+            hash = result;
         }
 
         return result;
@@ -59,18 +216,44 @@ public final class IntList extends AbstractList<Integer> implements RandomAccess
 
     @Override
     public boolean equals(Object o) {
-        return o instanceof IntList other && other.size == size
-                ? Arrays.equals(values, 0, size, other.values, 0, size)
-                : super.equals(o);
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof IntList other) || other.size != size) {
+            return super.equals(o);
+        }
+        if (hash != 0 && other.hash != 0 && hash != other.hash) {
+            return false;
+        }
+        if (values != null && other.values != null) {
+            return Arrays.equals(values, 0, size, other.values, 0, size);
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (at(i) != other.at(i)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * Returns new builder
+     * Returns new builder that chooses storage automatically
      *
      * @return new builder
      */
     public static Builder builder() {
-        return new Builder();
+        return new Builder(ListStorage.AUTO);
+    }
+
+    /**
+     * Returns new builder that uses given storage
+     *
+     * @param storage storage of the built lists
+     * @return new builder
+     */
+    public static Builder builder(ListStorage storage) {
+        return new Builder(storage);
     }
 
     /**
@@ -83,6 +266,17 @@ public final class IntList extends AbstractList<Integer> implements RandomAccess
         return elements.length == 0 ? EMPTY : new IntList(elements);
     }
 
+    /**
+     * Create new list backed by given array, without copying. The list takes ownership of the array, so it must not be
+     * modified afterwards
+     *
+     * @param elements elements
+     * @return new list
+     */
+    public static IntList wrap(int[] elements) {
+        return elements.length == 0 ? EMPTY : new IntList(elements);
+    }
+
     /**
      * Return immutable copy of given collection
      *
@@ -101,6 +295,15 @@ public final class IntList extends AbstractList<Integer> implements RandomAccess
         return new IntList(data);
     }
 
+    private int at(int index) {
+        if (values != null) {
+            return values[index];
+        }
+        return segments != null
+                ? segments[index >>> SEGMENT_SHIFT][index & SEGMENT_MASK]
+                : (int) packed.get(index);
+    }
+
     private int rangeCheck(int index) {
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException();
@@ -109,12 +312,21 @@ public final class IntList extends AbstractList<Integer> implements RandomAccess
     }
 
     /**
-     * Builder
+     * Builder. Storage is allocated on the first added element and kept by {@link #clear()} and {@link #build()}, so
+     * one builder can be reused to build many lists. Builder is not thread safe, and should be confined to a single
+     * thread
      */
     public static final class Builder {
-        private int[] values = new int[8];
+        private final ListStorage storage;
+        private int[] values = EMPTY.values;
+        private int[][] segments = null;
+        private int allocatedSegments = 0;
         private int size = 0;
 
+        private Builder(ListStorage storage) {
+            this.storage = storage;
+        }
+
         /**
          * Add element
          *
@@ -122,7 +334,7 @@ public final class IntList extends AbstractList<Integer> implements RandomAccess
          */
         public void add(int element) {
             grow(1);
-            values[size++] = element;
+            append(element);
         }
 
         /**
@@ -134,43 +346,138 @@ public final class IntList extends AbstractList<Integer> implements RandomAccess
             grow(elements.size());
 
             if (elements instanceof IntList our) {
-                System.arraycopy(our.values, 0, values, size, our.size);
-                size += our.size;
+                if (segments == null && our.values != null) {
+                    System.arraycopy(our.values, 0, values, size, our.size);
+                    size += our.size;
+                } else {
+                    for (int i = 0; i < our.size; i++) {
+                        append(our.at(i));
+                    }
+                }
             } else {
                 for (int element : elements) {
-                    values[size++] = element;
+                    append(element);
                 }
             }
         }
 
         /**
-         * Clear all elements
+         * Returns number of added elements
+         *
+         * @return number of elements
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns element added at given position
+         *
+         * @param index index of the element
+         * @return element
+         */
+        public int getInt(int index) {
+            Objects.checkIndex(index, size);
+            return (segments == null ? values[index] : segments[index >>> SEGMENT_SHIFT][index & SEGMENT_MASK]);
+        }
+
+        /**
+         * Clear all elements. Allocated storage is kept
          */
         public void clear() {
             size = 0;
-            values = new int[8];
         }
 
         /**
-         * Build list
+         * Build list. Elements are copied, so builder can be still used afterwards
          *
          * @return new immutable list
          */
         public IntList build() {
-            IntList list = size == 0 ? EMPTY : new IntList(values, size);
-            values = null;
-            return list;
+            if (size == 0) {
+                return EMPTY;
+            }
+            if (storage == ListStorage.BIT_PACKED) {
+                return new IntList(PackedValues.frameOfReference(this::valueAt, size), size);
+            }
+            if (storage == ListStorage.DELTA) {
+                return new IntList(PackedValues.delta(this::valueAt, size), size);
+            }
+            if (segments == null) {
+                return new IntList(Arrays.copyOf(values, size));
+            }
+            if (storage != ListStorage.SEGMENTED && size <= SEGMENT_SIZE) {
+                return new IntList(Arrays.copyOf(segments[0], size));
+            }
+
+            int[][] copy = new int[Segments.count(size)][];
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] = Arrays.copyOf(segments[i], Segments.length(i, size));
+            }
+            return new IntList(copy, size);
+        }
+
+        /**
+         * Build list stored in the narrowest array, bytes or chars, that fits all elements. Used for enum values
+         *
+         * @return new immutable list
+         */
+        IntList buildNarrow() {
+            if (size == 0) {
+                return EMPTY;
+            }
+
+            PackedValues narrow = PackedValues.narrow(this::valueAt, size);
+            return narrow == null ? build() : new IntList(narrow, size);
+        }
+
+        private long valueAt(int index) {
+            return segments == null ? values[index] : segments[index >>> SEGMENT_SHIFT][index & SEGMENT_MASK];
+        }
+
+        private void append(int element) {
+            if (segments == null) {
+                values[size++] = element;
+            } else {
+                segments[size >>> SEGMENT_SHIFT][size & SEGMENT_MASK] = element;
+                size++;
+            }
         }
 
         private void grow(int toAdd) {
+            if (segments != null) {
+                growSegments(size + toAdd);
+                return;
+            }
             if (size + toAdd <= values.length) {
                 return;
             }
 
-            int oldCapacity = values.length;
-            int newCapacity = max(min(oldCapacity << 1, 128), oldCapacity + toAdd);
+            if (storage == ListStorage.SEGMENTED || (storage != ListStorage.CONTIGUOUS && size + toAdd > SEGMENT_SIZE)) {
+                segments = new int[max(Segments.count(size + toAdd), 4)][];
+                segments[0] = Arrays.copyOf(values, SEGMENT_SIZE);
+                allocatedSegments = 1;
+                values = EMPTY.values;
+                growSegments(size + toAdd);
+                return;
+            }
+
+            int newCapacity = max(max(values.length << 1, 8), size + toAdd);
+            if (storage != ListStorage.CONTIGUOUS) {
+                newCapacity = min(newCapacity, SEGMENT_SIZE);
+            }
 
             values = Arrays.copyOf(values, newCapacity);
         }
+
+        private void growSegments(int capacity) {
+            int required = Segments.count(capacity);
+            if (required > segments.length) {
+                segments = Arrays.copyOf(segments, max(segments.length << 1, required));
+            }
+            while (allocatedSegments < required) {
+                segments[allocatedSegments++] = new int[SEGMENT_SIZE];
+            }
+        }
     }
 }
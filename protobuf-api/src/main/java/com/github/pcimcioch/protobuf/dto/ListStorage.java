@@ -0,0 +1,43 @@
+package com.github.pcimcioch.protobuf.dto;
+
+/**
+ * Storage used by lists of elements
+ */
+public enum ListStorage {
+    /**
+     * Single contiguous array up to the segment size, fixed size segments above it
+     */
+    AUTO,
+
+    /**
+     * Always single contiguous array. Growing the list copies all elements
+     */
+    CONTIGUOUS,
+
+    /**
+     * Always fixed size segments. Growing the list allocates new segment and never copies existing elements
+     */
+    SEGMENTED,
+
+    /**
+     * Frame of reference bit packing. Every element is stored as a difference from the smallest element, using only as
+     * many bits as the widest difference needs. Constant time access. Suits small values, or values from a narrow
+     * range. Supported by {@link IntList} and {@link LongList} only, other lists use {@link #AUTO} instead
+     */
+    BIT_PACKED,
+
+    /**
+     * Delta bit packing. Elements are split into blocks of 64. Within block, every element is stored as a difference
+     * from the line starting at the first element, and rising by the smallest step between neighbouring elements.
+     * Constant time access. Suits sorted or monotonic values, like ids, offsets or timestamps. Supported by
+     * {@link IntList} and {@link LongList} only, other lists use {@link #AUTO} instead
+     */
+    DELTA,
+
+    /**
+     * Single byte array holding encoded content of all elements, and array of offsets marking where each element
+     * starts. Growing the list copies the byte array. Supported by repeated string and bytes fields only, which are
+     * then kept in {@link StringList} and {@link BytesList}. Other lists use {@link #AUTO} instead
+     */
+    ARENA
+}
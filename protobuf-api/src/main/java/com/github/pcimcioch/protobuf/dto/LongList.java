@@ -1,24 +1,55 @@
 package com.github.pcimcioch.protobuf.dto;
 
+import com.github.pcimcioch.protobuf.io.Size;
+
 import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.RandomAccess;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
+import static com.github.pcimcioch.protobuf.dto.Segments.SEGMENT_MASK;
+import static com.github.pcimcioch.protobuf.dto.Segments.SEGMENT_SHIFT;
+import static com.github.pcimcioch.protobuf.dto.Segments.SEGMENT_SIZE;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 
 /**
- * Immutable list of longs
+ * Immutable list of longs. Large lists are stored in fixed size segments, and lists can be stored in compact, bit
+ * packed form, see {@link ListStorage}
  */
 public final class LongList extends AbstractList<Long> implements RandomAccess {
     private static final LongList EMPTY = new LongList(new long[0], 0);
 
     private final long[] values;
+    private final long[][] segments;
+    private final PackedValues packed;
     private final int size;
+    private int hash;
+    private int varintSize;
+    private int zigzagSize;
 
     private LongList(long[] values, int size) {
         this.values = values;
+        this.segments = null;
+        this.packed = null;
+        this.size = size;
+    }
+
+    private LongList(long[][] segments, int size) {
+        this.values = null;
+        this.segments = segments;
+        this.packed = null;
+        this.size = size;
+    }
+
+    private LongList(PackedValues packed, int size) {
+        this.values = null;
+        this.segments = null;
+        this.packed = packed;
         this.size = size;
     }
 
@@ -29,7 +60,7 @@ public final class LongList extends AbstractList<Long> implements RandomAccess {
     @Override
     @Deprecated
     public Long get(int index) {
-        return values[rangeCheck(index)];
+        return at(rangeCheck(index));
     }
 
     /**
@@ -39,7 +70,7 @@ public final class LongList extends AbstractList<Long> implements RandomAccess {
      * @return primitive value
      */
     public long getLong(int index) {
-        return values[rangeCheck(index)];
+        return at(rangeCheck(index));
     }
 
     @Override
@@ -47,13 +78,140 @@ public final class LongList extends AbstractList<Long> implements RandomAccess {
         return size;
     }
 
+    /**
+     * Returns whether elements are stored in fixed size segments instead of single contiguous array
+     *
+     * @return whether list is segmented
+     */
+    public boolean isSegmented() {
+        return segments != null;
+    }
+
+    /**
+     * Returns whether elements are stored in compact, bit packed form, see {@link ListStorage#BIT_PACKED} and
+     * {@link ListStorage#DELTA}
+     *
+     * @return whether list is compact
+     */
+    public boolean isCompact() {
+        return packed != null;
+    }
+
+    /**
+     * Calls action with every element, in order, without boxing
+     *
+     * @param action action to call
+     */
+    public void forEachLong(LongConsumer action) {
+        if (values != null) {
+            for (int i = 0; i < size; i++) {
+                action.accept(values[i]);
+            }
+        } else if (segments != null) {
+            for (int segment = 0; segment < segments.length; segment++) {
+                long[] elements = segments[segment];
+                int length = Segments.length(segment, size);
+                for (int i = 0; i < length; i++) {
+                    action.accept(elements[i]);
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                action.accept(at(i));
+            }
+        }
+    }
+
+    /**
+     * Returns sequential stream of elements, without boxing
+     *
+     * @return stream of elements
+     */
+    public LongStream longStream() {
+        return values != null
+                ? Arrays.stream(values, 0, size)
+                : IntStream.range(0, size).mapToLong(this::at);
+    }
+
+    /**
+     * Copy all elements to given array
+     *
+     * @param destination destination array
+     * @param offset      position in the destination array of the first element
+     * @throws IndexOutOfBoundsException if elements do not fit in the destination array
+     */
+    public void copyTo(long[] destination, int offset) {
+        Objects.checkFromIndexSize(offset, size, destination.length);
+        if (values != null) {
+            System.arraycopy(values, 0, destination, offset, size);
+        } else if (segments != null) {
+            for (int segment = 0; segment < segments.length; segment++) {
+                System.arraycopy(segments[segment], 0, destination, offset + (segment << SEGMENT_SHIFT),
+                        Segments.length(segment, size));
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                destination[offset + i] = at(i);
+            }
+        }
+    }
+
+    /**
+     * Returns new array with all elements
+     *
+     * @return array of elements
+     */
+    public long[] toLongArray() {
+        long[] result = new long[size];
+        copyTo(result, 0);
+        return result;
+    }
+
+    /**
+     * Returns size of all elements encoded as varints, as in packed int64 and uint64 fields. Computed once and cached
+     *
+     * @return encoded size of elements
+     */
+    public int varintSize() {
+        int result = varintSize;
+        if (result == 0) {
+            for (int i = 0; i < size; i++) {
+                result += Size.varint64Size(at(i));
+            }
+            varintSize = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns size of all elements encoded as zigzag varints, as in packed sint64 fields. Computed once and cached
+     *
+     * @return encoded size of elements
+     */
+    public int zigzagSize() {
+        int result = zigzagSize;
+        if (result == 0) {
+            for (int i = 0; i < size; i++) {
+                result += Size.zigzag64Size(at(i));
+            }
+            zigzagSize = result;
+        }
+
+        return result;
+    }
+
     @Override
     public int hashCode() {
-        int result = 1;
-        for (int i = 0; i < size; i++) {
-            long element = values[i];
-            int elementHash = (int) (element ^ (element >>> 32));
-            result = 31 * result + elementHash;
+        int result = hash;
+        if (result == 0) {
+            result = 1;
+            for (int i = 0; i < size; i++) {
+                long element = at(i);
+                int elementHash = (int) (element ^ (element >>> 32));
+                result = 31 * result + elementHash;
+            }
+            hash = result;
         }
 
         return result;
@@ -61,18 +219,44 @@ public final class LongList extends AbstractList<Long> implements RandomAccess {
 
     @Override
     public boolean equals(Object o) {
-        return o instanceof LongList other && other.size == size
-                ? Arrays.equals(values, 0, size, other.values, 0, size)
-                : super.equals(o);
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof LongList other) || other.size != size) {
+            return super.equals(o);
+        }
+        if (hash != 0 && other.hash != 0 && hash != other.hash) {
+            return false;
+        }
+        if (values != null && other.values != null) {
+            return Arrays.equals(values, 0, size, other.values, 0, size);
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (at(i) != other.at(i)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * Returns new builder
+     * Returns new builder that chooses storage automatically
      *
      * @return new builder
      */
     public static Builder builder() {
-        return new Builder();
+        return new Builder(ListStorage.AUTO);
+    }
+
+    /**
+     * Returns new builder that uses given storage
+     *
+     * @param storage storage of the built lists
+     * @return new builder
+     */
+    public static Builder builder(ListStorage storage) {
+        return new Builder(storage);
     }
 
     /**
@@ -85,6 +269,17 @@ public final class LongList extends AbstractList<Long> implements RandomAccess {
         return elements.length == 0 ? EMPTY : new LongList(elements);
     }
 
+    /**
+     * Create new list backed by given array, without copying. The list takes ownership of the array, so it must not be
+     * modified afterwards
+     *
+     * @param elements elements
+     * @return new list
+     */
+    public static LongList wrap(long[] elements) {
+        return elements.length == 0 ? EMPTY : new LongList(elements);
+    }
+
     /**
      * Return immutable copy of given collection
      *
@@ -103,6 +298,15 @@ public final class LongList extends AbstractList<Long> implements RandomAccess {
         return new LongList(data);
     }
 
+    private long at(int index) {
+        if (values != null) {
+            return values[index];
+        }
+        return segments != null
+                ? segments[index >>> SEGMENT_SHIFT][index & SEGMENT_MASK]
+                : packed.get(index);
+    }
+
     private int rangeCheck(int index) {
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException();
@@ -111,12 +315,21 @@ public final class LongList extends AbstractList<Long> implements RandomAccess {
     }
 
     /**
-     * Builder
+     * Builder. Storage is allocated on the first added element and kept by {@link #clear()} and {@link #build()}, so
+     * one builder can be reused to build many lists. Builder is not thread safe, and should be confined to a single
+     * thread
      */
     public static final class Builder {
-        private long[] values = new long[8];
+        private final ListStorage storage;
+        private long[] values = EMPTY.values;
+        private long[][] segments = null;
+        private int allocatedSegments = 0;
         private int size = 0;
 
+        private Builder(ListStorage storage) {
+            this.storage = storage;
+        }
+
         /**
          * Add element
          *
@@ -124,7 +337,7 @@ public final class LongList extends AbstractList<Long> implements RandomAccess {
          */
         public void add(long element) {
             grow(1);
-            values[size++] = element;
+            append(element);
         }
 
         /**
@@ -136,43 +349,124 @@ public final class LongList extends AbstractList<Long> implements RandomAccess {
             grow(elements.size());
 
             if (elements instanceof LongList our) {
-                System.arraycopy(our.values, 0, values, size, our.size);
-                size += our.size;
+                if (segments == null && our.values != null) {
+                    System.arraycopy(our.values, 0, values, size, our.size);
+                    size += our.size;
+                } else {
+                    for (int i = 0; i < our.size; i++) {
+                        append(our.at(i));
+                    }
+                }
             } else {
                 for (long element : elements) {
-                    values[size++] = element;
+                    append(element);
                 }
             }
         }
 
         /**
-         * Clear all elements
+         * Returns number of added elements
+         *
+         * @return number of elements
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns element added at given position
+         *
+         * @param index index of the element
+         * @return element
+         */
+        public long getLong(int index) {
+            Objects.checkIndex(index, size);
+            return (segments == null ? values[index] : segments[index >>> SEGMENT_SHIFT][index & SEGMENT_MASK]);
+        }
+
+        /**
+         * Clear all elements. Allocated storage is kept
          */
         public void clear() {
             size = 0;
-            values = new long[8];
         }
 
         /**
-         * Build list
+         * Build list. Elements are copied, so builder can be still used afterwards
          *
          * @return new immutable list
          */
         public LongList build() {
-            LongList list = size == 0 ? EMPTY : new LongList(values, size);
-            values = null;
-            return list;
+            if (size == 0) {
+                return EMPTY;
+            }
+            if (storage == ListStorage.BIT_PACKED) {
+                return new LongList(PackedValues.frameOfReference(this::valueAt, size), size);
+            }
+            if (storage == ListStorage.DELTA) {
+                return new LongList(PackedValues.delta(this::valueAt, size), size);
+            }
+            if (segments == null) {
+                return new LongList(Arrays.copyOf(values, size));
+            }
+            if (storage != ListStorage.SEGMENTED && size <= SEGMENT_SIZE) {
+                return new LongList(Arrays.copyOf(segments[0], size));
+            }
+
+            long[][] copy = new long[Segments.count(size)][];
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] = Arrays.copyOf(segments[i], Segments.length(i, size));
+            }
+            return new LongList(copy, size);
+        }
+
+        private long valueAt(int index) {
+            return segments == null ? values[index] : segments[index >>> SEGMENT_SHIFT][index & SEGMENT_MASK];
+        }
+
+        private void append(long element) {
+            if (segments == null) {
+                values[size++] = element;
+            } else {
+                segments[size >>> SEGMENT_SHIFT][size & SEGMENT_MASK] = element;
+                size++;
+            }
         }
 
         private void grow(int toAdd) {
+            if (segments != null) {
+                growSegments(size + toAdd);
+                return;
+            }
             if (size + toAdd <= values.length) {
                 return;
             }
 
-            int oldCapacity = values.length;
-            int newCapacity = max(min(oldCapacity << 1, 128), oldCapacity + toAdd);
+            if (storage == ListStorage.SEGMENTED || (storage != ListStorage.CONTIGUOUS && size + toAdd > SEGMENT_SIZE)) {
+                segments = new long[max(Segments.count(size + toAdd), 4)][];
+                segments[0] = Arrays.copyOf(values, SEGMENT_SIZE);
+                allocatedSegments = 1;
+                values = EMPTY.values;
+                growSegments(size + toAdd);
+                return;
+            }
+
+            int newCapacity = max(max(values.length << 1, 8), size + toAdd);
+            if (storage != ListStorage.CONTIGUOUS) {
+                newCapacity = min(newCapacity, SEGMENT_SIZE);
+            }
 
             values = Arrays.copyOf(values, newCapacity);
         }
+
+        private void growSegments(int capacity) {
+            int required = Segments.count(capacity);
+            if (required > segments.length) {
+                segments = Arrays.copyOf(segments, max(segments.length << 1, required));
+            }
+            while (allocatedSegments < required) {
+                segments[allocatedSegments++] = new long[SEGMENT_SIZE];
+            }
+        }
     }
 }
@@ -0,0 +1,33 @@
+package com.github.pcimcioch.protobuf.dto;
+
+/**
+ * Hashing utils shared by open addressing maps
+ */
+final class MapHashing {
+
+    private MapHashing() {
+    }
+
+    /**
+     * Returns size of the index table for given number of entries. Table is a power of two and at most half full
+     *
+     * @param entries number of entries
+     * @return index table size
+     */
+    static int tableSize(int entries) {
+        return entries <= 1 ? 2 : Integer.highestOneBit(2 * entries - 1) << 1;
+    }
+
+    static int hash(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    static int hash(long key) {
+        return hash((int) (key ^ (key >>> 32)));
+    }
+
+    static int hash(Object key) {
+        return hash(key.hashCode());
+    }
+}
@@ -3,23 +3,37 @@ package com.github.pcimcioch.protobuf.dto;
 import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.RandomAccess;
 
+import static com.github.pcimcioch.protobuf.dto.Segments.SEGMENT_MASK;
+import static com.github.pcimcioch.protobuf.dto.Segments.SEGMENT_SHIFT;
+import static com.github.pcimcioch.protobuf.dto.Segments.SEGMENT_SIZE;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 
 /**
- * Immutable list of objects
+ * Immutable list of objects. Large lists are stored in fixed size segments, see {@link ListStorage}.
+ * Hash code is computed once and cached, so elements must be immutable
  */
 @SuppressWarnings("unchecked")
 public final class ObjectList<T> extends AbstractList<T> implements RandomAccess {
     private static final ObjectList<?> EMPTY = new ObjectList<>(new Object[0], 0);
 
     private final Object[] values;
+    private final Object[][] segments;
     private final int size;
+    private int hash;
 
     private ObjectList(Object[] values, int size) {
         this.values = values;
+        this.segments = null;
+        this.size = size;
+    }
+
+    private ObjectList(Object[][] segments, int size) {
+        this.values = null;
+        this.segments = segments;
         this.size = size;
     }
 
@@ -29,7 +43,7 @@ public final class ObjectList<T> extends AbstractList<T> implements RandomAccess
 
     @Override
     public T get(int index) {
-        return (T) values[rangeCheck(index)];
+        return at(rangeCheck(index));
     }
 
     @Override
@@ -37,13 +51,25 @@ public final class ObjectList<T> extends AbstractList<T> implements RandomAccess
         return size;
     }
 
+    /**
+     * Returns whether elements are stored in fixed size segments instead of single contiguous array
+     *
+     * @return whether list is segmented
+     */
+    public boolean isSegmented() {
+        return segments != null;
+    }
+
     @Override
     public int hashCode() {
-        int result = 1;
-
-        for (int i = 0; i < size; i++) {
-            Object element = values[i];
-            result = 31 * result + (element == null ? 0 : element.hashCode());
+        int result = hash;
+        if (result == 0) {
+            result = 1;
+            for (int i = 0; i < size; i++) {
+                Object element = at(i);
+                result = 31 * result + (element == null ? 0 : element.hashCode());
+            }
+            hash = result;
         }
 
         return result;
@@ -51,19 +77,46 @@ public final class ObjectList<T> extends AbstractList<T> implements RandomAccess
 
     @Override
     public boolean equals(Object o) {
-        return o instanceof ObjectList<?> other && other.size == size
-                ? Arrays.equals(values, 0, size, other.values, 0, size)
-                : super.equals(o);
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof ObjectList<?> other) || other.size != size) {
+            return super.equals(o);
+        }
+        if (hash != 0 && other.hash != 0 && hash != other.hash) {
+            return false;
+        }
+        if (values != null && other.values != null) {
+            return Arrays.equals(values, 0, size, other.values, 0, size);
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (!Objects.equals(at(i), other.at(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * Returns new builder
+     * Returns new builder that chooses storage automatically
      *
      * @param <T> element type
      * @return new builder
      */
     public static <T> Builder<T> builder() {
-        return new Builder<>();
+        return new Builder<>(ListStorage.AUTO);
+    }
+
+    /**
+     * Returns new builder that uses given storage
+     *
+     * @param storage storage of the built lists
+     * @param <T> element type
+     * @return new builder
+     */
+    public static <T> Builder<T> builder(ListStorage storage) {
+        return new Builder<>(storage);
     }
 
     /**
@@ -97,6 +150,10 @@ public final class ObjectList<T> extends AbstractList<T> implements RandomAccess
         return new ObjectList<>(data);
     }
 
+    private T at(int index) {
+        return (T) (segments == null ? values[index] : segments[index >>> SEGMENT_SHIFT][index & SEGMENT_MASK]);
+    }
+
     private int rangeCheck(int index) {
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException();
@@ -105,12 +162,23 @@ public final class ObjectList<T> extends AbstractList<T> implements RandomAccess
     }
 
     /**
-     * Builder
+     * Builder. Storage is allocated on the first added element and kept by {@link #clear()} and {@link #build()}, so
+     * one builder can be reused to build many lists. Builder is not thread safe, and should be confined to a single
+     * thread
+     *
+     * @param <V> element type
      */
     public static final class Builder<V> {
-        private Object[] values = new Object[8];
+        private final ListStorage storage;
+        private Object[] values = EMPTY.values;
+        private Object[][] segments = null;
+        private int allocatedSegments = 0;
         private int size = 0;
 
+        private Builder(ListStorage storage) {
+            this.storage = storage;
+        }
+
         /**
          * Add element
          *
@@ -121,7 +189,7 @@ public final class ObjectList<T> extends AbstractList<T> implements RandomAccess
                 throw new NullPointerException();
             }
             grow(1);
-            values[size++] = element;
+            append(element);
         }
 
         /**
@@ -136,38 +204,110 @@ public final class ObjectList<T> extends AbstractList<T> implements RandomAccess
                 if (element == null) {
                     throw new NullPointerException();
                 }
-                values[size++] = element;
+                append(element);
             }
         }
 
         /**
-         * Clear all elements
+         * Returns number of added elements
+         *
+         * @return number of elements
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns element added at given position
+         *
+         * @param index index of the element
+         * @return element
+         */
+        public V get(int index) {
+            Objects.checkIndex(index, size);
+            return (V) (segments == null ? values[index] : segments[index >>> SEGMENT_SHIFT][index & SEGMENT_MASK]);
+        }
+
+        /**
+         * Clear all elements. Allocated storage is kept
          */
         public void clear() {
+            if (segments == null) {
+                Arrays.fill(values, 0, size, null);
+            } else {
+                for (int i = 0; i < Segments.count(size); i++) {
+                    Arrays.fill(segments[i], 0, Segments.length(i, size), null);
+                }
+            }
             size = 0;
-            values = new Object[8];
         }
 
         /**
-         * Build list
+         * Build list. Elements are copied, so builder can be still used afterwards
          *
          * @return new immutable list
          */
         public ObjectList<V> build() {
-            ObjectList<V> list = size == 0 ? (ObjectList<V>) EMPTY : new ObjectList<>(values, size);
-            values = null;
-            return list;
+            if (size == 0) {
+                return (ObjectList<V>) EMPTY;
+            }
+            if (segments == null) {
+                return new ObjectList<>(Arrays.copyOf(values, size));
+            }
+            if (storage != ListStorage.SEGMENTED && size <= SEGMENT_SIZE) {
+                return new ObjectList<>(Arrays.copyOf(segments[0], size));
+            }
+
+            Object[][] copy = new Object[Segments.count(size)][];
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] = Arrays.copyOf(segments[i], Segments.length(i, size));
+            }
+            return new ObjectList<>(copy, size);
+        }
+
+        private void append(V element) {
+            if (segments == null) {
+                values[size++] = element;
+            } else {
+                segments[size >>> SEGMENT_SHIFT][size & SEGMENT_MASK] = element;
+                size++;
+            }
         }
 
         private void grow(int toAdd) {
+            if (segments != null) {
+                growSegments(size + toAdd);
+                return;
+            }
             if (size + toAdd <= values.length) {
                 return;
             }
 
-            int oldCapacity = values.length;
-            int newCapacity = max(min(oldCapacity << 1, 128), oldCapacity + toAdd);
+            if (storage == ListStorage.SEGMENTED || (storage != ListStorage.CONTIGUOUS && size + toAdd > SEGMENT_SIZE)) {
+                segments = new Object[max(Segments.count(size + toAdd), 4)][];
+                segments[0] = Arrays.copyOf(values, SEGMENT_SIZE);
+                allocatedSegments = 1;
+                values = EMPTY.values;
+                growSegments(size + toAdd);
+                return;
+            }
+
+            int newCapacity = max(max(values.length << 1, 8), size + toAdd);
+            if (storage != ListStorage.CONTIGUOUS) {
+                newCapacity = min(newCapacity, SEGMENT_SIZE);
+            }
 
             values = Arrays.copyOf(values, newCapacity);
         }
+
+        private void growSegments(int capacity) {
+            int required = Segments.count(capacity);
+            if (required > segments.length) {
+                segments = Arrays.copyOf(segments, max(segments.length << 1, required));
+            }
+            while (allocatedSegments < required) {
+                segments[allocatedSegments++] = new Object[SEGMENT_SIZE];
+            }
+        }
     }
 }
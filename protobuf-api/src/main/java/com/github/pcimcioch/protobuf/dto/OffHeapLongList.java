@@ -0,0 +1,185 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Immutable list of longs stored outside of the java heap, in a direct {@link ByteBuffer}. Elements do not add to
+ * the heap size and are not scanned by garbage collector, which pays off for lists with millions of elements.
+ * Use {@link LongList} for regular lists.
+ * <p>
+ * List must be closed when no longer needed, which releases its native memory. List can be closed while other
+ * threads still read it. Reads already in progress complete, later reads fail, and memory is released when the last
+ * pending read finishes
+ */
+public final class OffHeapLongList extends AbstractList<Long> implements RandomAccess, AutoCloseable {
+    private static final int MAX_SIZE = Integer.MAX_VALUE >>> 3;
+
+    private final OffHeapMemory values;
+    private final int size;
+
+    private OffHeapLongList(ByteBuffer values, int size) {
+        this.values = new OffHeapMemory(values);
+        this.size = size;
+    }
+
+    @Override
+    @Deprecated
+    public Long get(int index) {
+        return getLong(index);
+    }
+
+    /**
+     * Return primitive value
+     *
+     * @param index index
+     * @return primitive value
+     * @throws IllegalStateException if list is closed
+     */
+    public long getLong(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        ByteBuffer buffer = values.acquire();
+        try {
+            return buffer.getLong(index << 3);
+        } finally {
+            values.release();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether list was closed
+     *
+     * @return whether list is closed
+     */
+    public boolean isClosed() {
+        return values.isClosed();
+    }
+
+    /**
+     * Releases the native memory, once reads in progress finish. Any further read fails
+     */
+    @Override
+    public void close() {
+        values.close();
+    }
+
+    /**
+     * Copies elements to the heap
+     *
+     * @return on-heap copy of this list
+     * @throws IllegalStateException if list is closed
+     */
+    public LongList toHeap() {
+        long[] data = new long[size];
+        ByteBuffer buffer = values.acquire();
+        try {
+            for (int i = 0; i < size; i++) {
+                data[i] = buffer.getLong(i << 3);
+            }
+        } finally {
+            values.release();
+        }
+        return LongList.of(data);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        ByteBuffer buffer = values.acquire();
+        try {
+            for (int i = 0; i < size; i++) {
+                long element = buffer.getLong(i << 3);
+                result = 31 * result + (int) (element ^ (element >>> 32));
+            }
+        } finally {
+            values.release();
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns new builder
+     *
+     * @return new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder. Off-heap storage is handed over to the built list, so the builder starts from scratch after
+     * {@link #build()}. Builder can be used as a target of packed decoding, for example
+     * {@code reader.readInt64Packed(builder::add)}. Builder is not thread safe, and should be confined to a single
+     * thread
+     */
+    public static final class Builder {
+        private ByteBuffer values = DirectBuffers.EMPTY;
+        private int size = 0;
+
+        private Builder() {
+        }
+
+        /**
+         * Add element
+         *
+         * @param element element to add
+         */
+        public void add(long element) {
+            if (size == values.capacity() >>> 3) {
+                grow();
+            }
+            values.putLong(size << 3, element);
+            size++;
+        }
+
+        /**
+         * Returns number of added elements
+         *
+         * @return number of elements
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Clear all elements. Allocated storage is kept
+         */
+        public void clear() {
+            size = 0;
+        }
+
+        /**
+         * Build list. Storage, trimmed to the number of elements, is moved to the list
+         *
+         * @return new immutable list
+         */
+        public OffHeapLongList build() {
+            int bytes = size << 3;
+            ByteBuffer trimmed = bytes == values.capacity() ? values : DirectBuffers.copyOf(values, bytes);
+            OffHeapLongList list = new OffHeapLongList(trimmed, size);
+            values = DirectBuffers.EMPTY;
+            size = 0;
+            return list;
+        }
+
+        private void grow() {
+            if (size == MAX_SIZE) {
+                throw new OutOfMemoryError("Off-heap list can not hold more than " + MAX_SIZE + " elements");
+            }
+            int capacity = min(max(size << 1, 1024), MAX_SIZE);
+            values = DirectBuffers.copyOf(values, capacity << 3);
+        }
+    }
+}
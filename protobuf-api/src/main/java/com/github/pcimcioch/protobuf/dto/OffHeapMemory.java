@@ -0,0 +1,68 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+
+/**
+ * Direct buffer of off-heap list that can be closed while other threads still read it. Every read holds the buffer
+ * between {@link #acquire()} and {@link #release()}. Closing forbids new reads, and native memory is released by the
+ * last of close and pending reads, so it is never read after being released
+ */
+final class OffHeapMemory {
+    private static final int CLOSED = Integer.MIN_VALUE;
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(OffHeapMemory.class, "state", int.class);
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private final ByteBuffer buffer;
+
+    // number of pending reads, with the highest bit set once closed
+    private volatile int state;
+
+    OffHeapMemory(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    ByteBuffer acquire() {
+        int current;
+        do {
+            current = state;
+            if ((current & CLOSED) != 0) {
+                throw new IllegalStateException("List is closed");
+            }
+        } while (!STATE.weakCompareAndSet(this, current, current + 1));
+
+        return buffer;
+    }
+
+    void release() {
+        if ((int) STATE.getAndAdd(this, -1) - 1 == CLOSED) {
+            DirectBuffers.free(buffer);
+        }
+    }
+
+    boolean isClosed() {
+        return (state & CLOSED) != 0;
+    }
+
+    void close() {
+        int current;
+        do {
+            current = state;
+            if ((current & CLOSED) != 0) {
+                return;
+            }
+        } while (!STATE.weakCompareAndSet(this, current, current | CLOSED));
+
+        if (current == 0) {
+            DirectBuffers.free(buffer);
+        }
+    }
+}
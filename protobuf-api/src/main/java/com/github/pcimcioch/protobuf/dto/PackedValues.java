@@ -0,0 +1,235 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * Compact storage of integer values, used by compact {@link IntList} and {@link LongList}
+ */
+abstract class PackedValues {
+    private static final int BLOCK_SHIFT = 6;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    /**
+     * Returns value at given position
+     *
+     * @param index index of the value
+     * @return value
+     */
+    abstract long get(int index);
+
+    /**
+     * Packs values as differences from the smallest value
+     *
+     * @param values values to pack
+     * @param size   number of values
+     * @return packed values
+     */
+    static PackedValues frameOfReference(IntToLongFunction values, int size) {
+        long min = values.applyAsLong(0);
+        long max = min;
+        for (int i = 1; i < size; i++) {
+            long value = values.applyAsLong(i);
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        int width = width(max - min);
+        long[] words = words((long) size * width);
+        for (int i = 0; i < size; i++) {
+            write(words, (long) i * width, width, values.applyAsLong(i) - min);
+        }
+
+        return new FrameOfReference(min, width, words);
+    }
+
+    /**
+     * Packs values in blocks of 64 values. Within block, every value is stored as a difference from the line starting
+     * at the first value, and rising by the smallest step between neighbouring values
+     *
+     * @param values values to pack
+     * @param size   number of values
+     * @return packed values
+     */
+    static PackedValues delta(IntToLongFunction values, int size) {
+        int blocks = ((size - 1) >>> BLOCK_SHIFT) + 1;
+        long[] anchors = new long[blocks];
+        long[] steps = new long[blocks];
+        long[] offsets = new long[blocks];
+        byte[] widths = new byte[blocks];
+
+        long bits = 0;
+        for (int block = 0; block < blocks; block++) {
+            int start = block << BLOCK_SHIFT;
+            int end = Math.min(start + BLOCK_SIZE, size);
+            long first = values.applyAsLong(start);
+
+            long step = end - start > 1 ? values.applyAsLong(start + 1) - first : 0L;
+            for (int i = start + 2; i < end; i++) {
+                step = Math.min(step, values.applyAsLong(i) - values.applyAsLong(i - 1));
+            }
+
+            long minResidual = 0L;
+            long maxResidual = 0L;
+            for (int i = start + 1; i < end; i++) {
+                long residual = values.applyAsLong(i) - first - (i - start) * step;
+                minResidual = Math.min(minResidual, residual);
+                maxResidual = Math.max(maxResidual, residual);
+            }
+
+            anchors[block] = first + minResidual;
+            steps[block] = step;
+            offsets[block] = bits;
+            widths[block] = (byte) width(maxResidual - minResidual);
+            bits += (long) (end - start) * widths[block];
+        }
+
+        long[] words = words(bits);
+        for (int block = 0; block < blocks; block++) {
+            int start = block << BLOCK_SHIFT;
+            int end = Math.min(start + BLOCK_SIZE, size);
+            int width = widths[block];
+            for (int i = start; i < end; i++) {
+                long residual = values.applyAsLong(i) - anchors[block] - (i - start) * steps[block];
+                write(words, offsets[block] + (long) (i - start) * width, width, residual);
+            }
+        }
+
+        return new Delta(anchors, steps, offsets, widths, words);
+    }
+
+    /**
+     * Stores values in byte or char array, if all values fit
+     *
+     * @param values values to store
+     * @param size   number of values
+     * @return stored values, or null if values do not fit in chars
+     */
+    static PackedValues narrow(IntToLongFunction values, int size) {
+        long min = 0L;
+        long max = 0L;
+        for (int i = 0; i < size; i++) {
+            long value = values.applyAsLong(i);
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        if (min < 0L || max > 0xFFFF) {
+            return null;
+        }
+        if (max <= 0xFF) {
+            byte[] data = new byte[size];
+            for (int i = 0; i < size; i++) {
+                data[i] = (byte) values.applyAsLong(i);
+            }
+            return new Bytes(data);
+        }
+
+        char[] data = new char[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (char) values.applyAsLong(i);
+        }
+        return new Chars(data);
+    }
+
+    private static int width(long range) {
+        return Long.SIZE - Long.numberOfLeadingZeros(range);
+    }
+
+    private static long mask(int width) {
+        return width == Long.SIZE ? -1L : (1L << width) - 1;
+    }
+
+    private static long[] words(long bits) {
+        return new long[(int) (bits >>> 6) + 2];
+    }
+
+    private static void write(long[] words, long bit, int width, long value) {
+        int word = (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        words[word] |= value << shift;
+        if (shift + width > Long.SIZE) {
+            words[word + 1] |= value >>> (Long.SIZE - shift);
+        }
+    }
+
+    private static long read(long[] words, long bit, int width, long mask) {
+        int word = (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        long value = words[word] >>> shift;
+        if (shift + width > Long.SIZE) {
+            value |= words[word + 1] << (Long.SIZE - shift);
+        }
+        return value & mask;
+    }
+
+    private static final class FrameOfReference extends PackedValues {
+        private final long base;
+        private final int width;
+        private final long mask;
+        private final long[] words;
+
+        private FrameOfReference(long base, int width, long[] words) {
+            this.base = base;
+            this.width = width;
+            this.mask = mask(width);
+            this.words = words;
+        }
+
+        @Override
+        long get(int index) {
+            return base + read(words, (long) index * width, width, mask);
+        }
+    }
+
+    private static final class Delta extends PackedValues {
+        private final long[] anchors;
+        private final long[] steps;
+        private final long[] offsets;
+        private final byte[] widths;
+        private final long[] words;
+
+        private Delta(long[] anchors, long[] steps, long[] offsets, byte[] widths, long[] words) {
+            this.anchors = anchors;
+            this.steps = steps;
+            this.offsets = offsets;
+            this.widths = widths;
+            this.words = words;
+        }
+
+        @Override
+        long get(int index) {
+            int block = index >>> BLOCK_SHIFT;
+            int position = index & (BLOCK_SIZE - 1);
+            int width = widths[block];
+
+            return anchors[block] + position * steps[block]
+                    + read(words, offsets[block] + (long) position * width, width, mask(width));
+        }
+    }
+
+    private static final class Bytes extends PackedValues {
+        private final byte[] values;
+
+        private Bytes(byte[] values) {
+            this.values = values;
+        }
+
+        @Override
+        long get(int index) {
+            return values[index] & 0xFF;
+        }
+    }
+
+    private static final class Chars extends PackedValues {
+        private final char[] values;
+
+        private Chars(char[] values) {
+            this.values = values;
+        }
+
+        @Override
+        long get(int index) {
+            return values[index];
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.github.pcimcioch.protobuf.dto;
 
+import com.github.pcimcioch.protobuf.io.UnknownFields;
+
 /**
  * Utils for Protobuf Data Transfer Objects
  */
@@ -139,6 +141,26 @@ public final class ProtoDto {
         return value == null ? ObjectList.of() : value;
     }
 
+    /**
+     * Copy list of strings. Returned list is unmodifiable
+     *
+     * @param value list to copy
+     * @return list copy
+     */
+    public static StringList copy(StringList value) {
+        return value == null ? StringList.of() : value;
+    }
+
+    /**
+     * Copy list of bytes. Returned list is unmodifiable
+     *
+     * @param value list to copy
+     * @return list copy
+     */
+    public static BytesList copy(BytesList value) {
+        return value == null ? BytesList.of() : value;
+    }
+
     /**
      * Copy list of enums. Returned list is unmodifiable
      *
@@ -150,6 +172,66 @@ public final class ProtoDto {
         return value == null ? EnumList.of() : value;
     }
 
+    /**
+     * Copy map of int to int. Returned map is unmodifiable
+     *
+     * @param value map to copy
+     * @return map copy
+     */
+    public static IntIntMap copy(IntIntMap value) {
+        return value == null ? IntIntMap.of() : value;
+    }
+
+    /**
+     * Copy map of int to long. Returned map is unmodifiable
+     *
+     * @param value map to copy
+     * @return map copy
+     */
+    public static IntLongMap copy(IntLongMap value) {
+        return value == null ? IntLongMap.of() : value;
+    }
+
+    /**
+     * Copy map of long to int. Returned map is unmodifiable
+     *
+     * @param value map to copy
+     * @return map copy
+     */
+    public static LongIntMap copy(LongIntMap value) {
+        return value == null ? LongIntMap.of() : value;
+    }
+
+    /**
+     * Copy map of long to long. Returned map is unmodifiable
+     *
+     * @param value map to copy
+     * @return map copy
+     */
+    public static LongLongMap copy(LongLongMap value) {
+        return value == null ? LongLongMap.of() : value;
+    }
+
+    /**
+     * Copy map of String to int. Returned map is unmodifiable
+     *
+     * @param value map to copy
+     * @return map copy
+     */
+    public static StringIntMap copy(StringIntMap value) {
+        return value == null ? StringIntMap.of() : value;
+    }
+
+    /**
+     * Copy map of String to long. Returned map is unmodifiable
+     *
+     * @param value map to copy
+     * @return map copy
+     */
+    public static StringLongMap copy(StringLongMap value) {
+        return value == null ? StringLongMap.of() : value;
+    }
+
     /**
      * Copy message value
      *
@@ -161,6 +243,27 @@ public final class ProtoDto {
         return value == null || value.isEmpty() ? null : value;
     }
 
+    /**
+     * Copy raw message value
+     *
+     * @param value value
+     * @param <T>   type of message
+     * @return value copy
+     */
+    public static <T> RawMessage<T> copy(RawMessage<T> value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Copy unknown fields value
+     *
+     * @param value value
+     * @return value copy
+     */
+    public static UnknownFields copy(UnknownFields value) {
+        return value == null ? UnknownFields.empty() : value;
+    }
+
     /**
      * Merge two values. Uses toMerge if it is not default, uses current otherwise
      *
@@ -250,6 +353,18 @@ public final class ProtoDto {
         return current == null ? toMerge : current.merge(toMerge);
     }
 
+    /**
+     * Merge two raw messages. Encoded messages are concatenated
+     *
+     * @param current current value
+     * @param toMerge value to merge
+     * @param <T>     type of the message
+     * @return merged message
+     */
+    public static <T> RawMessage<T> merge(RawMessage<T> current, RawMessage<T> toMerge) {
+        return current == null ? toMerge : current.concat(toMerge);
+    }
+
     /**
      * Merge two lists of doubles
      *
@@ -341,6 +456,47 @@ public final class ProtoDto {
         return current;
     }
 
+    /**
+     * Merge two lists of strings
+     *
+     * @param current current value
+     * @param toMerge value to merge
+     * @return merged lists
+     */
+    public static StringList.Builder merge(StringList.Builder current, StringList toMerge) {
+        if (toMerge != null && !toMerge.isEmpty()) {
+            current.addAll(toMerge);
+        }
+
+        return current;
+    }
+
+    /**
+     * Merge two lists of bytes
+     *
+     * @param current current value
+     * @param toMerge value to merge
+     * @return merged lists
+     */
+    public static BytesList.Builder merge(BytesList.Builder current, BytesList toMerge) {
+        if (toMerge != null && !toMerge.isEmpty()) {
+            current.addAll(toMerge);
+        }
+
+        return current;
+    }
+
+    /**
+     * Merge unknown fields
+     *
+     * @param current current value
+     * @param toMerge value to merge
+     * @return merged fields
+     */
+    public static UnknownFields.Builder merge(UnknownFields.Builder current, UnknownFields toMerge) {
+        return current.addAll(toMerge);
+    }
+
     /**
      * Merge two lists of enums
      *
@@ -356,4 +512,94 @@ public final class ProtoDto {
 
         return current;
     }
+
+    /**
+     * Merge two maps of int to int. Entries from toMerge replace entries with the same key
+     *
+     * @param current current value
+     * @param toMerge value to merge
+     * @return merged maps
+     */
+    public static IntIntMap.Builder merge(IntIntMap.Builder current, IntIntMap toMerge) {
+        if (toMerge != null && !toMerge.isEmpty()) {
+            current.putAll(toMerge);
+        }
+
+        return current;
+    }
+
+    /**
+     * Merge two maps of int to long. Entries from toMerge replace entries with the same key
+     *
+     * @param current current value
+     * @param toMerge value to merge
+     * @return merged maps
+     */
+    public static IntLongMap.Builder merge(IntLongMap.Builder current, IntLongMap toMerge) {
+        if (toMerge != null && !toMerge.isEmpty()) {
+            current.putAll(toMerge);
+        }
+
+        return current;
+    }
+
+    /**
+     * Merge two maps of long to int. Entries from toMerge replace entries with the same key
+     *
+     * @param current current value
+     * @param toMerge value to merge
+     * @return merged maps
+     */
+    public static LongIntMap.Builder merge(LongIntMap.Builder current, LongIntMap toMerge) {
+        if (toMerge != null && !toMerge.isEmpty()) {
+            current.putAll(toMerge);
+        }
+
+        return current;
+    }
+
+    /**
+     * Merge two maps of long to long. Entries from toMerge replace entries with the same key
+     *
+     * @param current current value
+     * @param toMerge value to merge
+     * @return merged maps
+     */
+    public static LongLongMap.Builder merge(LongLongMap.Builder current, LongLongMap toMerge) {
+        if (toMerge != null && !toMerge.isEmpty()) {
+            current.putAll(toMerge);
+        }
+
+        return current;
+    }
+
+    /**
+     * Merge two maps of String to int. Entries from toMerge replace entries with the same key
+     *
+     * @param current current value
+     * @param toMerge value to merge
+     * @return merged maps
+     */
+    public static StringIntMap.Builder merge(StringIntMap.Builder current, StringIntMap toMerge) {
+        if (toMerge != null && !toMerge.isEmpty()) {
+            current.putAll(toMerge);
+        }
+
+        return current;
+    }
+
+    /**
+     * Merge two maps of String to long. Entries from toMerge replace entries with the same key
+     *
+     * @param current current value
+     * @param toMerge value to merge
+     * @return merged maps
+     */
+    public static StringLongMap.Builder merge(StringLongMap.Builder current, StringLongMap toMerge) {
+        if (toMerge != null && !toMerge.isEmpty()) {
+            current.putAll(toMerge);
+        }
+
+        return current;
+    }
 }
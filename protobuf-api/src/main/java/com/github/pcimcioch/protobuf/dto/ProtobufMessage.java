@@ -41,6 +41,15 @@ public interface ProtobufMessage<T extends ProtobufMessage<T>> {
      */
     int protobufSize();
 
+    /**
+     * Returns encoded form of this message, if this message keeps it. Returned array must not be modified
+     *
+     * @return encoded message, or {@code null} for messages generated without {@code cacheEncoded}
+     */
+    default byte[] cachedEncoding() {
+        return null;
+    }
+
     /**
      * Writes this message as binary to the given output stream
      *
@@ -60,6 +69,11 @@ public interface ProtobufMessage<T extends ProtobufMessage<T>> {
      * @throws IOException in case of any write error
      */
     default byte[] toByteArray() throws IOException {
+        byte[] encoded = cachedEncoding();
+        if (encoded != null) {
+            return encoded.clone();
+        }
+
         byte[] data = new byte[protobufSize()];
 
         try (ProtobufWriter writer = new ProtobufWriter(data)) {
@@ -0,0 +1,185 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import com.github.pcimcioch.protobuf.io.ProtobufReader;
+import com.github.pcimcioch.protobuf.io.ProtobufReader.MessageFactory;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Message kept in encoded form. Bytes are read and written as they are, and parsed only when {@link #parse()} is
+ * called. Useful for messages that are passed through without changes. Raw messages are compared by their encoded
+ * bytes. This structure is immutable
+ *
+ * @param <T> type of the message
+ */
+public final class RawMessage<T> {
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private final byte[] data;
+    private final MessageFactory<T> parser;
+    private T message;
+    private int hash;
+
+    private RawMessage(byte[] data, MessageFactory<T> parser, T message) {
+        this.data = data;
+        this.parser = Objects.requireNonNull(parser, "Must provide parser");
+        this.message = message;
+    }
+
+    /**
+     * Returns parsed message. Message is parsed on the first call only
+     *
+     * @return parsed message
+     * @throws IOException in case of any data read error
+     */
+    public T parse() throws IOException {
+        T result = message;
+        if (result == null) {
+            result = parser.parse(new ProtobufReader(data));
+            message = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns whether this message is empty
+     *
+     * @return whether it is empty
+     */
+    public boolean isEmpty() {
+        return data.length == 0;
+    }
+
+    /**
+     * Returns length of the encoded message
+     *
+     * @return encoded length
+     */
+    public int length() {
+        return data.length;
+    }
+
+    /**
+     * Returns encoded message
+     *
+     * @return encoded message
+     */
+    @SuppressWarnings("deprecation")
+    public ByteArray bytes() {
+        return ByteArray.unsafeFromByteArray(data);
+    }
+
+    /**
+     * Returns new byte array with encoded message
+     *
+     * @return encoded message copy
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(data, data.length);
+    }
+
+    /**
+     * Returns message that is a merge of this and given message. Encoded messages are merged by concatenation, the same
+     * way protobuf merges repeated occurrences of a message field
+     *
+     * @param toMerge message to merge
+     * @return merged message
+     */
+    public RawMessage<T> concat(RawMessage<T> toMerge) {
+        if (toMerge == null || toMerge.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return toMerge;
+        }
+
+        byte[] merged = Arrays.copyOf(data, data.length + toMerge.data.length);
+        System.arraycopy(toMerge.data, 0, merged, data.length, toMerge.data.length);
+        return new RawMessage<>(merged, parser, null);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RawMessage<?> other = (RawMessage<?>) o;
+        if (hash != 0 && other.hash != 0 && hash != other.hash) return false;
+        return Arrays.equals(data, other.data);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = Arrays.hashCode(data);
+            hash = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns empty message
+     *
+     * @param parser message parser
+     * @param <T>    type of the message
+     * @return empty message
+     */
+    public static <T> RawMessage<T> empty(MessageFactory<T> parser) {
+        return new RawMessage<>(NO_BYTES, parser, null);
+    }
+
+    /**
+     * Encodes given message
+     *
+     * @param message message to encode
+     * @param parser  message parser
+     * @param <T>     type of the message
+     * @return raw message
+     * @throws IOException in case of any write error
+     */
+    public static <T extends ProtobufMessage<T>> RawMessage<T> of(T message, MessageFactory<T> parser) throws IOException {
+        return new RawMessage<>(message.toByteArray(), parser, message);
+    }
+
+    /**
+     * Creates raw message from encoded bytes. Data will be copied
+     *
+     * @param data   encoded message
+     * @param parser message parser
+     * @param <T>    type of the message
+     * @return raw message
+     */
+    public static <T> RawMessage<T> fromByteArray(byte[] data, MessageFactory<T> parser) {
+        return new RawMessage<>(Arrays.copyOf(data, data.length), parser, null);
+    }
+
+    /**
+     * Creates raw message from encoded bytes
+     *
+     * @param data   encoded message
+     * @param parser message parser
+     * @param <T>    type of the message
+     * @return raw message
+     */
+    @SuppressWarnings("deprecation")
+    public static <T> RawMessage<T> fromBytes(ByteArray data, MessageFactory<T> parser) {
+        return new RawMessage<>(data.internalData(), parser, null);
+    }
+
+    /**
+     * @param data   encoded message
+     * @param parser message parser
+     * @param <T>    type of the message
+     * @return raw message
+     * @deprecated This method is unsafe as it allows you to mutate internal state of the RawMessage by modifying provided
+     * array. Use {@link #fromByteArray(byte[], MessageFactory)} instead. This method is made public only for performance
+     * reasons. You can use it if you promise you will not modify the byte array
+     */
+    @Deprecated
+    public static <T> RawMessage<T> unsafeFromByteArray(byte[] data, MessageFactory<T> parser) {
+        return new RawMessage<>(data, parser, null);
+    }
+}
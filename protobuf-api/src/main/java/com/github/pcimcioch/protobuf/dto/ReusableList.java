@@ -0,0 +1,112 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.lang.Math.max;
+
+/**
+ * Mutable list of reusable elements. Elements removed by {@link #clear()} are kept, and handed out again by
+ * {@link #add()}, so refilling the list does not allocate once it reached its steady size. List is not thread safe,
+ * and should be confined to a single thread
+ *
+ * @param <T> type of elements
+ */
+public final class ReusableList<T> {
+    private static final Object[] NO_ELEMENTS = new Object[0];
+
+    private final Supplier<T> factory;
+    private final Consumer<T> cleaner;
+    private Object[] elements = NO_ELEMENTS;
+    private int allocated = 0;
+    private int size = 0;
+
+    /**
+     * Constructor
+     *
+     * @param factory creates new element
+     * @param cleaner resets reused element to its initial state
+     */
+    public ReusableList(Supplier<T> factory, Consumer<T> cleaner) {
+        this.factory = factory;
+        this.cleaner = cleaner;
+    }
+
+    /**
+     * Adds element at the end of the list. Previously released element is reused if available
+     *
+     * @return added element, in its initial state
+     */
+    @SuppressWarnings("unchecked")
+    public T add() {
+        if (size < allocated) {
+            T element = (T) elements[size++];
+            cleaner.accept(element);
+            return element;
+        }
+
+        if (allocated == elements.length) {
+            elements = Arrays.copyOf(elements, max(elements.length << 1, 8));
+        }
+        T element = factory.get();
+        elements[allocated++] = element;
+        size++;
+        return element;
+    }
+
+    /**
+     * Returns element at given position
+     *
+     * @param index index of the element
+     * @return element
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return (T) elements[index];
+    }
+
+    /**
+     * Returns number of elements
+     *
+     * @return number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether list is empty
+     *
+     * @return whether list is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all elements. Elements are kept for reuse
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Builds immutable list from the elements
+     *
+     * @param mapper converts element to immutable value
+     * @param <R>    type of immutable values
+     * @return new immutable list
+     */
+    @SuppressWarnings("unchecked")
+    public <R> ObjectList<R> build(Function<? super T, ? extends R> mapper) {
+        ObjectList.Builder<R> builder = ObjectList.builder();
+        for (int i = 0; i < size; i++) {
+            builder.add(mapper.apply((T) elements[i]));
+        }
+        return builder.build();
+    }
+}
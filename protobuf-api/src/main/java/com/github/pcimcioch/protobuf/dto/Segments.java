@@ -0,0 +1,35 @@
+package com.github.pcimcioch.protobuf.dto;
+
+/**
+ * Layout of segmented lists. Segments have fixed, power of two size, so element at given index is found with a shift
+ * and a mask
+ */
+final class Segments {
+    static final int SEGMENT_SHIFT = 14;
+    static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private Segments() {
+    }
+
+    /**
+     * Returns number of segments needed to hold given number of elements
+     *
+     * @param size number of elements
+     * @return number of segments
+     */
+    static int count(int size) {
+        return (size >>> SEGMENT_SHIFT) + ((size & SEGMENT_MASK) == 0 ? 0 : 1);
+    }
+
+    /**
+     * Returns number of elements stored in given segment
+     *
+     * @param segment index of the segment
+     * @param size    number of elements
+     * @return number of elements in the segment
+     */
+    static int length(int segment, int size) {
+        return Math.min(SEGMENT_SIZE, size - (segment << SEGMENT_SHIFT));
+    }
+}
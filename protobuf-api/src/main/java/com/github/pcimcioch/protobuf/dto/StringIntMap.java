@@ -0,0 +1,348 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static java.lang.Math.max;
+
+/**
+ * Immutable map of String keys to int values. Entries are kept in insertion order in flat arrays and looked up through
+ * open addressing index, so neither keys nor values are boxed
+ */
+public final class StringIntMap extends AbstractMap<String, Integer> {
+    private static final StringIntMap EMPTY = new StringIntMap(new String[0], new int[0], 0, new int[1]);
+
+    private final String[] keys;
+    private final int[] values;
+    private final int size;
+    private int hash;
+    private final int[] index;
+
+    private StringIntMap(String[] keys, int[] values, int size, int[] index) {
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+        this.index = index;
+    }
+
+    /**
+     * Returns primitive value for given key
+     *
+     * @param key key
+     * @return value or {@code 0} if key is not present
+     */
+    public int getInt(String key) {
+        return getIntOrDefault(key, 0);
+    }
+
+    /**
+     * Returns primitive value for given key
+     *
+     * @param key          key
+     * @param defaultValue value to return if key is not present
+     * @return value or defaultValue if key is not present
+     */
+    public int getIntOrDefault(String key, int defaultValue) {
+        int position = indexOf(key);
+        return position < 0 ? defaultValue : values[position];
+    }
+
+    /**
+     * Returns whether map contains given key
+     *
+     * @param key key
+     * @return whether key is present
+     */
+    public boolean containsKey(String key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns position of the entry with given key
+     *
+     * @param key key
+     * @return position of the entry or -1 if key is not present
+     */
+    public int indexOf(String key) {
+        int mask = index.length - 1;
+        int slot = MapHashing.hash(key) & mask;
+        int position;
+        while ((position = index[slot]) != 0) {
+            if (keys[position - 1].equals(key)) {
+                return position - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns key of the entry on given position
+     *
+     * @param position entry position
+     * @return key
+     */
+    public String keyAt(int position) {
+        return keys[rangeCheck(position)];
+    }
+
+    /**
+     * Returns value of the entry on given position
+     *
+     * @param position entry position
+     * @return value
+     */
+    public int valueAt(int position) {
+        return values[rangeCheck(position)];
+    }
+
+    @Override
+    @Deprecated
+    public Integer get(Object key) {
+        if (key instanceof String k) {
+            int position = indexOf(k);
+            return position < 0 ? null : values[position];
+        }
+
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String k && indexOf(k) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, Integer>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Integer>> iterator() {
+                return new Iterator<>() {
+                    private int position = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return position < size;
+                    }
+
+                    @Override
+                    public Entry<String, Integer> next() {
+                        if (position >= size) {
+                            throw new NoSuchElementException();
+                        }
+
+                        Entry<String, Integer> entry = new SimpleImmutableEntry<>(keys[position], values[position]);
+                        position++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            for (int i = 0; i < size; i++) {
+                result += keys[i].hashCode() ^ Integer.hashCode(values[i]);
+            }
+            hash = result;
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof StringIntMap other) {
+            if (other.size != size || (hash != 0 && other.hash != 0 && hash != other.hash)) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                int position = other.indexOf(keys[i]);
+                if (position < 0 || other.values[position] != values[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        return super.equals(o);
+    }
+
+    /**
+     * Returns new builder
+     *
+     * @return new builder
+     */
+    public static Builder builder() {
+        return new Builder(0);
+    }
+
+    /**
+     * Returns new builder presized for given number of entries
+     *
+     * @param expectedSize expected number of entries
+     * @return new builder
+     */
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    /**
+     * Returns empty map
+     *
+     * @return empty map
+     */
+    public static StringIntMap of() {
+        return EMPTY;
+    }
+
+    /**
+     * Return immutable copy of given map
+     *
+     * @param entries entries
+     * @return String to int map
+     */
+    public static StringIntMap copyOf(Map<String, Integer> entries) {
+        if (entries instanceof StringIntMap our) {
+            return our;
+        }
+        if (entries.isEmpty()) {
+            return EMPTY;
+        }
+
+        Builder builder = new Builder(entries.size());
+        builder.putAll(entries);
+        return builder.build();
+    }
+
+    private int rangeCheck(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return position;
+    }
+
+    private static StringIntMap index(String[] keys, int[] values, int size) {
+        int[] index = new int[MapHashing.tableSize(size)];
+        int mask = index.length - 1;
+        int count = 0;
+
+        for (int i = 0; i < size; i++) {
+            String key = keys[i];
+            int slot = MapHashing.hash(key) & mask;
+            int position;
+            while ((position = index[slot]) != 0 && !(keys[position - 1].equals(key))) {
+                slot = (slot + 1) & mask;
+            }
+
+            if (position == 0) {
+                keys[count] = key;
+                values[count] = values[i];
+                index[slot] = ++count;
+            } else {
+                values[position - 1] = values[i];
+            }
+        }
+
+        return new StringIntMap(keys, values, count, index);
+    }
+
+    /**
+     * Builder. Entries are appended as they come, duplicated keys are resolved when the map is built, with the last
+     * value winning.
+     * <p>
+     * Storage is allocated on the first put and kept by {@link #clear()} and {@link #build()}, so one builder can be
+     * reused to build many maps. Builder is not thread safe, and should be confined to a single thread
+     */
+    public static final class Builder {
+        private String[] keys;
+        private int[] values;
+        private int size = 0;
+
+        private Builder(int expectedSize) {
+            this.keys = expectedSize == 0 ? EMPTY.keys : new String[expectedSize];
+            this.values = expectedSize == 0 ? EMPTY.values : new int[expectedSize];
+        }
+
+        /**
+         * Put entry
+         *
+         * @param key   key
+         * @param value value
+         */
+        public void put(String key, int value) {
+            grow(1);
+            keys[size] = key == null ? "" : key;
+            values[size] = value;
+            size++;
+        }
+
+        /**
+         * Put all entries
+         *
+         * @param entries entries to put
+         */
+        public void putAll(Map<String, Integer> entries) {
+            grow(entries.size());
+
+            if (entries instanceof StringIntMap our) {
+                System.arraycopy(our.keys, 0, keys, size, our.size);
+                System.arraycopy(our.values, 0, values, size, our.size);
+                size += our.size;
+            } else {
+                for (Entry<String, Integer> entry : entries.entrySet()) {
+                    put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        /**
+         * Clear all entries. Allocated storage is kept
+         */
+        public void clear() {
+            Arrays.fill(keys, 0, size, null);
+            size = 0;
+        }
+
+        /**
+         * Build map. Entries are copied, so builder can be still used afterwards
+         *
+         * @return new immutable map
+         */
+        public StringIntMap build() {
+            return size == 0 ? EMPTY : index(Arrays.copyOf(keys, size), Arrays.copyOf(values, size), size);
+        }
+
+        private void grow(int toAdd) {
+            if (size + toAdd <= keys.length) {
+                return;
+            }
+
+            int newCapacity = max(max(keys.length << 1, 8), size + toAdd);
+            keys = Arrays.copyOf(keys, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import com.github.pcimcioch.protobuf.io.ProtobufReader.BytesConsumer;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Immutable list of strings, see {@link ListStorage#ARENA}. All elements are kept UTF-8 encoded in a single byte array,
+ * so the list does not hold {@link String} object per element. Elements are decoded on every access. Hash code is
+ * computed once and cached
+ */
+public final class StringList extends AbstractList<String> implements RandomAccess {
+    private static final StringList EMPTY = new StringList(ByteArena.EMPTY);
+
+    private final ByteArena arena;
+    private int hash;
+
+    private StringList(ByteArena arena) {
+        this.arena = arena;
+    }
+
+    @Override
+    public String get(int index) {
+        return new String(arena.data, arena.offset(index), arena.length(index), UTF_8);
+    }
+
+    @Override
+    public int size() {
+        return arena.size;
+    }
+
+    /**
+     * Returns length of UTF-8 encoded element
+     *
+     * @param index index of the element
+     * @return length of encoded element in bytes
+     */
+    public int encodedLength(int index) {
+        return arena.length(index);
+    }
+
+    /**
+     * Returns position of UTF-8 encoded element in {@link #internalData()}
+     *
+     * @param index index of the element
+     * @return offset of encoded element
+     */
+    public int encodedOffset(int index) {
+        return arena.offset(index);
+    }
+
+    /**
+     * Returns total length of all UTF-8 encoded elements
+     *
+     * @return length of encoded elements in bytes
+     */
+    public int encodedSize() {
+        return arena.dataSize();
+    }
+
+    /**
+     * Performs action for UTF-8 encoded content of each element, without decoding it. Passed array must not be
+     * modified
+     *
+     * @param action action to perform
+     */
+    public void forEachEncoded(BytesConsumer action) {
+        arena.forEach(action);
+    }
+
+    /**
+     * Returns internal byte array with encoded elements. Returned array is an internal state of this list. If modified,
+     * it will mutate this list
+     *
+     * @return internal state of this list
+     * @deprecated This method is unsafe as it allows you to mutate internal state of the list by modifying returned
+     * array. Use {@link #forEachEncoded(BytesConsumer)} instead. This method is made public only for performance
+     * reasons. You can use it if you promise you will not modify the byte array
+     */
+    @Deprecated
+    public byte[] internalData() {
+        return arena.data;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = super.hashCode();
+            hash = result;
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof StringList other) {
+            if (other.size() != size() || (hash != 0 && other.hash != 0 && hash != other.hash)) {
+                return false;
+            }
+            if (arena.contentEquals(other.arena)) {
+                return true;
+            }
+        }
+        return super.equals(o);
+    }
+
+    /**
+     * Returns new builder
+     *
+     * @return new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create new list from given elements
+     *
+     * @param elements elements
+     * @return new list
+     */
+    public static StringList of(String... elements) {
+        if (elements.length == 0) {
+            return EMPTY;
+        }
+
+        Builder builder = new Builder();
+        for (String element : elements) {
+            builder.add(element);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Return immutable copy of given collection
+     *
+     * @param elements elements
+     * @return string list
+     */
+    public static StringList copyOf(Collection<String> elements) {
+        if (elements instanceof StringList list) {
+            return list;
+        }
+        if (elements.isEmpty()) {
+            return EMPTY;
+        }
+
+        Builder builder = new Builder();
+        builder.addAll(elements);
+        return builder.build();
+    }
+
+    /**
+     * Builder. Storage is allocated on the first added element and kept by {@link #clear()} and {@link #build()}, so
+     * one builder can be reused to build many lists. As a {@link BytesConsumer}, builder adds every accepted range with
+     * {@link #addEncoded(byte[], int, int)}. Builder is not thread safe, and should be confined to a single thread
+     */
+    public static final class Builder implements BytesConsumer {
+        private final ByteArena.Builder arena = new ByteArena.Builder();
+        private byte[] buffer = new byte[0];
+
+        private Builder() {
+        }
+
+        /**
+         * Add element
+         *
+         * @param element element to add
+         */
+        public void add(String element) {
+            if (element == null) {
+                throw new NullPointerException();
+            }
+
+            int length = element.length();
+            if (buffer.length < length) {
+                buffer = new byte[Math.max(length, buffer.length << 1)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = element.charAt(i);
+                if (c >= 0x80) {
+                    byte[] encoded = element.getBytes(UTF_8);
+                    arena.add(encoded, 0, encoded.length);
+                    return;
+                }
+                buffer[i] = (byte) c;
+            }
+            arena.add(buffer, 0, length);
+        }
+
+        /**
+         * Add element given as its UTF-8 encoded content. Bytes are copied and not validated
+         *
+         * @param data   array with encoded element
+         * @param offset position of the element in the array
+         * @param length length of the encoded element
+         */
+        public void addEncoded(byte[] data, int offset, int length) {
+            arena.add(data, offset, length);
+        }
+
+        @Override
+        public void accept(byte[] data, int offset, int length) {
+            arena.add(data, offset, length);
+        }
+
+        /**
+         * Add all elements
+         *
+         * @param elements elements to add
+         */
+        public void addAll(Collection<String> elements) {
+            if (elements instanceof StringList list) {
+                arena.addAll(list.arena);
+                return;
+            }
+
+            for (String element : elements) {
+                add(element);
+            }
+        }
+
+        /**
+         * Returns number of added elements
+         *
+         * @return number of elements
+         */
+        public int size() {
+            return arena.size();
+        }
+
+        /**
+         * Returns element added at given position
+         *
+         * @param index index of the element
+         * @return element
+         */
+        public String get(int index) {
+            return new String(arena.data(), arena.offset(index), arena.length(index), UTF_8);
+        }
+
+        /**
+         * Clear all elements. Allocated storage is kept
+         */
+        public void clear() {
+            arena.clear();
+        }
+
+        /**
+         * Build list. Elements are copied, so builder can be still used afterwards
+         *
+         * @return new immutable list
+         */
+        public StringList build() {
+            ByteArena built = arena.build();
+            return built == ByteArena.EMPTY ? EMPTY : new StringList(built);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.pcimcioch.protobuf.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes message field by field, without building the message object first. Fields of the top level message are
+ * written straight to the output stream. Nested messages started with {@link #nested(int)} are buffered until closed,
+ * as their length must be written before their content. Only content of open nested messages is kept in memory, in one
+ * buffer per nesting level that is reused by all nested messages of that level. While nested message is open, its
+ * parent cannot be written to or closed
+ */
+public final class MessageStreamWriter implements AutoCloseable {
+    private static final int INITIAL_NESTED_SIZE = 256;
+
+    private final ProtobufWriter writer;
+    private final ProtobufOutput output;
+    private final MessageStreamWriter parent;
+    private final int number;
+    private final Level nestedLevel;
+    private MessageStreamWriter openNested;
+    private boolean closed;
+
+    private MessageStreamWriter(ProtobufWriter writer, ProtobufOutput output, MessageStreamWriter parent, int number,
+                                Level nestedLevel) {
+        this.writer = writer;
+        this.output = output;
+        this.parent = parent;
+        this.number = number;
+        this.nestedLevel = nestedLevel;
+    }
+
+    /**
+     * Creates writer of the top level message. Given output stream will not be closed by this class in any way
+     *
+     * @param output output stream to write message to
+     * @return message writer
+     */
+    public static MessageStreamWriter to(OutputStream output) {
+        return new MessageStreamWriter(new ProtobufWriter(output), null, null, 0, new Level());
+    }
+
+    /**
+     * Starts nested message field. Nested message is written to this message when closed
+     *
+     * @param number field number
+     * @return nested message writer
+     * @throws IllegalStateException if this message is closed or has other open nested message
+     */
+    public MessageStreamWriter nested(int number) {
+        ensureWritable();
+
+        nestedLevel.output.reset();
+        openNested = new MessageStreamWriter(nestedLevel.writer, nestedLevel.output, this, number, nestedLevel.next());
+        return openNested;
+    }
+
+    /**
+     * Returns writer of this message fields
+     *
+     * @return writer
+     * @throws IllegalStateException if this message is closed or has open nested message
+     */
+    public ProtobufWriter writer() {
+        ensureWritable();
+        return writer;
+    }
+
+    /**
+     * Finishes the message. Top level message is flushed to the output stream. Nested message is written, with its
+     * length, to the parent message
+     *
+     * @throws IOException           in case of any data write error
+     * @throws IllegalStateException if this message has open nested message, or its parent is already closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (openNested != null) {
+            throw new IllegalStateException("Cannot close message with open nested message " + openNested.number);
+        }
+        if (parent != null && parent.closed) {
+            throw new IllegalStateException("Cannot close nested message " + number + " after its parent");
+        }
+        closed = true;
+
+        if (parent == null) {
+            writer.close();
+        } else {
+            parent.writer.writeLengthDelimitedHeader(number, output.currentPosition);
+            parent.writer.writeEncoded(output.buffer, 0, output.currentPosition);
+            parent.openNested = null;
+        }
+    }
+
+    private void ensureWritable() {
+        if (closed) {
+            throw new IllegalStateException("Message is already closed");
+        }
+        if (openNested != null) {
+            throw new IllegalStateException("Message has open nested message " + openNested.number);
+        }
+    }
+
+    // buffer shared by all nested messages of one nesting level, as only one of them can be open at a time
+    private static final class Level {
+        private final ProtobufOutput output = ProtobufOutput.growable(INITIAL_NESTED_SIZE);
+        private final ProtobufWriter writer = new ProtobufWriter(output);
+        private Level next;
+
+        private Level next() {
+            if (next == null) {
+                next = new Level();
+            }
+            return next;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.github.pcimcioch.protobuf.io;
 
+import com.github.pcimcioch.protobuf.io.ProtobufReader.BytesConsumer;
 import com.github.pcimcioch.protobuf.io.exception.InputEndedException;
 import com.github.pcimcioch.protobuf.io.exception.LimitExceededException;
 import com.github.pcimcioch.protobuf.io.exception.MalformedVarintException;
+import com.github.pcimcioch.protobuf.io.exception.NegativeSizeException;
 
 import java.io.EOFException;
 import java.io.IOException;
@@ -19,7 +21,7 @@ abstract class ProtobufInput {
     private static final VarHandle DOUBLE = MethodHandles.byteArrayViewVarHandle(double[].class, LITTLE_ENDIAN);
     private static final VarHandle FLOAT = MethodHandles.byteArrayViewVarHandle(float[].class, LITTLE_ENDIAN);
 
-    protected final byte[] buffer;
+    protected byte[] buffer;
     protected int currentPosition;
     protected int endPosition;
 
@@ -33,7 +35,7 @@ abstract class ProtobufInput {
         return new StreamProtobufInput(input, bufferSize);
     }
 
-    static ProtobufInput from(byte[] bytes) {
+    static ArrayProtobufInput from(byte[] bytes) {
         return new ArrayProtobufInput(bytes);
     }
 
@@ -89,6 +91,31 @@ abstract class ProtobufInput {
         throw new MalformedVarintException();
     }
 
+    void skipVarint() throws IOException {
+        for (int length = 1; length <= 10; length++) {
+            ensureAvailable(1);
+            if ((buffer[currentPosition++] & 0b10000000) == 0) {
+                return;
+            }
+        }
+
+        throw new MalformedVarintException();
+    }
+
+    int readRawVarint(byte[] destination, int offset) throws IOException {
+        for (int length = 1; length <= 10; length++) {
+            ensureAvailable(1);
+            byte b = buffer[currentPosition++];
+
+            destination[offset++] = b;
+            if ((b & 0b10000000) == 0) {
+                return length;
+            }
+        }
+
+        throw new MalformedVarintException();
+    }
+
     int readZigZag32() throws IOException {
         int encoded = readVarint32();
         return (encoded >>> 1) ^ -(encoded & 1);
@@ -122,16 +149,29 @@ abstract class ProtobufInput {
 
     protected abstract byte[] readRawBytes(int size) throws IOException;
 
+    protected abstract void readRawBytes(byte[] destination, int offset, int size) throws IOException;
+
+    protected abstract void readRawBytes(int size, BytesConsumer consumer) throws IOException;
+
     protected abstract void ensureAvailable(int size) throws IOException;
 
-    private static final class ArrayProtobufInput extends ProtobufInput {
+    static final class ArrayProtobufInput extends ProtobufInput {
         private ArrayProtobufInput(byte[] data) {
             super(data, data.length);
         }
 
+        void reset(byte[] bytes) {
+            buffer = bytes;
+            currentPosition = 0;
+            endPosition = bytes.length;
+        }
+
         @Override
-        int setLimit(int limit) throws LimitExceededException {
+        int setLimit(int limit) throws IOException {
             int oldLimit = availableWithLimit();
+            if (limit < 0) {
+                throw new NegativeSizeException();
+            }
             if (limit + currentPosition > buffer.length) {
                 throw new LimitExceededException();
             }
@@ -161,6 +201,74 @@ abstract class ProtobufInput {
             return data;
         }
 
+        @Override
+        protected void readRawBytes(byte[] destination, int offset, int size) throws IOException {
+            ensureAvailable(size);
+
+            System.arraycopy(buffer, currentPosition, destination, offset, size);
+            currentPosition += size;
+        }
+
+        @Override
+        protected void readRawBytes(int size, BytesConsumer consumer) throws IOException {
+            ensureAvailable(size);
+
+            consumer.accept(buffer, currentPosition, size);
+            currentPosition += size;
+        }
+
+        @Override
+        long readVarint64() throws IOException {
+            if (availableWithLimit() < 10 || availableInBuffer() < 10) {
+                return super.readVarint64();
+            }
+
+            long result = 0L;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer[currentPosition++];
+                result |= (b & 0b01111111L) << shift;
+                if ((b & 0b10000000) == 0) {
+                    return result;
+                }
+            }
+
+            throw new MalformedVarintException();
+        }
+
+        @Override
+        void skipVarint() throws IOException {
+            if (availableWithLimit() < 10 || availableInBuffer() < 10) {
+                super.skipVarint();
+                return;
+            }
+
+            for (int length = 1; length <= 10; length++) {
+                if ((buffer[currentPosition++] & 0b10000000) == 0) {
+                    return;
+                }
+            }
+
+            throw new MalformedVarintException();
+        }
+
+        @Override
+        int readRawVarint(byte[] destination, int offset) throws IOException {
+            if (availableWithLimit() < 10 || availableInBuffer() < 10) {
+                return super.readRawVarint(destination, offset);
+            }
+
+            int start = currentPosition;
+            for (int length = 1; length <= 10; length++) {
+                byte b = buffer[currentPosition++];
+                if ((b & 0b10000000) == 0) {
+                    System.arraycopy(buffer, start, destination, offset, length);
+                    return length;
+                }
+            }
+
+            throw new MalformedVarintException();
+        }
+
         @Override
         protected String readRawString(int size) throws IOException {
             ensureAvailable(size);
@@ -173,6 +281,9 @@ abstract class ProtobufInput {
 
         @Override
         protected void ensureAvailable(int size) throws IOException {
+            if (size < 0) {
+                throw new NegativeSizeException();
+            }
             if (availableInBuffer() < size) {
                 throw new InputEndedException();
             }
@@ -204,7 +315,10 @@ abstract class ProtobufInput {
         }
 
         @Override
-        int setLimit(int limit) {
+        int setLimit(int limit) throws NegativeSizeException {
+            if (limit < 0) {
+                throw new NegativeSizeException();
+            }
             int oldLimit = this.limit;
             this.limit = limit;
             return oldLimit;
@@ -242,6 +356,29 @@ abstract class ProtobufInput {
             return getBytes(size);
         }
 
+        @Override
+        protected void readRawBytes(byte[] destination, int offset, int size) throws IOException {
+            consumeLimit(size);
+
+            copyBytes(destination, offset, size);
+        }
+
+        @Override
+        protected void readRawBytes(int size, BytesConsumer consumer) throws IOException {
+            consumeLimit(size);
+
+            if (availableInBuffer() < size && size <= buffer.length && fillBuffer() < size) {
+                throw new InputEndedException();
+            }
+            if (availableInBuffer() >= size) {
+                consumer.accept(buffer, currentPosition, size);
+                currentPosition += size;
+                return;
+            }
+
+            consumer.accept(getBytes(size), 0, size);
+        }
+
         @Override
         protected String readRawString(int size) throws IOException {
             consumeLimit(size);
@@ -267,7 +404,10 @@ abstract class ProtobufInput {
             }
         }
 
-        private void consumeLimit(int size) throws LimitExceededException {
+        private void consumeLimit(int size) throws IOException {
+            if (size < 0) {
+                throw new NegativeSizeException();
+            }
             if (availableWithLimit() < size) {
                 throw new LimitExceededException();
             }
@@ -300,29 +440,31 @@ abstract class ProtobufInput {
 
         private byte[] getBytes(int size) throws IOException {
             byte[] result = new byte[size];
-            int resultPosition = 0;
+            copyBytes(result, 0, size);
+            return result;
+        }
+
+        private void copyBytes(byte[] destination, int offset, int size) throws IOException {
             int available = availableInBuffer();
 
             while (size > 0) {
                 if (size <= available) {
-                    System.arraycopy(buffer, currentPosition, result, resultPosition, size);
+                    System.arraycopy(buffer, currentPosition, destination, offset, size);
                     currentPosition += size;
-                    return result;
+                    return;
                 }
 
                 if (inputEnded) {
                     throw new InputEndedException();
                 }
 
-                System.arraycopy(buffer, currentPosition, result, resultPosition, available);
+                System.arraycopy(buffer, currentPosition, destination, offset, available);
                 currentPosition += available;
-                resultPosition += available;
+                offset += available;
                 size -= available;
 
                 available = fillBuffer();
             }
-
-            return result;
         }
 
         private int availableInBuffer() {
@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.util.Arrays;
 
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -14,7 +15,7 @@ abstract class ProtobufOutput implements AutoCloseable {
     private static final VarHandle DOUBLE = MethodHandles.byteArrayViewVarHandle(double[].class, LITTLE_ENDIAN);
     private static final VarHandle FLOAT = MethodHandles.byteArrayViewVarHandle(float[].class, LITTLE_ENDIAN);
 
-    protected final byte[] buffer;
+    protected byte[] buffer;
     protected int currentPosition;
 
     protected ProtobufOutput(byte[] buffer) {
@@ -30,6 +31,14 @@ abstract class ProtobufOutput implements AutoCloseable {
         return new ArrayProtobufOutput(data);
     }
 
+    static ProtobufOutput growable(int initialSize) {
+        return new GrowableProtobufOutput(initialSize);
+    }
+
+    void reset() {
+        currentPosition = 0;
+    }
+
     void writeFixedInt(int value) throws IOException {
         ensureAvailable(4);
         INT.set(buffer, currentPosition, value);
@@ -118,7 +127,11 @@ abstract class ProtobufOutput implements AutoCloseable {
 
     protected abstract void ensureAvailable(int size) throws IOException;
 
-    protected abstract void writeRawBytes(byte[] value) throws IOException;
+    protected void writeRawBytes(byte[] value) throws IOException {
+        writeRawBytes(value, 0, value.length);
+    }
+
+    protected abstract void writeRawBytes(byte[] value, int offset, int length) throws IOException;
 
     @Override
     public abstract void close() throws IOException;
@@ -139,9 +152,34 @@ abstract class ProtobufOutput implements AutoCloseable {
         }
 
         @Override
-        protected void writeRawBytes(byte[] value) {
-            System.arraycopy(value, 0, buffer, currentPosition, value.length);
-            currentPosition += value.length;
+        protected void writeRawBytes(byte[] value, int offset, int length) {
+            System.arraycopy(value, offset, buffer, currentPosition, length);
+            currentPosition += length;
+        }
+    }
+
+    private static final class GrowableProtobufOutput extends ProtobufOutput {
+        private GrowableProtobufOutput(int initialSize) {
+            super(new byte[initialSize]);
+        }
+
+        @Override
+        public void close() {
+            // Do Nothing
+        }
+
+        @Override
+        protected void ensureAvailable(int size) {
+            if (available() < size) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, currentPosition + size));
+            }
+        }
+
+        @Override
+        protected void writeRawBytes(byte[] value, int offset, int length) {
+            ensureAvailable(length);
+            System.arraycopy(value, offset, buffer, currentPosition, length);
+            currentPosition += length;
         }
     }
 
@@ -166,18 +204,19 @@ abstract class ProtobufOutput implements AutoCloseable {
         }
 
         @Override
-        protected void writeRawBytes(byte[] value) throws IOException {
-            if (available() >= value.length) {
-                System.arraycopy(value, 0, buffer, currentPosition, value.length);
-                currentPosition += value.length;
+        protected void writeRawBytes(byte[] value, int offset, int length) throws IOException {
+            if (available() >= length) {
+                System.arraycopy(value, offset, buffer, currentPosition, length);
+                currentPosition += length;
                 return;
             }
 
-            int srcPosition = 0;
+            int srcPosition = offset;
+            int end = offset + length;
             while (true) {
                 flush();
 
-                int toWrite = value.length - srcPosition;
+                int toWrite = end - srcPosition;
                 if (available() >= toWrite) {
                     System.arraycopy(value, srcPosition, buffer, currentPosition, toWrite);
                     currentPosition += toWrite;
@@ -1,6 +1,10 @@
 package com.github.pcimcioch.protobuf.io;
 
 import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.dto.BytesList;
+import com.github.pcimcioch.protobuf.dto.RawMessage;
+import com.github.pcimcioch.protobuf.dto.StringList;
+import com.github.pcimcioch.protobuf.io.ProtobufInput.ArrayProtobufInput;
 import com.github.pcimcioch.protobuf.io.exception.UnknownWireTypeException;
 import com.github.pcimcioch.protobuf.io.exception.UnsupportedWireTypeException;
 
@@ -37,6 +41,22 @@ public class ProtobufReader {
         this.input = ProtobufInput.from(bytes);
     }
 
+    /**
+     * Restarts reading from the beginning of given array. Allows to reuse single reader for many messages in hot loops.
+     * Only readers created from byte array can be reset
+     *
+     * @param bytes array to read data from
+     * @return this reader
+     * @throws IllegalStateException if this reader was created from input stream
+     */
+    public ProtobufReader reset(byte[] bytes) {
+        if (!(input instanceof ArrayProtobufInput arrayInput)) {
+            throw new IllegalStateException("Reader created from input stream cannot be reset");
+        }
+        arrayInput.reset(bytes);
+        return this;
+    }
+
     /**
      * Reads tag
      *
@@ -423,6 +443,26 @@ public class ProtobufReader {
         return ByteArray.unsafeFromByteArray(input.readBytes());
     }
 
+    /**
+     * Reads string and adds it to the list builder without decoding it
+     *
+     * @param values list builder to add string to
+     * @throws IOException in case of any data read error
+     */
+    public void readString(StringList.Builder values) throws IOException {
+        input.readRawBytes(input.readVarint32(), values);
+    }
+
+    /**
+     * Reads bytes and adds them to the list builder without intermediate copy
+     *
+     * @param values list builder to add bytes to
+     * @throws IOException in case of any data read error
+     */
+    public void readBytes(BytesList.Builder values) throws IOException {
+        input.readRawBytes(input.readVarint32(), values);
+    }
+
     /**
      * Reads message
      *
@@ -441,6 +481,58 @@ public class ProtobufReader {
         return message;
     }
 
+    /**
+     * Reads message without parsing it. Encoded bytes are copied once and parsed only on demand
+     *
+     * @param parser message parser
+     * @param <T>    type of message
+     * @return message in encoded form
+     * @throws IOException in case of any data read error
+     */
+    @SuppressWarnings("deprecation")
+    public <T> RawMessage<T> readRawMessage(MessageFactory<T> parser) throws IOException {
+        return RawMessage.unsafeFromByteArray(input.readBytes(), parser);
+    }
+
+    /**
+     * Reads message into existing target, without creating intermediate message object
+     *
+     * @param target target to read message into
+     * @param merger merges message from reader into the target
+     * @param <T>    type of the target
+     * @throws IOException in case of any data read error
+     */
+    public <T> void readMessage(T target, MessageMerger<T> merger) throws IOException {
+        int size = input.readVarint32();
+        int oldLimit = input.setLimit(size);
+
+        merger.merge(target, this);
+        input.setLimit(oldLimit - size);
+    }
+
+    /**
+     * Starts reading message in place, without creating any message object. Until matching
+     * {@link #endMessage(int)}, reader is limited to the message content, so {@link #readTag()} returns -1 at the end
+     * of the message
+     *
+     * @return limit to pass to {@link #endMessage(int)}
+     * @throws IOException in case of any data read error
+     */
+    public int beginMessage() throws IOException {
+        int size = input.readVarint32();
+        return input.setLimit(size) - size;
+    }
+
+    /**
+     * Ends reading message started with {@link #beginMessage()}. Must be called once whole message content is read
+     *
+     * @param limit limit returned by {@link #beginMessage()}
+     * @throws IOException in case of any data read error
+     */
+    public void endMessage(int limit) throws IOException {
+        input.setLimit(limit);
+    }
+
     /**
      * Skips unknown value
      *
@@ -462,6 +554,17 @@ public class ProtobufReader {
         return UnknownField.read(tag, input);
     }
 
+    /**
+     * Reads unknown field, appending it in the encoded form to given builder
+     *
+     * @param tag    tag
+     * @param fields builder of unknown fields
+     * @throws IOException in case of any data read error
+     */
+    public void readUnknownField(int tag, UnknownFields.Builder fields) throws IOException {
+        fields.read(tag, input);
+    }
+
     /**
      * Factory that creates message from byte array
      *
@@ -480,6 +583,24 @@ public class ProtobufReader {
         T parse(ProtobufReader reader) throws IOException;
     }
 
+    /**
+     * Merges message from reader into existing target
+     *
+     * @param <T> type of the target
+     */
+    @FunctionalInterface
+    public interface MessageMerger<T> {
+
+        /**
+         * Merges message from reader into the target
+         *
+         * @param target target
+         * @param reader reader
+         * @throws IOException in case of any data read error
+         */
+        void merge(T target, ProtobufReader reader) throws IOException;
+    }
+
     /**
      * Represents an operation that accepts a single {@code float}-valued argument and
      * returns no result.  This is the primitive type specialization of
@@ -517,4 +638,21 @@ public class ProtobufReader {
          */
         void accept(boolean value);
     }
+
+    /**
+     * Represents an operation that accepts a range of byte array and returns no result. Used to pass encoded string
+     * and bytes without copying them, so the array must not be modified or kept after the operation returns
+     */
+    @FunctionalInterface
+    public interface BytesConsumer {
+
+        /**
+         * Performs this operation on the given range of array
+         *
+         * @param data   array
+         * @param offset start of the range
+         * @param length length of the range
+         */
+        void accept(byte[] data, int offset, int length);
+    }
 }
@@ -0,0 +1,288 @@
+package com.github.pcimcioch.protobuf.io;
+
+import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.io.ProtobufInput.ArrayProtobufInput;
+import com.github.pcimcioch.protobuf.io.exception.UnknownWireTypeException;
+import com.github.pcimcioch.protobuf.io.exception.UnsupportedWireTypeException;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Walks encoded messages without knowing their schema. Each call to {@link #next()} moves to the next field and exposes
+ * its number, wire type and raw value. Content of length delimited fields is exposed as a slice of the scanned array,
+ * and is not copied unless requested. Length delimited fields that look like messages can be entered with
+ * {@link #enter()}, and left with {@link #exit()}. Scanning does not allocate per field. Scanner can be reused for
+ * many messages using {@link #reset(byte[])}. This class is not thread safe
+ */
+public final class ProtobufScanner {
+    private static final int INITIAL_DEPTH = 8;
+    private static final int WIRE_TYPE_MASK = 0b111;
+    private static final int VARINT_TYPE = 0;
+    private static final int I64_TYPE = 1;
+    private static final int LEN_TYPE = 2;
+    private static final int SGROUP_TYPE = 3;
+    private static final int EGROUP_TYPE = 4;
+    private static final int I32_TYPE = 5;
+
+    private final ArrayProtobufInput input;
+    private int[] ends = new int[INITIAL_DEPTH];
+    private int[] limits = new int[INITIAL_DEPTH];
+    private int depth;
+    private int tag;
+    private long value;
+    private int offset;
+    private int length;
+    private boolean pending;
+    private int probe;
+
+    /**
+     * Constructor
+     *
+     * @param data encoded message
+     */
+    public ProtobufScanner(byte[] data) {
+        this.input = ProtobufInput.from(data);
+    }
+
+    /**
+     * Restarts scanning from the beginning of given array
+     *
+     * @param data encoded message
+     * @return this scanner
+     */
+    public ProtobufScanner reset(byte[] data) {
+        input.reset(data);
+        depth = 0;
+        tag = 0;
+        pending = false;
+        return this;
+    }
+
+    /**
+     * Moves to the next field. Content of the current length delimited field, if not entered, is skipped
+     *
+     * @return whether there is next field in the current message
+     * @throws IOException in case of any data read error
+     */
+    public boolean next() throws IOException {
+        if (pending) {
+            input.skip(length);
+            pending = false;
+        }
+        if (input.isEnded()) {
+            tag = 0;
+            return false;
+        }
+
+        tag = input.readVarint32();
+        switch (tag & WIRE_TYPE_MASK) {
+            case VARINT_TYPE -> value = input.readVarint64();
+            case I64_TYPE -> value = input.readFixedLong();
+            case LEN_TYPE -> {
+                length = input.readVarint32();
+                input.ensureAvailable(length);
+                offset = input.currentPosition;
+                value = length;
+                pending = true;
+            }
+            case SGROUP_TYPE -> throw new UnsupportedWireTypeException("SGROUP");
+            case EGROUP_TYPE -> throw new UnsupportedWireTypeException("EGROUP");
+            case I32_TYPE -> value = Integer.toUnsignedLong(input.readFixedInt());
+            default -> throw new UnknownWireTypeException();
+        }
+
+        return true;
+    }
+
+    /**
+     * Enters the current length delimited field. Following calls to {@link #next()} iterate over fields of the nested
+     * message, until {@link #exit()} is called
+     *
+     * @throws IOException           in case of any data read error
+     * @throws IllegalStateException if current field is not length delimited
+     */
+    public void enter() throws IOException {
+        if (!pending) {
+            throw new IllegalStateException("Current field is not length delimited");
+        }
+
+        if (depth == ends.length) {
+            ends = Arrays.copyOf(ends, depth * 2);
+            limits = Arrays.copyOf(limits, depth * 2);
+        }
+        ends[depth] = offset + length;
+        limits[depth] = input.setLimit(length) - length;
+        depth++;
+
+        tag = 0;
+        pending = false;
+    }
+
+    /**
+     * Leaves the current nested message. Not scanned fields of the nested message are skipped
+     *
+     * @throws IOException           in case of any data read error
+     * @throws IllegalStateException if scanner is not inside nested message
+     */
+    public void exit() throws IOException {
+        if (depth == 0) {
+            throw new IllegalStateException("Scanner is not inside nested message");
+        }
+
+        depth--;
+        input.skip(ends[depth] - input.currentPosition);
+        input.setLimit(limits[depth]);
+
+        tag = 0;
+        pending = false;
+    }
+
+    /**
+     * Returns number of entered nested messages
+     *
+     * @return depth
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Returns tag of the current field
+     *
+     * @return tag
+     */
+    public int tag() {
+        return tag;
+    }
+
+    /**
+     * Returns number of the current field
+     *
+     * @return field number
+     */
+    public int number() {
+        return WireType.numberFrom(tag);
+    }
+
+    /**
+     * Returns wire type of the current field
+     *
+     * @return wire type
+     */
+    public WireType wireType() {
+        return WireType.fromTag(tag);
+    }
+
+    /**
+     * Returns raw value of the current field. Varint is returned as it is encoded, without zig-zag decoding. Fixed size
+     * values are returned as raw bits. For length delimited fields, length is returned
+     *
+     * @return raw value
+     */
+    public long value() {
+        return value;
+    }
+
+    /**
+     * Returns position of the current length delimited field content in the scanned array
+     *
+     * @return content offset
+     */
+    public int offset() {
+        return offset;
+    }
+
+    /**
+     * Returns length of the current length delimited field content
+     *
+     * @return content length
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns copy of the current length delimited field content
+     *
+     * @return content
+     */
+    @SuppressWarnings("deprecation")
+    public ByteArray bytes() {
+        return ByteArray.unsafeFromByteArray(Arrays.copyOfRange(input.buffer, offset, offset + length));
+    }
+
+    /**
+     * Decodes current length delimited field content as UTF-8 string
+     *
+     * @return content as string
+     */
+    public String string() {
+        return new String(input.buffer, offset, length, UTF_8);
+    }
+
+    /**
+     * Returns whether current length delimited field content is a structurally valid, non-empty message. It is a
+     * heuristic. Strings, bytes and packed fields can look like messages too
+     *
+     * @return whether content looks like message
+     */
+    public boolean looksLikeMessage() {
+        return pending && length > 0 && isMessage(input.buffer, offset, offset + length);
+    }
+
+    private boolean isMessage(byte[] buffer, int from, int end) {
+        probe = from;
+        while (probe < end) {
+            long tag = probeVarint32(buffer, end);
+            if (tag < 0 || WireType.numberFrom((int) tag) == 0) {
+                return false;
+            }
+
+            long size = switch ((int) tag & WIRE_TYPE_MASK) {
+                case VARINT_TYPE -> probeSkipVarint(buffer, end) ? 0 : -1;
+                case I64_TYPE -> 8;
+                case LEN_TYPE -> probeVarint32(buffer, end);
+                case I32_TYPE -> 4;
+                default -> -1;
+            };
+            if (size < 0 || size > end - probe) {
+                return false;
+            }
+            probe += (int) size;
+        }
+
+        return true;
+    }
+
+    private long probeVarint32(byte[] buffer, int end) {
+        long result = 0L;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (probe == end) {
+                return -1;
+            }
+            byte b = buffer[probe++];
+            result |= (b & 0b01111111L) << shift;
+            if ((b & 0b10000000) == 0) {
+                return result > 0xFFFFFFFFL ? -1 : result;
+            }
+        }
+
+        return -1;
+    }
+
+    private boolean probeSkipVarint(byte[] buffer, int end) {
+        for (int length = 1; length <= 10; length++) {
+            if (probe == end) {
+                return false;
+            }
+            if ((buffer[probe++] & 0b10000000) == 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
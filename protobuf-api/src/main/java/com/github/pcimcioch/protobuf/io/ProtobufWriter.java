@@ -2,6 +2,7 @@ package com.github.pcimcioch.protobuf.io;
 
 import com.github.pcimcioch.protobuf.dto.BooleanList;
 import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.dto.BytesList;
 import com.github.pcimcioch.protobuf.dto.DoubleList;
 import com.github.pcimcioch.protobuf.dto.EnumList;
 import com.github.pcimcioch.protobuf.dto.FloatList;
@@ -9,6 +10,8 @@ import com.github.pcimcioch.protobuf.dto.IntList;
 import com.github.pcimcioch.protobuf.dto.LongList;
 import com.github.pcimcioch.protobuf.dto.ObjectList;
 import com.github.pcimcioch.protobuf.dto.ProtobufMessage;
+import com.github.pcimcioch.protobuf.dto.RawMessage;
+import com.github.pcimcioch.protobuf.dto.StringList;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -44,6 +47,10 @@ public class ProtobufWriter implements AutoCloseable {
         this.output = ProtobufOutput.from(data);
     }
 
+    ProtobufWriter(ProtobufOutput output) {
+        this.output = output;
+    }
+
     /**
      * Writes double
      *
@@ -72,6 +79,18 @@ public class ProtobufWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Writes single element of repeated double. Unlike {@link #writeDouble(int, double)}, default value is written too
+     *
+     * @param number field number
+     * @param value  value to write
+     * @throws IOException in case of any data write error
+     */
+    public void writeDoubleElement(int number, double value) throws IOException {
+        output.writeVarint32(I64.tagFrom(number));
+        output.writeDouble(value);
+    }
+
     /**
      * Writes packed list of double
      *
@@ -119,6 +138,18 @@ public class ProtobufWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Writes single element of repeated float. Unlike {@link #writeFloat(int, float)}, default value is written too
+     *
+     * @param number field number
+     * @param value  value to write
+     * @throws IOException in case of any data write error
+     */
+    public void writeFloatElement(int number, float value) throws IOException {
+        output.writeVarint32(I32.tagFrom(number));
+        output.writeFloat(value);
+    }
+
     /**
      * Writes packed list of float
      *
@@ -166,6 +197,18 @@ public class ProtobufWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Writes single element of repeated int32. Unlike {@link #writeInt32(int, int)}, default value is written too
+     *
+     * @param number field number
+     * @param value  value to write
+     * @throws IOException in case of any data write error
+     */
+    public void writeInt32Element(int number, int value) throws IOException {
+        output.writeVarint32(VARINT.tagFrom(number));
+        output.writeVarint32(value);
+    }
+
     /**
      * Writes packed list of int32
      *
@@ -213,6 +256,18 @@ public class ProtobufWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Writes single element of repeated int64. Unlike {@link #writeInt64(int, long)}, default value is written too
+     *
+     * @param number field number
+     * @param value  value to write
+     * @throws IOException in case of any data write error
+     */
+    public void writeInt64Element(int number, long value) throws IOException {
+        output.writeVarint32(VARINT.tagFrom(number));
+        output.writeVarint64(value);
+    }
+
     /**
      * Writes packed list of int64
      *
@@ -260,6 +315,18 @@ public class ProtobufWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Writes single element of repeated uint32. Unlike {@link #writeUint32(int, int)}, default value is written too
+     *
+     * @param number field number
+     * @param value  value to write
+     * @throws IOException in case of any data write error
+     */
+    public void writeUint32Element(int number, int value) throws IOException {
+        output.writeVarint32(VARINT.tagFrom(number));
+        output.writeVarint32(value);
+    }
+
     /**
      * Writes packed list of uint32
      *
@@ -307,6 +374,18 @@ public class ProtobufWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Writes single element of repeated uint64. Unlike {@link #writeUint64(int, long)}, default value is written too
+     *
+     * @param number field number
+     * @param value  value to write
+     * @throws IOException in case of any data write error
+     */
+    public void writeUint64Element(int number, long value) throws IOException {
+        output.writeVarint32(VARINT.tagFrom(number));
+        output.writeVarint64(value);
+    }
+
     /**
      * Writes packed list of uint64
      *
@@ -354,6 +433,18 @@ public class ProtobufWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Writes single element of repeated sint32. Unlike {@link #writeSint32(int, int)}, default value is written too
+     *
+     * @param number field number
+     * @param value  value to write
+     * @throws IOException in case of any data write error
+     */
+    public void writeSint32Element(int number, int value) throws IOException {
+        output.writeVarint32(VARINT.tagFrom(number));
+        output.writeZigZag32(value);
+    }
+
     /**
      * Writes packed list of sint32
      *
@@ -401,6 +492,18 @@ public class ProtobufWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Writes single element of repeated sint64. Unlike {@link #writeSint64(int, long)}, default value is written too
+     *
+     * @param number field number
+     * @param value  value to write
+     * @throws IOException in case of any data write error
+     */
+    public void writeSint64Element(int number, long value) throws IOException {
+        output.writeVarint32(VARINT.tagFrom(number));
+        output.writeZigZag64(value);
+    }
+
     /**
      * Writes packed list of sint64
      *
@@ -448,6 +551,18 @@ public class ProtobufWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Writes single element of repeated fixed32. Unlike {@link #writeFixed32(int, int)}, default value is written too
+     *
+     * @param number field number
+     * @param value  value to write
+     * @throws IOException in case of any data write error
+     */
+    public void writeFixed32Element(int number, int value) throws IOException {
+        output.writeVarint32(I32.tagFrom(number));
+        output.writeFixedInt(value);
+    }
+
     /**
      * Writes packed list of fixed32
      *
@@ -495,6 +610,18 @@ public class ProtobufWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Writes single element of repeated fixed64. Unlike {@link #writeFixed64(int, long)}, default value is written too
+     *
+     * @param number field number
+     * @param value  value to write
+     * @throws IOException in case of any data write error
+     */
+    public void writeFixed64Element(int number, long value) throws IOException {
+        output.writeVarint32(I64.tagFrom(number));
+        output.writeFixedLong(value);
+    }
+
     /**
      * Writes packed list of fixed64
      *
@@ -542,6 +669,18 @@ public class ProtobufWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Writes single element of repeated sfixed32. Unlike {@link #writeSfixed32(int, int)}, default value is written too
+     *
+     * @param number field number
+     * @param value  value to write
+     * @throws IOException in case of any data write error
+     */
+    public void writeSfixed32Element(int number, int value) throws IOException {
+        output.writeVarint32(I32.tagFrom(number));
+        output.writeFixedInt(value);
+    }
+
     /**
      * Writes packed list of sfixed32
      *
@@ -589,6 +728,19 @@ public class ProtobufWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Writes single element of repeated sfixed64.
+     * Unlike {@link #writeSfixed64(int, long)}, default value is written too
+     *
+     * @param number field number
+     * @param value  value to write
+     * @throws IOException in case of any data write error
+     */
+    public void writeSfixed64Element(int number, long value) throws IOException {
+        output.writeVarint32(I64.tagFrom(number));
+        output.writeFixedLong(value);
+    }
+
     /**
      * Writes packed list of sfixed64
      *
@@ -636,6 +788,18 @@ public class ProtobufWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Writes single element of repeated bool. Unlike {@link #writeBool(int, boolean)}, default value is written too
+     *
+     * @param number field number
+     * @param value  value to write
+     * @throws IOException in case of any data write error
+     */
+    public void writeBoolElement(int number, boolean value) throws IOException {
+        output.writeVarint32(VARINT.tagFrom(number));
+        output.writeBoolean(value);
+    }
+
     /**
      * Writes packed list of bool
      *
@@ -683,6 +847,36 @@ public class ProtobufWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Writes unpacked list of string. Elements are copied in their encoded form
+     *
+     * @param number field number
+     * @param values values to write
+     * @throws IOException in case of any data write error
+     */
+    @SuppressWarnings("deprecation")
+    public void writeStringUnpacked(int number, StringList values) throws IOException {
+        byte[] data = values.internalData();
+        for (int i = 0; i < values.size(); i++) {
+            int length = values.encodedLength(i);
+            output.writeVarint32(LEN.tagFrom(number));
+            output.writeVarint32(length);
+            output.writeRawBytes(data, values.encodedOffset(i), length);
+        }
+    }
+
+    /**
+     * Writes single element of repeated string. Unlike {@link #writeString(int, String)}, default value is written too
+     *
+     * @param number field number
+     * @param value  value to write
+     * @throws IOException in case of any data write error
+     */
+    public void writeStringElement(int number, String value) throws IOException {
+        output.writeVarint32(LEN.tagFrom(number));
+        output.writeString(value);
+    }
+
     /**
      * Writes bytes
      *
@@ -713,6 +907,37 @@ public class ProtobufWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Writes unpacked list of bytes. Elements are copied as they are
+     *
+     * @param number field number
+     * @param values values to write
+     * @throws IOException in case of any data write error
+     */
+    @SuppressWarnings("deprecation")
+    public void writeBytesUnpacked(int number, BytesList values) throws IOException {
+        byte[] data = values.internalData();
+        for (int i = 0; i < values.size(); i++) {
+            int length = values.encodedLength(i);
+            output.writeVarint32(LEN.tagFrom(number));
+            output.writeVarint32(length);
+            output.writeRawBytes(data, values.encodedOffset(i), length);
+        }
+    }
+
+    /**
+     * Writes single element of repeated bytes. Unlike {@link #writeBytes(int, ByteArray)}, default value is written too
+     *
+     * @param number field number
+     * @param value  value to write
+     * @throws IOException in case of any data write error
+     */
+    @SuppressWarnings("deprecation")
+    public void writeBytesElement(int number, ByteArray value) throws IOException {
+        output.writeVarint32(LEN.tagFrom(number));
+        output.writeBytes(value.internalData());
+    }
+
     /**
      * Write message
      *
@@ -723,8 +948,7 @@ public class ProtobufWriter implements AutoCloseable {
     public void writeMessage(int number, ProtobufMessage<?> value) throws IOException {
         if (value != null) {
             output.writeVarint32(LEN.tagFrom(number));
-            output.writeVarint32(value.protobufSize());
-            value.writeTo(this);
+            writeMessageContent(value);
         }
     }
 
@@ -738,11 +962,99 @@ public class ProtobufWriter implements AutoCloseable {
     public void writeMessageUnpacked(int number, ObjectList<? extends ProtobufMessage<?>> values) throws IOException {
         for (ProtobufMessage<?> value : values) {
             output.writeVarint32(LEN.tagFrom(number));
+            writeMessageContent(value);
+        }
+    }
+
+    private void writeMessageContent(ProtobufMessage<?> value) throws IOException {
+        byte[] encoded = value.cachedEncoding();
+        if (encoded != null) {
+            output.writeBytes(encoded);
+        } else {
             output.writeVarint32(value.protobufSize());
             value.writeTo(this);
         }
     }
 
+    /**
+     * Write message kept in encoded form. Encoded bytes are copied as they are
+     *
+     * @param number field number
+     * @param value  message to write
+     * @throws IOException in case of any data write error
+     */
+    @SuppressWarnings("deprecation")
+    public void writeRawMessage(int number, RawMessage<?> value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            output.writeVarint32(LEN.tagFrom(number));
+            output.writeBytes(value.bytes().internalData());
+        }
+    }
+
+    /**
+     * Write unpacked list of messages kept in encoded form
+     *
+     * @param number field number
+     * @param values messages to write
+     * @throws IOException in case of any data write error
+     */
+    @SuppressWarnings("deprecation")
+    public void writeRawMessageUnpacked(int number, ObjectList<? extends RawMessage<?>> values) throws IOException {
+        for (RawMessage<?> value : values) {
+            output.writeVarint32(LEN.tagFrom(number));
+            output.writeBytes(value.bytes().internalData());
+        }
+    }
+
+    /**
+     * Writes single element of repeated message kept in encoded form. Unlike
+     * {@link #writeRawMessage(int, RawMessage)}, empty message is written too
+     *
+     * @param number field number
+     * @param value  value to write
+     * @throws IOException in case of any data write error
+     */
+    @SuppressWarnings("deprecation")
+    public void writeRawMessageElement(int number, RawMessage<?> value) throws IOException {
+        output.writeVarint32(LEN.tagFrom(number));
+        output.writeBytes(value.bytes().internalData());
+    }
+
+    /**
+     * Writes already encoded message fields, as is
+     *
+     * @param data encoded message fields
+     * @throws IOException in case of any data write error
+     */
+    public void writeEncoded(byte[] data) throws IOException {
+        output.writeRawBytes(data);
+    }
+
+    /**
+     * Writes range of already encoded message fields, as is
+     *
+     * @param data   encoded message fields
+     * @param offset start of the range
+     * @param length length of the range
+     * @throws IOException in case of any data write error
+     */
+    public void writeEncoded(byte[] data, int offset, int length) throws IOException {
+        output.writeRawBytes(data, offset, length);
+    }
+
+    /**
+     * Write tag and length of the length delimited field. Exactly {@code size} bytes of the field content must be written
+     * right after
+     *
+     * @param number field number
+     * @param size   size of the field content
+     * @throws IOException in case of any data write error
+     */
+    public void writeLengthDelimitedHeader(int number, int size) throws IOException {
+        output.writeVarint32(LEN.tagFrom(number));
+        output.writeVarint32(size);
+    }
+
     /**
      * Write unknown fields
      *
@@ -755,6 +1067,18 @@ public class ProtobufWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Write unknown fields kept in the encoded form
+     *
+     * @param values fields
+     * @throws IOException in case of any data write error
+     */
+    public void writeUnknownFields(UnknownFields values) throws IOException {
+        if (values != null && !values.isEmpty()) {
+            values.writeTo(output);
+        }
+    }
+
     /**
      * Write unpacked list of enums
      *
@@ -2,6 +2,7 @@ package com.github.pcimcioch.protobuf.io;
 
 import com.github.pcimcioch.protobuf.dto.BooleanList;
 import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.dto.BytesList;
 import com.github.pcimcioch.protobuf.dto.DoubleList;
 import com.github.pcimcioch.protobuf.dto.EnumList;
 import com.github.pcimcioch.protobuf.dto.FloatList;
@@ -9,6 +10,8 @@ import com.github.pcimcioch.protobuf.dto.IntList;
 import com.github.pcimcioch.protobuf.dto.LongList;
 import com.github.pcimcioch.protobuf.dto.ObjectList;
 import com.github.pcimcioch.protobuf.dto.ProtobufMessage;
+import com.github.pcimcioch.protobuf.dto.RawMessage;
+import com.github.pcimcioch.protobuf.dto.StringList;
 
 /**
  * Utils to compute size of given value
@@ -167,11 +170,7 @@ public final class Size {
             return 0;
         }
 
-        int size = 0;
-        for (int i = 0; i < values.size(); i++) {
-            size += varint32Size(values.getInt(i));
-        }
-
+        int size = values.varintSize();
         return tagSize(number) + varint32Size(size) + size;
     }
 
@@ -182,16 +181,7 @@ public final class Size {
      * @return size
      */
     public static int ofInt32Packed(IntList values) {
-        if (values.isEmpty()) {
-            return 0;
-        }
-
-        int size = 0;
-        for (int i = 0; i < values.size(); i++) {
-            size += varint32Size(values.getInt(i));
-        }
-
-        return size;
+        return values.varintSize();
     }
 
     /**
@@ -237,11 +227,7 @@ public final class Size {
             return 0;
         }
 
-        int size = 0;
-        for (int i = 0; i < values.size(); i++) {
-            size += varint64Size(values.getLong(i));
-        }
-
+        int size = values.varintSize();
         return tagSize(number) + varint32Size(size) + size;
     }
 
@@ -252,16 +238,7 @@ public final class Size {
      * @return size
      */
     public static int ofInt64Packed(LongList values) {
-        if (values.isEmpty()) {
-            return 0;
-        }
-
-        int size = 0;
-        for (int i = 0; i < values.size(); i++) {
-            size += varint64Size(values.getLong(i));
-        }
-
-        return size;
+        return values.varintSize();
     }
 
     /**
@@ -307,11 +284,7 @@ public final class Size {
             return 0;
         }
 
-        int size = 0;
-        for (int i = 0; i < values.size(); i++) {
-            size += varint32Size(values.getInt(i));
-        }
-
+        int size = values.varintSize();
         return tagSize(number) + varint32Size(size) + size;
     }
 
@@ -322,16 +295,7 @@ public final class Size {
      * @return size
      */
     public static int ofUint32Packed(IntList values) {
-        if (values.isEmpty()) {
-            return 0;
-        }
-
-        int size = 0;
-        for (int i = 0; i < values.size(); i++) {
-            size += varint32Size(values.getInt(i));
-        }
-
-        return size;
+        return values.varintSize();
     }
 
     /**
@@ -377,11 +341,7 @@ public final class Size {
             return 0;
         }
 
-        int size = 0;
-        for (int i = 0; i < values.size(); i++) {
-            size += varint64Size(values.getLong(i));
-        }
-
+        int size = values.varintSize();
         return tagSize(number) + varint32Size(size) + size;
     }
 
@@ -392,16 +352,7 @@ public final class Size {
      * @return size
      */
     public static int ofUint64Packed(LongList values) {
-        if (values.isEmpty()) {
-            return 0;
-        }
-
-        int size = 0;
-        for (int i = 0; i < values.size(); i++) {
-            size += varint64Size(values.getLong(i));
-        }
-
-        return size;
+        return values.varintSize();
     }
 
     /**
@@ -447,11 +398,7 @@ public final class Size {
             return 0;
         }
 
-        int size = 0;
-        for (int i = 0; i < values.size(); i++) {
-            size += zigzag32Size(values.getInt(i));
-        }
-
+        int size = values.zigzagSize();
         return tagSize(number) + varint32Size(size) + size;
     }
 
@@ -462,16 +409,7 @@ public final class Size {
      * @return size
      */
     public static int ofSint32Packed(IntList values) {
-        if (values.isEmpty()) {
-            return 0;
-        }
-
-        int size = 0;
-        for (int i = 0; i < values.size(); i++) {
-            size += zigzag32Size(values.getInt(i));
-        }
-
-        return size;
+        return values.zigzagSize();
     }
 
     /**
@@ -517,11 +455,7 @@ public final class Size {
             return 0;
         }
 
-        int size = 0;
-        for (int i = 0; i < values.size(); i++) {
-            size += zigzag64Size(values.getLong(i));
-        }
-
+        int size = values.zigzagSize();
         return tagSize(number) + varint32Size(size) + size;
     }
 
@@ -532,16 +466,7 @@ public final class Size {
      * @return size
      */
     public static int ofSint64Packed(LongList values) {
-        if (values.isEmpty()) {
-            return 0;
-        }
-
-        int size = 0;
-        for (int i = 0; i < values.size(); i++) {
-            size += zigzag64Size(values.getLong(i));
-        }
-
-        return size;
+        return values.zigzagSize();
     }
 
     /**
@@ -834,6 +759,22 @@ public final class Size {
         return size;
     }
 
+    /**
+     * Returns unpacked list of bytes size
+     *
+     * @param number tag number
+     * @param values values
+     * @return size
+     */
+    public static int ofBytesUnpacked(int number, BytesList values) {
+        int size = tagSize(number) * values.size() + values.encodedSize();
+        for (int i = 0; i < values.size(); i++) {
+            size += varint32Size(values.encodedLength(i));
+        }
+
+        return size;
+    }
+
     /**
      * Returns string size
      *
@@ -867,6 +808,22 @@ public final class Size {
         return size;
     }
 
+    /**
+     * Returns unpacked list of string size
+     *
+     * @param number tag number
+     * @param values values
+     * @return size
+     */
+    public static int ofStringUnpacked(int number, StringList values) {
+        int size = tagSize(number) * values.size() + values.encodedSize();
+        for (int i = 0; i < values.size(); i++) {
+            size += varint32Size(values.encodedLength(i));
+        }
+
+        return size;
+    }
+
     /**
      * Returns message size
      *
@@ -900,6 +857,48 @@ public final class Size {
         return size;
     }
 
+    /**
+     * Returns size of message kept in encoded form
+     *
+     * @param number tag number
+     * @param value  value
+     * @return size
+     */
+    public static int ofRawMessage(int number, RawMessage<?> value) {
+        if (value == null || value.isEmpty()) {
+            return 0;
+        }
+
+        return tagSize(number) + varint32Size(value.length()) + value.length();
+    }
+
+    /**
+     * Returns unpacked list of messages kept in encoded form size
+     *
+     * @param number tag number
+     * @param values values
+     * @return size
+     */
+    public static int ofRawMessageUnpacked(int number, ObjectList<? extends RawMessage<?>> values) {
+        int size = tagSize(number) * values.size();
+        for (RawMessage<?> value : values) {
+            size += varint32Size(value.length()) + value.length();
+        }
+
+        return size;
+    }
+
+    /**
+     * Returns length delimited field size
+     *
+     * @param number tag number
+     * @param size   size of the field content
+     * @return size
+     */
+    public static int ofLengthDelimited(int number, int size) {
+        return tagSize(number) + varint32Size(size) + size;
+    }
+
     /**
      * Returns unpacked list of unknown fields size
      *
@@ -914,6 +913,16 @@ public final class Size {
         return size;
     }
 
+    /**
+     * Returns size of unknown fields kept in the encoded form
+     *
+     * @param values values
+     * @return size
+     */
+    public static int ofUnknownFields(UnknownFields values) {
+        return values == null ? 0 : values.protobufSize();
+    }
+
     /**
      * Returns unpacked list of enums size
      *
@@ -940,7 +949,13 @@ public final class Size {
         return varint32Size(number << 3);
     }
 
-    static int varint32Size(int value) {
+    /**
+     * Returns size of int encoded as varint, without tag
+     *
+     * @param value value
+     * @return size
+     */
+    public static int varint32Size(int value) {
         if ((value & (~0 << 7)) == 0) {
             return 1;
         }
@@ -959,7 +974,13 @@ public final class Size {
         return 5;
     }
 
-    static int varint64Size(long value) {
+    /**
+     * Returns size of long encoded as varint, without tag
+     *
+     * @param value value
+     * @return size
+     */
+    public static int varint64Size(long value) {
         if ((value & (~0L << 7)) == 0L) {
             return 1;
         }
@@ -982,11 +1003,23 @@ public final class Size {
         return bytes;
     }
 
-    static int zigzag32Size(int value) {
+    /**
+     * Returns size of int encoded as zigzag varint, without tag
+     *
+     * @param value value
+     * @return size
+     */
+    public static int zigzag32Size(int value) {
         return varint32Size((value << 1) ^ (value >> 31));
     }
 
-    static int zigzag64Size(long value) {
+    /**
+     * Returns size of long encoded as zigzag varint, without tag
+     *
+     * @param value value
+     * @return size
+     */
+    public static int zigzag64Size(long value) {
         return varint64Size((value << 1) ^ (value >> 63));
     }
 
@@ -41,7 +41,7 @@ public sealed interface UnknownField {
     static void skip(int tag, ProtobufInput input) throws IOException {
         try {
             switch (WireType.fromTag(tag)) {
-                case VARINT -> input.readVarint64();
+                case VARINT -> input.skipVarint();
                 case I64 -> input.skip(8);
                 case LEN -> input.skip(input.readVarint32());
                 case SGROUP -> throw new UnsupportedWireTypeException("SGROUP");
@@ -0,0 +1,298 @@
+package com.github.pcimcioch.protobuf.io;
+
+import com.github.pcimcioch.protobuf.dto.ObjectList;
+import com.github.pcimcioch.protobuf.io.exception.UnknownWireTypeException;
+import com.github.pcimcioch.protobuf.io.exception.UnsupportedWireTypeException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Unknown fields kept as one contiguous range of encoded bytes. Fields are copied as they are during read and written
+ * with a single bulk copy. They can be decoded into {@link UnknownField} records on demand, using {@link #fields()}.
+ * This structure is immutable
+ */
+public final class UnknownFields {
+    private static final UnknownFields EMPTY = new UnknownFields(new byte[0]);
+
+    private final byte[] data;
+    private int hash;
+
+    private UnknownFields(byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * Returns whether there are no unknown fields
+     *
+     * @return whether it is empty
+     */
+    public boolean isEmpty() {
+        return data.length == 0;
+    }
+
+    /**
+     * Size in protobuf format
+     *
+     * @return size
+     */
+    public int protobufSize() {
+        return data.length;
+    }
+
+    /**
+     * Returns new byte array with encoded fields
+     *
+     * @return encoded fields copy
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(data, data.length);
+    }
+
+    /**
+     * Decodes unknown fields. Fields are returned in the order they were read
+     *
+     * @return decoded fields
+     * @throws UncheckedIOException if encoded fields are malformed
+     */
+    public ObjectList<UnknownField> fields() {
+        ObjectList.Builder<UnknownField> fields = ObjectList.builder();
+        ProtobufInput input = ProtobufInput.from(data);
+
+        try {
+            while (!input.isEnded()) {
+                fields.add(UnknownField.read(input.readVarint32(), input));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return fields.build();
+    }
+
+    void writeTo(ProtobufOutput output) throws IOException {
+        output.writeRawBytes(data);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UnknownFields other = (UnknownFields) o;
+        if (hash != 0 && other.hash != 0 && hash != other.hash) return false;
+        return Arrays.equals(data, other.data);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = Arrays.hashCode(data);
+            hash = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "UnknownFields" + fields();
+    }
+
+    /**
+     * Returns empty unknown fields
+     *
+     * @return empty unknown fields
+     */
+    public static UnknownFields empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns unknown fields containing given fields
+     *
+     * @param fields fields
+     * @return unknown fields
+     */
+    public static UnknownFields of(UnknownField... fields) {
+        Builder builder = builder();
+        for (UnknownField field : fields) {
+            builder.add(field);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns new builder
+     *
+     * @return builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder of unknown fields. Encoded fields are appended to a single growable buffer. Unknown fields added to an empty
+     * builder are shared until anything else is added. Builder can be reused after {@link #clear()}
+     */
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private byte[] data = EMPTY.data;
+        private int size;
+        private UnknownFields shared;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds field
+         *
+         * @param field field to add
+         * @return this
+         */
+        public Builder add(UnknownField field) {
+            if (field instanceof UnknownField.VarintField f) {
+                writeVarint(WireType.VARINT.tagFrom(f.number()));
+                writeVarint(f.value());
+            } else if (field instanceof UnknownField.I64Field f) {
+                writeVarint(WireType.I64.tagFrom(f.number()));
+                writeFixed(f.value(), 8);
+            } else if (field instanceof UnknownField.I32Field f) {
+                writeVarint(WireType.I32.tagFrom(f.number()));
+                writeFixed(f.value(), 4);
+            } else if (field instanceof UnknownField.BytesField f) {
+                writeVarint(WireType.LEN.tagFrom(f.number()));
+                writeVarint(f.value().length());
+                writeBytes(f.value().toByteArray());
+            }
+            return this;
+        }
+
+        /**
+         * Adds all fields
+         *
+         * @param fields fields to add
+         * @return this
+         */
+        public Builder addAll(UnknownFields fields) {
+            if (fields == null || fields.isEmpty()) {
+                return this;
+            }
+
+            if (isEmpty()) {
+                shared = fields;
+            } else {
+                writeBytes(fields.data);
+            }
+            return this;
+        }
+
+        /**
+         * Removes all fields. Allocated buffer is kept for reuse
+         *
+         * @return this
+         */
+        public Builder clear() {
+            size = 0;
+            shared = null;
+            return this;
+        }
+
+        /**
+         * Returns whether builder contains no fields
+         *
+         * @return whether it is empty
+         */
+        public boolean isEmpty() {
+            return size == 0 && shared == null;
+        }
+
+        /**
+         * Builds unknown fields
+         *
+         * @return unknown fields
+         */
+        public UnknownFields build() {
+            if (shared != null) {
+                return shared;
+            }
+            return size == 0 ? EMPTY : new UnknownFields(Arrays.copyOf(data, size));
+        }
+
+        void read(int tag, ProtobufInput input) throws IOException {
+            try {
+                switch (WireType.fromTag(tag)) {
+                    case VARINT -> {
+                        writeVarint(tag);
+                        copyVarint(input);
+                    }
+                    case I64 -> {
+                        writeVarint(tag);
+                        copyBytes(input, 8);
+                    }
+                    case LEN -> {
+                        int length = input.readVarint32();
+                        writeVarint(tag);
+                        writeVarint(length);
+                        copyBytes(input, length);
+                    }
+                    case SGROUP -> throw new UnsupportedWireTypeException("SGROUP");
+                    case EGROUP -> throw new UnsupportedWireTypeException("EGROUP");
+                    case I32 -> {
+                        writeVarint(tag);
+                        copyBytes(input, 4);
+                    }
+                }
+            } catch (IllegalArgumentException ex) {
+                throw new UnknownWireTypeException();
+            }
+        }
+
+        private void copyVarint(ProtobufInput input) throws IOException {
+            ensureCapacity(10);
+            size += input.readRawVarint(data, size);
+        }
+
+        private void copyBytes(ProtobufInput input, int length) throws IOException {
+            ensureCapacity(length);
+            input.readRawBytes(data, size, length);
+            size += length;
+        }
+
+        private void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0b01111111L) != 0) {
+                data[size++] = (byte) ((value & 0b01111111) | 0b10000000);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+        private void writeBytes(byte[] value) {
+            ensureCapacity(value.length);
+            System.arraycopy(value, 0, data, size, value.length);
+            size += value.length;
+        }
+
+        private void writeFixed(long value, int bytes) {
+            ensureCapacity(bytes);
+            for (int i = 0; i < bytes; i++) {
+                data[size++] = (byte) value;
+                value >>>= 8;
+            }
+        }
+
+        private void ensureCapacity(int required) {
+            if (shared != null) {
+                UnknownFields toCopy = shared;
+                shared = null;
+                writeBytes(toCopy.data);
+            }
+            if (data.length - size < required) {
+                int capacity = Math.max(Math.max(INITIAL_CAPACITY, data.length * 2), size + required);
+                data = Arrays.copyOf(data, capacity);
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.github.pcimcioch.protobuf.io;
+
+import com.github.pcimcioch.protobuf.io.ProtobufInput.ArrayProtobufInput;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+
+import static com.github.pcimcioch.protobuf.io.WireType.I32;
+import static com.github.pcimcioch.protobuf.io.WireType.I64;
+import static com.github.pcimcioch.protobuf.io.WireType.LEN;
+import static com.github.pcimcioch.protobuf.io.WireType.VARINT;
+
+/**
+ * Tests encoded messages without decoding them. Only fields referenced by conditions are read, all other fields are
+ * skipped. Conditions are evaluated against the last occurrence of the field, and against the default value if the
+ * field is missing. Message matches if all conditions pass. Matcher is immutable and can be used to test many messages
+ */
+public final class WireMatcher {
+    private static final int MAX_CONDITIONS = Long.SIZE;
+    private static final int MAX_VARINT32_SIZE = 5;
+    private static final int DEFAULT_BUFFER_SIZE = 4096;
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private final int[] tags;
+    private final LongPredicate[] tests;
+    private final byte[][] expected;
+    private final long defaults;
+    private final long all;
+
+    private WireMatcher(int[] tags, LongPredicate[] tests, byte[][] expected) {
+        this.tags = tags;
+        this.tests = tests;
+        this.expected = expected;
+        this.defaults = defaults(tests, expected);
+        this.all = tags.length == MAX_CONDITIONS ? -1L : (1L << tags.length) - 1;
+    }
+
+    /**
+     * Tests encoded message
+     *
+     * @param data encoded message
+     * @return whether message matches all conditions
+     * @throws IOException in case of any data read error
+     */
+    public boolean matches(byte[] data) throws IOException {
+        return matches(ProtobufInput.from(data));
+    }
+
+    /**
+     * Copies length delimited messages that match all conditions from input to output. Original bytes of matching
+     * messages, including their length prefixes, are written as they are. Given streams will not be closed by this
+     * method in any way. Output is not buffered by this method
+     *
+     * @param input  stream of length delimited messages
+     * @param output stream to write matching messages to
+     * @return number of matching messages
+     * @throws IOException in case of any data read or write error
+     */
+    public long filterDelimited(InputStream input, OutputStream output) throws IOException {
+        ProtobufInput messages = ProtobufInput.from(input, DEFAULT_BUFFER_SIZE);
+        ArrayProtobufInput message = ProtobufInput.from(NO_BYTES);
+        byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+        long matching = 0;
+
+        while (!messages.isEnded()) {
+            int length = messages.readVarint32();
+            if (buffer.length - MAX_VARINT32_SIZE < length) {
+                buffer = new byte[Math.max(buffer.length * 2, MAX_VARINT32_SIZE + length)];
+            }
+            messages.readRawBytes(buffer, MAX_VARINT32_SIZE, length);
+
+            message.reset(buffer);
+            message.skip(MAX_VARINT32_SIZE);
+            message.setLimit(length);
+            if (matches(message)) {
+                int start = writeLength(buffer, length);
+                output.write(buffer, start, MAX_VARINT32_SIZE + length - start);
+                matching++;
+            }
+        }
+
+        return matching;
+    }
+
+    private boolean matches(ProtobufInput input) throws IOException {
+        long passed = defaults;
+
+        while (!input.isEnded()) {
+            int tag = input.readVarint32();
+            int first = indexOf(tag);
+            if (first < 0) {
+                UnknownField.skip(tag, input);
+                continue;
+            }
+
+            passed = switch (WireType.fromTag(tag)) {
+                case VARINT -> test(passed, first, tag, input.readVarint64());
+                case I64 -> test(passed, first, tag, input.readFixedLong());
+                case I32 -> test(passed, first, tag, input.readFixedInt());
+                default -> testBytes(passed, first, tag, input);
+            };
+        }
+
+        return passed == all;
+    }
+
+    private long test(long passed, int first, int tag, long value) {
+        for (int i = first; i < tags.length; i++) {
+            if (tags[i] == tag) {
+                passed = update(passed, i, tests[i].test(value));
+            }
+        }
+        return passed;
+    }
+
+    private long testBytes(long passed, int first, int tag, ProtobufInput input) throws IOException {
+        int length = input.readVarint32();
+        input.ensureAvailable(length);
+
+        int from = input.currentPosition;
+        for (int i = first; i < tags.length; i++) {
+            if (tags[i] == tag) {
+                passed = update(passed, i, Arrays.equals(input.buffer, from, from + length, expected[i], 0, expected[i].length));
+            }
+        }
+
+        input.skip(length);
+        return passed;
+    }
+
+    private int indexOf(int tag) {
+        for (int i = 0; i < tags.length; i++) {
+            if (tags[i] == tag) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long update(long passed, int index, boolean result) {
+        return result ? passed | (1L << index) : passed & ~(1L << index);
+    }
+
+    private static long defaults(LongPredicate[] tests, byte[][] expected) {
+        long defaults = 0L;
+        for (int i = 0; i < tests.length; i++) {
+            boolean result = tests[i] == null ? expected[i].length == 0 : tests[i].test(0L);
+            defaults = update(defaults, i, result);
+        }
+        return defaults;
+    }
+
+    private static int writeLength(byte[] buffer, int length) {
+        int size = 1;
+        for (int value = length >>> 7; value != 0; value >>>= 7) {
+            size++;
+        }
+
+        int position = MAX_VARINT32_SIZE - size;
+        int value = length;
+        for (int i = position; i < MAX_VARINT32_SIZE - 1; i++) {
+            buffer[i] = (byte) ((value & 0b01111111) | 0b10000000);
+            value >>>= 7;
+        }
+        buffer[MAX_VARINT32_SIZE - 1] = (byte) value;
+
+        return position;
+    }
+
+    /**
+     * Returns new builder
+     *
+     * @return builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder of the matcher. Matcher can have up to 64 conditions. Many conditions can refer to the same field
+     */
+    public static final class Builder {
+        private int[] tags = new int[0];
+        private LongPredicate[] tests = new LongPredicate[0];
+        private byte[][] expected = new byte[0][];
+
+        private Builder() {
+        }
+
+        /**
+         * Adds condition on the varint field. Tested value is the raw varint, as it is encoded on the wire
+         *
+         * @param number field number
+         * @param test   condition
+         * @return this
+         */
+        public Builder varint(int number, LongPredicate test) {
+            return add(VARINT.tagFrom(number), test, null);
+        }
+
+        /**
+         * Adds condition on the 64-bit fixed size field. Tested value is the raw 64 bits of the field
+         *
+         * @param number field number
+         * @param test   condition
+         * @return this
+         */
+        public Builder fixed64(int number, LongPredicate test) {
+            return add(I64.tagFrom(number), test, null);
+        }
+
+        /**
+         * Adds condition on the 32-bit fixed size field. Tested value is the raw 32 bits of the field
+         *
+         * @param number field number
+         * @param test   condition
+         * @return this
+         */
+        public Builder fixed32(int number, IntPredicate test) {
+            return add(I32.tagFrom(number), value -> test.test((int) value), null);
+        }
+
+        /**
+         * Adds condition that length delimited field is equal to given bytes. Bytes are compared in place, without
+         * copying the field
+         *
+         * @param number field number
+         * @param value  expected bytes
+         * @return this
+         */
+        public Builder bytesEqual(int number, byte[] value) {
+            return add(LEN.tagFrom(number), null, Arrays.copyOf(value, value.length));
+        }
+
+        /**
+         * Builds matcher
+         *
+         * @return matcher
+         */
+        public WireMatcher build() {
+            return new WireMatcher(tags.clone(), tests.clone(), expected.clone());
+        }
+
+        private Builder add(int tag, LongPredicate test, byte[] value) {
+            if (tags.length == MAX_CONDITIONS) {
+                throw new IllegalStateException("Matcher can have at most " + MAX_CONDITIONS + " conditions");
+            }
+
+            tags = Arrays.copyOf(tags, tags.length + 1);
+            tests = Arrays.copyOf(tests, tests.length + 1);
+            expected = Arrays.copyOf(expected, expected.length + 1);
+            tags[tags.length - 1] = tag;
+            tests[tests.length - 1] = test;
+            expected[expected.length - 1] = value;
+            return this;
+        }
+    }
+}
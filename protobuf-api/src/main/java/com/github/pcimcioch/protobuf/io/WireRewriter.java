@@ -0,0 +1,280 @@
+package com.github.pcimcioch.protobuf.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import static com.github.pcimcioch.protobuf.io.WireType.LEN;
+
+/**
+ * Rewrites encoded messages without decoding them. Fields that are not edited are copied as they are, in bulk. Only
+ * edited fields are decoded, and only length prefixes of edited nested messages are recomputed. Rewriter is immutable
+ * and can be used to rewrite many messages
+ */
+public final class WireRewriter {
+    private static final int MAX_VARINT32_SIZE = 5;
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private final int[] numbers;
+    private final Edit[] edits;
+
+    private WireRewriter(int[] numbers, Edit[] edits) {
+        this.numbers = numbers;
+        this.edits = edits;
+    }
+
+    /**
+     * Rewrites encoded message
+     *
+     * @param data encoded message
+     * @return rewritten message
+     * @throws IOException in case of any data read error
+     */
+    public byte[] rewrite(byte[] data) throws IOException {
+        Output output = new Output(data.length + editsSize());
+        rewrite(ProtobufInput.from(data), output);
+        return output.toByteArray();
+    }
+
+    private void rewrite(ProtobufInput input, Output output) throws IOException {
+        boolean[] applied = new boolean[edits.length];
+        int copyStart = input.currentPosition;
+
+        while (!input.isEnded()) {
+            int fieldStart = input.currentPosition;
+            int tag = input.readVarint32();
+            int index = indexOf(WireType.numberFrom(tag));
+            if (index < 0 || !edits[index].appliesTo(tag)) {
+                UnknownField.skip(tag, input);
+                continue;
+            }
+
+            output.write(input.buffer, copyStart, fieldStart - copyStart);
+            Edit edit = edits[index];
+            if (edit.nested != null) {
+                rewriteNested(input, output, tag, edit.nested);
+            } else {
+                UnknownField.skip(tag, input);
+                if (!applied[index]) {
+                    output.write(edit.encoded, 0, edit.encoded.length);
+                }
+            }
+            applied[index] = true;
+            copyStart = input.currentPosition;
+        }
+        output.write(input.buffer, copyStart, input.currentPosition - copyStart);
+
+        for (int i = 0; i < edits.length; i++) {
+            if (!applied[i]) {
+                appendMissing(output, numbers[i], edits[i]);
+            }
+        }
+    }
+
+    private static void rewriteNested(ProtobufInput input, Output output, int tag, WireRewriter nested) throws IOException {
+        int size = input.readVarint32();
+        int oldLimit = input.setLimit(size);
+
+        output.writeVarint(tag);
+        int lengthPosition = output.reserve(MAX_VARINT32_SIZE);
+        nested.rewrite(input, output);
+        output.writeLength(lengthPosition);
+
+        input.setLimit(oldLimit - size);
+    }
+
+    private static void appendMissing(Output output, int number, Edit edit) throws IOException {
+        if (edit.encoded != null) {
+            output.write(edit.encoded, 0, edit.encoded.length);
+        } else if (edit.nested != null) {
+            int fieldStart = output.size;
+            output.writeVarint(LEN.tagFrom(number));
+            int lengthPosition = output.reserve(MAX_VARINT32_SIZE);
+            edit.nested.rewrite(ProtobufInput.from(NO_BYTES), output);
+            if (output.size == lengthPosition + MAX_VARINT32_SIZE) {
+                output.size = fieldStart;
+            } else {
+                output.writeLength(lengthPosition);
+            }
+        }
+    }
+
+    private int indexOf(int number) {
+        for (int i = 0; i < numbers.length; i++) {
+            if (numbers[i] == number) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int editsSize() {
+        int size = 0;
+        for (Edit edit : edits) {
+            if (edit.encoded != null) {
+                size += edit.encoded.length;
+            } else if (edit.nested != null) {
+                size += 2 * MAX_VARINT32_SIZE + edit.nested.editsSize();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns new builder
+     *
+     * @return builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder of the rewriter. Each field number can have one edit. Later edits of the same field replace earlier ones
+     */
+    public static final class Builder {
+        private int[] numbers = new int[0];
+        private Edit[] edits = new Edit[0];
+
+        private Builder() {
+        }
+
+        /**
+         * Sets value of the field. All occurrences of the field are replaced by given encoded value, which is written
+         * in place of the first occurrence, or at the end of the message if the field is missing
+         *
+         * @param number  field number
+         * @param encoder writes the new field value, including its tag
+         * @return this
+         */
+        public Builder set(int number, FieldEncoder encoder) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            try (ProtobufWriter writer = new ProtobufWriter(output)) {
+                encoder.encode(writer);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+
+            return put(number, new Edit(output.toByteArray(), null));
+        }
+
+        /**
+         * Removes all occurrences of the field
+         *
+         * @param number field number
+         * @return this
+         */
+        public Builder remove(int number) {
+            return put(number, new Edit(NO_BYTES, null));
+        }
+
+        /**
+         * Edits nested message field. Each occurrence of the field is rewritten with given rewriter. If the field is
+         * missing, it is added if given rewriter produces any fields
+         *
+         * @param number field number
+         * @param nested rewriter of the nested message
+         * @return this
+         */
+        public Builder edit(int number, WireRewriter nested) {
+            return put(number, new Edit(null, nested));
+        }
+
+        /**
+         * Builds rewriter
+         *
+         * @return rewriter
+         */
+        public WireRewriter build() {
+            return new WireRewriter(numbers.clone(), edits.clone());
+        }
+
+        private Builder put(int number, Edit edit) {
+            for (int i = 0; i < numbers.length; i++) {
+                if (numbers[i] == number) {
+                    edits[i] = edit;
+                    return this;
+                }
+            }
+
+            numbers = Arrays.copyOf(numbers, numbers.length + 1);
+            edits = Arrays.copyOf(edits, edits.length + 1);
+            numbers[numbers.length - 1] = number;
+            edits[edits.length - 1] = edit;
+            return this;
+        }
+    }
+
+    /**
+     * Writes new value of the field
+     */
+    @FunctionalInterface
+    public interface FieldEncoder {
+
+        /**
+         * Writes field, including its tag
+         *
+         * @param writer writer
+         * @throws IOException in case of any data write error
+         */
+        void encode(ProtobufWriter writer) throws IOException;
+    }
+
+    private record Edit(byte[] encoded, WireRewriter nested) {
+        private boolean appliesTo(int tag) {
+            return nested == null || tag == LEN.tagFrom(WireType.numberFrom(tag));
+        }
+    }
+
+    private static final class Output {
+        private byte[] data;
+        private int size;
+
+        private Output(int capacity) {
+            this.data = new byte[Math.max(capacity, 16)];
+        }
+
+        private void write(byte[] source, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(source, offset, data, size, length);
+            size += length;
+        }
+
+        private void writeVarint(int value) {
+            ensureCapacity(MAX_VARINT32_SIZE);
+            while ((value & ~0b01111111) != 0) {
+                data[size++] = (byte) ((value & 0b01111111) | 0b10000000);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+        private int reserve(int length) {
+            ensureCapacity(length);
+            int position = size;
+            size += length;
+            return position;
+        }
+
+        private void writeLength(int position) {
+            int contentStart = position + MAX_VARINT32_SIZE;
+            int length = size - contentStart;
+
+            size = position;
+            writeVarint(length);
+            System.arraycopy(data, contentStart, data, size, length);
+            size += length;
+        }
+
+        private void ensureCapacity(int required) {
+            if (data.length - size < required) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + required));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
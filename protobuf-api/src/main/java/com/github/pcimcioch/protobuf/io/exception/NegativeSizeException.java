@@ -0,0 +1,18 @@
+package com.github.pcimcioch.protobuf.io.exception;
+
+import java.io.Serial;
+
+/**
+ * Indicates that length of length delimited field in protobuf encoding is negative
+ */
+public class NegativeSizeException extends ProtobufException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor
+     */
+    public NegativeSizeException() {
+        super("Negative size");
+    }
+}
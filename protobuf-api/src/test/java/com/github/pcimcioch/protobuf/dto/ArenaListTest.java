@@ -0,0 +1,247 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import com.github.pcimcioch.protobuf.io.ProtobufReader;
+import com.github.pcimcioch.protobuf.io.ProtobufWriter;
+import com.github.pcimcioch.protobuf.io.Size;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArenaListTest {
+
+    @Nested
+    class Strings {
+
+        @Test
+        void buildAndGet() {
+            // given
+            StringList.Builder builder = StringList.builder();
+
+            // when
+            builder.add("first");
+            builder.add("");
+            builder.add("za\u017c\u00f3\u0142\u0107");
+            StringList list = builder.build();
+
+            // then
+            assertThat(list).containsExactly("first", "", "za\u017c\u00f3\u0142\u0107");
+            assertThat(list.encodedLength(0)).isEqualTo(5);
+            assertThat(list.encodedLength(1)).isZero();
+            assertThat(list.encodedLength(2)).isEqualTo("za\u017c\u00f3\u0142\u0107".getBytes(UTF_8).length);
+            assertThat(list.encodedSize()).isEqualTo(5 + "za\u017c\u00f3\u0142\u0107".getBytes(UTF_8).length);
+            assertThatThrownBy(() -> list.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+        }
+
+        @Test
+        void rejectNull() {
+            // given
+            StringList.Builder builder = StringList.builder();
+
+            // when then
+            assertThatThrownBy(() -> builder.add(null)).isInstanceOf(NullPointerException.class);
+        }
+
+        @Test
+        void equalToOtherLists() {
+            // given
+            StringList list = StringList.of("a", "bc", "d");
+
+            // when then
+            assertThat(list).isEqualTo(StringList.copyOf(List.of("a", "bc", "d")));
+            assertThat(list).isEqualTo(List.of("a", "bc", "d"));
+            assertThat(list).isEqualTo(ObjectList.of("a", "bc", "d"));
+            assertThat(list).isNotEqualTo(StringList.of("ab", "c", "d"));
+            assertThat(list.hashCode()).isEqualTo(List.of("a", "bc", "d").hashCode());
+            assertThat(StringList.of()).isEqualTo(List.of());
+        }
+
+        @Test
+        void reuseBuilderAfterClear() {
+            // given
+            StringList.Builder builder = StringList.builder();
+            builder.addAll(List.of("one", "two", "three"));
+            builder.build();
+            builder.clear();
+
+            // when
+            builder.add("four");
+            builder.addAll(StringList.of("five", "six"));
+            StringList list = builder.build();
+
+            // then
+            assertThat(list).containsExactly("four", "five", "six");
+            assertThat(builder.size()).isEqualTo(3);
+            assertThat(builder.get(1)).isEqualTo("five");
+        }
+
+        @Test
+        void growMany() {
+            // given
+            StringList.Builder builder = StringList.builder();
+            List<String> expected = new ArrayList<>();
+
+            // when
+            for (int i = 0; i < 10_000; i++) {
+                builder.add("tag-" + i);
+                expected.add("tag-" + i);
+            }
+            StringList list = builder.build();
+
+            // then
+            assertThat(list).isEqualTo(expected);
+        }
+
+        @Test
+        void forEachEncoded() {
+            // given
+            StringList list = StringList.of("ab", "\u0142");
+            List<String> elements = new ArrayList<>();
+
+            // when
+            list.forEachEncoded((data, offset, length) -> elements.add(new String(data, offset, length, UTF_8)));
+
+            // then
+            assertThat(elements).containsExactly("ab", "\u0142");
+        }
+
+        @Test
+        void builderAsConsumer() {
+            // given
+            StringList list = StringList.of("ab", "\u0142", "");
+            StringList.Builder builder = StringList.builder();
+
+            // when
+            list.forEachEncoded(builder);
+
+            // then
+            assertThat(builder.build()).isEqualTo(list);
+        }
+
+        @Test
+        void writeAndRead() throws IOException {
+            // given
+            StringList list = StringList.of("first", "", "za\u017c\u00f3\u0142\u0107", "x".repeat(5000));
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            // when
+            try (ProtobufWriter writer = new ProtobufWriter(output)) {
+                writer.writeStringUnpacked(1, list);
+            }
+            byte[] data = output.toByteArray();
+
+            // then
+            assertThat(data).isEqualTo(writeObjects(ObjectList.copyOf(list)));
+            assertThat(data).hasSize(Size.ofStringUnpacked(1, list));
+            assertThat(read(new ProtobufReader(data))).isEqualTo(list);
+            assertThat(read(new ProtobufReader(new ByteArrayInputStream(data)))).isEqualTo(list);
+        }
+
+        private static byte[] writeObjects(ObjectList<String> list) throws IOException {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            try (ProtobufWriter writer = new ProtobufWriter(output)) {
+                writer.writeStringUnpacked(1, list);
+            }
+            return output.toByteArray();
+        }
+
+        private static StringList read(ProtobufReader reader) throws IOException {
+            StringList.Builder builder = StringList.builder();
+            while (reader.readTag() != -1) {
+                reader.readString(builder);
+            }
+            return builder.build();
+        }
+    }
+
+    @Nested
+    class Bytes {
+
+        @Test
+        void buildAndGet() {
+            // given
+            BytesList.Builder builder = BytesList.builder();
+
+            // when
+            builder.add(ByteArray.fromByteArray(new byte[]{1, 2, 3}));
+            builder.add(ByteArray.empty());
+            builder.addEncoded(new byte[]{9, 8, 7, 6}, 1, 2);
+            BytesList list = builder.build();
+
+            // then
+            assertThat(list).containsExactly(
+                    ByteArray.fromByteArray(new byte[]{1, 2, 3}),
+                    ByteArray.empty(),
+                    ByteArray.fromByteArray(new byte[]{8, 7}));
+            assertThat(list.encodedLength(2)).isEqualTo(2);
+            assertThat(list.encodedSize()).isEqualTo(5);
+        }
+
+        @Test
+        void equalToOtherLists() {
+            // given
+            List<ByteArray> elements = List.of(
+                    ByteArray.fromByteArray(new byte[]{1}),
+                    ByteArray.fromByteArray(new byte[]{-2, 3}));
+            BytesList list = BytesList.copyOf(elements);
+
+            // when then
+            assertThat(list).isEqualTo(elements);
+            assertThat(list).isEqualTo(BytesList.copyOf(elements));
+            assertThat(list).isNotEqualTo(BytesList.of(ByteArray.fromByteArray(new byte[]{1, -2}),
+                    ByteArray.fromByteArray(new byte[]{3})));
+            assertThat(list.hashCode()).isEqualTo(elements.hashCode());
+        }
+
+        @Test
+        void builderAsConsumer() {
+            // given
+            BytesList list = BytesList.of(ByteArray.fromByteArray(new byte[]{1, 2}),
+                    ByteArray.fromByteArray(new byte[0]));
+            BytesList.Builder builder = BytesList.builder();
+
+            // when
+            list.forEachEncoded(builder);
+
+            // then
+            assertThat(builder.build()).isEqualTo(list);
+        }
+
+        @Test
+        void writeAndRead() throws IOException {
+            // given
+            BytesList list = BytesList.of(
+                    ByteArray.fromByteArray(new byte[]{1, 2, 3}),
+                    ByteArray.empty(),
+                    ByteArray.fromByteArray(new byte[6000]));
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            // when
+            try (ProtobufWriter writer = new ProtobufWriter(output)) {
+                writer.writeBytesUnpacked(2, list);
+            }
+            byte[] data = output.toByteArray();
+
+            // then
+            assertThat(data).hasSize(Size.ofBytesUnpacked(2, list));
+            assertThat(read(new ProtobufReader(data))).isEqualTo(list);
+            assertThat(read(new ProtobufReader(new ByteArrayInputStream(data)))).isEqualTo(list);
+        }
+
+        private static BytesList read(ProtobufReader reader) throws IOException {
+            BytesList.Builder builder = BytesList.builder();
+            while (reader.readTag() != -1) {
+                reader.readBytes(builder);
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BooleanListTest {
+
+    @Test
+    void buildManyWords() {
+        // given
+        BooleanList.Builder builder = BooleanList.builder();
+
+        // when
+        for (int i = 0; i < 200; i++) {
+            builder.add(i % 3 == 0);
+        }
+        BooleanList list = builder.build();
+
+        // then
+        assertThat(list).hasSize(200);
+        assertThat(list.getBoolean(0)).isTrue();
+        assertThat(list.getBoolean(64)).isFalse();
+        assertThat(list.getBoolean(198)).isTrue();
+        assertThat(list.cardinality()).isEqualTo(67);
+    }
+
+    @Test
+    void reuseBuilderAfterClear() {
+        // given
+        BooleanList.Builder builder = BooleanList.builder();
+        builder.addAll(List.of(true, true, true, true));
+        builder.build();
+        builder.clear();
+
+        // when
+        builder.add(false);
+        builder.add(true);
+        BooleanList list = builder.build();
+
+        // then
+        assertThat(list).isEqualTo(BooleanList.of(false, true));
+        assertThat(list.cardinality()).isEqualTo(1);
+    }
+
+    @Test
+    void forEachTrue() {
+        // given
+        BooleanList list = BooleanList.of(true, false, false, true, false);
+        List<Integer> indexes = new ArrayList<>();
+
+        // when
+        list.forEachTrue(indexes::add);
+
+        // then
+        assertThat(indexes).isEqualTo(List.of(0, 3));
+    }
+
+    @Test
+    void addAllAlignedAndUnaligned() {
+        // given
+        boolean[] elements = new boolean[100];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = i % 5 == 1;
+        }
+        BooleanList source = BooleanList.of(elements);
+        BooleanList.Builder builder = BooleanList.builder();
+
+        // when
+        builder.addAll(source);
+        builder.add(true);
+        builder.addAll(source);
+        BooleanList list = builder.build();
+
+        // then
+        assertThat(list).hasSize(201);
+        assertThat(list.subList(0, 100)).isEqualTo(source);
+        assertThat(list.getBoolean(100)).isTrue();
+        assertThat(list.subList(101, 201)).isEqualTo(source);
+        assertThat(list.cardinality()).isEqualTo(41);
+    }
+
+    @Test
+    void equalToOtherLists() {
+        // given
+        BooleanList list = BooleanList.copyOf(List.of(true, false, true));
+
+        // when then
+        assertThat(list).isEqualTo(BooleanList.of(true, false, true));
+        assertThat(list).isEqualTo(List.of(true, false, true));
+        assertThat(list.hashCode()).isEqualTo(List.of(true, false, true).hashCode());
+    }
+}
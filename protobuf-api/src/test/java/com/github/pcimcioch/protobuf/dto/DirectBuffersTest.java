@@ -0,0 +1,39 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DirectBuffersTest {
+
+    @Test
+    void copyOf() {
+        // given
+        ByteBuffer buffer = DirectBuffers.allocate(16);
+        buffer.putLong(0, 1L);
+        buffer.putLong(8, 2L);
+
+        // when
+        ByteBuffer grown = DirectBuffers.copyOf(buffer, 32);
+        ByteBuffer trimmed = DirectBuffers.copyOf(grown, 8);
+
+        // then
+        assertThat(grown.capacity()).isEqualTo(32);
+        assertThat(trimmed.capacity()).isEqualTo(8);
+        assertThat(trimmed.isDirect()).isTrue();
+        assertThat(trimmed.getLong(0)).isEqualTo(1L);
+    }
+
+    @Test
+    void emptyBufferIsShared() {
+        // when
+        ByteBuffer empty = DirectBuffers.copyOf(DirectBuffers.allocate(8), 0);
+        DirectBuffers.free(empty);
+
+        // then
+        assertThat(empty).isSameAs(DirectBuffers.EMPTY);
+        assertThat(DirectBuffers.allocate(0)).isSameAs(DirectBuffers.EMPTY);
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EncodedCacheTest {
+    private final AtomicInteger encodings = new AtomicInteger();
+    private final EncodedCache<String> cache = new EncodedCache<>(
+            String::length,
+            (message, writer) -> {
+                encodings.incrementAndGet();
+                writer.writeEncoded(message.getBytes(StandardCharsets.US_ASCII));
+            }
+    );
+
+    @Test
+    void encodeOnce() {
+        // given
+        String message = "message";
+
+        // when
+        byte[] first = cache.get(message);
+        byte[] second = cache.get(message);
+
+        // then
+        assertThat(first).isSameAs(second);
+        assertThat(new String(first, StandardCharsets.US_ASCII)).isEqualTo("message");
+        assertThat(encodings.get()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void compareByIdentity() {
+        // given
+        String first = new String("message");
+        String second = new String("message");
+
+        // when
+        cache.get(first);
+        cache.get(second);
+
+        // then
+        assertThat(encodings.get()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void sizeWithoutEncoding() {
+        // given
+        String message = "message";
+
+        // when
+        int computed = cache.encodedSize(message);
+        int encodingsBefore = encodings.get();
+        cache.get(message);
+        int cached = cache.encodedSize(message);
+
+        // then
+        assertThat(computed).isEqualTo(7);
+        assertThat(cached).isEqualTo(7);
+        assertThat(encodingsBefore).isZero();
+        assertThat(encodings.get()).isEqualTo(1);
+    }
+
+    @Test
+    void cacheManyMessages() {
+        // given
+        List<String> messages = new ArrayList<>();
+        List<byte[]> encoded = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            messages.add("message" + i);
+        }
+
+        // when
+        for (String message : messages) {
+            encoded.add(cache.get(message));
+        }
+
+        // then
+        for (int i = 0; i < messages.size(); i++) {
+            assertThat(cache.get(messages.get(i))).isSameAs(encoded.get(i));
+        }
+        assertThat(encodings.get()).isEqualTo(1000);
+        assertThat(cache.size()).isEqualTo(1000);
+    }
+
+    @Test
+    void concurrentAccess() throws Exception {
+        // given
+        List<String> messages = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            messages.add("message" + i);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when
+        List<Future<List<byte[]>>> results = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            results.add(executor.submit(() -> messages.stream().map(cache::get).toList()));
+        }
+        List<byte[]> first = results.get(0).get();
+        executor.shutdown();
+
+        // then
+        for (Future<List<byte[]>> result : results) {
+            List<byte[]> encoded = result.get();
+            for (int i = 0; i < messages.size(); i++) {
+                assertThat(encoded.get(i)).isSameAs(first.get(i));
+            }
+        }
+        assertThat(cache.size()).isEqualTo(1000);
+    }
+}
@@ -0,0 +1,244 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import com.github.pcimcioch.protobuf.io.ProtobufReader;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.pcimcioch.protobuf.io.ByteUtils.encode;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapListTest {
+
+    @Nested
+    class Doubles {
+
+        @Test
+        void build() {
+            // given
+            OffHeapDoubleList.Builder builder = OffHeapDoubleList.builder();
+
+            // when
+            for (int i = 0; i < 5000; i++) {
+                builder.add(i / 2d);
+            }
+            OffHeapDoubleList list = builder.build();
+
+            // then
+            assertThat(list).hasSize(5000);
+            assertThat(list.getDouble(0)).isEqualTo(0d);
+            assertThat(list.getDouble(4999)).isEqualTo(2499.5d);
+            assertThat(builder.size()).isEqualTo(0);
+        }
+
+        @Test
+        void buildManyFromOneBuilder() {
+            // given
+            OffHeapDoubleList.Builder builder = OffHeapDoubleList.builder();
+            for (int i = 0; i < 5000; i++) {
+                builder.add(i / 2d);
+            }
+            OffHeapDoubleList first = builder.build();
+
+            // when
+            builder.add(2499.5d);
+            OffHeapDoubleList second = builder.build();
+            first.close();
+            first.close();
+
+            // then
+            assertThat(first.isClosed()).isTrue();
+            assertThat(second).hasSize(1);
+            assertThat(second.getDouble(0)).isEqualTo(2499.5d);
+            assertThat(builder.build()).isEmpty();
+        }
+
+        @Test
+        void equalToHeapList() {
+            // given
+            OffHeapDoubleList.Builder builder = OffHeapDoubleList.builder();
+            builder.add(1d);
+            builder.add(-2.5d);
+
+            // when
+            OffHeapDoubleList list = builder.build();
+
+            // then
+            assertThat(list.toHeap()).isEqualTo(DoubleList.of(1d, -2.5d));
+            assertThat(list).isEqualTo(DoubleList.of(1d, -2.5d));
+            assertThat(list.hashCode()).isEqualTo(DoubleList.of(1d, -2.5d).hashCode());
+        }
+
+        @Test
+        void decode() throws IOException {
+            // given
+            ProtobufReader reader = new ProtobufReader(encode(writer -> writer.writeDoublePacked(1, DoubleList.of(1d, 2d, 3d))));
+            OffHeapDoubleList.Builder builder = OffHeapDoubleList.builder();
+
+            // when
+            reader.readTag();
+            reader.readDoublePacked(builder::add);
+            OffHeapDoubleList list = builder.build();
+
+            // then
+            assertThat(list.toHeap()).isEqualTo(DoubleList.of(1d, 2d, 3d));
+        }
+
+        @Test
+        void close() {
+            // given
+            OffHeapDoubleList.Builder builder = OffHeapDoubleList.builder();
+            builder.add(1d);
+            OffHeapDoubleList list = builder.build();
+
+            // when
+            list.close();
+
+            // then
+            assertThat(list.isClosed()).isTrue();
+            assertThatThrownBy(() -> list.getDouble(0))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("List is closed");
+        }
+
+        @Test
+        void outOfBounds() {
+            // given
+            OffHeapDoubleList list = OffHeapDoubleList.builder().build();
+
+            // when then
+            assertThatThrownBy(() -> list.getDouble(0))
+                    .isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+
+    @Nested
+    class Longs {
+
+        @Test
+        void build() {
+            // given
+            OffHeapLongList.Builder builder = OffHeapLongList.builder();
+
+            // when
+            for (int i = 0; i < 5000; i++) {
+                builder.add(-3L * i);
+            }
+            OffHeapLongList list = builder.build();
+
+            // then
+            assertThat(list).hasSize(5000);
+            assertThat(list.getLong(0)).isEqualTo(0L);
+            assertThat(list.getLong(4999)).isEqualTo(-14997L);
+        }
+
+        @Test
+        void buildManyFromOneBuilder() {
+            // given
+            OffHeapLongList.Builder builder = OffHeapLongList.builder();
+            for (int i = 0; i < 5000; i++) {
+                builder.add((long) i);
+            }
+            OffHeapLongList first = builder.build();
+
+            // when
+            builder.add(4999L);
+            OffHeapLongList second = builder.build();
+            first.close();
+            first.close();
+
+            // then
+            assertThat(first.isClosed()).isTrue();
+            assertThat(second).hasSize(1);
+            assertThat(second.getLong(0)).isEqualTo(4999L);
+            assertThat(builder.build()).isEmpty();
+        }
+
+        @Test
+        void equalToHeapList() {
+            // given
+            OffHeapLongList.Builder builder = OffHeapLongList.builder();
+            builder.add(Long.MAX_VALUE);
+            builder.add(-1L);
+
+            // when
+            OffHeapLongList list = builder.build();
+
+            // then
+            assertThat(list.toHeap()).isEqualTo(LongList.of(Long.MAX_VALUE, -1L));
+            assertThat(list).isEqualTo(LongList.of(Long.MAX_VALUE, -1L));
+            assertThat(list.hashCode()).isEqualTo(LongList.of(Long.MAX_VALUE, -1L).hashCode());
+        }
+
+        @Test
+        void decode() throws IOException {
+            // given
+            ProtobufReader reader = new ProtobufReader(encode(writer -> writer.writeSint64Packed(1, LongList.of(-1L, 2L, -3L))));
+            OffHeapLongList.Builder builder = OffHeapLongList.builder();
+
+            // when
+            reader.readTag();
+            reader.readSint64Packed(builder::add);
+            OffHeapLongList list = builder.build();
+
+            // then
+            assertThat(list.toHeap()).isEqualTo(LongList.of(-1L, 2L, -3L));
+        }
+
+        @Test
+        void close() {
+            // given
+            OffHeapLongList.Builder builder = OffHeapLongList.builder();
+            builder.add(1L);
+            OffHeapLongList list = builder.build();
+
+            // when
+            list.close();
+
+            // then
+            assertThat(list.isClosed()).isTrue();
+            assertThatThrownBy(() -> list.getLong(0))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("List is closed");
+        }
+
+        @Test
+        void closeWhileReading() throws Exception {
+            // given
+            OffHeapLongList.Builder builder = OffHeapLongList.builder();
+            for (long i = 0; i < 10_000; i++) {
+                builder.add(i);
+            }
+            OffHeapLongList list = builder.build();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            CountDownLatch reading = new CountDownLatch(1);
+            Thread reader = new Thread(() -> {
+                try {
+                    while (true) {
+                        for (int i = 0; i < list.size(); i++) {
+                            list.getLong(i);
+                        }
+                        reading.countDown();
+                    }
+                } catch (Throwable ex) {
+                    failure.set(ex);
+                }
+            });
+
+            // when
+            reader.start();
+            reading.await();
+            list.close();
+            reader.join();
+
+            // then
+            assertThat(failure.get())
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("List is closed");
+        }
+    }
+}
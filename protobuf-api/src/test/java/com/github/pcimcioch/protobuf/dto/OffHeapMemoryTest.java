@@ -0,0 +1,82 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapMemoryTest {
+    private static final int SIZE = 1 << 20;
+
+    @Test
+    void closeWithoutReads() {
+        // given
+        long before = directMemory();
+        OffHeapMemory memory = new OffHeapMemory(DirectBuffers.allocate(SIZE));
+
+        // when
+        memory.close();
+        memory.close();
+
+        // then
+        assertThat(memory.isClosed()).isTrue();
+        assertThat(directMemory()).isEqualTo(before);
+        assertThatThrownBy(memory::acquire)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("List is closed");
+    }
+
+    @Test
+    void closeDuringReads() {
+        // given
+        long before = directMemory();
+        OffHeapMemory memory = new OffHeapMemory(DirectBuffers.allocate(SIZE));
+        ByteBuffer first = memory.acquire();
+        ByteBuffer second = memory.acquire();
+        first.putLong(0, 42L);
+
+        // when
+        memory.close();
+        memory.release();
+        long afterFirstRelease = directMemory();
+        long value = second.getLong(0);
+        memory.release();
+
+        // then
+        assertThat(memory.isClosed()).isTrue();
+        assertThat(value).isEqualTo(42L);
+        assertThat(afterFirstRelease).isEqualTo(before + SIZE);
+        assertThat(directMemory()).isEqualTo(before);
+        assertThatThrownBy(memory::acquire)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("List is closed");
+    }
+
+    @Test
+    void readAfterRelease() {
+        // given
+        OffHeapMemory memory = new OffHeapMemory(DirectBuffers.allocate(SIZE));
+        memory.acquire();
+        memory.release();
+
+        // when
+        ByteBuffer buffer = memory.acquire();
+        buffer.putLong(8, 7L);
+        memory.release();
+
+        // then
+        assertThat(memory.isClosed()).isFalse();
+        assertThat(buffer.getLong(8)).isEqualTo(7L);
+    }
+
+    private static long directMemory() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> "direct".equals(pool.getName()))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+}
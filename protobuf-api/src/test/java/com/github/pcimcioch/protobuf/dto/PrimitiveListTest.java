@@ -0,0 +1,204 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrimitiveListTest {
+
+    @Test
+    void intListInAllStorages() {
+        for (ListStorage storage : ListStorage.values()) {
+            // given
+            IntList.Builder builder = IntList.builder(storage);
+            int[] expected = new int[40_000];
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] = i * 3 - 7;
+                builder.add(expected[i]);
+            }
+            IntList list = builder.build();
+            List<Integer> visited = new ArrayList<>();
+            int[] copy = new int[expected.length + 2];
+
+            // when
+            list.forEachInt(visited::add);
+            list.copyTo(copy, 2);
+
+            // then
+            assertThat(visited).isEqualTo(list);
+            assertThat(list.toIntArray()).isEqualTo(expected);
+            assertThat(list.intStream().toArray()).isEqualTo(expected);
+            assertThat(copy).startsWith(0, 0, -7, -4);
+            assertThat(copy[copy.length - 1]).isEqualTo(expected[expected.length - 1]);
+        }
+    }
+
+    @Test
+    void longListInAllStorages() {
+        for (ListStorage storage : ListStorage.values()) {
+            // given
+            LongList.Builder builder = LongList.builder(storage);
+            long[] expected = new long[20_000];
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] = 1_000_000_000_000L + i * 5L;
+                builder.add(expected[i]);
+            }
+            LongList list = builder.build();
+            List<Long> visited = new ArrayList<>();
+
+            // when
+            list.forEachLong(visited::add);
+
+            // then
+            assertThat(visited).isEqualTo(list);
+            assertThat(list.toLongArray()).isEqualTo(expected);
+            assertThat(list.longStream().toArray()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void doubleListSegmented() {
+        // given
+        DoubleList.Builder builder = DoubleList.builder(ListStorage.SEGMENTED);
+        builder.add(1.5);
+        builder.add(-2.0);
+        builder.add(Double.NaN);
+        DoubleList list = builder.build();
+        List<Double> visited = new ArrayList<>();
+
+        // when
+        list.forEachDouble(visited::add);
+
+        // then
+        assertThat(list.isSegmented()).isTrue();
+        assertThat(visited).containsExactly(1.5, -2.0, Double.NaN);
+        assertThat(list.toDoubleArray()).containsExactly(1.5, -2.0, Double.NaN);
+        assertThat(list.doubleStream().limit(2).sum()).isEqualTo(-0.5);
+    }
+
+    @Test
+    void floatList() {
+        // given
+        FloatList list = FloatList.of(1.5f, 2.5f, -1f);
+        List<Float> visited = new ArrayList<>();
+        float[] copy = new float[4];
+
+        // when
+        list.forEachFloat(visited::add);
+        list.copyTo(copy, 1);
+
+        // then
+        assertThat(visited).containsExactly(1.5f, 2.5f, -1f);
+        assertThat(copy).containsExactly(0f, 1.5f, 2.5f, -1f);
+        assertThat(list.toFloatArray()).containsExactly(1.5f, 2.5f, -1f);
+        assertThat(list.doubleStream().sum()).isEqualTo(3.0);
+    }
+
+    @Test
+    void booleanList() {
+        // given
+        BooleanList list = BooleanList.of(true, false, true);
+        List<Boolean> visited = new ArrayList<>();
+
+        // when
+        list.forEachBoolean(visited::add);
+
+        // then
+        assertThat(visited).containsExactly(true, false, true);
+        assertThat(list.toBooleanArray()).containsExactly(true, false, true);
+    }
+
+    @Test
+    void copyToTooSmallArray() {
+        // given
+        IntList list = IntList.of(1, 2, 3);
+
+        // when then
+        assertThatThrownBy(() -> list.copyTo(new int[3], 1))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.copyTo(new int[3], -1))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void wrapDoesNotCopy() {
+        // given
+        long[] elements = {1L, 2L, 3L};
+
+        // when
+        LongList list = LongList.wrap(elements);
+        elements[0] = 10L;
+
+        // then
+        assertThat(list.getLong(0)).isEqualTo(10L);
+        assertThat(list).isEqualTo(LongList.of(10L, 2L, 3L));
+        assertThat(IntList.wrap(new int[0])).isEmpty();
+        assertThat(DoubleList.wrap(new double[]{1.0}).toDoubleArray()).containsExactly(1.0);
+        assertThat(FloatList.wrap(new float[]{1f}).toFloatArray()).containsExactly(1f);
+    }
+
+    @Test
+    void cachedHashCode() {
+        // given
+        IntList.Builder builder = IntList.builder();
+        for (int i = 0; i < 10_000; i++) {
+            builder.add(i);
+        }
+        IntList first = builder.build();
+        IntList second = builder.build();
+
+        // when
+        int hash = first.hashCode();
+
+        // then
+        assertThat(first.hashCode()).isEqualTo(hash);
+        assertThat(second.hashCode()).isEqualTo(hash);
+        assertThat(hash).isEqualTo(List.copyOf(first).hashCode());
+        assertThat(first).isEqualTo(second);
+    }
+
+    @Test
+    void differentCachedHashCodes() {
+        // given
+        LongList first = LongList.of(1L, 2L, 3L);
+        LongList second = LongList.of(1L, 2L, 4L);
+        BooleanList third = BooleanList.of(true, false);
+        BooleanList fourth = BooleanList.of(false, true);
+        ByteArray fifth = ByteArray.fromByteArray(new byte[]{1, 2});
+        ByteArray sixth = ByteArray.fromByteArray(new byte[]{2, 1});
+
+        // when
+        first.hashCode();
+        second.hashCode();
+        third.hashCode();
+        fourth.hashCode();
+        fifth.hashCode();
+        sixth.hashCode();
+
+        // then
+        assertThat(first).isNotEqualTo(second);
+        assertThat(third).isNotEqualTo(fourth);
+        assertThat(fifth).isNotEqualTo(sixth);
+        assertThat(first).isEqualTo(LongList.of(1L, 2L, 3L));
+        assertThat(fifth).isEqualTo(ByteArray.fromByteArray(new byte[]{1, 2}));
+    }
+
+    @Test
+    void encodedSizes() {
+        // given
+        IntList ints = IntList.of(0, 1, 127, 128, -1);
+        LongList longs = LongList.of(0L, -1L, Long.MAX_VALUE);
+
+        // when then
+        assertThat(ints.varintSize()).isEqualTo(1 + 1 + 1 + 2 + 10);
+        assertThat(ints.varintSize()).isEqualTo(15);
+        assertThat(ints.zigzagSize()).isEqualTo(1 + 1 + 2 + 2 + 1);
+        assertThat(longs.varintSize()).isEqualTo(1 + 10 + 9);
+        assertThat(longs.zigzagSize()).isEqualTo(1 + 1 + 10);
+        assertThat(IntList.of().varintSize()).isEqualTo(0);
+    }
+}
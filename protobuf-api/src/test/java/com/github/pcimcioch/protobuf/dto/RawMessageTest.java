@@ -0,0 +1,83 @@
+package com.github.pcimcioch.protobuf.dto;
+
+import com.github.pcimcioch.protobuf.io.ProtobufReader.MessageFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RawMessageTest {
+    private final AtomicInteger parses = new AtomicInteger();
+    private final MessageFactory<List<Integer>> parser = reader -> {
+        parses.incrementAndGet();
+        List<Integer> values = new ArrayList<>();
+        while (reader.readTag() != -1) {
+            values.add(reader.readInt32());
+        }
+        return values;
+    };
+
+    @Test
+    void parseOnce() throws IOException {
+        // given
+        RawMessage<List<Integer>> message = RawMessage.fromByteArray(new byte[]{8, 1, 8, 2}, parser);
+
+        // when
+        List<Integer> first = message.parse();
+        List<Integer> second = message.parse();
+
+        // then
+        assertThat(first).containsExactly(1, 2);
+        assertThat(second).isSameAs(first);
+        assertThat(parses.get()).isEqualTo(1);
+    }
+
+    @Test
+    void copyData() {
+        // given
+        byte[] data = {8, 1};
+
+        // when
+        RawMessage<List<Integer>> message = RawMessage.fromByteArray(data, parser);
+        data[1] = 2;
+
+        // then
+        assertThat(message.toByteArray()).containsExactly(8, 1);
+        assertThat(message.length()).isEqualTo(2);
+    }
+
+    @Test
+    void concat() throws IOException {
+        // given
+        RawMessage<List<Integer>> first = RawMessage.fromByteArray(new byte[]{8, 1}, parser);
+        RawMessage<List<Integer>> second = RawMessage.fromByteArray(new byte[]{8, 2}, parser);
+        RawMessage<List<Integer>> empty = RawMessage.empty(parser);
+
+        // when
+        RawMessage<List<Integer>> merged = first.concat(second);
+
+        // then
+        assertThat(merged.parse()).containsExactly(1, 2);
+        assertThat(first.concat(empty)).isSameAs(first);
+        assertThat(empty.concat(second)).isSameAs(second);
+        assertThat(ProtoDto.merge(null, first)).isSameAs(first);
+    }
+
+    @Test
+    void compareByBytes() {
+        // given
+        RawMessage<List<Integer>> first = RawMessage.fromByteArray(new byte[]{8, 1}, parser);
+        RawMessage<List<Integer>> second = RawMessage.fromBytes(ByteArray.fromByteArray(new byte[]{8, 1}), parser);
+        RawMessage<List<Integer>> third = RawMessage.fromByteArray(new byte[]{8, 2}, parser);
+
+        // when then
+        assertThat(first).isEqualTo(second);
+        assertThat(first.hashCode()).isEqualTo(second.hashCode());
+        assertThat(first).isNotEqualTo(third);
+        assertThat(ProtoDto.copy(RawMessage.empty(parser))).isNull();
+    }
+}
@@ -1,7 +1,10 @@
 package com.github.pcimcioch.protobuf.io;
 
+import com.github.pcimcioch.protobuf.io.ProtobufInput.ArrayProtobufInput;
 import com.github.pcimcioch.protobuf.io.exception.InputEndedException;
 import com.github.pcimcioch.protobuf.io.exception.LimitExceededException;
+import com.github.pcimcioch.protobuf.io.exception.NegativeSizeException;
+import com.github.pcimcioch.protobuf.io.exception.MalformedVarintException;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -301,6 +304,93 @@ class ArrayProtobufInputTest {
         }
     }
 
+    @Nested
+    class SkipVarint {
+
+        @Test
+        void skipVarints() throws IOException {
+            // given
+            ProtobufInput testee = testee(0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x01, 0x96, 0x01, 0x05, 0x07);
+
+            // when
+            testee.skipVarint();
+            testee.skipVarint();
+            testee.skipVarint();
+            byte read = testee.readRawByte();
+
+            // then
+            assertThat(read).isEqualTo((byte) 7);
+        }
+
+        @Test
+        void skipOverCapacity() {
+            // given
+            ProtobufInput testee = testee(0x80, 0x80);
+
+            // when
+            assertThatThrownBy(testee::skipVarint)
+                    .isInstanceOf(InputEndedException.class);
+        }
+
+        @Test
+        void skipOverLimit() throws IOException {
+            // given
+            ProtobufInput testee = testee(0x80, 0x80, 0x80, 0x01, 0, 0, 0, 0, 0, 0, 0, 0);
+            testee.setLimit(3);
+
+            // when
+            assertThatThrownBy(testee::skipVarint)
+                    .isInstanceOf(LimitExceededException.class);
+        }
+
+        @Test
+        void skipMalformed() {
+            // given
+            ProtobufInput testee = testee(0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x01);
+
+            // when
+            assertThatThrownBy(testee::skipVarint)
+                    .isInstanceOf(MalformedVarintException.class);
+        }
+    }
+
+    @Nested
+    class Reset {
+
+        @Test
+        void readAfterReset() throws IOException {
+            // given
+            ArrayProtobufInput testee = testee(0, 1, 2);
+            testee.setLimit(1);
+            testee.readRawByte();
+
+            // when
+            testee.reset(new byte[]{3, 4});
+            byte read1 = testee.readRawByte();
+            byte read2 = testee.readRawByte();
+
+            // then
+            assertThat(read1).isEqualTo((byte) 3);
+            assertThat(read2).isEqualTo((byte) 4);
+            assertThatThrownBy(testee::readRawByte)
+                    .isInstanceOf(InputEndedException.class);
+        }
+
+        @Test
+        void skipNegative() {
+            // given
+            ProtobufInput testee = testee(0, 1, 2, 3);
+
+            // when then
+            assertThatThrownBy(() -> testee.skip(-1))
+                    .isInstanceOf(NegativeSizeException.class);
+            assertThatThrownBy(() -> testee.readRawBytes(-1))
+                    .isInstanceOf(NegativeSizeException.class);
+            assertThatThrownBy(() -> testee.setLimit(-1))
+                    .isInstanceOf(NegativeSizeException.class);
+        }
+    }
+
     @Nested
     class Mixed {
 
@@ -353,7 +443,7 @@ class ArrayProtobufInputTest {
         }
     }
 
-    private static ProtobufInput testee(int... values) {
+    private static ArrayProtobufInput testee(int... values) {
         byte[] bytes = new byte[values.length];
         for (int i = 0; i < values.length; i++) {
             bytes[i] = (byte) values[i];
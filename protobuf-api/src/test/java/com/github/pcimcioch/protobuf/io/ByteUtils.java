@@ -2,7 +2,10 @@ package com.github.pcimcioch.protobuf.io;
 
 import com.github.pcimcioch.protobuf.dto.ByteArray;
 
-final class ByteUtils {
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+public final class ByteUtils {
 
     private ByteUtils() {
     }
@@ -24,4 +27,17 @@ final class ByteUtils {
 
         return ByteArray.fromByteArray(data);
     }
+
+    public static byte[] encode(WriterAction action) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ProtobufWriter writer = new ProtobufWriter(output)) {
+            action.write(writer);
+        }
+        return output.toByteArray();
+    }
+
+    @FunctionalInterface
+    public interface WriterAction {
+        void write(ProtobufWriter writer) throws IOException;
+    }
 }
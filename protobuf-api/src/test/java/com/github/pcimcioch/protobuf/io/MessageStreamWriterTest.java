@@ -0,0 +1,187 @@
+package com.github.pcimcioch.protobuf.io;
+
+import com.github.pcimcioch.protobuf.dto.ByteArray;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static com.github.pcimcioch.protobuf.io.ByteUtils.encode;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MessageStreamWriterTest {
+
+    @Test
+    void writeTopLevelFields() throws IOException {
+        // given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        try (MessageStreamWriter message = MessageStreamWriter.to(output)) {
+            message.writer().writeInt32(1, 10);
+            message.writer().writeString(2, "text");
+        }
+
+        // then
+        assertThat(output.toByteArray()).isEqualTo(encode(writer -> {
+            writer.writeInt32(1, 10);
+            writer.writeString(2, "text");
+        }));
+    }
+
+    @Test
+    void writeDefaultElements() throws IOException {
+        // given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        try (MessageStreamWriter message = MessageStreamWriter.to(output)) {
+            message.writer().writeInt32Element(1, 0);
+            message.writer().writeDoubleElement(2, 0d);
+            message.writer().writeBoolElement(3, false);
+            message.writer().writeStringElement(4, "");
+            message.writer().writeBytesElement(5, ByteArray.empty());
+        }
+
+        // then
+        assertThat(output.toByteArray()).isEqualTo(new byte[]{
+                0b00001000, 0,
+                0b00010001, 0, 0, 0, 0, 0, 0, 0, 0,
+                0b00011000, 0,
+                0b00100010, 0,
+                0b00101010, 0
+        });
+    }
+
+    @Test
+    void writeNestedMessages() throws IOException {
+        // given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        try (MessageStreamWriter message = MessageStreamWriter.to(output)) {
+            message.writer().writeInt32(1, 10);
+            try (MessageStreamWriter nested = message.nested(2)) {
+                nested.writer().writeString(1, "x".repeat(300));
+                try (MessageStreamWriter deeper = nested.nested(2)) {
+                    deeper.writer().writeInt64(1, 20L);
+                }
+            }
+            message.writer().writeInt32(3, 30);
+        }
+
+        // then
+        byte[] deeper = encode(writer -> writer.writeInt64(1, 20L));
+        byte[] nested = encode(writer -> {
+            writer.writeString(1, "x".repeat(300));
+            writer.writeBytes(2, ByteArray.fromByteArray(deeper));
+        });
+        assertThat(output.toByteArray()).isEqualTo(encode(writer -> {
+            writer.writeInt32(1, 10);
+            writer.writeBytes(2, ByteArray.fromByteArray(nested));
+            writer.writeInt32(3, 30);
+        }));
+    }
+
+    @Test
+    void writeEmptyNestedMessage() throws IOException {
+        // given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        try (MessageStreamWriter message = MessageStreamWriter.to(output)) {
+            message.nested(5).close();
+        }
+
+        // then
+        assertThat(output.toByteArray()).isEqualTo(new byte[]{0b00101010, 0});
+    }
+
+    @Test
+    void closeTwice() throws IOException {
+        // given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        MessageStreamWriter message = MessageStreamWriter.to(output);
+        MessageStreamWriter nested = message.nested(1);
+        nested.writer().writeInt32(1, 10);
+
+        // when
+        nested.close();
+        nested.close();
+        message.close();
+        message.close();
+
+        // then
+        assertThat(output.toByteArray()).isEqualTo(new byte[]{0b00001010, 2, 0b00001000, 10});
+    }
+
+    @Test
+    void reuseNestedBuffers() throws IOException {
+        // given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        try (MessageStreamWriter message = MessageStreamWriter.to(output)) {
+            for (int i = 0; i < 3; i++) {
+                try (MessageStreamWriter nested = message.nested(1)) {
+                    nested.writer().writeString(1, "x".repeat(1000 >> (i * 3)));
+                    try (MessageStreamWriter deeper = nested.nested(2)) {
+                        deeper.writer().writeInt32(1, i + 1);
+                    }
+                }
+            }
+        }
+
+        // then
+        assertThat(output.toByteArray()).isEqualTo(encode(writer -> {
+            for (int i = 0; i < 3; i++) {
+                int value = i + 1;
+                byte[] deeper = encode(deeperWriter -> deeperWriter.writeInt32(1, value));
+                String text = "x".repeat(1000 >> (i * 3));
+                writer.writeBytes(1, ByteArray.fromByteArray(encode(nestedWriter -> {
+                    nestedWriter.writeString(1, text);
+                    nestedWriter.writeBytes(2, ByteArray.fromByteArray(deeper));
+                })));
+            }
+        }));
+    }
+
+    @Test
+    void useParentWithOpenNested() throws IOException {
+        // given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        MessageStreamWriter message = MessageStreamWriter.to(output);
+        MessageStreamWriter nested = message.nested(1);
+        nested.writer().writeInt32(1, 10);
+
+        // when then
+        assertThatThrownBy(message::close)
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(message::writer)
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> message.nested(2))
+                .isInstanceOf(IllegalStateException.class);
+
+        nested.close();
+        message.close();
+        assertThat(output.toByteArray()).isEqualTo(new byte[]{0b00001010, 2, 0b00001000, 10});
+    }
+
+    @Test
+    void useClosed() throws IOException {
+        // given
+        MessageStreamWriter message = MessageStreamWriter.to(new ByteArrayOutputStream());
+        MessageStreamWriter nested = message.nested(1);
+        nested.close();
+        message.close();
+
+        // when then
+        assertThatThrownBy(nested::writer)
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(message::writer)
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> message.nested(2))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
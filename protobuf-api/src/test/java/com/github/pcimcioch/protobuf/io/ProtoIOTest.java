@@ -8,6 +8,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.stream.Stream;
@@ -752,6 +753,74 @@ class ProtoIOTest {
         }
     }
 
+    @Nested
+    class InPlaceMessage {
+        private final byte[] data = b(
+                0b1000, 1, // field 1 varint 1
+                0b10010, 4, 0b1000, 2, 0b10000, 3, // field 2 message {1: 2, 2: 3}
+                0b11000, 4 // field 3 varint 4
+        );
+
+        @Test
+        void readFromArray() throws IOException {
+            assertRead(new ProtobufReader(data));
+        }
+
+        @Test
+        void readFromStream() throws IOException {
+            assertRead(new ProtobufReader(new ByteArrayInputStream(data)));
+        }
+
+        private void assertRead(ProtobufReader reader) throws IOException {
+            // when then
+            assertThat(reader.readTag()).isEqualTo(0b1000);
+            assertThat(reader.readInt32()).isEqualTo(1);
+            assertThat(reader.readTag()).isEqualTo(0b10010);
+
+            int limit = reader.beginMessage();
+            assertThat(reader.readTag()).isEqualTo(0b1000);
+            assertThat(reader.readInt32()).isEqualTo(2);
+            assertThat(reader.readTag()).isEqualTo(0b10000);
+            assertThat(reader.readInt32()).isEqualTo(3);
+            assertThat(reader.readTag()).isEqualTo(-1);
+            reader.endMessage(limit);
+
+            assertThat(reader.readTag()).isEqualTo(0b11000);
+            assertThat(reader.readInt32()).isEqualTo(4);
+            assertThat(reader.readTag()).isEqualTo(-1);
+        }
+    }
+
+    @Nested
+    class Reset {
+
+        @Test
+        void arrayReader() throws IOException {
+            // given
+            ProtobufReader reader = new ProtobufReader(b(0b1000, 1));
+            reader.readTag();
+
+            // when
+            reader.reset(b(0b10000, 2));
+
+            // then
+            assertThat(reader.readTag()).isEqualTo(0b10000);
+            assertThat(reader.readInt32()).isEqualTo(2);
+            assertThat(reader.readTag()).isEqualTo(-1);
+        }
+
+        @Test
+        void streamReader() {
+            // given
+            ProtobufReader reader = new ProtobufReader(new ByteArrayInputStream(b(0b1000, 1)));
+
+            // when then
+            assertThatThrownBy(() -> reader.reset(b(0b10000, 2)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Reader created from input stream cannot be reset");
+        }
+    }
+
     private ProtobufInput input(byte[] bytes) {
         return ProtobufInput.from(bytes);
     }
@@ -0,0 +1,230 @@
+package com.github.pcimcioch.protobuf.io;
+
+import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.io.exception.InputEndedException;
+import com.github.pcimcioch.protobuf.io.exception.NegativeSizeException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static com.github.pcimcioch.protobuf.io.ByteUtils.b;
+import static com.github.pcimcioch.protobuf.io.ByteUtils.encode;
+import static com.github.pcimcioch.protobuf.io.WireType.I32;
+import static com.github.pcimcioch.protobuf.io.WireType.I64;
+import static com.github.pcimcioch.protobuf.io.WireType.LEN;
+import static com.github.pcimcioch.protobuf.io.WireType.VARINT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProtobufScannerTest {
+
+    @Test
+    void scanFields() throws IOException {
+        // given
+        byte[] data = encode(writer -> {
+            writer.writeSint32(1, -2);
+            writer.writeDouble(2, 1.5d);
+            writer.writeFixed32(3, -1);
+            writer.writeString(4, "text");
+        });
+        ProtobufScanner testee = new ProtobufScanner(data);
+
+        // when then
+        assertThat(testee.next()).isTrue();
+        assertThat(testee.number()).isEqualTo(1);
+        assertThat(testee.wireType()).isEqualTo(VARINT);
+        assertThat(testee.value()).isEqualTo(3L);
+
+        assertThat(testee.next()).isTrue();
+        assertThat(testee.number()).isEqualTo(2);
+        assertThat(testee.wireType()).isEqualTo(I64);
+        assertThat(Double.longBitsToDouble(testee.value())).isEqualTo(1.5d);
+
+        assertThat(testee.next()).isTrue();
+        assertThat(testee.number()).isEqualTo(3);
+        assertThat(testee.wireType()).isEqualTo(I32);
+        assertThat(testee.value()).isEqualTo(0xFFFFFFFFL);
+
+        assertThat(testee.next()).isTrue();
+        assertThat(testee.tag()).isEqualTo(LEN.tagFrom(4));
+        assertThat(testee.length()).isEqualTo(4);
+        assertThat(testee.offset()).isEqualTo(data.length - 4);
+        assertThat(testee.string()).isEqualTo("text");
+        assertThat(testee.bytes()).isEqualTo(ByteArray.fromByteArray("text".getBytes()));
+
+        assertThat(testee.next()).isFalse();
+        assertThat(testee.next()).isFalse();
+    }
+
+    @Test
+    void enterNestedMessages() throws IOException {
+        // given
+        byte[] inner = encode(writer -> writer.writeInt32(1, 7));
+        byte[] middle = encode(writer -> {
+            writer.writeBytes(1, ByteArray.fromByteArray(inner));
+            writer.writeInt32(2, 8);
+        });
+        byte[] data = encode(writer -> {
+            writer.writeBytes(1, ByteArray.fromByteArray(middle));
+            writer.writeInt32(2, 9);
+        });
+        ProtobufScanner testee = new ProtobufScanner(data);
+
+        // when then
+        assertThat(testee.next()).isTrue();
+        assertThat(testee.looksLikeMessage()).isTrue();
+        testee.enter();
+        assertThat(testee.depth()).isEqualTo(1);
+
+        assertThat(testee.next()).isTrue();
+        assertThat(testee.looksLikeMessage()).isTrue();
+        testee.enter();
+        assertThat(testee.next()).isTrue();
+        assertThat(testee.value()).isEqualTo(7L);
+        assertThat(testee.next()).isFalse();
+        testee.exit();
+
+        assertThat(testee.next()).isTrue();
+        assertThat(testee.value()).isEqualTo(8L);
+        assertThat(testee.next()).isFalse();
+        testee.exit();
+        assertThat(testee.depth()).isEqualTo(0);
+
+        assertThat(testee.next()).isTrue();
+        assertThat(testee.number()).isEqualTo(2);
+        assertThat(testee.value()).isEqualTo(9L);
+        assertThat(testee.next()).isFalse();
+    }
+
+    @Test
+    void exitSkipsRemainingFields() throws IOException {
+        // given
+        byte[] nested = encode(writer -> {
+            writer.writeInt32(1, 1);
+            writer.writeString(2, "skipped");
+            writer.writeInt32(3, 3);
+        });
+        byte[] data = encode(writer -> {
+            writer.writeBytes(1, ByteArray.fromByteArray(nested));
+            writer.writeInt32(2, 2);
+        });
+        ProtobufScanner testee = new ProtobufScanner(data);
+
+        // when
+        testee.next();
+        testee.enter();
+        testee.next();
+        testee.next();
+        testee.exit();
+
+        // then
+        assertThat(testee.next()).isTrue();
+        assertThat(testee.number()).isEqualTo(2);
+        assertThat(testee.value()).isEqualTo(2L);
+    }
+
+    @Test
+    void enterManyLevels() throws IOException {
+        // given
+        byte[] data = encode(writer -> writer.writeInt32(1, 42));
+        for (int i = 0; i < 20; i++) {
+            byte[] nested = data;
+            data = encode(writer -> writer.writeBytes(1, ByteArray.fromByteArray(nested)));
+        }
+        ProtobufScanner testee = new ProtobufScanner(data);
+
+        // when
+        for (int i = 0; i < 20; i++) {
+            testee.next();
+            testee.enter();
+        }
+        testee.next();
+        long value = testee.value();
+        for (int i = 0; i < 20; i++) {
+            testee.exit();
+        }
+
+        // then
+        assertThat(value).isEqualTo(42L);
+        assertThat(testee.next()).isFalse();
+    }
+
+    @Test
+    void detectMessages() throws IOException {
+        // given
+        byte[] data = encode(writer -> {
+            writer.writeString(1, "text");
+            writer.writeLengthDelimitedHeader(2, 0);
+            writer.writeBytes(3, ByteArray.fromByteArray(new byte[]{0x08, (byte) 0x96, 0x01}));
+            writer.writeBytes(4, ByteArray.fromByteArray(new byte[]{0x0A, 0x05, 0x01}));
+            writer.writeBytes(5, ByteArray.fromByteArray(new byte[]{0x00, 0x01}));
+            writer.writeBytes(6, ByteArray.fromByteArray(new byte[]{0x0B}));
+        });
+        ProtobufScanner testee = new ProtobufScanner(data);
+
+        // when then
+        testee.next();
+        assertThat(testee.looksLikeMessage()).isFalse();
+        testee.next();
+        assertThat(testee.looksLikeMessage()).isFalse();
+        testee.next();
+        assertThat(testee.looksLikeMessage()).isTrue();
+        testee.next();
+        assertThat(testee.looksLikeMessage()).isFalse();
+        testee.next();
+        assertThat(testee.looksLikeMessage()).isFalse();
+        testee.next();
+        assertThat(testee.looksLikeMessage()).isFalse();
+    }
+
+    @Test
+    void reset() throws IOException {
+        // given
+        ProtobufScanner testee = new ProtobufScanner(encode(writer -> writer.writeString(1, "first")));
+        testee.next();
+        testee.enter();
+
+        // when
+        testee.reset(encode(writer -> writer.writeInt32(2, 5)));
+
+        // then
+        assertThat(testee.depth()).isEqualTo(0);
+        assertThat(testee.next()).isTrue();
+        assertThat(testee.number()).isEqualTo(2);
+        assertThat(testee.value()).isEqualTo(5L);
+        assertThat(testee.next()).isFalse();
+    }
+
+    @Test
+    void truncatedField() {
+        // given
+        ProtobufScanner testee = new ProtobufScanner(new byte[]{0x0A, 0x05, 0x01});
+
+        // when then
+        assertThatThrownBy(testee::next)
+                .isInstanceOf(InputEndedException.class);
+    }
+
+    @Test
+    void negativeLength() {
+        // given
+        ProtobufScanner testee = new ProtobufScanner(b(0x0A, 0xFA, 0xFF, 0xFF, 0xFF, 0x0F, 0x01));
+
+        // when then
+        assertThatThrownBy(testee::next)
+                .isInstanceOf(NegativeSizeException.class);
+    }
+
+    @Test
+    void enterNotLengthDelimited() throws IOException {
+        // given
+        ProtobufScanner testee = new ProtobufScanner(encode(writer -> writer.writeInt32(1, 1)));
+        testee.next();
+
+        // when then
+        assertThatThrownBy(testee::enter)
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(testee::exit)
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -1578,6 +1578,31 @@ class SizeTest {
         }
     }
 
+    @Nested
+    class LengthDelimited {
+
+        @ParameterizedTest
+        @MethodSource("source")
+        void size(int number, int size, int expectedSize) {
+            // when then
+            assertThat(Size.ofLengthDelimited(number, size)).isEqualTo(expectedSize);
+        }
+
+        private static Stream<Arguments> source() {
+            return Stream.of(
+                    Arguments.of(NUMBER_1_SMALL, 0, 2),
+                    Arguments.of(NUMBER_1_BIG, 0, 2),
+                    Arguments.of(NUMBER_2_SMALL, 0, 3),
+                    Arguments.of(NUMBER_2_BIG, 0, 3),
+
+                    Arguments.of(NUMBER_1_SMALL, 6, 8),
+                    Arguments.of(NUMBER_1_SMALL, 127, 129),
+                    Arguments.of(NUMBER_1_SMALL, 128, 131),
+                    Arguments.of(NUMBER_2_SMALL, 128, 132)
+            );
+        }
+    }
+
     @Nested
     class Enums {
 
@@ -2,6 +2,7 @@ package com.github.pcimcioch.protobuf.io;
 
 import com.github.pcimcioch.protobuf.io.exception.InputEndedException;
 import com.github.pcimcioch.protobuf.io.exception.LimitExceededException;
+import com.github.pcimcioch.protobuf.io.exception.NegativeSizeException;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -449,6 +450,20 @@ class StreamProtobufInputTest {
             assertThatThrownBy(() -> testee.skip(1))
                     .isInstanceOf(LimitExceededException.class);
         }
+
+        @Test
+        void skipNegative() {
+            // given
+            ProtobufInput testee = testee(b(0, 1, 2, 3), 4);
+
+            // when then
+            assertThatThrownBy(() -> testee.skip(-1))
+                    .isInstanceOf(NegativeSizeException.class);
+            assertThatThrownBy(() -> testee.readRawBytes(-1))
+                    .isInstanceOf(NegativeSizeException.class);
+            assertThatThrownBy(() -> testee.setLimit(-1))
+                    .isInstanceOf(NegativeSizeException.class);
+        }
     }
 
     @Nested
@@ -0,0 +1,115 @@
+package com.github.pcimcioch.protobuf.io;
+
+import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.io.UnknownField.BytesField;
+import com.github.pcimcioch.protobuf.io.UnknownField.I32Field;
+import com.github.pcimcioch.protobuf.io.UnknownField.I64Field;
+import com.github.pcimcioch.protobuf.io.UnknownField.VarintField;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UnknownFieldsTest {
+    private static final UnknownField[] FIELDS = {
+            new VarintField(1, -1L),
+            new I32Field(2, 7),
+            new BytesField(3, ByteArray.fromByteArray(new byte[100])),
+            new I64Field(20, 8L),
+            new VarintField(300, 1L)
+    };
+
+    @Test
+    void sameBytesAsRecords() throws IOException {
+        // given
+        UnknownFields fields = UnknownFields.of(FIELDS);
+
+        // when
+        byte[] written = write(fields);
+
+        // then
+        assertThat(written).isEqualTo(writeRecords());
+        assertThat(fields.protobufSize()).isEqualTo(written.length);
+        assertThat(fields.fields()).containsExactly(FIELDS);
+    }
+
+    @Test
+    void readFromArray() throws IOException {
+        // given
+        UnknownFields.Builder builder = UnknownFields.builder();
+
+        // when
+        read(ProtobufInput.from(writeRecords()), builder);
+
+        // then
+        assertThat(builder.build()).isEqualTo(UnknownFields.of(FIELDS));
+    }
+
+    @Test
+    void readFromStreamWithSmallBuffer() throws IOException {
+        // given
+        UnknownFields.Builder builder = UnknownFields.builder();
+
+        // when
+        read(ProtobufInput.from(new ByteArrayInputStream(writeRecords()), 16), builder);
+
+        // then
+        assertThat(builder.build().fields()).containsExactly(FIELDS);
+    }
+
+    @Test
+    void reuseBuilder() {
+        // given
+        UnknownFields.Builder builder = UnknownFields.builder();
+        UnknownFields first = builder.add(FIELDS[0]).add(FIELDS[1]).build();
+
+        // when
+        UnknownFields second = builder.clear().add(FIELDS[3]).build();
+
+        // then
+        assertThat(first.fields()).containsExactly(FIELDS[0], FIELDS[1]);
+        assertThat(second.fields()).containsExactly(FIELDS[3]);
+        assertThat(builder.clear().build()).isSameAs(UnknownFields.empty());
+    }
+
+    @Test
+    void addAll() {
+        // given
+        UnknownFields first = UnknownFields.of(FIELDS[0], FIELDS[1]);
+        UnknownFields second = UnknownFields.of(FIELDS[2], FIELDS[3], FIELDS[4]);
+
+        // when
+        UnknownFields merged = UnknownFields.builder().addAll(first).addAll(null).addAll(second).build();
+
+        // then
+        assertThat(merged).isEqualTo(UnknownFields.of(FIELDS));
+        assertThat(merged.hashCode()).isEqualTo(UnknownFields.of(FIELDS).hashCode());
+    }
+
+    private static void read(ProtobufInput input, UnknownFields.Builder builder) throws IOException {
+        while (!input.isEnded()) {
+            builder.read(input.readVarint32(), input);
+        }
+    }
+
+    private static byte[] write(UnknownFields fields) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ProtobufOutput output = ProtobufOutput.from(outputStream, 4096)) {
+            fields.writeTo(output);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] writeRecords() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ProtobufOutput output = ProtobufOutput.from(outputStream, 4096)) {
+            for (UnknownField field : FIELDS) {
+                field.writeTo(output);
+            }
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.pcimcioch.protobuf.io;
+
+import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.io.exception.NegativeSizeException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static com.github.pcimcioch.protobuf.io.ByteUtils.b;
+import static com.github.pcimcioch.protobuf.io.ByteUtils.encode;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WireMatcherTest {
+
+    @Test
+    void skipFieldsWithoutConditions() throws IOException {
+        // given
+        byte[] data = encode(writer -> {
+            writer.writeBytes(1, ByteArray.fromByteArray(new byte[300]));
+            writer.writeFixed64(2, 20L);
+            writer.writeFixed32(3, 30);
+            writer.writeInt64(4, 40L);
+        });
+
+        // when
+        WireMatcher matcher = WireMatcher.builder()
+                .varint(4, value -> value == 40L)
+                .build();
+
+        // then
+        assertThat(matcher.matches(data)).isTrue();
+    }
+
+    @Test
+    void rawValues() throws IOException {
+        // given
+        byte[] data = encode(writer -> {
+            writer.writeSint32(1, -1);
+            writer.writeDouble(2, 1.5d);
+            writer.writeSfixed32(3, -3);
+        });
+
+        // when
+        WireMatcher matcher = WireMatcher.builder()
+                .varint(1, value -> value == 1L)
+                .fixed64(2, value -> value == Double.doubleToRawLongBits(1.5d))
+                .fixed32(3, value -> value == -3)
+                .build();
+
+        // then
+        assertThat(matcher.matches(data)).isTrue();
+    }
+
+    @Test
+    void compareBytesInPlace() throws IOException {
+        // given
+        byte[] data = encode(writer -> {
+            writer.writeString(1, "first");
+            writer.writeString(2, "second");
+        });
+
+        // when then
+        assertThat(WireMatcher.builder().bytesEqual(2, "second".getBytes()).build().matches(data)).isTrue();
+        assertThat(WireMatcher.builder().bytesEqual(2, "secon".getBytes()).build().matches(data)).isFalse();
+        assertThat(WireMatcher.builder().bytesEqual(2, "seconds".getBytes()).build().matches(data)).isFalse();
+        assertThat(WireMatcher.builder().bytesEqual(3, new byte[0]).build().matches(data)).isTrue();
+    }
+
+    @Test
+    void ignoreOtherWireType() throws IOException {
+        // given
+        byte[] data = encode(writer -> writer.writeFixed32(1, 10));
+
+        // when
+        WireMatcher matcher = WireMatcher.builder()
+                .varint(1, value -> value == 0L)
+                .build();
+
+        // then
+        assertThat(matcher.matches(data)).isTrue();
+    }
+
+    @Test
+    void filterLargeMessages() throws IOException {
+        // given
+        byte[] small = encode(writer -> writer.writeInt32(1, 1));
+        byte[] large = encode(writer -> {
+            writer.writeInt32(1, 2);
+            writer.writeBytes(2, ByteArray.fromByteArray(new byte[10_000]));
+        });
+        ByteArrayOutputStream input = new ByteArrayOutputStream();
+        writeDelimited(input, small);
+        writeDelimited(input, large);
+        writeDelimited(input, small);
+        writeDelimited(input, large);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        writeDelimited(expected, large);
+        writeDelimited(expected, large);
+        WireMatcher matcher = WireMatcher.builder()
+                .varint(1, value -> value == 2L)
+                .build();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        long matching = matcher.filterDelimited(new ByteArrayInputStream(input.toByteArray()), output);
+
+        // then
+        assertThat(matching).isEqualTo(2L);
+        assertThat(output.toByteArray()).isEqualTo(expected.toByteArray());
+    }
+
+    @Test
+    void negativeLength() {
+        // given
+        byte[] data = b(0x7A, 0xFA, 0xFF, 0xFF, 0xFF, 0x0F, 0x01);
+        byte[] negativeField = b(0x07, 0x7A, 0xFA, 0xFF, 0xFF, 0xFF, 0x0F, 0x01);
+        byte[] negativeMessage = b(0xFA, 0xFF, 0xFF, 0xFF, 0x0F);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        WireMatcher withoutCondition = WireMatcher.builder()
+                .varint(1, value -> true)
+                .build();
+        WireMatcher withCondition = WireMatcher.builder()
+                .bytesEqual(15, new byte[0])
+                .build();
+
+        // when then
+        assertThatThrownBy(() -> withoutCondition.matches(data))
+                .isInstanceOf(NegativeSizeException.class);
+        assertThatThrownBy(() -> withCondition.matches(data))
+                .isInstanceOf(NegativeSizeException.class);
+        assertThatThrownBy(() -> withoutCondition.filterDelimited(new ByteArrayInputStream(negativeField), output))
+                .isInstanceOf(NegativeSizeException.class);
+        assertThatThrownBy(() -> withoutCondition.filterDelimited(new ByteArrayInputStream(negativeMessage), output))
+                .isInstanceOf(NegativeSizeException.class);
+        assertThat(output.toByteArray()).isEmpty();
+    }
+
+    @Test
+    void tooManyConditions() {
+        // given
+        WireMatcher.Builder builder = WireMatcher.builder();
+        for (int i = 1; i <= 64; i++) {
+            builder.varint(i, value -> true);
+        }
+
+        // when then
+        assertThatThrownBy(() -> builder.varint(65, value -> true))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void writeDelimited(ByteArrayOutputStream output, byte[] data) throws IOException {
+        int length = data.length;
+        while ((length & ~0b01111111) != 0) {
+            output.write((length & 0b01111111) | 0b10000000);
+            length >>>= 7;
+        }
+        output.write(length);
+        output.write(data);
+    }
+}
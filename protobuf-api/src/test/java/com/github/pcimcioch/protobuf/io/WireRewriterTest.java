@@ -0,0 +1,136 @@
+package com.github.pcimcioch.protobuf.io;
+
+import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.io.exception.NegativeSizeException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static com.github.pcimcioch.protobuf.io.ByteUtils.b;
+import static com.github.pcimcioch.protobuf.io.ByteUtils.encode;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WireRewriterTest {
+
+    @Test
+    void copyUntouchedFields() throws IOException {
+        // given
+        byte[] data = encode(writer -> {
+            writer.writeInt32(1, 10);
+            writer.writeString(2, "text");
+            writer.writeFixed64(3, 30L);
+        });
+        WireRewriter rewriter = WireRewriter.builder()
+                .set(2, writer -> writer.writeString(2, "other"))
+                .build();
+
+        // when
+        byte[] rewritten = rewriter.rewrite(data);
+
+        // then
+        assertThat(rewritten).isEqualTo(encode(writer -> {
+            writer.writeInt32(1, 10);
+            writer.writeString(2, "other");
+            writer.writeFixed64(3, 30L);
+        }));
+    }
+
+    @Test
+    void growNestedLengthPrefix() throws IOException {
+        // given
+        byte[] nested = encode(writer -> writer.writeString(1, "short"));
+        byte[] data = encode(writer -> {
+            writer.writeBytes(1, ByteArray.fromByteArray(nested));
+            writer.writeInt32(2, 20);
+        });
+        String longText = "x".repeat(300);
+        WireRewriter rewriter = WireRewriter.builder()
+                .edit(1, WireRewriter.builder()
+                        .set(1, writer -> writer.writeString(1, longText))
+                        .build())
+                .build();
+
+        // when
+        byte[] rewritten = rewriter.rewrite(data);
+
+        // then
+        byte[] expectedNested = encode(writer -> writer.writeString(1, longText));
+        assertThat(rewritten).isEqualTo(encode(writer -> {
+            writer.writeBytes(1, ByteArray.fromByteArray(expectedNested));
+            writer.writeInt32(2, 20);
+        }));
+    }
+
+    @Test
+    void removeAllOccurrences() throws IOException {
+        // given
+        byte[] data = encode(writer -> {
+            writer.writeInt32(1, 10);
+            writer.writeInt32(2, 20);
+            writer.writeInt32(1, 11);
+        });
+        WireRewriter rewriter = WireRewriter.builder()
+                .remove(1)
+                .build();
+
+        // when
+        byte[] rewritten = rewriter.rewrite(data);
+
+        // then
+        assertThat(rewritten).isEqualTo(encode(writer -> writer.writeInt32(2, 20)));
+    }
+
+    @Test
+    void skipNestedEditOfOtherWireType() throws IOException {
+        // given
+        byte[] data = encode(writer -> writer.writeInt32(1, 10));
+        WireRewriter rewriter = WireRewriter.builder()
+                .edit(1, WireRewriter.builder().remove(1).build())
+                .build();
+
+        // when
+        byte[] rewritten = rewriter.rewrite(data);
+
+        // then
+        assertThat(rewritten).isEqualTo(data);
+    }
+
+    @Test
+    void skipEmptyMissingNested() throws IOException {
+        // given
+        byte[] data = encode(writer -> writer.writeInt32(2, 20));
+        WireRewriter rewriter = WireRewriter.builder()
+                .edit(1, WireRewriter.builder().remove(1).build())
+                .build();
+
+        // when
+        byte[] rewritten = rewriter.rewrite(data);
+
+        // then
+        assertThat(rewritten).isEqualTo(data);
+    }
+
+    @Test
+    void negativeLength() {
+        // given
+        byte[] data = b(0x7A, 0xFA, 0xFF, 0xFF, 0xFF, 0x0F, 0x01);
+        WireRewriter removing = WireRewriter.builder()
+                .remove(15)
+                .build();
+        WireRewriter editing = WireRewriter.builder()
+                .edit(15, WireRewriter.builder().remove(1).build())
+                .build();
+        WireRewriter other = WireRewriter.builder()
+                .remove(1)
+                .build();
+
+        // when then
+        assertThatThrownBy(() -> removing.rewrite(data))
+                .isInstanceOf(NegativeSizeException.class);
+        assertThatThrownBy(() -> editing.rewrite(data))
+                .isInstanceOf(NegativeSizeException.class);
+        assertThatThrownBy(() -> other.rewrite(data))
+                .isInstanceOf(NegativeSizeException.class);
+    }
+}
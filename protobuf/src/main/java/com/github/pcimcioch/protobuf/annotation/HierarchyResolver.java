@@ -19,7 +19,7 @@ class HierarchyResolver {
     private final Map<String, Clazz> classes = new LinkedHashMap<>();
     private final Map<Field, FieldState> fieldStates = new HashMap<>();
 
-    enum FieldKind {SCALAR, ENUM, MESSAGE, UNKNOWN}
+    enum FieldKind {SCALAR, MAP, ENUM, MESSAGE, UNKNOWN}
 
     record FieldState(FieldKind kind, TypeName type) {
     }
@@ -49,6 +49,11 @@ class HierarchyResolver {
         return fieldStates.get(field);
     }
 
+    Message messageOf(TypeName type) {
+        Clazz clazz = getClazz(type);
+        return clazz != null && clazz.isMessage() ? clazz.asMessage() : null;
+    }
+
     private void init(ProtoFiles files) {
         for (ProtoFile file : files.files()) {
             for (Message message : file.messages()) {
@@ -78,6 +83,9 @@ class HierarchyResolver {
         if (FieldDefinition.isScalar(field.type())) {
             return new FieldState(FieldKind.SCALAR, null);
         }
+        if (FieldDefinition.isMap(field.type())) {
+            return new FieldState(FieldKind.MAP, null);
+        }
 
         TypeName fieldType = typeOf(file, field.type());
         Clazz clazz = getClazz(fieldType);
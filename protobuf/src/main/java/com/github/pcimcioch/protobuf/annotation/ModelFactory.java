@@ -2,6 +2,7 @@ package com.github.pcimcioch.protobuf.annotation;
 
 import com.github.pcimcioch.protobuf.annotation.Enumeration.Element;
 import com.github.pcimcioch.protobuf.annotation.HierarchyResolver.Clazz;
+import com.github.pcimcioch.protobuf.annotation.HierarchyResolver.FieldKind;
 import com.github.pcimcioch.protobuf.annotation.HierarchyResolver.FieldState;
 import com.github.pcimcioch.protobuf.model.ProtoDefinitions;
 import com.github.pcimcioch.protobuf.model.ProtoDefinitionsWrapper;
@@ -56,7 +57,8 @@ public class ModelFactory {
                 buildFields(hierarchyResolver, message),
                 buildReserved(message.reserved()),
                 buildMessages(hierarchyResolver, clazz.messages()),
-                buildEnumerations(clazz.enumerations())
+                buildEnumerations(clazz.enumerations()),
+                message.cacheEncoded()
         );
     }
 
@@ -66,7 +68,7 @@ public class ModelFactory {
             fields.add(buildField(hierarchyResolver, field));
         }
         if (message.supportUnknownFields()) {
-            fields.add(FieldDefinition.unknown());
+            fields.add(message.rawUnknownFields() ? FieldDefinition.rawUnknown() : FieldDefinition.unknown());
         }
 
         return fields;
@@ -74,19 +76,49 @@ public class ModelFactory {
 
     private FieldDefinition buildField(HierarchyResolver hierarchyResolver, Field field) {
         FieldState fieldState = hierarchyResolver.fieldStateOf(field);
+        if (field.raw() && fieldState.kind() != FieldKind.MESSAGE) {
+            throw new IllegalArgumentException("Only message fields can be raw: " + field.name());
+        }
+        if (field.inline() && (fieldState.kind() != FieldKind.MESSAGE || field.raw())) {
+            throw new IllegalArgumentException("Only non-raw message fields can be inline: " + field.name());
+        }
 
         return switch (fieldState.kind()) {
             case SCALAR -> FieldDefinition.scalar(field.name(), field.number(), field.type(), buildFieldRules(field));
-            case MESSAGE ->
-                    FieldDefinition.message(field.name(), field.number(), fieldState.type(), buildFieldRules(field));
+            case MAP -> FieldDefinition.map(field.name(), field.number(), field.type(), buildFieldRules(field));
+            case MESSAGE -> field.raw()
+                    ? FieldDefinition.rawMessage(field.name(), field.number(), fieldState.type(), buildFieldRules(field))
+                    : field.inline()
+                    ? FieldDefinition.inlineMessage(field.name(), field.number(), fieldState.type(), buildFieldRules(field),
+                    buildInlineFields(hierarchyResolver, field, fieldState))
+                    : FieldDefinition.message(field.name(), field.number(), fieldState.type(), buildFieldRules(field));
             case ENUM ->
                     FieldDefinition.enumeration(field.name(), field.number(), fieldState.type(), buildFieldRules(field));
             case UNKNOWN -> throw new IllegalArgumentException("Cannot find field type for " + fieldState.type());
         };
     }
 
+    private List<FieldDefinition> buildInlineFields(HierarchyResolver hierarchyResolver, Field field,
+                                                    FieldState fieldState) {
+        Message message = hierarchyResolver.messageOf(fieldState.type());
+        if (message.supportUnknownFields()) {
+            throw new IllegalArgumentException("Inline message cannot support unknown fields: " + field.name());
+        }
+
+        List<FieldDefinition> fields = new ArrayList<>();
+        for (Field inlineField : message.fields()) {
+            FieldKind kind = hierarchyResolver.fieldStateOf(inlineField).kind();
+            if (kind != FieldKind.SCALAR && kind != FieldKind.ENUM) {
+                throw new IllegalArgumentException("Inline message can contain only scalar and enum fields: " + field.name());
+            }
+            fields.add(buildField(hierarchyResolver, inlineField));
+        }
+
+        return fields;
+    }
+
     private FieldRules buildFieldRules(Field field) {
-        return new FieldRules(field.deprecated(), field.repeated(), field.packed());
+        return new FieldRules(field.deprecated(), field.repeated(), field.packed(), field.storage());
     }
 
     private List<EnumerationDefinition> buildEnumerations(Stream<Clazz> enumerations) {
@@ -13,6 +13,7 @@ public final class ClassSource extends Source {
     private String visibility = "";
     private String staticModifier = "";
     private String finalModifier = "";
+    private final List<String> implementsList = new ArrayList<>();
     private final List<String> fields = new ArrayList<>();
     private final List<String> constructors = new ArrayList<>();
     private final List<String> methods = new ArrayList<>();
@@ -65,6 +66,17 @@ public final class ClassSource extends Source {
         return this;
     }
 
+    /**
+     * Add implements
+     *
+     * @param implementsSource implements
+     * @return source
+     */
+    public ClassSource add(ImplementsSource implementsSource) {
+        implementsList.add(implementsSource.toString());
+        return this;
+    }
+
     /**
      * Add constructor
      *
@@ -111,7 +123,7 @@ public final class ClassSource extends Source {
     @Override
     protected String typeOnlyCode() {
         return body("""             
-                        $visibility $static $final class $name {
+                        $visibility $static $final class $name $implements {
                             $fields
                             
                             $constructors
@@ -125,6 +137,7 @@ public final class ClassSource extends Source {
                 param("static", staticModifier),
                 param("final", finalModifier),
                 param("name", simpleName()),
+                param("implements", implementsList, ", ", "implements ", "", ""),
                 param("fields", fields, "\n"),
                 param("constructors", constructors, "\n"),
                 param("methods", methods, "\n"),
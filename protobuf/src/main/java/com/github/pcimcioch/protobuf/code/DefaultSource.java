@@ -0,0 +1,26 @@
+package com.github.pcimcioch.protobuf.code;
+
+/**
+ * Default modifier source
+ */
+public final class DefaultSource {
+    private final String value;
+
+    private DefaultSource(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Create new default modifier source
+     *
+     * @return default modifier source
+     */
+    public static DefaultSource defaultModifier() {
+        return new DefaultSource("default");
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
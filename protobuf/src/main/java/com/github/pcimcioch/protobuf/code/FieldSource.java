@@ -45,6 +45,17 @@ public final class FieldSource {
         return new FieldSource(clazz.getCanonicalName(), name);
     }
 
+    /**
+     * Create new array field source
+     *
+     * @param elementType type of array elements
+     * @param name        name
+     * @return source
+     */
+    public static FieldSource arrayField(TypeName elementType, String name) {
+        return new FieldSource(elementType.canonicalName() + "[]", name);
+    }
+
     /**
      * Add annotation
      *
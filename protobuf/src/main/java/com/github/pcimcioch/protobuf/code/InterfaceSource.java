@@ -0,0 +1,64 @@
+package com.github.pcimcioch.protobuf.code;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.pcimcioch.protobuf.code.CodeBody.body;
+import static com.github.pcimcioch.protobuf.code.CodeBody.param;
+
+/**
+ * Interface source
+ */
+public final class InterfaceSource extends Source {
+    private String visibility = "";
+    private final List<String> methods = new ArrayList<>();
+
+    private InterfaceSource(TypeName type) {
+        super(type);
+    }
+
+    /**
+     * Create new interface source
+     *
+     * @param type interface type
+     * @return interface source
+     */
+    public static InterfaceSource interfaze(TypeName type) {
+        return new InterfaceSource(type);
+    }
+
+    /**
+     * Set visibility
+     *
+     * @param visibilitySource visibility
+     * @return source
+     */
+    public InterfaceSource set(VisibilitySource visibilitySource) {
+        this.visibility = visibilitySource.toString();
+        return this;
+    }
+
+    /**
+     * Add method
+     *
+     * @param methodSource method
+     * @return source
+     */
+    public InterfaceSource add(MethodSource methodSource) {
+        methods.add(methodSource.toString());
+        return this;
+    }
+
+    @Override
+    protected String typeOnlyCode() {
+        return body("""
+                        $visibility interface $name {
+                            $methods
+                        }
+                        """,
+                param("visibility", visibility),
+                param("name", simpleName()),
+                param("methods", methods, "\n")
+        ).toString();
+    }
+}
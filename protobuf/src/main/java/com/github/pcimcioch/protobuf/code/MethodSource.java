@@ -12,6 +12,7 @@ public final class MethodSource {
     private final String name;
     private String visibility = "";
     private String staticModifier = "";
+    private String defaultModifier = "";
     private String body = "";
     private String returnType = "void";
     private final List<String> parameters = new ArrayList<>();
@@ -123,17 +124,29 @@ public final class MethodSource {
         return this;
     }
 
+    /**
+     * Set default modifier
+     *
+     * @param defaultSource default modifier
+     * @return source
+     */
+    public MethodSource set(DefaultSource defaultSource) {
+        this.defaultModifier = defaultSource.toString();
+        return this;
+    }
+
     @Override
     public String toString() {
         return CodeBody.body("""
                         $annotations
-                        $visibility $static $ReturnType $name($parameters) $throws {
+                        $visibility $static $default $ReturnType $name($parameters) $throws {
                             $body
                         }
                         """,
                 param("annotations", annotations, "\n"),
                 param("visibility", visibility),
                 param("static", staticModifier),
+                param("default", defaultModifier),
                 param("ReturnType", returnType),
                 param("name", name),
                 param("parameters", parameters),
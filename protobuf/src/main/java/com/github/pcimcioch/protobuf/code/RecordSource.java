@@ -13,6 +13,7 @@ public final class RecordSource extends Source {
     private String visibility = "";
     private final List<String> components = new ArrayList<>();
     private final List<String> compactConstructors = new ArrayList<>();
+    private final List<String> constructors = new ArrayList<>();
     private final List<String> implementsList = new ArrayList<>();
     private final List<String> fields = new ArrayList<>();
     private final List<String> methods = new ArrayList<>();
@@ -54,6 +55,17 @@ public final class RecordSource extends Source {
         return this;
     }
 
+    /**
+     * Add constructor. Record constructors other than compact one must delegate to the canonical constructor
+     *
+     * @param constructorSource constructor
+     * @return source
+     */
+    public RecordSource add(ConstructorSource constructorSource) {
+        constructors.add(constructorSource.toString(simpleName()));
+        return this;
+    }
+
     /**
      * Add implements
      *
@@ -116,6 +128,8 @@ public final class RecordSource extends Source {
                             
                             $compactConstructors
                             
+                            $constructors
+                            
                             $methods
                             
                             $nested
@@ -127,6 +141,7 @@ public final class RecordSource extends Source {
                 param("implements", implementsList, ", ", "implements ", "", ""),
                 param("fields", fields, "\n"),
                 param("compactConstructors", compactConstructors, "\n"),
+                param("constructors", constructors, "\n"),
                 param("methods", methods, "\n"),
                 param("nested", nested, "\n")
         ).toString();
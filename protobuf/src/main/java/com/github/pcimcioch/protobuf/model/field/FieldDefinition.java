@@ -3,26 +3,60 @@ package com.github.pcimcioch.protobuf.model.field;
 import com.github.pcimcioch.protobuf.code.TypeName;
 import com.github.pcimcioch.protobuf.dto.BooleanList;
 import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.dto.BytesList;
 import com.github.pcimcioch.protobuf.dto.DoubleList;
 import com.github.pcimcioch.protobuf.dto.EnumList;
 import com.github.pcimcioch.protobuf.dto.FloatList;
+import com.github.pcimcioch.protobuf.dto.IntIntMap;
 import com.github.pcimcioch.protobuf.dto.IntList;
+import com.github.pcimcioch.protobuf.dto.IntLongMap;
+import com.github.pcimcioch.protobuf.dto.ListStorage;
+import com.github.pcimcioch.protobuf.dto.LongIntMap;
 import com.github.pcimcioch.protobuf.dto.LongList;
+import com.github.pcimcioch.protobuf.dto.LongLongMap;
 import com.github.pcimcioch.protobuf.dto.ObjectList;
+import com.github.pcimcioch.protobuf.dto.RawMessage;
+import com.github.pcimcioch.protobuf.dto.StringIntMap;
+import com.github.pcimcioch.protobuf.dto.StringList;
+import com.github.pcimcioch.protobuf.dto.StringLongMap;
 import com.github.pcimcioch.protobuf.io.UnknownField;
+import com.github.pcimcioch.protobuf.io.UnknownFields;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static com.github.pcimcioch.protobuf.code.TypeName.canonicalName;
 import static com.github.pcimcioch.protobuf.code.TypeName.simpleName;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.BOOL;
 import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.BYTES;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.DOUBLE;
 import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.ENUM;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.FIXED32;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.FIXED64;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.FLOAT;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.INT32;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.INT64;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.MAP;
 import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.MESSAGE;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.RAW_MESSAGE;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.SFIXED32;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.SFIXED64;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.SINT32;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.SINT64;
 import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.STRING;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.UINT32;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.UINT64;
 import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.UNKNOWN;
+import static com.github.pcimcioch.protobuf.model.validation.Assertions.assertAllMatches;
+import static com.github.pcimcioch.protobuf.model.validation.Assertions.assertContainsNoNulls;
 import static com.github.pcimcioch.protobuf.model.validation.Assertions.assertFalse;
+import static com.github.pcimcioch.protobuf.model.validation.Assertions.assertNonEmpty;
 import static com.github.pcimcioch.protobuf.model.validation.Assertions.assertNonNull;
 import static com.github.pcimcioch.protobuf.model.validation.Assertions.assertTrue;
 import static java.util.Locale.ENGLISH;
@@ -31,19 +65,32 @@ import static java.util.Locale.ENGLISH;
  * Message field
  */
 public final class FieldDefinition {
+    private static final Pattern mapPattern = Pattern.compile("^map<\\s*(?<key>[a-z0-9]+)\\s*,\\s*(?<value>[a-z0-9]+)\\s*>$");
+    private static final FieldRules entryRules = new FieldRules(false, false, false);
 
     private final String name;
     private final int number;
     private final TypeName protobufType;
     private final FieldRules rules;
     private final ProtoKind protoKind;
+    private final FieldDefinition mapKey;
+    private final FieldDefinition mapValue;
+    private final List<FieldDefinition> inlineFields;
 
     private FieldDefinition(String name, int number, ProtoKind protoKind, FieldRules rules, TypeName protobufType) {
+        this(name, number, protoKind, rules, protobufType, null, null, null);
+    }
+
+    private FieldDefinition(String name, int number, ProtoKind protoKind, FieldRules rules, TypeName protobufType,
+                            FieldDefinition mapKey, FieldDefinition mapValue, List<FieldDefinition> inlineFields) {
         this.name = Valid.name(name);
         this.number = Valid.number(number, protoKind);
         this.protoKind = Valid.protoType(protoKind);
         this.rules = Valid.rules(protoKind, rules);
         this.protobufType = Valid.protobufType(protoKind, protobufType);
+        this.mapKey = Valid.mapKey(protoKind, mapKey);
+        this.mapValue = Valid.mapValue(protoKind, mapValue);
+        this.inlineFields = Valid.inlineFields(protoKind, rules, inlineFields);
     }
 
     /**
@@ -82,6 +129,66 @@ public final class FieldDefinition {
         return protoKind;
     }
 
+    /**
+     * Returns key of the map entry. Map entry is encoded as a message with key field number 1 and value field number 2
+     *
+     * @return key of the map entry or null if this is not a map field
+     */
+    public FieldDefinition mapKey() {
+        return mapKey;
+    }
+
+    /**
+     * Returns value of the map entry. Map entry is encoded as a message with key field number 1 and value field number 2
+     *
+     * @return value of the map entry or null if this is not a map field
+     */
+    public FieldDefinition mapValue() {
+        return mapValue;
+    }
+
+    /**
+     * Returns fields of the nested message flattened into the parent message
+     *
+     * @return fields of the nested message or null if this is not an inline message field
+     */
+    public List<FieldDefinition> inlineFields() {
+        return inlineFields;
+    }
+
+    /**
+     * Returns whether message field is flattened into the parent message
+     *
+     * @return whether field is inline
+     */
+    public boolean isInline() {
+        return inlineFields != null;
+    }
+
+    /**
+     * Returns fields that hold value of this field in the message record. Inline message field is held by its presence
+     * flag, followed by the fields of the nested message prefixed with the name of this field. Any other field is held
+     * by itself
+     *
+     * @return fields stored in the message record
+     */
+    public List<FieldDefinition> storedFields() {
+        if (!isInline()) {
+            return List.of(this);
+        }
+
+        FieldRules storedRules = new FieldRules(rules.deprecated(), false, false);
+        List<FieldDefinition> stored = new ArrayList<>();
+        stored.add(new FieldDefinition(javaFieldNamePrefixed("has"), number, BOOL, storedRules, null));
+        for (FieldDefinition field : inlineFields) {
+            FieldRules fieldRules = new FieldRules(rules.deprecated() || field.rules.deprecated(), false, false);
+            stored.add(new FieldDefinition(name + capitalize(field.name), field.number, field.protoKind, fieldRules,
+                    field.protobufType));
+        }
+
+        return stored;
+    }
+
     /**
      * return field java type
      *
@@ -96,15 +203,30 @@ public final class FieldDefinition {
             case INT64, UINT64, SINT64, FIXED64, SFIXED64 ->
                     rules.repeated() ? canonicalName(LongList.class) : simpleName("long");
             case BOOL -> rules.repeated() ? canonicalName(BooleanList.class) : simpleName("boolean");
-            case STRING ->
-                    rules.repeated() ? canonicalName(ObjectList.class).of(simpleName("String")) : simpleName("String");
-            case BYTES ->
-                    rules.repeated() ? canonicalName(ObjectList.class).of(canonicalName(ByteArray.class)) : canonicalName(ByteArray.class);
+            case STRING -> !rules.repeated() ? simpleName("String")
+                    : isArena() ? canonicalName(StringList.class)
+                    : canonicalName(ObjectList.class).of(simpleName("String"));
+            case BYTES -> !rules.repeated() ? canonicalName(ByteArray.class)
+                    : isArena() ? canonicalName(BytesList.class)
+                    : canonicalName(ObjectList.class).of(canonicalName(ByteArray.class));
             case MESSAGE, UNKNOWN -> rules.repeated() ? canonicalName(ObjectList.class).of(protobufType) : protobufType;
+            case RAW_MESSAGE -> rules.repeated()
+                    ? canonicalName(ObjectList.class).of(canonicalName(RawMessage.class).of(protobufType))
+                    : canonicalName(RawMessage.class).of(protobufType);
             case ENUM -> rules.repeated() ? canonicalName(EnumList.class).of(protobufType) : simpleName("int");
+            case MAP -> canonicalName(mapType(mapKey.protoKind(), mapValue.protoKind()));
         };
     }
 
+    /**
+     * Returns whether repeated field keeps its elements in a single byte arena, see {@link ListStorage#ARENA}
+     *
+     * @return whether field uses arena storage
+     */
+    public boolean isArena() {
+        return rules.storage() == ListStorage.ARENA;
+    }
+
     /**
      * Returns field name in java code
      *
@@ -132,7 +254,11 @@ public final class FieldDefinition {
      * @return prefixed java field name
      */
     public String javaFieldNamePrefixed(String prefix) {
-        return prefix + javaFieldName().substring(0, 1).toUpperCase(ENGLISH) + javaFieldName().substring(1);
+        return prefix + capitalize(javaFieldName());
+    }
+
+    private static String capitalize(String name) {
+        return name.substring(0, 1).toUpperCase(ENGLISH) + name.substring(1);
     }
 
     @Override
@@ -140,12 +266,14 @@ public final class FieldDefinition {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         FieldDefinition that = (FieldDefinition) o;
-        return number == that.number && name.equals(that.name) && rules.equals(that.rules) && protoKind == that.protoKind;
+        return number == that.number && name.equals(that.name) && rules.equals(that.rules) && protoKind == that.protoKind
+                && Objects.equals(mapKey, that.mapKey) && Objects.equals(mapValue, that.mapValue)
+                && Objects.equals(inlineFields, that.inlineFields);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, number, rules, protoKind);
+        return Objects.hash(name, number, rules, protoKind, mapKey, mapValue, inlineFields);
     }
 
     /**
@@ -198,6 +326,65 @@ public final class FieldDefinition {
         return new FieldDefinition(name, number, MESSAGE, rules, type);
     }
 
+    /**
+     * Creates new message field flattened into the parent message
+     *
+     * @param name         name
+     * @param number       number
+     * @param type         type
+     * @param rules        field rules
+     * @param inlineFields fields of the nested message
+     * @return new field
+     */
+    public static FieldDefinition inlineMessage(String name, int number, TypeName type, FieldRules rules,
+                                                List<FieldDefinition> inlineFields) {
+        return new FieldDefinition(name, number, MESSAGE, rules, type, null, null, inlineFields);
+    }
+
+    /**
+     * Creates new message field kept in encoded form
+     *
+     * @param name   name
+     * @param number number
+     * @param type   type
+     * @param rules  field rules
+     * @return new field
+     */
+    public static FieldDefinition rawMessage(String name, int number, TypeName type, FieldRules rules) {
+        return new FieldDefinition(name, number, RAW_MESSAGE, rules, type);
+    }
+
+    /**
+     * Creates new map field
+     *
+     * @param name      name
+     * @param number    number
+     * @param protoType protobuf map type, like {@code map<int32, int64>}
+     * @param rules     field rules
+     * @return map field
+     */
+    public static FieldDefinition map(String name, int number, String protoType, FieldRules rules) {
+        Matcher matcher = protoType == null ? null : mapPattern.matcher(protoType);
+        if (matcher == null || !matcher.matches()) {
+            throw new IllegalArgumentException("Incorrect protobuf map type: " + protoType);
+        }
+
+        return new FieldDefinition(name, number, MAP, rules, null,
+                scalar("key", 1, matcher.group("key"), entryRules),
+                scalar("value", 2, matcher.group("value"), entryRules),
+                null);
+    }
+
+    /**
+     * Returns whether given protobuf type is a map
+     *
+     * @param protoType protobuf type
+     * @return whether type is map
+     */
+    public static boolean isMap(String protoType) {
+        return protoType != null && protoType.startsWith("map<");
+    }
+
     /**
      * Creates new field for unknown fields
      *
@@ -212,6 +399,20 @@ public final class FieldDefinition {
                 canonicalName(UnknownField.class));
     }
 
+    /**
+     * Creates new field for unknown fields kept in the encoded form
+     *
+     * @return field for unknown fields
+     */
+    public static FieldDefinition rawUnknown() {
+        return new FieldDefinition(
+                "unknownFields",
+                0,
+                UNKNOWN,
+                new FieldRules(false, false, false),
+                canonicalName(UnknownFields.class));
+    }
+
     /**
      * Protobuf field type
      */
@@ -301,6 +502,16 @@ public final class FieldDefinition {
          */
         MESSAGE,
 
+        /**
+         * Other message kept in encoded form
+         */
+        RAW_MESSAGE,
+
+        /**
+         * Map
+         */
+        MAP,
+
         /**
          * Unknown fields
          */
@@ -334,8 +545,25 @@ public final class FieldDefinition {
         }
     }
 
+    private static Class<?> mapType(ProtoKind key, ProtoKind value) {
+        boolean longValue = Valid.longKinds.contains(value);
+        if (Valid.intKinds.contains(key)) {
+            return longValue ? IntLongMap.class : IntIntMap.class;
+        }
+        if (Valid.longKinds.contains(key)) {
+            return longValue ? LongLongMap.class : LongIntMap.class;
+        }
+        return longValue ? StringLongMap.class : StringIntMap.class;
+    }
+
     private static final class Valid {
         private static final Pattern namePattern = Pattern.compile("^[a-zA-z_][a-zA-Z0-9_]*$");
+        private static final Set<ProtoKind> intKinds = EnumSet.of(INT32, UINT32, SINT32, FIXED32, SFIXED32);
+        private static final Set<ProtoKind> longKinds = EnumSet.of(INT64, UINT64, SINT64, FIXED64, SFIXED64);
+        private static final Set<ProtoKind> storageKinds = EnumSet.of(DOUBLE, INT32, UINT32, SINT32, FIXED32, SFIXED32,
+                INT64, UINT64, SINT64, FIXED64, SFIXED64, STRING, BYTES, MESSAGE, RAW_MESSAGE);
+        private static final Set<ProtoKind> inlineKinds = EnumSet.of(DOUBLE, FLOAT, INT32, INT64, UINT32, UINT64,
+                SINT32, SINT64, FIXED32, FIXED64, SFIXED32, SFIXED64, BOOL, STRING, BYTES, ENUM);
 
         private static int number(int number, ProtoKind protoKind) {
             assertTrue(protoKind == UNKNOWN || number > 0, "Number must be positive, but was: " + number);
@@ -355,17 +583,61 @@ public final class FieldDefinition {
 
         private static FieldRules rules(ProtoKind kind, FieldRules rules) {
             assertNonNull(rules, "Must provide rules");
-            assertFalse(rules.repeated() && rules.packed() && (kind == STRING || kind == MESSAGE || kind == BYTES), "Only primitive types can be packed");
+            assertFalse(rules.repeated() && rules.packed() && (kind == STRING || kind == MESSAGE || kind == RAW_MESSAGE || kind == BYTES), "Only primitive types can be packed");
+            assertFalse(kind == MAP && rules.repeated(), "Map field cannot be repeated");
+            assertFalse(rules.storage() != ListStorage.AUTO && !storageKinds.contains(kind),
+                    "Storage is supported only by double, integer, string, bytes and message fields");
+            assertFalse((rules.storage() == ListStorage.BIT_PACKED || rules.storage() == ListStorage.DELTA)
+                            && !intKinds.contains(kind) && !longKinds.contains(kind),
+                    "Compact storage is supported only by integer fields");
+            assertFalse(rules.storage() == ListStorage.ARENA && kind != STRING && kind != BYTES,
+                    "Arena storage is supported only by string and bytes fields");
 
             return rules;
         }
 
         private static TypeName protobufType(ProtoKind kind, TypeName protobufType) {
-            if (kind == ENUM || kind == MESSAGE) {
+            if (kind == ENUM || kind == MESSAGE || kind == RAW_MESSAGE) {
                 assertNonNull(protobufType, "Must provide protobuf type");
             }
 
             return protobufType;
         }
+
+        private static FieldDefinition mapKey(ProtoKind kind, FieldDefinition mapKey) {
+            if (kind == MAP) {
+                assertNonNull(mapKey, "Must provide map key");
+                assertTrue(intKinds.contains(mapKey.protoKind()) || longKinds.contains(mapKey.protoKind()) || mapKey.protoKind() == STRING,
+                        "Unsupported map key type: " + mapKey.protoKind());
+            }
+
+            return mapKey;
+        }
+
+        private static FieldDefinition mapValue(ProtoKind kind, FieldDefinition mapValue) {
+            if (kind == MAP) {
+                assertNonNull(mapValue, "Must provide map value");
+                assertTrue(intKinds.contains(mapValue.protoKind()) || longKinds.contains(mapValue.protoKind()),
+                        "Unsupported map value type: " + mapValue.protoKind());
+            }
+
+            return mapValue;
+        }
+
+        private static List<FieldDefinition> inlineFields(ProtoKind kind, FieldRules rules,
+                                                          List<FieldDefinition> inlineFields) {
+            if (inlineFields == null) {
+                return null;
+            }
+
+            assertTrue(kind == MESSAGE, "Only message fields can be inline");
+            assertFalse(rules.repeated(), "Inline message field cannot be repeated");
+            assertNonEmpty(inlineFields, "Inline message must have at least one field");
+            assertContainsNoNulls(inlineFields, "Null inline field");
+            assertAllMatches(inlineFields, field -> inlineKinds.contains(field.protoKind()) && !field.rules().repeated(),
+                    "Inline message can contain only singular scalar and enum fields");
+
+            return List.copyOf(inlineFields);
+        }
     }
 }
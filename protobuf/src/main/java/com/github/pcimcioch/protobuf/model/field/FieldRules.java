@@ -1,6 +1,9 @@
 package com.github.pcimcioch.protobuf.model.field;
 
+import com.github.pcimcioch.protobuf.dto.ListStorage;
+
 import static com.github.pcimcioch.protobuf.model.validation.Assertions.assertFalse;
+import static com.github.pcimcioch.protobuf.model.validation.Assertions.assertNonNull;
 
 /**
  * Rules of the field
@@ -8,11 +11,13 @@ import static com.github.pcimcioch.protobuf.model.validation.Assertions.assertFa
  * @param deprecated whether field is deprecated
  * @param repeated   whether field is repeated
  * @param packed     whether repeated field is packed
+ * @param storage    storage of repeated field
  */
 public record FieldRules(
         boolean deprecated,
         boolean repeated,
-        boolean packed
+        boolean packed,
+        ListStorage storage
 ) {
 
     /**
@@ -21,9 +26,22 @@ public record FieldRules(
      * @param deprecated whether field is deprecated
      * @param repeated   whether field is repeated
      * @param packed     whether repeated field is packed
+     * @param storage    storage of repeated field
      */
     public FieldRules {
         Valid.packed(repeated, packed);
+        Valid.storage(repeated, storage);
+    }
+
+    /**
+     * Constructor with default storage
+     *
+     * @param deprecated whether field is deprecated
+     * @param repeated   whether field is repeated
+     * @param packed     whether repeated field is packed
+     */
+    public FieldRules(boolean deprecated, boolean repeated, boolean packed) {
+        this(deprecated, repeated, packed, ListStorage.AUTO);
     }
 
     private static final class Valid {
@@ -31,5 +49,10 @@ public record FieldRules(
         private static void packed(boolean repeated, boolean packed) {
             assertFalse(!repeated && packed, "Only repeated fields can be packed");
         }
+
+        private static void storage(boolean repeated, ListStorage storage) {
+            assertNonNull(storage, "Must provide storage");
+            assertFalse(!repeated && storage != ListStorage.AUTO, "Only repeated fields can have storage");
+        }
     }
 }
@@ -21,6 +21,7 @@ public class MessageDefinition {
     private final List<FieldDefinition> fields;
     private final List<MessageDefinition> messages;
     private final List<EnumerationDefinition> enumerations;
+    private final boolean cacheEncoded;
 
     /**
      * Constructor
@@ -33,10 +34,27 @@ public class MessageDefinition {
      */
     public MessageDefinition(TypeName name, List<FieldDefinition> fields, ReservedDefinition reserved,
                              List<MessageDefinition> messages, List<EnumerationDefinition> enumerations) {
+        this(name, fields, reserved, messages, enumerations, false);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param name         name of the message
+     * @param fields       fields of the message
+     * @param reserved     reserved fields
+     * @param messages     nested messages
+     * @param enumerations nested enumerations
+     * @param cacheEncoded whether message keeps its encoded form
+     */
+    public MessageDefinition(TypeName name, List<FieldDefinition> fields, ReservedDefinition reserved,
+                             List<MessageDefinition> messages, List<EnumerationDefinition> enumerations,
+                             boolean cacheEncoded) {
         this.name = Valid.name(name);
         this.fields = Valid.fields(fields, reserved);
         this.messages = Valid.messages(name, messages);
         this.enumerations = Valid.enumerations(name, enumerations);
+        this.cacheEncoded = cacheEncoded;
     }
 
     /**
@@ -57,6 +75,69 @@ public class MessageDefinition {
         return canonicalName(name.canonicalName() + ".Builder");
     }
 
+    /**
+     * Returns java type name of the mutable variant of this message
+     *
+     * @return java type name of the mutable variant
+     */
+    public TypeName mutableName() {
+        return canonicalName(name.canonicalName() + ".Mutable");
+    }
+
+    /**
+     * Returns java type name of the edit builder for this message
+     *
+     * @return java type name of the edit builder
+     */
+    public TypeName editName() {
+        return canonicalName(name.canonicalName() + ".Edit");
+    }
+
+    /**
+     * Returns java type name of the predicate builder for this message
+     *
+     * @return java type name of the predicate builder
+     */
+    public TypeName whereName() {
+        return canonicalName(name.canonicalName() + ".Where");
+    }
+
+    /**
+     * Returns java type name of the visitor of this message
+     *
+     * @return java type name of the visitor
+     */
+    public TypeName visitorName() {
+        return canonicalName(name.canonicalName() + ".Visitor");
+    }
+
+    /**
+     * Returns java type name of the stream writer of this message
+     *
+     * @return java type name of the stream writer
+     */
+    public TypeName streamWriterName() {
+        return canonicalName(name.canonicalName() + ".StreamWriter");
+    }
+
+    /**
+     * Returns java type name of the sinks of this message
+     *
+     * @return java type name of the sinks
+     */
+    public TypeName sinksName() {
+        return canonicalName(name.canonicalName() + ".Sinks");
+    }
+
+    /**
+     * Returns java type name of the columns of this message
+     *
+     * @return java type name of the columns
+     */
+    public TypeName columnsName() {
+        return canonicalName(name.canonicalName() + ".Columns");
+    }
+
     /**
      * Returns all field definitions of this message
      *
@@ -84,17 +165,26 @@ public class MessageDefinition {
         return enumerations;
     }
 
+    /**
+     * Returns whether message keeps its encoded form
+     *
+     * @return whether message keeps its encoded form
+     */
+    public boolean cacheEncoded() {
+        return cacheEncoded;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         MessageDefinition that = (MessageDefinition) o;
-        return name.equals(that.name) && fields.equals(that.fields) && messages.equals(that.messages) && enumerations.equals(that.enumerations);
+        return cacheEncoded == that.cacheEncoded && name.equals(that.name) && fields.equals(that.fields) && messages.equals(that.messages) && enumerations.equals(that.enumerations);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, fields, messages, enumerations);
+        return Objects.hash(name, fields, messages, enumerations, cacheEncoded);
     }
 
     private static final class Valid {
@@ -109,6 +199,8 @@ public class MessageDefinition {
             assertContainsNoNulls(fields, "Null field");
             assertNoDuplicates(fields, FieldDefinition::name, "Duplicated field name: %s");
             assertNoDuplicates(fields, FieldDefinition::number, "Duplicated field number: %s");
+            assertNoDuplicates(fields.stream().flatMap(field -> field.storedFields().stream()).toList(),
+                    FieldDefinition::javaFieldName, "Duplicated java field name: %s");
 
             return reserved.validFields(fields);
         }
@@ -11,11 +11,14 @@ import com.github.pcimcioch.protobuf.annotation.ProtoFiles;
 import com.github.pcimcioch.protobuf.annotation.ProtoFiles.ProtoFile;
 import com.github.pcimcioch.protobuf.code.Source;
 import com.github.pcimcioch.protobuf.model.ProtoDefinitions;
+import com.github.pcimcioch.protobuf.source.MessageFeature;
 import com.github.pcimcioch.protobuf.source.SourceFactory;
 
 import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
@@ -24,14 +27,34 @@ import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import static javax.tools.Diagnostic.Kind.ERROR;
 
 /**
- * Annotation Processor that creates java source files for protobuf transfer objects from annotations
+ * Annotation Processor that creates java source files for protobuf transfer objects from annotations.
+ * <p>
+ * Supported options:
+ * <ul>
+ *     <li>{@value #MUTABLE_OPTION} - if {@code true}, each message record gets nested {@code Mutable} class, that can be
+ *     reused to decode many messages without allocations</li>
+ *     <li>{@value #EDIT_OPTION} - if {@code true}, each message record gets nested {@code Edit} class, that builds
+ *     {@link com.github.pcimcioch.protobuf.io.WireRewriter} patching encoded messages without decoding them</li>
+ *     <li>{@value #WHERE_OPTION} - if {@code true}, each message record gets nested {@code Where} class, that builds
+ *     {@link com.github.pcimcioch.protobuf.io.WireMatcher} filtering encoded messages without decoding them</li>
+ *     <li>{@value #VISITOR_OPTION} - if {@code true}, each message record gets nested {@code Visitor} interface, and
+ *     {@code visit} methods that decode messages straight into its callbacks, without creating message objects</li>
+ *     <li>{@value #STREAMING_OPTION} - if {@code true}, each message record gets nested {@code StreamWriter} class, that
+ *     writes message field by field, without building message object first</li>
+ *     <li>{@value #SINKS_OPTION} - if {@code true}, each message record with repeated fields gets nested {@code Sinks}
+ *     class, and {@code parse} methods that pass repeated elements to the sinks instead of collecting them</li>
+ *     <li>{@value #COLUMNS_OPTION} - if {@code true}, each message record gets nested {@code Columns} class, that
+ *     keeps many messages as one list per field, and methods decoding repeated message fields straight into it</li>
+ * </ul>
  */
 @SupportedAnnotationTypes({
         "com.github.pcimcioch.protobuf.annotation.Message",
@@ -40,10 +63,59 @@ import static javax.tools.Diagnostic.Kind.ERROR;
         "com.github.pcimcioch.protobuf.annotation.Enumerations"
 })
 @SupportedSourceVersion(SourceVersion.RELEASE_17)
+@SupportedOptions({
+        ProtobufAnnotationProcessor.MUTABLE_OPTION,
+        ProtobufAnnotationProcessor.EDIT_OPTION,
+        ProtobufAnnotationProcessor.WHERE_OPTION,
+        ProtobufAnnotationProcessor.VISITOR_OPTION,
+        ProtobufAnnotationProcessor.STREAMING_OPTION,
+        ProtobufAnnotationProcessor.SINKS_OPTION,
+        ProtobufAnnotationProcessor.COLUMNS_OPTION
+})
 public class ProtobufAnnotationProcessor extends AbstractProcessor {
+    /**
+     * Option that enables generation of mutable message variants
+     */
+    public static final String MUTABLE_OPTION = "protobuf.mutable";
+
+    /**
+     * Option that enables generation of message edit builders
+     */
+    public static final String EDIT_OPTION = "protobuf.edit";
+
+    /**
+     * Option that enables generation of message predicate builders
+     */
+    public static final String WHERE_OPTION = "protobuf.where";
+
+    /**
+     * Option that enables generation of message visitors
+     */
+    public static final String VISITOR_OPTION = "protobuf.visitor";
+
+    /**
+     * Option that enables generation of message stream writers
+     */
+    public static final String STREAMING_OPTION = "protobuf.streaming";
+
+    /**
+     * Option that enables generation of message sinks decoding
+     */
+    public static final String SINKS_OPTION = "protobuf.sinks";
+
+    /**
+     * Option that enables generation of message columns
+     */
+    public static final String COLUMNS_OPTION = "protobuf.columns";
 
     private final ModelFactory modelFactory = new ModelFactory();
-    private final SourceFactory sourceFactory = new SourceFactory();
+    private SourceFactory sourceFactory;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        sourceFactory = new SourceFactory(features(processingEnv.getOptions()));
+    }
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
@@ -90,6 +162,26 @@ public class ProtobufAnnotationProcessor extends AbstractProcessor {
         }
     }
 
+    private static Set<MessageFeature> features(Map<String, String> options) {
+        Set<MessageFeature> features = EnumSet.noneOf(MessageFeature.class);
+        addFeature(features, options, MUTABLE_OPTION, MessageFeature.MUTABLE);
+        addFeature(features, options, EDIT_OPTION, MessageFeature.EDIT);
+        addFeature(features, options, WHERE_OPTION, MessageFeature.WHERE);
+        addFeature(features, options, VISITOR_OPTION, MessageFeature.VISITOR);
+        addFeature(features, options, STREAMING_OPTION, MessageFeature.STREAMING);
+        addFeature(features, options, SINKS_OPTION, MessageFeature.SINKS);
+        addFeature(features, options, COLUMNS_OPTION, MessageFeature.COLUMNS);
+
+        return features;
+    }
+
+    private static void addFeature(Set<MessageFeature> features, Map<String, String> options, String option,
+                                   MessageFeature feature) {
+        if (Boolean.parseBoolean(options.get(option))) {
+            features.add(feature);
+        }
+    }
+
     private static PackageElement packageOf(Element element) {
         Element enclosing = element;
         while (enclosing.getKind() != ElementKind.PACKAGE) {
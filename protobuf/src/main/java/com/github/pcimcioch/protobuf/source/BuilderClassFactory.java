@@ -6,13 +6,18 @@ import com.github.pcimcioch.protobuf.code.InitializerSource;
 import com.github.pcimcioch.protobuf.code.TypeName;
 import com.github.pcimcioch.protobuf.dto.BooleanList;
 import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.dto.BytesList;
 import com.github.pcimcioch.protobuf.dto.DoubleList;
 import com.github.pcimcioch.protobuf.dto.EnumList;
 import com.github.pcimcioch.protobuf.dto.FloatList;
 import com.github.pcimcioch.protobuf.dto.IntList;
+import com.github.pcimcioch.protobuf.dto.ListStorage;
 import com.github.pcimcioch.protobuf.dto.LongList;
 import com.github.pcimcioch.protobuf.dto.ObjectList;
 import com.github.pcimcioch.protobuf.dto.ProtoDto;
+import com.github.pcimcioch.protobuf.dto.RawMessage;
+import com.github.pcimcioch.protobuf.dto.StringList;
+import com.github.pcimcioch.protobuf.io.UnknownField;
 import com.github.pcimcioch.protobuf.model.field.FieldDefinition;
 import com.github.pcimcioch.protobuf.model.message.MessageDefinition;
 
@@ -33,7 +38,10 @@ import static com.github.pcimcioch.protobuf.code.TypeName.simpleName;
 import static com.github.pcimcioch.protobuf.code.VisibilitySource.privateVisibility;
 import static com.github.pcimcioch.protobuf.code.VisibilitySource.publicVisibility;
 import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.ENUM;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.MAP;
 import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.MESSAGE;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.RAW_MESSAGE;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.UNKNOWN;
 
 class BuilderClassFactory {
 
@@ -46,6 +54,7 @@ class BuilderClassFactory {
             addFieldModifiers(builderClass, field, message);
         }
         addBuildMethod(builderClass, message);
+        addResetMethod(builderClass, message);
         addMergeMethod(builderClass, message);
 
         return builderClass;
@@ -63,14 +72,22 @@ class BuilderClassFactory {
                 .set(privateVisibility())
                 .set(initializerOf(field))
         );
+        if (isSingleMessage(field)) {
+            builderClass.add(field(field.javaFieldType().with("Builder"), nestedBuilderName(field))
+                    .set(privateVisibility())
+                    .set(initializer("null"))
+            );
+        }
     }
 
     private void addFieldSetters(ClassSource builderClass, FieldDefinition field, MessageDefinition message) {
-        if (field.rules().repeated()) {
+        if (field.rules().repeated() || isRawUnknown(field)) {
             addListSetter(builderClass, field, message);
             if (field.protoKind() == ENUM) {
                 addEnumListSetter(builderClass, field, message);
             }
+        } else if (field.protoKind() == MAP) {
+            addMapSetter(builderClass, field, message);
         } else {
             addSingleSetter(builderClass, field, message);
             if (field.protoKind() == ENUM) {
@@ -80,11 +97,17 @@ class BuilderClassFactory {
     }
 
     private void addSingleSetter(ClassSource builderClass, FieldDefinition field, MessageDefinition message) {
-        CodeBody body = body("""
+        CodeBody body = isSingleMessage(field)
+                ? body("""
                         this.$field = value;
+                        this.$nestedBuilder = null;
                         return this;""",
-                param("field", field.javaFieldName())
-        );
+                param("field", field.javaFieldName()),
+                param("nestedBuilder", nestedBuilderName(field)))
+                : body("""
+                        this.$field = value;
+                        return this;""",
+                param("field", field.javaFieldName()));
 
         builderClass.add(method(field.javaFieldName())
                 .set(publicVisibility())
@@ -114,6 +137,25 @@ class BuilderClassFactory {
         );
     }
 
+    private void addMapSetter(ClassSource builderClass, FieldDefinition field, MessageDefinition message) {
+        CodeBody body = body("""
+                        this.$field.clear();
+                        if (values != null) {
+                          this.$field.putAll(values);
+                        }
+                        return this;""",
+                param("field", field.javaFieldName())
+        );
+
+        builderClass.add(method(field.javaFieldName())
+                .set(publicVisibility())
+                .set(returns(message.builderName()))
+                .set(body)
+                .add(parameter(field.javaFieldType(), "values"))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
     private void addEnumSingleSetter(ClassSource builderClass, FieldDefinition field, MessageDefinition message) {
         CodeBody body = body("return this.$field(value == null ? 0 : value.number());",
                 param("field", field.javaFieldName())
@@ -148,15 +190,21 @@ class BuilderClassFactory {
     }
 
     private void addFieldModifiers(ClassSource builderClass, FieldDefinition field, MessageDefinition message) {
-        if (field.rules().repeated()) {
+        if (field.rules().repeated() || isRawUnknown(field)) {
             addListAddSingle(builderClass, field, message);
             addListAddCollection(builderClass, field, message);
             if (field.protoKind() == ENUM) {
                 addEnumListAddSingle(builderClass, field, message);
                 addEnumListAddCollection(builderClass, field, message);
             }
+        } else if (field.protoKind() == MAP) {
+            addMapPutSingle(builderClass, field, message);
+            addMapPutAll(builderClass, field, message);
         } else if (field.protoKind() == MESSAGE) {
             addFieldMerge(builderClass, field, message);
+            addNestedBuilderGetter(builderClass, field);
+        } else if (field.protoKind() == RAW_MESSAGE) {
+            addRawFieldMerge(builderClass, field, message);
         }
     }
 
@@ -240,7 +288,67 @@ class BuilderClassFactory {
         );
     }
 
+    private void addMapPutSingle(ClassSource builderClass, FieldDefinition field, MessageDefinition message) {
+        CodeBody body = body("""
+                        this.$field.put(key, value);
+                        return this;
+                        """,
+                param("field", field.javaFieldName())
+        );
+
+        builderClass.add(method(field.javaFieldNamePrefixed("put"))
+                .set(publicVisibility())
+                .set(returns(message.builderName()))
+                .set(body)
+                .add(parameter(field.mapKey().javaFieldType(), "key"))
+                .add(parameter(field.mapValue().javaFieldType(), "value"))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addMapPutAll(ClassSource builderClass, FieldDefinition field, MessageDefinition message) {
+        CodeBody body = body("""
+                        if (values != null) {
+                          this.$field.putAll(values);
+                        }
+                        return this;
+                        """,
+                param("field", field.javaFieldName())
+        );
+
+        builderClass.add(method(field.javaFieldNamePrefixed("putAll"))
+                .set(publicVisibility())
+                .set(returns(message.builderName()))
+                .set(body)
+                .add(parameter(field.javaFieldType(), "values"))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
     private void addFieldMerge(ClassSource builderClass, FieldDefinition field, MessageDefinition message) {
+        CodeBody body = body("""
+                        if (this.$nestedBuilder != null) {
+                          this.$nestedBuilder.merge(value);
+                        } else {
+                          this.$field = $ProtoDto.merge(this.$field, value);
+                        }
+                        return this;
+                        """,
+                param("field", field.javaFieldName()),
+                param("nestedBuilder", nestedBuilderName(field)),
+                param("ProtoDto", ProtoDto.class)
+        );
+
+        builderClass.add(method(field.javaFieldNamePrefixed("merge"))
+                .set(publicVisibility())
+                .set(returns(message.builderName()))
+                .set(body)
+                .add(parameter(field.javaFieldType(), "value"))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addRawFieldMerge(ClassSource builderClass, FieldDefinition field, MessageDefinition message) {
         CodeBody body = body("""
                         this.$field = $ProtoDto.merge(this.$field, value);
                         return this;
@@ -258,6 +366,26 @@ class BuilderClassFactory {
         );
     }
 
+    private void addNestedBuilderGetter(ClassSource builderClass, FieldDefinition field) {
+        CodeBody body = body("""
+                        if (this.$nestedBuilder == null) {
+                          this.$nestedBuilder = this.$field == null ? $FieldType.builder() : this.$field.toBuilder();
+                          this.$field = null;
+                        }
+                        return this.$nestedBuilder;
+                        """,
+                param("field", field.javaFieldName()),
+                param("nestedBuilder", nestedBuilderName(field)),
+                param("FieldType", field.javaFieldType())
+        );
+
+        builderClass.add(method(nestedBuilderName(field))
+                .set(privateVisibility())
+                .set(returns(field.javaFieldType().with("Builder")))
+                .set(body)
+        );
+    }
+
     private void addBuildMethod(ClassSource builderClass, MessageDefinition message) {
         List<String> constructorParameters = message.fields().stream()
                 .map(BuilderClassFactory::fieldToRecordTransform)
@@ -274,6 +402,31 @@ class BuilderClassFactory {
         );
     }
 
+    private void addResetMethod(ClassSource builderClass, MessageDefinition message) {
+        CodeBody body = body();
+        for (FieldDefinition field : message.fields()) {
+            if (isBuilderBacked(field)) {
+                body.appendln("this.$field.clear();",
+                        param("field", field.javaFieldName()));
+            } else {
+                body.appendln("this.$field = $default;",
+                        param("field", field.javaFieldName()),
+                        param("default", singleDefaultValue(field)));
+            }
+            if (isSingleMessage(field)) {
+                body.appendln("this.$builder = null;",
+                        param("builder", nestedBuilderName(field)));
+            }
+        }
+        body.append("return this;");
+
+        builderClass.add(method("reset")
+                .set(publicVisibility())
+                .set(returns(message.builderName()))
+                .set(body)
+        );
+    }
+
     private void addMergeMethod(ClassSource builderClass, MessageDefinition message) {
         CodeBody body = body("""
                 if (toMerge == null) {
@@ -281,10 +434,17 @@ class BuilderClassFactory {
                 }
                 """);
         for (FieldDefinition field : message.fields()) {
-            body.appendln("this.$field = $ProtoDto.merge(this.$field, toMerge.$field());",
-                    param("field", field.javaFieldName()),
-                    param("ProtoDto", ProtoDto.class)
-            );
+            if (isSingleMessage(field)) {
+                body.appendln("this.$merge(toMerge.$field());",
+                        param("merge", field.javaFieldNamePrefixed("merge")),
+                        param("field", field.javaFieldName())
+                );
+            } else {
+                body.appendln("this.$field = $ProtoDto.merge(this.$field, toMerge.$field());",
+                        param("field", field.javaFieldName()),
+                        param("ProtoDto", ProtoDto.class)
+                );
+            }
         }
         body.append("return this;");
 
@@ -297,22 +457,15 @@ class BuilderClassFactory {
     }
 
     private static InitializerSource initializerOf(FieldDefinition field) {
-        if (field.rules().repeated()) {
-            return initializer(switch (field.protoKind()) {
-                case DOUBLE -> body("com.github.pcimcioch.protobuf.dto.DoubleList.builder()");
-                case FLOAT -> body("com.github.pcimcioch.protobuf.dto.FloatList.builder()");
-                case INT32, UINT32, SINT32, FIXED32, SFIXED32 ->
-                        body("com.github.pcimcioch.protobuf.dto.IntList.builder()");
-                case INT64, UINT64, SINT64, FIXED64, SFIXED64 ->
-                        body("com.github.pcimcioch.protobuf.dto.LongList.builder()");
-                case BOOL -> body("com.github.pcimcioch.protobuf.dto.BooleanList.builder()");
-                case STRING, BYTES, MESSAGE, UNKNOWN -> body("com.github.pcimcioch.protobuf.dto.ObjectList.builder()");
-                case ENUM -> body("com.github.pcimcioch.protobuf.dto.EnumList.builder($enumType::forNumber)",
-                        param("enumType", field.protobufType()));
-            });
+        if (isBuilderBacked(field)) {
+            return initializer(newBuilderValue(field));
         }
 
-        return initializer(switch (field.protoKind()) {
+        return initializer(singleDefaultValue(field));
+    }
+
+    static String singleDefaultValue(FieldDefinition field) {
+        return switch (field.protoKind()) {
             case DOUBLE -> "0d";
             case FLOAT -> "0f";
             case INT32, UINT32, SINT32, FIXED32, SFIXED32, ENUM -> "0";
@@ -320,11 +473,48 @@ class BuilderClassFactory {
             case BOOL -> "false";
             case STRING -> "\"\"";
             case BYTES -> "com.github.pcimcioch.protobuf.dto.ByteArray.empty()";
-            case MESSAGE, UNKNOWN -> "null";
-        });
+            case MESSAGE, RAW_MESSAGE, UNKNOWN -> "null";
+            case MAP -> throw new IllegalArgumentException("Map field is not a single value: " + field.name());
+        };
+    }
+
+    static CodeBody newBuilderValue(FieldDefinition field) {
+        String storage = storageArgument(field);
+        return switch (field.protoKind()) {
+            case DOUBLE -> body("com.github.pcimcioch.protobuf.dto.DoubleList.builder($storage)",
+                    param("storage", storage));
+            case FLOAT -> body("com.github.pcimcioch.protobuf.dto.FloatList.builder()");
+            case INT32, UINT32, SINT32, FIXED32, SFIXED32 ->
+                    body("com.github.pcimcioch.protobuf.dto.IntList.builder($storage)",
+                            param("storage", storage));
+            case INT64, UINT64, SINT64, FIXED64, SFIXED64 ->
+                    body("com.github.pcimcioch.protobuf.dto.LongList.builder($storage)",
+                            param("storage", storage));
+            case BOOL -> body("com.github.pcimcioch.protobuf.dto.BooleanList.builder()");
+            case STRING, BYTES -> field.isArena()
+                    ? body("$type.builder()", param("type", field.javaFieldType()))
+                    : body("com.github.pcimcioch.protobuf.dto.ObjectList.builder($storage)", param("storage", storage));
+            case MESSAGE, RAW_MESSAGE -> body("com.github.pcimcioch.protobuf.dto.ObjectList.builder($storage)",
+                    param("storage", storage));
+            case UNKNOWN -> field.rules().repeated()
+                    ? body("com.github.pcimcioch.protobuf.dto.ObjectList.builder($storage)", param("storage", storage))
+                    : body("$type.builder()", param("type", field.javaFieldType()));
+            case ENUM -> body("com.github.pcimcioch.protobuf.dto.EnumList.builder($enumType::forNumber)",
+                    param("enumType", field.protobufType()));
+            case MAP -> body("$mapType.builder()",
+                    param("mapType", field.javaFieldType()));
+        };
     }
 
-    private static TypeName builderFieldType(FieldDefinition field) {
+    private static String storageArgument(FieldDefinition field) {
+        ListStorage storage = field.rules().storage();
+        return storage == ListStorage.AUTO ? "" : ListStorage.class.getCanonicalName() + "." + storage.name();
+    }
+
+    static TypeName builderFieldType(FieldDefinition field) {
+        if (field.protoKind() == MAP || isRawUnknown(field)) {
+            return field.javaFieldType().with("Builder");
+        }
         if (!field.rules().repeated()) {
             return field.javaFieldType();
         }
@@ -335,18 +525,43 @@ class BuilderClassFactory {
             case INT32, UINT32, SINT32, FIXED32, SFIXED32 -> canonicalName(IntList.Builder.class);
             case INT64, UINT64, SINT64, FIXED64, SFIXED64 -> canonicalName(LongList.Builder.class);
             case BOOL -> canonicalName(BooleanList.Builder.class);
-            case STRING -> canonicalName(ObjectList.Builder.class).of(simpleName("String"));
-            case BYTES -> canonicalName(ObjectList.Builder.class).of(canonicalName(ByteArray.class));
+            case STRING -> field.isArena()
+                    ? canonicalName(StringList.Builder.class)
+                    : canonicalName(ObjectList.Builder.class).of(simpleName("String"));
+            case BYTES -> field.isArena()
+                    ? canonicalName(BytesList.Builder.class)
+                    : canonicalName(ObjectList.Builder.class).of(canonicalName(ByteArray.class));
             case MESSAGE, UNKNOWN -> canonicalName(ObjectList.Builder.class).of(field.protobufType());
+            case RAW_MESSAGE -> canonicalName(ObjectList.Builder.class).of(rawMessageType(field));
             case ENUM -> canonicalName(EnumList.Builder.class).of(field.protobufType());
+            case MAP -> field.javaFieldType().with("Builder");
         };
     }
 
     private static String fieldToRecordTransform(FieldDefinition field) {
-        return field.rules().repeated()
+        if (isSingleMessage(field)) {
+            return nestedBuilderName(field) + " == null ? " + field.javaFieldName() + " : " + nestedBuilderName(field) + ".build()";
+        }
+
+        return isBuilderBacked(field)
                 ? field.javaFieldName() + ".build()"
                 : field.javaFieldName();
+    }
+
+    static boolean isBuilderBacked(FieldDefinition field) {
+        return field.rules().repeated() || field.protoKind() == MAP || isRawUnknown(field);
+    }
+
+    private static boolean isRawUnknown(FieldDefinition field) {
+        return field.protoKind() == UNKNOWN && !field.rules().repeated();
+    }
 
+    private static boolean isSingleMessage(FieldDefinition field) {
+        return field.protoKind() == MESSAGE && !field.rules().repeated();
+    }
+
+    private static String nestedBuilderName(FieldDefinition field) {
+        return field.javaFieldName() + "Builder";
     }
 
     private static TypeName singleAddType(FieldDefinition field) {
@@ -358,7 +573,10 @@ class BuilderClassFactory {
             case BOOL -> simpleName("boolean");
             case STRING -> simpleName("String");
             case BYTES -> canonicalName(ByteArray.class);
-            case MESSAGE, ENUM, UNKNOWN -> field.protobufType();
+            case MESSAGE, ENUM -> field.protobufType();
+            case UNKNOWN -> field.rules().repeated() ? field.protobufType() : canonicalName(UnknownField.class);
+            case RAW_MESSAGE -> rawMessageType(field);
+            case MAP -> field.javaFieldType();
         };
     }
 
@@ -371,7 +589,14 @@ class BuilderClassFactory {
             case BOOL -> simpleName("Boolean").inCollection();
             case STRING -> simpleName("String").inCollection();
             case BYTES -> canonicalName(ByteArray.class).inCollection();
-            case MESSAGE, ENUM, UNKNOWN -> field.protobufType().inCollection();
+            case MESSAGE, ENUM -> field.protobufType().inCollection();
+            case UNKNOWN -> field.rules().repeated() ? field.protobufType().inCollection() : field.javaFieldType();
+            case RAW_MESSAGE -> rawMessageType(field).inCollection();
+            case MAP -> field.javaFieldType();
         };
     }
+
+    private static TypeName rawMessageType(FieldDefinition field) {
+        return canonicalName(RawMessage.class).of(field.protobufType());
+    }
 }
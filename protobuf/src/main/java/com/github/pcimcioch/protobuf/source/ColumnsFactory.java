@@ -0,0 +1,455 @@
+package com.github.pcimcioch.protobuf.source;
+
+import com.github.pcimcioch.protobuf.code.ClassSource;
+import com.github.pcimcioch.protobuf.code.CodeBody;
+import com.github.pcimcioch.protobuf.code.ConstructorSource;
+import com.github.pcimcioch.protobuf.code.MethodSource;
+import com.github.pcimcioch.protobuf.code.RecordSource;
+import com.github.pcimcioch.protobuf.code.TypeName;
+import com.github.pcimcioch.protobuf.dto.BooleanList;
+import com.github.pcimcioch.protobuf.dto.DoubleList;
+import com.github.pcimcioch.protobuf.dto.FloatList;
+import com.github.pcimcioch.protobuf.dto.IntList;
+import com.github.pcimcioch.protobuf.dto.LongList;
+import com.github.pcimcioch.protobuf.dto.ObjectList;
+import com.github.pcimcioch.protobuf.dto.ProtoDto;
+import com.github.pcimcioch.protobuf.dto.RawMessage;
+import com.github.pcimcioch.protobuf.io.ProtobufReader;
+import com.github.pcimcioch.protobuf.model.field.FieldDefinition;
+import com.github.pcimcioch.protobuf.model.message.MessageDefinition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.github.pcimcioch.protobuf.code.AnnotationSource.annotation;
+import static com.github.pcimcioch.protobuf.code.CodeBody.body;
+import static com.github.pcimcioch.protobuf.code.CodeBody.param;
+import static com.github.pcimcioch.protobuf.code.ConstructorSource.constructor;
+import static com.github.pcimcioch.protobuf.code.FieldSource.field;
+import static com.github.pcimcioch.protobuf.code.FinalSource.finalModifier;
+import static com.github.pcimcioch.protobuf.code.InitializerSource.initializer;
+import static com.github.pcimcioch.protobuf.code.MethodSource.method;
+import static com.github.pcimcioch.protobuf.code.ParameterSource.parameter;
+import static com.github.pcimcioch.protobuf.code.ReturnSource.returns;
+import static com.github.pcimcioch.protobuf.code.StaticSource.staticModifier;
+import static com.github.pcimcioch.protobuf.code.ThrowsSource.throwsEx;
+import static com.github.pcimcioch.protobuf.code.TypeName.canonicalName;
+import static com.github.pcimcioch.protobuf.code.TypeName.simpleName;
+import static com.github.pcimcioch.protobuf.code.VisibilitySource.privateVisibility;
+import static com.github.pcimcioch.protobuf.code.VisibilitySource.publicVisibility;
+import static com.github.pcimcioch.protobuf.io.WireType.LEN;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.MESSAGE;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.RAW_MESSAGE;
+
+class ColumnsFactory {
+    private final DecodingFactory decodingFactory = new DecodingFactory();
+
+    ClassSource buildColumnsClass(MessageDefinition message) {
+        ClassSource columns = ClassSource.clazz(message.columnsName())
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(finalModifier());
+
+        addColumnFields(columns, message);
+        addConstructor(columns, message);
+        addColumnGetters(columns, message);
+        addSizeMethod(columns);
+        addGetMethod(columns, message);
+        addToListMethod(columns, message);
+        addCopyOfMethod(columns, message);
+        addBuilderMethod(columns, message);
+        columns.add(buildBuilderClass(message));
+
+        return columns;
+    }
+
+    void addParseColumnsMethods(RecordSource messageRecord, MessageDefinition message) {
+        for (FieldDefinition field : message.fields()) {
+            if (field.protoKind() == MESSAGE && field.rules().repeated()) {
+                addParseColumnsBytesMethod(messageRecord, field);
+                addParseColumnsStreamMethod(messageRecord, field);
+                addParseColumnsProtobufReaderMethod(messageRecord, field);
+            }
+        }
+    }
+
+    private void addColumnFields(ClassSource columns, MessageDefinition message) {
+        columns.add(field(simpleName("int"), "size")
+                .set(privateVisibility())
+                .set(finalModifier())
+        );
+        for (FieldDefinition field : columnFields(message)) {
+            columns.add(field(columnType(field), field.javaFieldName())
+                    .set(privateVisibility())
+                    .set(finalModifier())
+            );
+        }
+    }
+
+    private void addConstructor(ClassSource columns, MessageDefinition message) {
+        CodeBody body = body("this.size = size;");
+        for (FieldDefinition field : columnFields(message)) {
+            body.appendln("");
+            body.append("this.$field = $field;", param("field", field.javaFieldName()));
+        }
+
+        ConstructorSource constructor = constructor()
+                .set(privateVisibility())
+                .set(body)
+                .add(parameter(simpleName("int"), "size"));
+        for (FieldDefinition field : columnFields(message)) {
+            constructor.add(parameter(columnType(field), field.javaFieldName()));
+        }
+
+        columns.add(constructor);
+    }
+
+    private void addColumnGetters(ClassSource columns, MessageDefinition message) {
+        for (FieldDefinition field : columnFields(message)) {
+            columns.add(method(field.javaFieldName())
+                    .set(publicVisibility())
+                    .set(returns(columnType(field)))
+                    .set(body("return this.$field;", param("field", field.javaFieldName())))
+                    .addIf(annotation(Deprecated.class), field.rules().deprecated())
+            );
+        }
+    }
+
+    private void addSizeMethod(ClassSource columns) {
+        columns.add(method("size")
+                .set(publicVisibility())
+                .set(returns(simpleName("int")))
+                .set(body("return this.size;"))
+        );
+    }
+
+    private void addGetMethod(ClassSource columns, MessageDefinition message) {
+        CodeBody body = body("return new $MessageType($values);",
+                param("MessageType", message.name()),
+                param("values", columnFields(message).stream()
+                        .map(field -> "this." + field.javaFieldName() + "." + columnGetter(field) + "(index)")
+                        .toList())
+        );
+
+        columns.add(method("get")
+                .set(publicVisibility())
+                .set(returns(message.name()))
+                .set(body)
+                .add(parameter(simpleName("int"), "index"))
+        );
+    }
+
+    private void addToListMethod(ClassSource columns, MessageDefinition message) {
+        CodeBody body = body("""
+                        $ObjectList.Builder<$MessageType> messages = $ObjectList.builder();
+                        for (int i = 0; i < this.size; i++) {
+                            messages.add(get(i));
+                        }
+                        return messages.build();""",
+                param("ObjectList", ObjectList.class),
+                param("MessageType", message.name())
+        );
+
+        columns.add(method("toList")
+                .set(publicVisibility())
+                .set(returns(canonicalName(ObjectList.class).of(message.name())))
+                .set(body)
+        );
+    }
+
+    private void addCopyOfMethod(ClassSource columns, MessageDefinition message) {
+        CodeBody body = body("""
+                        $Builder columns = builder();
+                        for ($MessageType message : messages) {
+                            columns.add(message);
+                        }
+                        return columns.build();""",
+                param("Builder", columnsBuilderName(message)),
+                param("MessageType", message.name())
+        );
+
+        columns.add(method("copyOf")
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(returns(message.columnsName()))
+                .set(body)
+                .add(parameter(canonicalName(Collection.class).of(message.name()), "messages"))
+        );
+    }
+
+    private void addBuilderMethod(ClassSource columns, MessageDefinition message) {
+        columns.add(method("builder")
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(returns(columnsBuilderName(message)))
+                .set(body("return new $Builder();",
+                        param("Builder", columnsBuilderName(message))))
+        );
+    }
+
+    private ClassSource buildBuilderClass(MessageDefinition message) {
+        ClassSource builder = ClassSource.clazz(columnsBuilderName(message))
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(finalModifier());
+
+        builder.add(field(simpleName("int"), "size")
+                .set(privateVisibility())
+        );
+        for (FieldDefinition field : columnFields(message)) {
+            builder.add(field(columnBuilderType(field), field.javaFieldName())
+                    .set(privateVisibility())
+                    .set(finalModifier())
+                    .set(initializer(columnBuilderValue(field)))
+            );
+        }
+
+        addBuilderAddMethod(builder, message);
+        addBuilderAddParsedMethod(builder, message);
+        addBuilderAddRowMethod(builder, message);
+        addBuilderBuildMethod(builder, message);
+
+        return builder;
+    }
+
+    private void addBuilderAddMethod(ClassSource builder, MessageDefinition message) {
+        CodeBody body = body("return addRow($values);",
+                param("values", columnFields(message).stream()
+                        .map(field -> "message." + field.javaFieldName() + "()")
+                        .toList())
+        );
+
+        builder.add(method("add")
+                .set(publicVisibility())
+                .set(returns(columnsBuilderName(message)))
+                .set(body)
+                .add(parameter(message.name(), "message"))
+        );
+    }
+
+    private void addBuilderAddParsedMethod(ClassSource builder, MessageDefinition message) {
+        CodeBody body = body("""
+                        $locals
+
+                        int tag;
+                        while ((tag = reader.readTag()) != -1) {
+                            $readFields
+                        }
+
+                        return addRow($values);""",
+                param("locals", decodingFactory.locals(message)),
+                param("readFields", decodingFactory.readLocalFields(message)),
+                param("values", DecodingFactory.localsToRecord(message))
+        );
+
+        builder.add(method("addParsed")
+                .set(publicVisibility())
+                .set(returns(columnsBuilderName(message)))
+                .add(throwsEx(IOException.class))
+                .set(body)
+                .add(parameter(ProtobufReader.class, "reader"))
+        );
+    }
+
+    private void addBuilderAddRowMethod(ClassSource builder, MessageDefinition message) {
+        CodeBody body = body();
+        for (FieldDefinition field : columnFields(message)) {
+            body.appendln("this.$field.add($value);",
+                    param("field", field.javaFieldName()),
+                    param("value", columnValue(field))
+            );
+        }
+        body.appendln("this.size++;");
+        body.append("return this;");
+
+        MethodSource addRow = method("addRow")
+                .set(privateVisibility())
+                .set(returns(columnsBuilderName(message)))
+                .set(body);
+        for (FieldDefinition field : columnFields(message)) {
+            addRow.add(parameter(field.javaFieldType(), field.javaFieldName()));
+        }
+
+        builder.add(addRow);
+    }
+
+    private void addBuilderBuildMethod(ClassSource builder, MessageDefinition message) {
+        CodeBody body = body("return new $ColumnsType($values);",
+                param("ColumnsType", message.columnsName()),
+                param("values", Stream.concat(
+                        Stream.of("this.size"),
+                        columnFields(message).stream().map(field -> "this." + field.javaFieldName() + ".build()")
+                ).toList())
+        );
+
+        builder.add(method("build")
+                .set(publicVisibility())
+                .set(returns(message.columnsName()))
+                .set(body)
+        );
+    }
+
+    private void addParseColumnsBytesMethod(RecordSource messageRecord, FieldDefinition field) {
+        CodeBody body = body("return $parseColumns(new $ProtobufReader(data));",
+                param("parseColumns", parseColumnsName(field)),
+                param("ProtobufReader", ProtobufReader.class)
+        );
+
+        messageRecord.add(method(parseColumnsName(field))
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(returns(nestedColumnsName(field)))
+                .add(throwsEx(IOException.class))
+                .set(body)
+                .add(parameter(byte[].class, "data"))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addParseColumnsStreamMethod(RecordSource messageRecord, FieldDefinition field) {
+        CodeBody body = body("return $parseColumns(new $ProtobufReader(stream));",
+                param("parseColumns", parseColumnsName(field)),
+                param("ProtobufReader", ProtobufReader.class)
+        );
+
+        messageRecord.add(method(parseColumnsName(field))
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(returns(nestedColumnsName(field)))
+                .add(throwsEx(IOException.class))
+                .set(body)
+                .add(parameter(InputStream.class, "stream"))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addParseColumnsProtobufReaderMethod(RecordSource messageRecord, FieldDefinition field) {
+        CodeBody body = body("""
+                        $Builder columns = $ColumnsType.builder();
+
+                        int tag;
+                        while ((tag = reader.readTag()) != -1) {
+                            if (tag == $fieldTag) {
+                                reader.readMessage(columns, $Builder::addParsed);
+                            } else {
+                                reader.skip(tag);
+                            }
+                        }
+
+                        return columns.build();""",
+                param("Builder", nestedColumnsName(field).with("Builder")),
+                param("ColumnsType", nestedColumnsName(field)),
+                param("fieldTag", LEN.tagFrom(field.number()))
+        );
+
+        messageRecord.add(method(parseColumnsName(field))
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(returns(nestedColumnsName(field)))
+                .add(throwsEx(IOException.class))
+                .set(body)
+                .add(parameter(ProtobufReader.class, "reader"))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    // inline message fields are stored in separate columns, one per each stored field
+    private static List<FieldDefinition> columnFields(MessageDefinition message) {
+        return message.fields().stream()
+                .flatMap(field -> field.storedFields().stream())
+                .toList();
+    }
+
+    private static TypeName columnsBuilderName(MessageDefinition message) {
+        return message.columnsName().with("Builder");
+    }
+
+    private static TypeName nestedColumnsName(FieldDefinition field) {
+        return field.protobufType().with("Columns");
+    }
+
+    private static String parseColumnsName(FieldDefinition field) {
+        return field.javaFieldNamePrefixed("parse") + "Columns";
+    }
+
+    private static boolean isPrimitiveColumn(FieldDefinition field) {
+        return !field.rules().repeated() && switch (field.protoKind()) {
+            case DOUBLE, FLOAT, INT32, INT64, UINT32, UINT64, SINT32, SINT64, FIXED32, FIXED64, SFIXED32, SFIXED64,
+                    BOOL, ENUM -> true;
+            case STRING, BYTES, MESSAGE, RAW_MESSAGE, MAP, UNKNOWN -> false;
+        };
+    }
+
+    private static TypeName columnType(FieldDefinition field) {
+        if (!isPrimitiveColumn(field)) {
+            return canonicalName(ObjectList.class).of(field.javaFieldType());
+        }
+
+        return switch (field.protoKind()) {
+            case DOUBLE -> canonicalName(DoubleList.class);
+            case FLOAT -> canonicalName(FloatList.class);
+            case INT32, UINT32, SINT32, FIXED32, SFIXED32, ENUM -> canonicalName(IntList.class);
+            case INT64, UINT64, SINT64, FIXED64, SFIXED64 -> canonicalName(LongList.class);
+            case BOOL -> canonicalName(BooleanList.class);
+            case STRING, BYTES, MESSAGE, RAW_MESSAGE, MAP, UNKNOWN ->
+                    throw new IllegalArgumentException("Not a primitive column: " + field.name());
+        };
+    }
+
+    private static TypeName columnBuilderType(FieldDefinition field) {
+        if (!isPrimitiveColumn(field)) {
+            return canonicalName(ObjectList.Builder.class).of(field.javaFieldType());
+        }
+
+        return columnType(field).with("Builder");
+    }
+
+    private static String columnBuilderValue(FieldDefinition field) {
+        return isPrimitiveColumn(field)
+                ? columnType(field).canonicalName() + ".builder()"
+                : ObjectList.class.getCanonicalName() + ".builder()";
+    }
+
+    private static String columnGetter(FieldDefinition field) {
+        if (!isPrimitiveColumn(field)) {
+            return "get";
+        }
+
+        return switch (field.protoKind()) {
+            case DOUBLE -> "getDouble";
+            case FLOAT -> "getFloat";
+            case INT32, UINT32, SINT32, FIXED32, SFIXED32, ENUM -> "getInt";
+            case INT64, UINT64, SINT64, FIXED64, SFIXED64 -> "getLong";
+            case BOOL -> "getBoolean";
+            case STRING, BYTES, MESSAGE, RAW_MESSAGE, MAP, UNKNOWN ->
+                    throw new IllegalArgumentException("Not a primitive column: " + field.name());
+        };
+    }
+
+    private static String columnValue(FieldDefinition field) {
+        if (isPrimitiveColumn(field)) {
+            return field.javaFieldName();
+        }
+        if (field.protoKind() == MESSAGE && !field.rules().repeated()) {
+            return body("$field == null ? $Type.empty() : $field",
+                    param("field", field.javaFieldName()),
+                    param("Type", field.javaFieldType())
+            ).toString();
+        }
+        if (field.protoKind() == RAW_MESSAGE && !field.rules().repeated()) {
+            return body("$field == null ? $RawMessage.empty($Type::parse) : $field",
+                    param("field", field.javaFieldName()),
+                    param("RawMessage", RawMessage.class),
+                    param("Type", field.protobufType())
+            ).toString();
+        }
+
+        return body("$ProtoDto.copy($field)",
+                param("ProtoDto", ProtoDto.class),
+                param("field", field.javaFieldName())
+        ).toString();
+    }
+}
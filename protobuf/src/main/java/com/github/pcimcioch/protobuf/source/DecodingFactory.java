@@ -1,14 +1,18 @@
 package com.github.pcimcioch.protobuf.source;
 
+import com.github.pcimcioch.protobuf.code.ClassSource;
 import com.github.pcimcioch.protobuf.code.CodeBody;
 import com.github.pcimcioch.protobuf.code.RecordSource;
+import com.github.pcimcioch.protobuf.dto.ProtoDto;
 import com.github.pcimcioch.protobuf.io.ProtobufReader;
 import com.github.pcimcioch.protobuf.model.field.FieldDefinition;
 import com.github.pcimcioch.protobuf.model.message.MessageDefinition;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static com.github.pcimcioch.protobuf.code.CodeBody.body;
 import static com.github.pcimcioch.protobuf.code.CodeBody.param;
@@ -17,11 +21,17 @@ import static com.github.pcimcioch.protobuf.code.ParameterSource.parameter;
 import static com.github.pcimcioch.protobuf.code.ReturnSource.returns;
 import static com.github.pcimcioch.protobuf.code.StaticSource.staticModifier;
 import static com.github.pcimcioch.protobuf.code.ThrowsSource.throwsEx;
+import static com.github.pcimcioch.protobuf.code.VisibilitySource.privateVisibility;
 import static com.github.pcimcioch.protobuf.code.VisibilitySource.publicVisibility;
 import static com.github.pcimcioch.protobuf.io.WireType.I32;
 import static com.github.pcimcioch.protobuf.io.WireType.I64;
 import static com.github.pcimcioch.protobuf.io.WireType.LEN;
 import static com.github.pcimcioch.protobuf.io.WireType.VARINT;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.ENUM;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.MAP;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.MESSAGE;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.RAW_MESSAGE;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.STRING;
 import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.UNKNOWN;
 
 class DecodingFactory {
@@ -30,6 +40,15 @@ class DecodingFactory {
         addParseBytesMethod(messageRecord, message);
         addParseStreamMethod(messageRecord, message);
         addParseProtobufReaderMethod(messageRecord, message);
+        addReadMapEntryMethods(messageRecord, message);
+    }
+
+    void addBuilderDecodingMethods(ClassSource builderClass, MessageDefinition message) {
+        addMergeFromMethod(builderClass, message);
+    }
+
+    void addMutableDecodingMethods(ClassSource mutableClass, MessageDefinition message) {
+        addMutableMergeFromMethod(mutableClass, message);
     }
 
     private void addParseBytesMethod(RecordSource messageRecord, MessageDefinition message) {
@@ -64,16 +83,18 @@ class DecodingFactory {
 
     private void addParseProtobufReaderMethod(RecordSource messageRecord, MessageDefinition message) {
         CodeBody body = body("""
-                        $BuilderType builder = new $BuilderType();
-                                        
+                        $locals
+
                         int tag;
                         while ((tag = reader.readTag()) != -1) {
                             $readFields
                         }
-                                        
-                        return builder.build();""",
-                param("BuilderType", message.builderName()),
-                param("readFields", readFields(message))
+
+                        return new $MessageType($constructorParameters);""",
+                param("locals", locals(message)),
+                param("readFields", readLocalFields(message)),
+                param("MessageType", message.name()),
+                param("constructorParameters", localsToRecord(message))
         );
 
         messageRecord.add(method("parse")
@@ -86,11 +107,391 @@ class DecodingFactory {
         );
     }
 
+    private void addMergeFromMethod(ClassSource builderClass, MessageDefinition message) {
+        CodeBody body = body("""
+                        int tag;
+                        while ((tag = reader.readTag()) != -1) {
+                            $readFields
+                        }
+                                        
+                        return this;""",
+                param("readFields", readFields(message))
+        );
+
+        builderClass.add(method("mergeFrom")
+                .set(publicVisibility())
+                .set(returns(message.builderName()))
+                .add(throwsEx(IOException.class))
+                .set(body)
+                .add(parameter(ProtobufReader.class, "reader"))
+        );
+    }
+
+    private void addMutableMergeFromMethod(ClassSource mutableClass, MessageDefinition message) {
+        CodeBody body = body("""
+                        int tag;
+                        while ((tag = reader.readTag()) != -1) {
+                            $readFields
+                        }
+
+                        return this;""",
+                param("readFields", readMutableFields(message))
+        );
+
+        mutableClass.add(method("mergeFrom")
+                .set(publicVisibility())
+                .set(returns(message.mutableName()))
+                .add(throwsEx(IOException.class))
+                .set(body)
+                .add(parameter(ProtobufReader.class, "reader"))
+        );
+    }
+
+    private void addReadMapEntryMethods(RecordSource messageRecord, MessageDefinition message) {
+        for (FieldDefinition field : message.fields()) {
+            if (field.protoKind() == MAP) {
+                addReadMapEntryMethod(messageRecord, field);
+            }
+        }
+    }
+
+    private void addReadMapEntryMethod(RecordSource messageRecord, FieldDefinition field) {
+        FieldDefinition key = field.mapKey();
+        FieldDefinition value = field.mapValue();
+        CodeBody body = body("""
+                        $KeyType key = $keyDefault;
+                        $ValueType value = $valueDefault;
+
+                        int tag;
+                        while ((tag = reader.readTag()) != -1) {
+                            switch(tag) {
+                                case $keyTag -> key = $readKey;
+                                case $valueTag -> value = $readValue;
+                                default -> reader.skip(tag);
+                            }
+                        }
+
+                        map.put(key, value);""",
+                param("KeyType", key.javaFieldType()),
+                param("keyDefault", defaultValue(key)),
+                param("keyTag", scalarTag(key)),
+                param("readKey", scalarRead(key)),
+                param("ValueType", value.javaFieldType()),
+                param("valueDefault", defaultValue(value)),
+                param("valueTag", scalarTag(value)),
+                param("readValue", scalarRead(value))
+        );
+
+        messageRecord.add(method(readMapEntryMethodName(field))
+                .set(privateVisibility())
+                .set(staticModifier())
+                .add(throwsEx(IOException.class))
+                .set(body)
+                .add(parameter(field.javaFieldType().with("Builder"), "map"))
+                .add(parameter(ProtobufReader.class, "reader"))
+        );
+    }
+
+    CodeBody locals(MessageDefinition message) {
+        CodeBody body = body();
+
+        for (FieldDefinition field : message.fields()) {
+            if (field.isInline()) {
+                for (FieldDefinition storedField : field.storedFields()) {
+                    body.appendln("$Type $local = $default;",
+                            param("Type", storedField.javaFieldType()),
+                            param("local", localName(storedField)),
+                            param("default", defaultValue(storedField)));
+                }
+            } else if (BuilderClassFactory.isBuilderBacked(field)) {
+                body.appendln("$BuilderType $local = null;",
+                        param("BuilderType", BuilderClassFactory.builderFieldType(field)),
+                        param("local", localName(field)));
+            } else if (field.protoKind() == MESSAGE) {
+                body.appendln("$Type $local = null;",
+                        param("Type", field.javaFieldType()),
+                        param("local", localName(field)));
+                body.appendln("$BuilderType $localBuilder = null;",
+                        param("BuilderType", field.javaFieldType().with("Builder")),
+                        param("localBuilder", localBuilderName(field)));
+            } else {
+                body.appendln("$Type $local = $default;",
+                        param("Type", field.javaFieldType()),
+                        param("local", localName(field)),
+                        param("default", defaultValue(field)));
+            }
+        }
+
+        return body;
+    }
+
+    CodeBody readLocalFields(MessageDefinition message) {
+        CodeBody body = body("switch(tag) {");
+
+        for (FieldDefinition field : message.fields()) {
+            body.appendln(localDecodingCode(message, field));
+        }
+
+        body.appendln(localDefaultCode(message));
+
+        return body.append("}");
+    }
+
+    private CodeBody localDecodingCode(MessageDefinition message, FieldDefinition field) {
+        if (field.protoKind() == UNKNOWN) {
+            return body();
+        }
+        if (field.protoKind() == MAP) {
+            return body("""
+                            case $fieldTag -> {
+                                $ensureBuilder
+                                reader.readMessage($local, $MessageType::$readEntry);
+                            }""",
+                    param("fieldTag", LEN.tagFrom(field.number())),
+                    param("ensureBuilder", ensureLocalBuilder(field)),
+                    param("local", localName(field)),
+                    param("MessageType", message.name()),
+                    param("readEntry", readMapEntryMethodName(field))
+            );
+        }
+        if (field.rules().repeated()) {
+            return localDecodingCodeRepeated(field);
+        }
+        if (field.isInline()) {
+            return localDecodingCodeInline(field);
+        }
+        if (field.protoKind() == MESSAGE) {
+            return body("""
+                            case $fieldTag -> {
+                                if ($local == null && $localBuilder == null) {
+                                    $local = reader.readMessage($Type::parse);
+                                } else {
+                                    if ($localBuilder == null) {
+                                        $localBuilder = $local.toBuilder();
+                                        $local = null;
+                                    }
+                                    reader.readMessage($localBuilder, $BuilderType::mergeFrom);
+                                }
+                            }""",
+                    param("fieldTag", LEN.tagFrom(field.number())),
+                    param("local", localName(field)),
+                    param("localBuilder", localBuilderName(field)),
+                    param("Type", field.javaFieldType()),
+                    param("BuilderType", field.javaFieldType().with("Builder"))
+            );
+        }
+        if (field.protoKind() == RAW_MESSAGE) {
+            return body("case $fieldTag -> $local = $ProtoDto.merge($local, $read);",
+                    param("fieldTag", scalarTag(field)),
+                    param("local", localName(field)),
+                    param("ProtoDto", ProtoDto.class),
+                    param("read", scalarRead(field))
+            );
+        }
+
+        return body("case $fieldTag -> $local = $read;",
+                param("fieldTag", scalarTag(field)),
+                param("local", localName(field)),
+                param("read", scalarRead(field))
+        );
+    }
+
+    private CodeBody localDecodingCodeInline(FieldDefinition field) {
+        List<FieldDefinition> storedFields = field.storedFields();
+        CodeBody readComponents = body();
+        for (FieldDefinition component : storedFields.subList(1, storedFields.size())) {
+            readComponents.appendln("case $fieldTag -> $local = $read;",
+                    param("fieldTag", scalarTag(component)),
+                    param("local", localName(component)),
+                    param("read", scalarRead(component))
+            );
+        }
+
+        return body("""
+                        case $fieldTag -> {
+                            $presence = true;
+                            int $limit = reader.beginMessage();
+                            int $tag;
+                            while (($tag = reader.readTag()) != -1) {
+                                switch ($tag) {
+                                    $readComponents
+                                    default -> reader.skip($tag);
+                                }
+                            }
+                            reader.endMessage($limit);
+                        }""",
+                param("fieldTag", LEN.tagFrom(field.number())),
+                param("presence", localName(storedFields.get(0))),
+                param("limit", field.javaFieldName() + "Limit_"),
+                param("tag", field.javaFieldName() + "Tag_"),
+                param("readComponents", readComponents)
+        );
+    }
+
+    private CodeBody localDecodingCodeRepeated(FieldDefinition field) {
+        if (field.isArena()) {
+            return body("""
+                            case $fieldTag -> {
+                                $ensureBuilder
+                                $read;
+                            }""",
+                    param("fieldTag", scalarTag(field)),
+                    param("ensureBuilder", ensureLocalBuilder(field)),
+                    param("read", arenaRead(field, localName(field)))
+            );
+        }
+
+        String add = field.protoKind() == ENUM ? "addValue" : "add";
+        String read = field.protoKind() == MESSAGE
+                ? body("reader.readMessage($Type::parse)", param("Type", field.javaFieldType().generic())).toString()
+                : scalarRead(field);
+
+        CodeBody body = body("""
+                        case $fieldTag -> {
+                            $ensureBuilder
+                            $local.$add($read);
+                        }""",
+                param("fieldTag", scalarTag(field)),
+                param("ensureBuilder", ensureLocalBuilder(field)),
+                param("local", localName(field)),
+                param("add", add),
+                param("read", read)
+        );
+
+        if (scalarTag(field) != LEN.tagFrom(field.number())) {
+            body.appendln("");
+            body.append("""
+                            case $packedFieldTag -> {
+                                $ensureBuilder
+                                reader.$readPacked($local::$add);
+                            }""",
+                    param("packedFieldTag", LEN.tagFrom(field.number())),
+                    param("ensureBuilder", ensureLocalBuilder(field)),
+                    param("readPacked", packedReadMethodName(field)),
+                    param("local", localName(field)),
+                    param("add", add)
+            );
+        }
+
+        return body;
+    }
+
+    private CodeBody localDefaultCode(MessageDefinition message) {
+        Optional<FieldDefinition> defaultField = message.fields().stream()
+                .filter(f -> f.protoKind() == UNKNOWN)
+                .findFirst();
+
+        return defaultField
+                .map(field -> body("""
+                                default -> {
+                                    $ensureBuilder
+                                    $readUnknown
+                                }""",
+                        param("ensureBuilder", ensureLocalBuilder(field)),
+                        param("readUnknown", readUnknownField(field, localName(field)))))
+                .orElse(body("default -> reader.skip(tag);"));
+    }
+
+    private CodeBody ensureLocalBuilder(FieldDefinition field) {
+        return body("""
+                        if ($local == null) {
+                            $local = $newBuilder;
+                        }""",
+                param("local", localName(field)),
+                param("newBuilder", BuilderClassFactory.newBuilderValue(field))
+        );
+    }
+
+    private CodeBody readMutableFields(MessageDefinition message) {
+        CodeBody body = body("switch(tag) {");
+
+        for (FieldDefinition field : message.fields()) {
+            body.appendln(mutableDecodingCode(message, field));
+        }
+
+        body.appendln(mutableDefaultCode(message));
+
+        return body.append("}");
+    }
+
+    private CodeBody mutableDecodingCode(MessageDefinition message, FieldDefinition field) {
+        if (field.protoKind() == UNKNOWN) {
+            return body();
+        }
+        if (field.protoKind() == MAP) {
+            return body("case $fieldTag -> reader.readMessage(this.$field, $MessageType::$readEntry);",
+                    param("fieldTag", LEN.tagFrom(field.number())),
+                    param("field", field.javaFieldName()),
+                    param("MessageType", message.name()),
+                    param("readEntry", readMapEntryMethodName(field))
+            );
+        }
+        if (field.protoKind() == MESSAGE) {
+            return body("case $fieldTag -> reader.readMessage($target, $Type::mergeFrom);",
+                    param("fieldTag", LEN.tagFrom(field.number())),
+                    param("target", field.rules().repeated()
+                            ? "this." + field.javaFieldName() + ".add()"
+                            : "this." + MutableClassFactory.mutableGetterName(field) + "()"),
+                    param("Type", MutableClassFactory.nestedMutableType(field))
+            );
+        }
+        if (field.protoKind() == RAW_MESSAGE && !field.rules().repeated()) {
+            return body("case $fieldTag -> this.$field = $ProtoDto.merge(this.$field, $read);",
+                    param("fieldTag", scalarTag(field)),
+                    param("field", field.javaFieldName()),
+                    param("ProtoDto", ProtoDto.class),
+                    param("read", scalarRead(field))
+            );
+        }
+        if (!field.rules().repeated()) {
+            return body("case $fieldTag -> this.$field = $read;",
+                    param("fieldTag", scalarTag(field)),
+                    param("field", field.javaFieldName()),
+                    param("read", scalarRead(field))
+            );
+        }
+
+        if (field.isArena()) {
+            return body("case $fieldTag -> $read;",
+                    param("fieldTag", scalarTag(field)),
+                    param("read", arenaRead(field, "this." + field.javaFieldName()))
+            );
+        }
+
+        CodeBody body = body("case $fieldTag -> this.$field.$add($read);",
+                param("fieldTag", scalarTag(field)),
+                param("field", field.javaFieldName()),
+                param("add", field.protoKind() == ENUM ? "addValue" : "add"),
+                param("read", scalarRead(field))
+        );
+        if (MutableClassFactory.hasAdder(field)) {
+            body.appendln("");
+            body.append("case $packedFieldTag -> reader.$readPacked(this.$adder);",
+                    param("packedFieldTag", LEN.tagFrom(field.number())),
+                    param("readPacked", packedReadMethodName(field)),
+                    param("adder", MutableClassFactory.adderName(field))
+            );
+        }
+
+        return body;
+    }
+
+    private CodeBody mutableDefaultCode(MessageDefinition message) {
+        Optional<FieldDefinition> defaultField = message.fields().stream()
+                .filter(f -> f.protoKind() == UNKNOWN)
+                .findFirst();
+
+        return defaultField
+                .map(field -> body("default -> $readUnknown",
+                        param("readUnknown", readUnknownField(field, "this." + field.javaFieldName()))))
+                .orElse(body("default -> reader.skip(tag);"));
+    }
+
     private CodeBody readFields(MessageDefinition message) {
         CodeBody body = body("switch(tag) {");
 
         for (FieldDefinition field : message.fields()) {
-            body.appendln(decodingCode(field));
+            body.appendln(decodingCode(message, field));
         }
 
         body.appendln(defaultCode(message));
@@ -98,206 +499,321 @@ class DecodingFactory {
         return body.append("}");
     }
 
-    private CodeBody decodingCode(FieldDefinition field) {
-        return field.rules().repeated() ? decodingCodeRepeated(field) : decodingCodeSimple(field);
+    CodeBody decodingCode(MessageDefinition message, FieldDefinition field) {
+        return field.rules().repeated() ? decodingCodeRepeated(field) : decodingCodeSimple(message, field);
     }
 
-    private CodeBody decodingCodeSimple(FieldDefinition field) {
+    private CodeBody decodingCodeSimple(MessageDefinition message, FieldDefinition field) {
         return switch (field.protoKind()) {
-            case DOUBLE -> body("case $fieldTag -> builder.$field(reader.readDouble());",
+            case DOUBLE -> body("case $fieldTag -> this.$field(reader.readDouble());",
                     param("fieldTag", I64.tagFrom(field.number())),
                     param("field", field.javaFieldName())
             );
-            case FLOAT -> body("case $fieldTag -> builder.$field(reader.readFloat());",
+            case FLOAT -> body("case $fieldTag -> this.$field(reader.readFloat());",
                     param("fieldTag", I32.tagFrom(field.number())),
                     param("field", field.javaFieldName())
             );
-            case INT32, ENUM -> body("case $fieldTag -> builder.$field(reader.readInt32());",
+            case INT32, ENUM -> body("case $fieldTag -> this.$field(reader.readInt32());",
                     param("fieldTag", VARINT.tagFrom(field.number())),
                     param("field", field.javaFieldName())
             );
-            case INT64 -> body("case $fieldTag -> builder.$field(reader.readInt64());",
+            case INT64 -> body("case $fieldTag -> this.$field(reader.readInt64());",
                     param("fieldTag", VARINT.tagFrom(field.number())),
                     param("field", field.javaFieldName())
             );
-            case UINT32 -> body("case $fieldTag -> builder.$field(reader.readUint32());",
+            case UINT32 -> body("case $fieldTag -> this.$field(reader.readUint32());",
                     param("fieldTag", VARINT.tagFrom(field.number())),
                     param("field", field.javaFieldName())
             );
-            case UINT64 -> body("case $fieldTag -> builder.$field(reader.readUint64());",
+            case UINT64 -> body("case $fieldTag -> this.$field(reader.readUint64());",
                     param("fieldTag", VARINT.tagFrom(field.number())),
                     param("field", field.javaFieldName())
             );
-            case SINT32 -> body("case $fieldTag -> builder.$field(reader.readSint32());",
+            case SINT32 -> body("case $fieldTag -> this.$field(reader.readSint32());",
                     param("fieldTag", VARINT.tagFrom(field.number())),
                     param("field", field.javaFieldName())
             );
-            case SINT64 -> body("case $fieldTag -> builder.$field(reader.readSint64());",
+            case SINT64 -> body("case $fieldTag -> this.$field(reader.readSint64());",
                     param("fieldTag", VARINT.tagFrom(field.number())),
                     param("field", field.javaFieldName())
             );
-            case FIXED32 -> body("case $fieldTag -> builder.$field(reader.readFixed32());",
+            case FIXED32 -> body("case $fieldTag -> this.$field(reader.readFixed32());",
                     param("fieldTag", I32.tagFrom(field.number())),
                     param("field", field.javaFieldName())
             );
-            case FIXED64 -> body("case $fieldTag -> builder.$field(reader.readFixed64());",
+            case FIXED64 -> body("case $fieldTag -> this.$field(reader.readFixed64());",
                     param("fieldTag", I64.tagFrom(field.number())),
                     param("field", field.javaFieldName())
             );
-            case SFIXED32 -> body("case $fieldTag -> builder.$field(reader.readSfixed32());",
+            case SFIXED32 -> body("case $fieldTag -> this.$field(reader.readSfixed32());",
                     param("fieldTag", I32.tagFrom(field.number())),
                     param("field", field.javaFieldName())
             );
-            case SFIXED64 -> body("case $fieldTag -> builder.$field(reader.readSfixed64());",
+            case SFIXED64 -> body("case $fieldTag -> this.$field(reader.readSfixed64());",
                     param("fieldTag", I64.tagFrom(field.number())),
                     param("field", field.javaFieldName())
             );
-            case BOOL -> body("case $fieldTag -> builder.$field(reader.readBool());",
+            case BOOL -> body("case $fieldTag -> this.$field(reader.readBool());",
                     param("fieldTag", VARINT.tagFrom(field.number())),
                     param("field", field.javaFieldName())
             );
-            case STRING -> body("case $fieldTag -> builder.$field(reader.readString());",
+            case STRING -> body("case $fieldTag -> this.$field(reader.readString());",
                     param("fieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldName())
             );
-            case BYTES -> body("case $fieldTag -> builder.$field(reader.readBytes());",
+            case BYTES -> body("case $fieldTag -> this.$field(reader.readBytes());",
                     param("fieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldName())
             );
-            case MESSAGE -> body("case $fieldTag -> builder.$merge(reader.readMessage($Type::parse));",
+            case MESSAGE -> body("case $fieldTag -> reader.readMessage(this.$nestedBuilder(), $BuilderType::mergeFrom);",
+                    param("fieldTag", LEN.tagFrom(field.number())),
+                    param("nestedBuilder", field.javaFieldName() + "Builder"),
+                    param("BuilderType", field.javaFieldType().with("Builder"))
+            );
+            case RAW_MESSAGE -> body("case $fieldTag -> this.$field($read);",
                     param("fieldTag", LEN.tagFrom(field.number())),
-                    param("merge", field.javaFieldNamePrefixed("merge")),
-                    param("Type", field.javaFieldType())
+                    param("field", field.javaFieldNamePrefixed("merge")),
+                    param("read", scalarRead(field))
+            );
+            case MAP -> body("case $fieldTag -> reader.readMessage(this.$field, $MessageType::$readEntry);",
+                    param("fieldTag", LEN.tagFrom(field.number())),
+                    param("field", field.javaFieldName()),
+                    param("MessageType", message.name()),
+                    param("readEntry", readMapEntryMethodName(field))
             );
             case UNKNOWN -> body();
         };
     }
 
     private CodeBody decodingCodeRepeated(FieldDefinition field) {
+        if (field.isArena()) {
+            return body("case $fieldTag -> $read;",
+                    param("fieldTag", scalarTag(field)),
+                    param("read", arenaRead(field, "this." + field.javaFieldName()))
+            );
+        }
+
         return switch (field.protoKind()) {
             case DOUBLE -> body("""
-                            case $fieldTag -> builder.$field(reader.readDouble());
-                            case $packedFieldTag -> reader.readDoublePacked(builder::$field);""",
+                            case $fieldTag -> this.$field(reader.readDouble());
+                            case $packedFieldTag -> reader.readDoublePacked(this::$field);""",
                     param("fieldTag", I64.tagFrom(field.number())),
                     param("packedFieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldNamePrefixed("add"))
             );
             case FLOAT -> body("""
-                            case $fieldTag -> builder.$field(reader.readFloat());
-                            case $packedFieldTag -> reader.readFloatPacked(builder::$field);""",
+                            case $fieldTag -> this.$field(reader.readFloat());
+                            case $packedFieldTag -> reader.readFloatPacked(this::$field);""",
                     param("fieldTag", I32.tagFrom(field.number())),
                     param("packedFieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldNamePrefixed("add"))
             );
             case INT32 -> body("""
-                            case $fieldTag -> builder.$field(reader.readInt32());
-                            case $packedFieldTag -> reader.readInt32Packed(builder::$field);""",
+                            case $fieldTag -> this.$field(reader.readInt32());
+                            case $packedFieldTag -> reader.readInt32Packed(this::$field);""",
                     param("fieldTag", VARINT.tagFrom(field.number())),
                     param("packedFieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldNamePrefixed("add"))
             );
             case INT64 -> body("""
-                            case $fieldTag -> builder.$field(reader.readInt64());
-                            case $packedFieldTag -> reader.readInt64Packed(builder::$field);""",
+                            case $fieldTag -> this.$field(reader.readInt64());
+                            case $packedFieldTag -> reader.readInt64Packed(this::$field);""",
                     param("fieldTag", VARINT.tagFrom(field.number())),
                     param("packedFieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldNamePrefixed("add"))
             );
             case UINT32 -> body("""
-                            case $fieldTag -> builder.$field(reader.readUint32());
-                            case $packedFieldTag -> reader.readUint32Packed(builder::$field);""",
+                            case $fieldTag -> this.$field(reader.readUint32());
+                            case $packedFieldTag -> reader.readUint32Packed(this::$field);""",
                     param("fieldTag", VARINT.tagFrom(field.number())),
                     param("packedFieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldNamePrefixed("add"))
             );
             case UINT64 -> body("""
-                            case $fieldTag -> builder.$field(reader.readUint64());
-                            case $packedFieldTag -> reader.readUint64Packed(builder::$field);""",
+                            case $fieldTag -> this.$field(reader.readUint64());
+                            case $packedFieldTag -> reader.readUint64Packed(this::$field);""",
                     param("fieldTag", VARINT.tagFrom(field.number())),
                     param("packedFieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldNamePrefixed("add"))
             );
             case SINT32 -> body("""
-                            case $fieldTag -> builder.$field(reader.readSint32());
-                            case $packedFieldTag -> reader.readSint32Packed(builder::$field);""",
+                            case $fieldTag -> this.$field(reader.readSint32());
+                            case $packedFieldTag -> reader.readSint32Packed(this::$field);""",
                     param("fieldTag", VARINT.tagFrom(field.number())),
                     param("packedFieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldNamePrefixed("add"))
             );
             case SINT64 -> body("""
-                            case $fieldTag -> builder.$field(reader.readSint64());
-                            case $packedFieldTag -> reader.readSint64Packed(builder::$field);""",
+                            case $fieldTag -> this.$field(reader.readSint64());
+                            case $packedFieldTag -> reader.readSint64Packed(this::$field);""",
                     param("fieldTag", VARINT.tagFrom(field.number())),
                     param("packedFieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldNamePrefixed("add"))
             );
             case FIXED32 -> body("""
-                            case $fieldTag -> builder.$field(reader.readFixed32());
-                            case $packedFieldTag -> reader.readFixed32Packed(builder::$field);""",
+                            case $fieldTag -> this.$field(reader.readFixed32());
+                            case $packedFieldTag -> reader.readFixed32Packed(this::$field);""",
                     param("fieldTag", I32.tagFrom(field.number())),
                     param("packedFieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldNamePrefixed("add"))
             );
             case FIXED64 -> body("""
-                            case $fieldTag -> builder.$field(reader.readFixed64());
-                            case $packedFieldTag -> reader.readFixed64Packed(builder::$field);""",
+                            case $fieldTag -> this.$field(reader.readFixed64());
+                            case $packedFieldTag -> reader.readFixed64Packed(this::$field);""",
                     param("fieldTag", I64.tagFrom(field.number())),
                     param("packedFieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldNamePrefixed("add"))
             );
             case SFIXED32 -> body("""
-                            case $fieldTag -> builder.$field(reader.readSfixed32());
-                            case $packedFieldTag -> reader.readSfixed32Packed(builder::$field);""",
+                            case $fieldTag -> this.$field(reader.readSfixed32());
+                            case $packedFieldTag -> reader.readSfixed32Packed(this::$field);""",
                     param("fieldTag", I32.tagFrom(field.number())),
                     param("packedFieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldNamePrefixed("add"))
             );
             case SFIXED64 -> body("""
-                            case $fieldTag -> builder.$field(reader.readSfixed64());
-                            case $packedFieldTag -> reader.readSfixed64Packed(builder::$field);""",
+                            case $fieldTag -> this.$field(reader.readSfixed64());
+                            case $packedFieldTag -> reader.readSfixed64Packed(this::$field);""",
                     param("fieldTag", I64.tagFrom(field.number())),
                     param("packedFieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldNamePrefixed("add"))
             );
             case BOOL -> body("""
-                            case $fieldTag -> builder.$field(reader.readBool());
-                            case $packedFieldTag -> reader.readBoolPacked(builder::$field);""",
+                            case $fieldTag -> this.$field(reader.readBool());
+                            case $packedFieldTag -> reader.readBoolPacked(this::$field);""",
                     param("fieldTag", VARINT.tagFrom(field.number())),
                     param("packedFieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldNamePrefixed("add"))
             );
-            case STRING -> body("case $fieldTag -> builder.$field(reader.readString());",
+            case STRING -> body("case $fieldTag -> this.$field(reader.readString());",
                     param("fieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldNamePrefixed("add"))
             );
-            case BYTES -> body("case $fieldTag -> builder.$field(reader.readBytes());",
+            case BYTES -> body("case $fieldTag -> this.$field(reader.readBytes());",
                     param("fieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldNamePrefixed("add"))
             );
-            case MESSAGE -> body("case $fieldTag -> builder.$field(reader.readMessage($Type::parse));",
+            case MESSAGE -> body("case $fieldTag -> this.$field(reader.readMessage($Type::parse));",
                     param("fieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldNamePrefixed("add")),
                     param("Type", field.javaFieldType().generic())
             );
+            case RAW_MESSAGE -> body("case $fieldTag -> this.$field($read);",
+                    param("fieldTag", LEN.tagFrom(field.number())),
+                    param("field", field.javaFieldNamePrefixed("add")),
+                    param("read", scalarRead(field))
+            );
             case ENUM -> body("""
-                            case $fieldTag -> builder.$field(reader.readInt32());
-                            case $packedFieldTag -> reader.readInt32Packed(builder::$field);""",
+                            case $fieldTag -> this.$field(reader.readInt32());
+                            case $packedFieldTag -> reader.readInt32Packed(this::$field);""",
                     param("fieldTag", VARINT.tagFrom(field.number())),
                     param("packedFieldTag", LEN.tagFrom(field.number())),
                     param("field", field.javaFieldNamePrefixed("add") + "Value")
             );
-            case UNKNOWN -> body();
+            case MAP, UNKNOWN -> body();
         };
     }
 
-    private CodeBody defaultCode(MessageDefinition message) {
+    CodeBody defaultCode(MessageDefinition message) {
         Optional<FieldDefinition> defaultField = message.fields().stream()
                 .filter(f -> f.protoKind() == UNKNOWN)
                 .findFirst();
 
         return defaultField
-                .map(field -> body("default -> builder.$field(reader.readUnknownField(tag));",
-                        param("field", field.javaFieldNamePrefixed("add"))))
+                .map(field -> body("default -> $readUnknown",
+                        param("readUnknown", readUnknownField(field, "this." + field.javaFieldName()))))
                 .orElse(body("default -> reader.skip(tag);"));
     }
+
+    private static String readUnknownField(FieldDefinition field, String target) {
+        return field.rules().repeated()
+                ? target + ".add(reader.readUnknownField(tag));"
+                : "reader.readUnknownField(tag, " + target + ");";
+    }
+
+    static List<String> localsToRecord(MessageDefinition message) {
+        return message.fields().stream()
+                .flatMap(field -> field.isInline()
+                        ? field.storedFields().stream().map(DecodingFactory::localName)
+                        : Stream.of(localToRecordTransform(field)))
+                .toList();
+    }
+
+    private static String localToRecordTransform(FieldDefinition field) {
+        if (BuilderClassFactory.isBuilderBacked(field)) {
+            return localName(field) + " == null ? null : " + localName(field) + ".build()";
+        }
+        if (field.protoKind() == MESSAGE) {
+            return localBuilderName(field) + " == null ? " + localName(field) + " : " + localBuilderName(field) + ".build()";
+        }
+
+        return localName(field);
+    }
+
+    private static String localName(FieldDefinition field) {
+        return field.javaFieldName() + "_";
+    }
+
+    private static String localBuilderName(FieldDefinition field) {
+        return field.javaFieldName() + "Builder_";
+    }
+
+    private static String arenaRead(FieldDefinition field, String target) {
+        return field.protoKind() == STRING
+                ? "reader.readString(" + target + ")"
+                : "reader.readBytes(" + target + ")";
+    }
+
+    static String packedReadMethodName(FieldDefinition field) {
+        String read = scalarRead(field);
+        return read.substring("reader.".length(), read.length() - "()".length()) + "Packed";
+    }
+
+    private static String readMapEntryMethodName(FieldDefinition field) {
+        return field.javaFieldNamePrefixed("read") + "Entry";
+    }
+
+    static int scalarTag(FieldDefinition field) {
+        return switch (field.protoKind()) {
+            case DOUBLE, FIXED64, SFIXED64 -> I64.tagFrom(field.number());
+            case FLOAT, FIXED32, SFIXED32 -> I32.tagFrom(field.number());
+            case INT32, INT64, UINT32, UINT64, SINT32, SINT64, BOOL, ENUM -> VARINT.tagFrom(field.number());
+            case STRING, BYTES, MESSAGE, RAW_MESSAGE, MAP, UNKNOWN -> LEN.tagFrom(field.number());
+        };
+    }
+
+    static String scalarRead(FieldDefinition field) {
+        return switch (field.protoKind()) {
+            case DOUBLE -> "reader.readDouble()";
+            case FLOAT -> "reader.readFloat()";
+            case INT32, ENUM -> "reader.readInt32()";
+            case INT64 -> "reader.readInt64()";
+            case UINT32 -> "reader.readUint32()";
+            case UINT64 -> "reader.readUint64()";
+            case SINT32 -> "reader.readSint32()";
+            case SINT64 -> "reader.readSint64()";
+            case FIXED32 -> "reader.readFixed32()";
+            case FIXED64 -> "reader.readFixed64()";
+            case SFIXED32 -> "reader.readSfixed32()";
+            case SFIXED64 -> "reader.readSfixed64()";
+            case BOOL -> "reader.readBool()";
+            case STRING -> "reader.readString()";
+            case BYTES -> "reader.readBytes()";
+            case RAW_MESSAGE -> body("reader.readRawMessage($Type::parse)", param("Type", field.protobufType())).toString();
+            case MESSAGE, MAP, UNKNOWN -> throw new IllegalArgumentException("Not a scalar field: " + field.name());
+        };
+    }
+
+    static String defaultValue(FieldDefinition field) {
+        return switch (field.protoKind()) {
+            case DOUBLE -> "0d";
+            case FLOAT -> "0f";
+            case INT32, UINT32, SINT32, FIXED32, SFIXED32, ENUM -> "0";
+            case INT64, UINT64, SINT64, FIXED64, SFIXED64 -> "0L";
+            case BOOL -> "false";
+            case STRING -> "\"\"";
+            case BYTES -> "com.github.pcimcioch.protobuf.dto.ByteArray.empty()";
+            case MESSAGE, RAW_MESSAGE, MAP, UNKNOWN -> "null";
+        };
+    }
 }
@@ -0,0 +1,148 @@
+package com.github.pcimcioch.protobuf.source;
+
+import com.github.pcimcioch.protobuf.code.ClassSource;
+import com.github.pcimcioch.protobuf.code.CodeBody;
+import com.github.pcimcioch.protobuf.io.WireRewriter;
+import com.github.pcimcioch.protobuf.model.field.FieldDefinition;
+import com.github.pcimcioch.protobuf.model.message.MessageDefinition;
+
+import static com.github.pcimcioch.protobuf.code.AnnotationSource.annotation;
+import static com.github.pcimcioch.protobuf.code.CodeBody.body;
+import static com.github.pcimcioch.protobuf.code.CodeBody.param;
+import static com.github.pcimcioch.protobuf.code.FieldSource.field;
+import static com.github.pcimcioch.protobuf.code.FinalSource.finalModifier;
+import static com.github.pcimcioch.protobuf.code.InitializerSource.initializer;
+import static com.github.pcimcioch.protobuf.code.MethodSource.method;
+import static com.github.pcimcioch.protobuf.code.ParameterSource.parameter;
+import static com.github.pcimcioch.protobuf.code.ReturnSource.returns;
+import static com.github.pcimcioch.protobuf.code.StaticSource.staticModifier;
+import static com.github.pcimcioch.protobuf.code.TypeName.canonicalName;
+import static com.github.pcimcioch.protobuf.code.VisibilitySource.privateVisibility;
+import static com.github.pcimcioch.protobuf.code.VisibilitySource.publicVisibility;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.ENUM;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.MAP;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.MESSAGE;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.UNKNOWN;
+import static java.util.Locale.ENGLISH;
+
+class EditClassFactory {
+    private final EncodingFactory encodingFactory = new EncodingFactory();
+
+    ClassSource buildEditClass(MessageDefinition message) {
+        ClassSource editClass = buildSourceFile(message);
+        addRewriterField(editClass);
+
+        for (FieldDefinition field : message.fields()) {
+            if (field.protoKind() != UNKNOWN) {
+                addFieldEdits(editClass, field, message);
+            }
+        }
+        addBuildMethod(editClass);
+
+        return editClass;
+    }
+
+    private ClassSource buildSourceFile(MessageDefinition message) {
+        return ClassSource.clazz(message.editName())
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(finalModifier());
+    }
+
+    private void addRewriterField(ClassSource editClass) {
+        editClass.add(field(canonicalName(WireRewriter.Builder.class), "rewriter")
+                .set(privateVisibility())
+                .set(finalModifier())
+                .set(initializer(body("$WireRewriter.builder()",
+                        param("WireRewriter", WireRewriter.class))))
+        );
+    }
+
+    private void addFieldEdits(ClassSource editClass, FieldDefinition field, MessageDefinition message) {
+        addSetter(editClass, field, message);
+        if (field.protoKind() == ENUM && !field.rules().repeated()) {
+            addEnumSetter(editClass, field, message);
+        }
+        if (field.protoKind() == MESSAGE && !field.rules().repeated()) {
+            addNestedEdit(editClass, field, message);
+        }
+        addClear(editClass, field, message);
+    }
+
+    private void addSetter(ClassSource editClass, FieldDefinition field, MessageDefinition message) {
+        String parameterName = field.protoKind() == MAP ? "values" : "value";
+        CodeBody body = body("""
+                        this.rewriter.set($number, writer -> {
+                            $encode
+                        });
+                        return this;""",
+                param("number", field.number()),
+                param("encode", encodingFactory.encodingMethod(field, parameterName))
+        );
+
+        editClass.add(method(field.javaFieldName())
+                .set(publicVisibility())
+                .set(returns(message.editName()))
+                .set(body)
+                .add(parameter(field.javaFieldType(), parameterName))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addEnumSetter(ClassSource editClass, FieldDefinition field, MessageDefinition message) {
+        CodeBody body = body("return this.$field(value == null ? 0 : value.number());",
+                param("field", field.javaFieldName())
+        );
+
+        editClass.add(method(field.name())
+                .set(publicVisibility())
+                .set(returns(message.editName()))
+                .set(body)
+                .add(parameter(field.protobufType(), "value"))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addNestedEdit(ClassSource editClass, FieldDefinition field, MessageDefinition message) {
+        CodeBody body = body("""
+                        this.rewriter.edit($number, edit.build());
+                        return this;""",
+                param("number", field.number())
+        );
+
+        editClass.add(method(field.javaFieldNamePrefixed("edit"))
+                .set(publicVisibility())
+                .set(returns(message.editName()))
+                .set(body)
+                .add(parameter(field.javaFieldType().with("Edit"), "edit"))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addClear(ClassSource editClass, FieldDefinition field, MessageDefinition message) {
+        CodeBody body = body("""
+                        this.rewriter.remove($number);
+                        return this;""",
+                param("number", field.number())
+        );
+
+        editClass.add(method(clearName(field))
+                .set(publicVisibility())
+                .set(returns(message.editName()))
+                .set(body)
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addBuildMethod(ClassSource editClass) {
+        editClass.add(method("build")
+                .set(publicVisibility())
+                .set(returns(canonicalName(WireRewriter.class)))
+                .set(body("return this.rewriter.build();"))
+        );
+    }
+
+    private static String clearName(FieldDefinition field) {
+        return "clear" + field.name().substring(0, 1).toUpperCase(ENGLISH) + field.name().substring(1);
+    }
+}
@@ -2,44 +2,129 @@ package com.github.pcimcioch.protobuf.source;
 
 import com.github.pcimcioch.protobuf.code.CodeBody;
 import com.github.pcimcioch.protobuf.code.RecordSource;
+import com.github.pcimcioch.protobuf.dto.EncodedCache;
 import com.github.pcimcioch.protobuf.io.ProtobufWriter;
 import com.github.pcimcioch.protobuf.model.field.FieldDefinition;
 import com.github.pcimcioch.protobuf.model.message.MessageDefinition;
 
 import java.io.IOException;
+import java.util.List;
 
 import static com.github.pcimcioch.protobuf.code.AnnotationSource.annotation;
 import static com.github.pcimcioch.protobuf.code.CodeBody.body;
 import static com.github.pcimcioch.protobuf.code.CodeBody.param;
+import static com.github.pcimcioch.protobuf.code.FieldSource.field;
+import static com.github.pcimcioch.protobuf.code.FinalSource.finalModifier;
+import static com.github.pcimcioch.protobuf.code.InitializerSource.initializer;
 import static com.github.pcimcioch.protobuf.code.MethodSource.method;
 import static com.github.pcimcioch.protobuf.code.ParameterSource.parameter;
+import static com.github.pcimcioch.protobuf.code.ReturnSource.returns;
+import static com.github.pcimcioch.protobuf.code.StaticSource.staticModifier;
 import static com.github.pcimcioch.protobuf.code.ThrowsSource.throwsEx;
+import static com.github.pcimcioch.protobuf.code.TypeName.canonicalName;
+import static com.github.pcimcioch.protobuf.code.VisibilitySource.privateVisibility;
 import static com.github.pcimcioch.protobuf.code.VisibilitySource.publicVisibility;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.MAP;
 
 class EncodingFactory {
+    private final SizeFactory sizeFactory = new SizeFactory();
 
     void addEncodingMethods(RecordSource messageRecord, MessageDefinition message) {
-        addMethodWriteToProtobufWriter(messageRecord, message);
+        if (message.cacheEncoded()) {
+            addEncodedCache(messageRecord, message);
+            addMethodWriteFieldsTo(messageRecord, message);
+            addMethodWriteCachedTo(messageRecord);
+        } else {
+            addMethodWriteToProtobufWriter(messageRecord, message);
+        }
     }
 
     private void addMethodWriteToProtobufWriter(RecordSource record, MessageDefinition message) {
-        CodeBody body = body();
+        record.add(method("writeTo")
+                .set(publicVisibility())
+                .add(throwsEx(IOException.class))
+                .set(fieldsEncodingBody(message))
+                .add(annotation(Override.class))
+                .add(parameter(ProtobufWriter.class, "writer"))
+        );
+    }
 
-        for (FieldDefinition field : message.fields()) {
-            body.appendExceptFirst("\n");
-            body.append(encodingMethod(field));
-        }
+    private void addEncodedCache(RecordSource record, MessageDefinition message) {
+        record.add(field(canonicalName(EncodedCache.class).of(message.name()), "ENCODED")
+                .set(privateVisibility())
+                .set(staticModifier())
+                .set(finalModifier())
+                .set(initializer(body("new $EncodedCache<>($Message::computeProtobufSize, $Message::writeFieldsTo)",
+                        param("EncodedCache", EncodedCache.class),
+                        param("Message", message.name())
+                )))
+        );
+    }
+
+    private void addMethodWriteFieldsTo(RecordSource record, MessageDefinition message) {
+        record.add(method("writeFieldsTo")
+                .set(privateVisibility())
+                .add(throwsEx(IOException.class))
+                .set(fieldsEncodingBody(message))
+                .add(parameter(ProtobufWriter.class, "writer"))
+        );
+    }
 
+    private void addMethodWriteCachedTo(RecordSource record) {
         record.add(method("writeTo")
                 .set(publicVisibility())
                 .add(throwsEx(IOException.class))
-                .set(body)
+                .set(body("writer.writeEncoded(ENCODED.get(this));"))
                 .add(annotation(Override.class))
                 .add(parameter(ProtobufWriter.class, "writer"))
         );
+        record.add(method("cachedEncoding")
+                .set(publicVisibility())
+                .set(returns(byte[].class))
+                .set(body("return ENCODED.get(this);"))
+                .add(annotation(Override.class))
+        );
     }
 
-    private CodeBody encodingMethod(FieldDefinition field) {
+    private CodeBody fieldsEncodingBody(MessageDefinition message) {
+        CodeBody body = body();
+
+        for (FieldDefinition field : message.fields()) {
+            body.appendExceptFirst("\n");
+            body.append(field.isInline()
+                    ? inlineEncodingMethod(field)
+                    : encodingMethod(field, "this." + field.javaFieldName()));
+        }
+
+        return body;
+    }
+
+    private CodeBody inlineEncodingMethod(FieldDefinition field) {
+        List<FieldDefinition> storedFields = field.storedFields();
+        List<FieldDefinition> components = storedFields.subList(1, storedFields.size());
+        CodeBody writeComponents = body();
+        for (FieldDefinition component : components) {
+            writeComponents.appendExceptFirst("\n");
+            writeComponents.append(encodingMethod(component, "this." + component.javaFieldName()));
+        }
+
+        return body("""
+                        if (this.$presence) {
+                            writer.writeLengthDelimitedHeader($number, $size);
+                            $writeComponents
+                        }""",
+                param("presence", storedFields.get(0).javaFieldName()),
+                param("number", field.number()),
+                param("size", components.stream().map(sizeFactory::sizeMethod).toList(), " + "),
+                param("writeComponents", writeComponents)
+        );
+    }
+
+    CodeBody encodingMethod(FieldDefinition field, String name) {
+        if (field.protoKind() == MAP) {
+            return mapEncodingMethod(field, name);
+        }
+
         String suffix = field.rules().repeated()
                 ? field.rules().packed() ? "Packed" : "Unpacked"
                 : "";
@@ -59,15 +144,37 @@ class EncodingFactory {
             case BOOL -> "writer.writeBool$suffix($number, $name);";
             case STRING -> "writer.writeString$suffix($number, $name);";
             case MESSAGE -> "writer.writeMessage$suffix($number, $name);";
+            case RAW_MESSAGE -> "writer.writeRawMessage$suffix($number, $name);";
             case UNKNOWN -> "writer.writeUnknownFields$suffix($name);";
             case BYTES -> "writer.writeBytes$suffix($number, $name);";
             case ENUM -> field.rules().repeated() ? "writer.writeEnum$suffix($number, $name);" : "writer.writeInt32$suffix($number, $name);";
+            case MAP -> throw new IllegalArgumentException("Map field must be encoded entry by entry");
         };
 
         return body(method,
                 param("suffix", suffix),
                 param("number", field.number()),
-                param("name", field.javaFieldName())
+                param("name", name)
+        );
+    }
+
+    private CodeBody mapEncodingMethod(FieldDefinition field, String name) {
+        return body("""
+                        for (int i = 0; i < $name.size(); i++) {
+                            $KeyType key = $name.keyAt(i);
+                            $ValueType value = $name.valueAt(i);
+                            writer.writeLengthDelimitedHeader($number, $keySize + $valueSize);
+                            $writeKey
+                            $writeValue
+                        }""",
+                param("name", name),
+                param("number", field.number()),
+                param("KeyType", field.mapKey().javaFieldType()),
+                param("ValueType", field.mapValue().javaFieldType()),
+                param("keySize", sizeFactory.sizeMethod(field.mapKey())),
+                param("valueSize", sizeFactory.sizeMethod(field.mapValue())),
+                param("writeKey", encodingMethod(field.mapKey(), field.mapKey().javaFieldName())),
+                param("writeValue", encodingMethod(field.mapValue(), field.mapValue().javaFieldName()))
         );
     }
 }
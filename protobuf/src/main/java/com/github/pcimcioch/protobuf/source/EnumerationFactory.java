@@ -7,7 +7,10 @@ import com.github.pcimcioch.protobuf.dto.ProtobufEnumeration;
 import com.github.pcimcioch.protobuf.model.message.EnumerationDefinition;
 import com.github.pcimcioch.protobuf.model.message.EnumerationElementDefinition;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static com.github.pcimcioch.protobuf.code.AnnotationSource.annotation;
@@ -16,9 +19,11 @@ import static com.github.pcimcioch.protobuf.code.CodeBody.param;
 import static com.github.pcimcioch.protobuf.code.ConstructorSource.constructor;
 import static com.github.pcimcioch.protobuf.code.EnumElementSource.element;
 import static com.github.pcimcioch.protobuf.code.EnumSource.enumeration;
+import static com.github.pcimcioch.protobuf.code.FieldSource.arrayField;
 import static com.github.pcimcioch.protobuf.code.FieldSource.field;
 import static com.github.pcimcioch.protobuf.code.FinalSource.finalModifier;
 import static com.github.pcimcioch.protobuf.code.ImplementsSource.implementz;
+import static com.github.pcimcioch.protobuf.code.InitializerSource.initializer;
 import static com.github.pcimcioch.protobuf.code.MethodSource.method;
 import static com.github.pcimcioch.protobuf.code.ParameterSource.parameter;
 import static com.github.pcimcioch.protobuf.code.ReturnSource.returns;
@@ -89,18 +94,57 @@ class EnumerationFactory {
     }
 
     private void addFactoryMethod(EnumSource source, EnumerationDefinition enumeration) {
+        List<EnumerationElementDefinition> elements = distinctElements(enumeration);
+        List<EnumerationElementDefinition> sortedElements = elements.stream()
+                .sorted(Comparator.comparingInt(EnumerationElementDefinition::number))
+                .toList();
+
+        if (isDense(sortedElements)) {
+            addDenseFactoryMethod(source, enumeration, sortedElements);
+        } else {
+            addSwitchFactoryMethod(source, enumeration, elements);
+        }
+    }
+
+    private void addDenseFactoryMethod(EnumSource source, EnumerationDefinition enumeration,
+                                       List<EnumerationElementDefinition> sortedElements) {
+        int min = sortedElements.get(0).number();
+        source.add(arrayField(enumeration.name(), "BY_NUMBER")
+                .set(privateVisibility())
+                .set(staticModifier())
+                .set(finalModifier())
+                .set(initializer(body("{$names}",
+                        param("names", sortedElements.stream().map(EnumerationElementDefinition::name).toList())
+                )))
+        );
+
+        CodeBody body = body("""
+                        int index = $index;
+                        return index >= 0 && index < BY_NUMBER.length ? BY_NUMBER[index] : $unrecognized;""",
+                param("index", min == 0 ? "number" : "number - (" + min + ")"),
+                param("unrecognized", UNRECOGNIZED_ELEMENT_NAME)
+        );
+
+        source.add(method("forNumber")
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(returns(enumeration.name()))
+                .set(body)
+                .add(parameter(int.class, "number"))
+        );
+    }
+
+    private void addSwitchFactoryMethod(EnumSource source, EnumerationDefinition enumeration,
+                                        List<EnumerationElementDefinition> elements) {
         CodeBody body = body();
 
         body.appendln("return switch(number) {");
 
-        Set<Integer> numbers = new HashSet<>();
-        for (EnumerationElementDefinition element : enumeration.elements()) {
-            if (numbers.add(element.number())) {
-                body.appendln("case $number -> $name;",
-                        param("number", element.number()),
-                        param("name", element.name())
-                );
-            }
+        for (EnumerationElementDefinition element : elements) {
+            body.appendln("case $number -> $name;",
+                    param("number", element.number()),
+                    param("name", element.name())
+            );
         }
         body
                 .appendln("default -> $unrecognized;",
@@ -117,6 +161,23 @@ class EnumerationFactory {
         );
     }
 
+    private static List<EnumerationElementDefinition> distinctElements(EnumerationDefinition enumeration) {
+        Set<Integer> numbers = new HashSet<>();
+        List<EnumerationElementDefinition> elements = new ArrayList<>();
+        for (EnumerationElementDefinition element : enumeration.elements()) {
+            if (numbers.add(element.number())) {
+                elements.add(element);
+            }
+        }
+        return elements;
+    }
+
+    private static boolean isDense(List<EnumerationElementDefinition> sortedElements) {
+        int min = sortedElements.get(0).number();
+        int max = sortedElements.get(sortedElements.size() - 1).number();
+        return (long) max - min + 1 == sortedElements.size();
+    }
+
     private void addDefaultValueMethod(EnumSource source, EnumerationDefinition enumeration) {
         CodeBody body = body("return $ELEMENT;",
                 param("ELEMENT", enumeration.defaultElement().name())
@@ -1,26 +1,44 @@
 package com.github.pcimcioch.protobuf.source;
 
+import com.github.pcimcioch.protobuf.code.ClassSource;
 import com.github.pcimcioch.protobuf.code.CodeBody;
+import com.github.pcimcioch.protobuf.code.ConstructorSource;
 import com.github.pcimcioch.protobuf.code.RecordSource;
 import com.github.pcimcioch.protobuf.code.TypeName;
 import com.github.pcimcioch.protobuf.dto.IntList;
 import com.github.pcimcioch.protobuf.dto.ProtoDto;
 import com.github.pcimcioch.protobuf.dto.ProtobufMessage;
+import com.github.pcimcioch.protobuf.dto.RawMessage;
 import com.github.pcimcioch.protobuf.model.field.FieldDefinition;
 import com.github.pcimcioch.protobuf.model.message.MessageDefinition;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 import static com.github.pcimcioch.protobuf.code.AnnotationSource.annotation;
 import static com.github.pcimcioch.protobuf.code.CodeBody.body;
 import static com.github.pcimcioch.protobuf.code.CodeBody.param;
 import static com.github.pcimcioch.protobuf.code.CompactConstructorSource.compactConstructor;
+import static com.github.pcimcioch.protobuf.code.ConstructorSource.constructor;
 import static com.github.pcimcioch.protobuf.code.ImplementsSource.implementz;
 import static com.github.pcimcioch.protobuf.code.MethodSource.method;
 import static com.github.pcimcioch.protobuf.code.ParameterSource.parameter;
 import static com.github.pcimcioch.protobuf.code.RecordSource.record;
 import static com.github.pcimcioch.protobuf.code.ReturnSource.returns;
+import static com.github.pcimcioch.protobuf.code.StaticSource.staticModifier;
 import static com.github.pcimcioch.protobuf.code.VisibilitySource.publicVisibility;
 import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.ENUM;
 import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.MESSAGE;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.RAW_MESSAGE;
+import static com.github.pcimcioch.protobuf.source.MessageFeature.COLUMNS;
+import static com.github.pcimcioch.protobuf.source.MessageFeature.EDIT;
+import static com.github.pcimcioch.protobuf.source.MessageFeature.MUTABLE;
+import static com.github.pcimcioch.protobuf.source.MessageFeature.SINKS;
+import static com.github.pcimcioch.protobuf.source.MessageFeature.STREAMING;
+import static com.github.pcimcioch.protobuf.source.MessageFeature.VISITOR;
+import static com.github.pcimcioch.protobuf.source.MessageFeature.WHERE;
 
 class MessageFactory {
     private final EncodingFactory encodingFactory = new EncodingFactory();
@@ -28,20 +46,59 @@ class MessageFactory {
     private final SizeFactory sizeFactory = new SizeFactory();
     private final BuilderMethodsFactory builderMethodsFactory = new BuilderMethodsFactory();
     private final BuilderClassFactory builderClassFactory = new BuilderClassFactory();
+    private final MutableClassFactory mutableClassFactory = new MutableClassFactory();
+    private final EditClassFactory editClassFactory = new EditClassFactory();
+    private final WhereClassFactory whereClassFactory = new WhereClassFactory();
+    private final VisitorFactory visitorFactory = new VisitorFactory();
+    private final StreamWriterFactory streamWriterFactory = new StreamWriterFactory();
+    private final SinksFactory sinksFactory = new SinksFactory();
+    private final ColumnsFactory columnsFactory = new ColumnsFactory();
+    private final Set<MessageFeature> features;
+
+    MessageFactory(Set<MessageFeature> features) {
+        this.features = EnumSet.noneOf(MessageFeature.class);
+        this.features.addAll(features);
+    }
 
     RecordSource buildMessageRecord(MessageDefinition message) {
         RecordSource source = buildSourceFile(message);
 
         for (FieldDefinition field : message.fields()) {
-            addField(source, field);
+            for (FieldDefinition storedField : field.storedFields()) {
+                addField(source, storedField);
+            }
             addFieldGetter(source, field);
         }
         addConstructor(source, message);
+        if (hasInlineFields(message)) {
+            addInlineConstructor(source, message);
+        }
         addEncodingMethods(source, message);
         addDecodingMethods(source, message);
         addSizeMethods(source, message);
         addBuilderMethods(source, message);
         addBuilderClass(source, message);
+        if (features.contains(MUTABLE)) {
+            addMutableClass(source, message);
+        }
+        if (features.contains(EDIT)) {
+            addEditClass(source, message);
+        }
+        if (features.contains(WHERE)) {
+            addWhereClass(source, message);
+        }
+        if (features.contains(VISITOR)) {
+            addVisitor(source, message);
+        }
+        if (features.contains(STREAMING)) {
+            addStreamWriter(source, message);
+        }
+        if (features.contains(SINKS) && sinksFactory.hasSinks(message)) {
+            addSinks(source, message);
+        }
+        if (features.contains(COLUMNS)) {
+            addColumns(source, message);
+        }
 
         return source;
     }
@@ -68,7 +125,14 @@ class MessageFactory {
                 addEnumSingleGetter(source, field);
             }
             if (field.protoKind() == MESSAGE) {
-                addMessageGetter(source, field);
+                if (field.isInline()) {
+                    addInlineMessageGetter(source, field);
+                } else {
+                    addMessageGetter(source, field);
+                }
+            }
+            if (field.protoKind() == RAW_MESSAGE) {
+                addRawMessageGetter(source, field);
             }
         }
     }
@@ -115,13 +179,53 @@ class MessageFactory {
         );
     }
 
+    private void addInlineMessageGetter(RecordSource source, FieldDefinition field) {
+        List<FieldDefinition> storedFields = field.storedFields();
+        CodeBody body = body("return $presence ? new $FieldType($components) : $FieldType.empty();",
+                param("presence", storedFields.get(0).javaFieldName()),
+                param("FieldType", field.javaFieldType()),
+                param("components", storedFields.subList(1, storedFields.size()).stream()
+                        .map(FieldDefinition::javaFieldName)
+                        .toList())
+        );
+
+        source.add(method(field.javaFieldName())
+                .set(publicVisibility())
+                .set(returns(field.javaFieldType()))
+                .set(body)
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addRawMessageGetter(RecordSource source, FieldDefinition field) {
+        CodeBody body = body("return $field == null ? $RawMessage.empty($Type::parse) : $field;",
+                param("field", field.javaFieldName()),
+                param("RawMessage", RawMessage.class),
+                param("Type", field.protobufType())
+        );
+
+        source.add(method(field.javaFieldName())
+                .set(publicVisibility())
+                .set(returns(field.javaFieldType()))
+                .set(body)
+                .add(annotation(Override.class))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
     private void addConstructor(RecordSource source, MessageDefinition message) {
         CodeBody body = body();
         for (FieldDefinition field : message.fields()) {
-            body.append("$fieldName = $ProtoDto.copy($fieldName);",
-                    param("fieldName", field.javaFieldName()),
-                    param("ProtoDto", ProtoDto.class)
-            );
+            for (FieldDefinition storedField : field.storedFields()) {
+                body.append("$fieldName = $ProtoDto.copy($fieldName);",
+                        param("fieldName", storedField.javaFieldName()),
+                        param("ProtoDto", ProtoDto.class)
+                );
+            }
+            if (field.isInline()) {
+                body.appendln("");
+                body.append(inlinePresenceNormalization(field));
+            }
         }
 
         source.add(compactConstructor()
@@ -130,6 +234,76 @@ class MessageFactory {
         );
     }
 
+    // inline message is present only if it is not empty, same as nested message field that stores empty message as null
+    private CodeBody inlinePresenceNormalization(FieldDefinition field) {
+        List<FieldDefinition> storedFields = field.storedFields();
+        List<FieldDefinition> components = storedFields.subList(1, storedFields.size());
+        CodeBody reset = body();
+        for (FieldDefinition component : components) {
+            reset.appendln("$field = $default;",
+                    param("field", component.javaFieldName()),
+                    param("default", DecodingFactory.defaultValue(component)));
+        }
+
+        return body("""
+                        $presence = $presence && !($isDefault);
+                        if (!$presence) {
+                            $reset
+                        }
+                        """,
+                param("presence", storedFields.get(0).javaFieldName()),
+                param("isDefault", components.stream().map(MessageFactory::isDefaultValue).toList(), " && "),
+                param("reset", reset)
+        );
+    }
+
+    private static String isDefaultValue(FieldDefinition field) {
+        String name = field.javaFieldName();
+        return switch (field.protoKind()) {
+            case DOUBLE -> "Double.compare(" + name + ", 0d) == 0";
+            case FLOAT -> "Float.compare(" + name + ", 0f) == 0";
+            case INT32, UINT32, SINT32, FIXED32, SFIXED32, ENUM -> name + " == 0";
+            case INT64, UINT64, SINT64, FIXED64, SFIXED64 -> name + " == 0L";
+            case BOOL -> "!" + name;
+            case STRING, BYTES -> name + ".isEmpty()";
+            case MESSAGE, RAW_MESSAGE, MAP, UNKNOWN ->
+                    throw new IllegalArgumentException("Field cannot be inline: " + field.name());
+        };
+    }
+
+    private void addInlineConstructor(RecordSource source, MessageDefinition message) {
+        List<String> parameters = new ArrayList<>();
+        for (FieldDefinition field : message.fields()) {
+            if (!field.isInline()) {
+                parameters.add(field.javaFieldName());
+                continue;
+            }
+
+            parameters.add(field.javaFieldName() + " != null");
+            for (FieldDefinition inlineField : field.inlineFields()) {
+                parameters.add(body("$field == null ? $default : $field.$component()",
+                        param("field", field.javaFieldName()),
+                        param("default", DecodingFactory.defaultValue(inlineField)),
+                        param("component", inlineField.javaFieldName())
+                ).toString());
+            }
+        }
+
+        ConstructorSource constructor = constructor()
+                .set(publicVisibility())
+                .set(body("this($parameters);", param("parameters", parameters)));
+        for (FieldDefinition field : message.fields()) {
+            constructor.add(parameter(field.javaFieldType(), field.javaFieldName())
+                    .addIf(annotation(Deprecated.class), field.rules().deprecated()));
+        }
+
+        source.add(constructor);
+    }
+
+    private static boolean hasInlineFields(MessageDefinition message) {
+        return message.fields().stream().anyMatch(FieldDefinition::isInline);
+    }
+
     private void addEncodingMethods(RecordSource source, MessageDefinition message) {
         encodingFactory.addEncodingMethods(source, message);
     }
@@ -147,6 +321,59 @@ class MessageFactory {
     }
 
     private void addBuilderClass(RecordSource source, MessageDefinition message) {
-        source.add(builderClassFactory.buildBuilderClass(message));
+        ClassSource builderClass = builderClassFactory.buildBuilderClass(message);
+        decodingFactory.addBuilderDecodingMethods(builderClass, message);
+        if (features.contains(SINKS) && sinksFactory.hasSinks(message)) {
+            sinksFactory.addBuilderSinksMethods(builderClass, message);
+        }
+        source.add(builderClass);
+    }
+
+    private void addMutableClass(RecordSource source, MessageDefinition message) {
+        ClassSource mutableClass = mutableClassFactory.buildMutableClass(message);
+        decodingFactory.addMutableDecodingMethods(mutableClass, message);
+        source.add(mutableClass);
+    }
+
+    private void addEditClass(RecordSource source, MessageDefinition message) {
+        source.add(method("edit")
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(returns(message.editName()))
+                .set(body("return new $EditType();",
+                        param("EditType", message.editName())))
+        );
+        source.add(editClassFactory.buildEditClass(message));
+    }
+
+    private void addWhereClass(RecordSource source, MessageDefinition message) {
+        source.add(method("where")
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(returns(message.whereName()))
+                .set(body("return new $WhereType();",
+                        param("WhereType", message.whereName())))
+        );
+        source.add(whereClassFactory.buildWhereClass(message));
+    }
+
+    private void addVisitor(RecordSource source, MessageDefinition message) {
+        visitorFactory.addVisitMethods(source, message);
+        source.add(visitorFactory.buildVisitorInterface(message));
+    }
+
+    private void addStreamWriter(RecordSource source, MessageDefinition message) {
+        streamWriterFactory.addStreamWriterMethod(source, message);
+        source.add(streamWriterFactory.buildStreamWriterClass(message));
+    }
+
+    private void addSinks(RecordSource source, MessageDefinition message) {
+        sinksFactory.addSinksMethods(source, message);
+        source.add(sinksFactory.buildSinksClass(message));
+    }
+
+    private void addColumns(RecordSource source, MessageDefinition message) {
+        columnsFactory.addParseColumnsMethods(source, message);
+        source.add(columnsFactory.buildColumnsClass(message));
     }
 }
@@ -0,0 +1,42 @@
+package com.github.pcimcioch.protobuf.source;
+
+/**
+ * Optional parts of the generated message records
+ */
+public enum MessageFeature {
+    /**
+     * Nested {@code Mutable} class, that can be reused to decode many messages without allocations
+     */
+    MUTABLE,
+
+    /**
+     * Nested {@code Edit} class, that patches encoded messages without decoding them
+     */
+    EDIT,
+
+    /**
+     * Nested {@code Where} class, that filters encoded messages without decoding them
+     */
+    WHERE,
+
+    /**
+     * Nested {@code Visitor} interface, and {@code visit} methods that decode messages straight into its callbacks
+     */
+    VISITOR,
+
+    /**
+     * Nested {@code StreamWriter} class, that writes message field by field, without building message object first
+     */
+    STREAMING,
+
+    /**
+     * Nested {@code Sinks} class, and {@code parse} methods that pass repeated elements to the sinks instead of
+     * collecting them
+     */
+    SINKS,
+
+    /**
+     * Nested {@code Columns} class, that keeps many messages as one list per field
+     */
+    COLUMNS
+}
@@ -0,0 +1,321 @@
+package com.github.pcimcioch.protobuf.source;
+
+import com.github.pcimcioch.protobuf.code.ClassSource;
+import com.github.pcimcioch.protobuf.code.CodeBody;
+import com.github.pcimcioch.protobuf.code.TypeName;
+import com.github.pcimcioch.protobuf.dto.ProtoDto;
+import com.github.pcimcioch.protobuf.dto.ReusableList;
+import com.github.pcimcioch.protobuf.io.ProtobufReader;
+import com.github.pcimcioch.protobuf.model.field.FieldDefinition;
+import com.github.pcimcioch.protobuf.model.message.MessageDefinition;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+import static com.github.pcimcioch.protobuf.code.AnnotationSource.annotation;
+import static com.github.pcimcioch.protobuf.code.CodeBody.body;
+import static com.github.pcimcioch.protobuf.code.CodeBody.param;
+import static com.github.pcimcioch.protobuf.code.FieldSource.field;
+import static com.github.pcimcioch.protobuf.code.FinalSource.finalModifier;
+import static com.github.pcimcioch.protobuf.code.InitializerSource.initializer;
+import static com.github.pcimcioch.protobuf.code.MethodSource.method;
+import static com.github.pcimcioch.protobuf.code.ParameterSource.parameter;
+import static com.github.pcimcioch.protobuf.code.ReturnSource.returns;
+import static com.github.pcimcioch.protobuf.code.StaticSource.staticModifier;
+import static com.github.pcimcioch.protobuf.code.ThrowsSource.throwsEx;
+import static com.github.pcimcioch.protobuf.code.TypeName.canonicalName;
+import static com.github.pcimcioch.protobuf.code.VisibilitySource.privateVisibility;
+import static com.github.pcimcioch.protobuf.code.VisibilitySource.publicVisibility;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.ENUM;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.MAP;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.MESSAGE;
+
+class MutableClassFactory {
+
+    ClassSource buildMutableClass(MessageDefinition message) {
+        ClassSource mutableClass = buildSourceFile(message);
+
+        for (FieldDefinition field : message.fields()) {
+            addField(mutableClass, field);
+            addFieldAccessors(mutableClass, field, message);
+        }
+        addClearMethod(mutableClass, message);
+        addParseIntoMethod(mutableClass, message);
+        addToImmutableMethod(mutableClass, message);
+
+        return mutableClass;
+    }
+
+    private ClassSource buildSourceFile(MessageDefinition message) {
+        return ClassSource.clazz(message.mutableName())
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(finalModifier());
+    }
+
+    private void addField(ClassSource mutableClass, FieldDefinition field) {
+        if (isRepeatedMessage(field)) {
+            mutableClass.add(field(canonicalName(ReusableList.class).of(nestedMutableType(field)), field.javaFieldName())
+                    .set(privateVisibility())
+                    .set(finalModifier())
+                    .set(initializer(body("new $ReusableList<>($Type::new, $Type::clear)",
+                            param("ReusableList", ReusableList.class),
+                            param("Type", nestedMutableType(field)))))
+            );
+        } else if (BuilderClassFactory.isBuilderBacked(field)) {
+            mutableClass.add(field(BuilderClassFactory.builderFieldType(field), field.javaFieldName())
+                    .set(privateVisibility())
+                    .set(finalModifier())
+                    .set(initializer(BuilderClassFactory.newBuilderValue(field)))
+            );
+            if (hasAdder(field)) {
+                mutableClass.add(field(adderType(field), adderName(field))
+                        .set(privateVisibility())
+                        .set(finalModifier())
+                        .set(initializer(body("this.$field::$add",
+                                param("field", field.javaFieldName()),
+                                param("add", field.protoKind() == ENUM ? "addValue" : "add"))))
+                );
+            }
+        } else if (field.protoKind() == MESSAGE) {
+            mutableClass.add(field(nestedMutableType(field), field.javaFieldName())
+                    .set(privateVisibility())
+                    .set(initializer("null"))
+            );
+            mutableClass.add(field(boolean.class, presenceName(field))
+                    .set(privateVisibility())
+                    .set(initializer("false"))
+            );
+        } else {
+            mutableClass.add(field(field.javaFieldType(), field.javaFieldName())
+                    .set(privateVisibility())
+                    .set(initializer(BuilderClassFactory.singleDefaultValue(field)))
+            );
+        }
+    }
+
+    private void addFieldAccessors(ClassSource mutableClass, FieldDefinition field, MessageDefinition message) {
+        if (isRepeatedMessage(field)) {
+            addGetter(mutableClass, field, canonicalName(ReusableList.class).of(nestedMutableType(field)));
+        } else if (BuilderClassFactory.isBuilderBacked(field)) {
+            addGetter(mutableClass, field, BuilderClassFactory.builderFieldType(field));
+        } else if (field.protoKind() == MESSAGE) {
+            addMessageGetters(mutableClass, field);
+        } else {
+            addGetter(mutableClass, field, field.javaFieldType());
+            addSetter(mutableClass, field, message);
+            if (field.protoKind() == ENUM) {
+                addEnumAccessors(mutableClass, field, message);
+            }
+        }
+    }
+
+    private void addGetter(ClassSource mutableClass, FieldDefinition field, TypeName type) {
+        CodeBody body = body("return this.$field;",
+                param("field", field.javaFieldName())
+        );
+
+        mutableClass.add(method(field.javaFieldName())
+                .set(publicVisibility())
+                .set(returns(type))
+                .set(body)
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addSetter(ClassSource mutableClass, FieldDefinition field, MessageDefinition message) {
+        CodeBody body = body("""
+                        this.$field = $ProtoDto.copy(value);
+                        return this;""",
+                param("field", field.javaFieldName()),
+                param("ProtoDto", ProtoDto.class)
+        );
+
+        mutableClass.add(method(field.javaFieldName())
+                .set(publicVisibility())
+                .set(returns(message.mutableName()))
+                .set(body)
+                .add(parameter(field.javaFieldType(), "value"))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addEnumAccessors(ClassSource mutableClass, FieldDefinition field, MessageDefinition message) {
+        CodeBody getterBody = body("return $EnumType.forNumber(this.$field);",
+                param("EnumType", field.protobufType()),
+                param("field", field.javaFieldName())
+        );
+        mutableClass.add(method(field.name())
+                .set(publicVisibility())
+                .set(returns(field.protobufType()))
+                .set(getterBody)
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+
+        CodeBody setterBody = body("return this.$field(value == null ? 0 : value.number());",
+                param("field", field.javaFieldName())
+        );
+        mutableClass.add(method(field.name())
+                .set(publicVisibility())
+                .set(returns(message.mutableName()))
+                .set(setterBody)
+                .add(parameter(field.protobufType(), "value"))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addMessageGetters(ClassSource mutableClass, FieldDefinition field) {
+        CodeBody presenceBody = body("return this.$presence;",
+                param("presence", presenceName(field))
+        );
+        mutableClass.add(method(presenceName(field))
+                .set(publicVisibility())
+                .set(returns(boolean.class))
+                .set(presenceBody)
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+
+        CodeBody getterBody = body("return this.$presence ? this.$field : null;",
+                param("presence", presenceName(field)),
+                param("field", field.javaFieldName())
+        );
+        mutableClass.add(method(field.javaFieldName())
+                .set(publicVisibility())
+                .set(returns(nestedMutableType(field)))
+                .set(getterBody)
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+
+        CodeBody mutableBody = body("""
+                        if (this.$field == null) {
+                          this.$field = new $Type();
+                        } else if (!this.$presence) {
+                          this.$field.clear();
+                        }
+                        this.$presence = true;
+                        return this.$field;""",
+                param("field", field.javaFieldName()),
+                param("presence", presenceName(field)),
+                param("Type", nestedMutableType(field))
+        );
+        mutableClass.add(method(mutableGetterName(field))
+                .set(publicVisibility())
+                .set(returns(nestedMutableType(field)))
+                .set(mutableBody)
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addClearMethod(ClassSource mutableClass, MessageDefinition message) {
+        CodeBody body = body();
+        for (FieldDefinition field : message.fields()) {
+            if (BuilderClassFactory.isBuilderBacked(field)) {
+                body.appendln("this.$field.clear();",
+                        param("field", field.javaFieldName()));
+            } else if (field.protoKind() == MESSAGE) {
+                body.appendln("this.$presence = false;",
+                        param("presence", presenceName(field)));
+            } else {
+                body.appendln("this.$field = $default;",
+                        param("field", field.javaFieldName()),
+                        param("default", BuilderClassFactory.singleDefaultValue(field)));
+            }
+        }
+        body.append("return this;");
+
+        mutableClass.add(method("clear")
+                .set(publicVisibility())
+                .set(returns(message.mutableName()))
+                .set(body)
+        );
+    }
+
+    private void addParseIntoMethod(ClassSource mutableClass, MessageDefinition message) {
+        CodeBody body = body("return this.clear().mergeFrom(reader);");
+
+        mutableClass.add(method("parseInto")
+                .set(publicVisibility())
+                .set(returns(message.mutableName()))
+                .add(throwsEx(IOException.class))
+                .set(body)
+                .add(parameter(ProtobufReader.class, "reader"))
+        );
+    }
+
+    private void addToImmutableMethod(ClassSource mutableClass, MessageDefinition message) {
+        List<String> constructorParameters = message.fields().stream()
+                .map(MutableClassFactory::fieldToRecordTransform)
+                .toList();
+
+        CodeBody body = body("return new $MessageType($constructorParameters);",
+                param("MessageType", message.name()),
+                param("constructorParameters", constructorParameters));
+
+        mutableClass.add(method("toImmutable")
+                .set(publicVisibility())
+                .set(returns(message.name()))
+                .set(body)
+        );
+    }
+
+    private static String fieldToRecordTransform(FieldDefinition field) {
+        if (isRepeatedMessage(field)) {
+            return body("this.$field.build($Type::toImmutable)",
+                    param("field", field.javaFieldName()),
+                    param("Type", nestedMutableType(field))).toString();
+        }
+        if (BuilderClassFactory.isBuilderBacked(field)) {
+            return "this." + field.javaFieldName() + ".build()";
+        }
+        if (field.protoKind() == MESSAGE) {
+            return "this." + presenceName(field) + " ? this." + field.javaFieldName() + ".toImmutable() : null";
+        }
+
+        return "this." + field.javaFieldName();
+    }
+
+    static boolean hasAdder(FieldDefinition field) {
+        return field.rules().repeated() && switch (field.protoKind()) {
+            case DOUBLE, FLOAT, INT32, INT64, UINT32, UINT64, SINT32, SINT64,
+                    FIXED32, FIXED64, SFIXED32, SFIXED64, BOOL, ENUM -> true;
+            case STRING, BYTES, MESSAGE, RAW_MESSAGE, MAP, UNKNOWN -> false;
+        };
+    }
+
+    static String adderName(FieldDefinition field) {
+        return field.javaFieldName() + "Adder";
+    }
+
+    static String mutableGetterName(FieldDefinition field) {
+        return field.javaFieldNamePrefixed("mutable");
+    }
+
+    static TypeName nestedMutableType(FieldDefinition field) {
+        return field.rules().repeated()
+                ? field.javaFieldType().generic().with("Mutable")
+                : field.javaFieldType().with("Mutable");
+    }
+
+    private static TypeName adderType(FieldDefinition field) {
+        return switch (field.protoKind()) {
+            case DOUBLE -> canonicalName(DoubleConsumer.class);
+            case FLOAT -> canonicalName(ProtobufReader.FloatConsumer.class);
+            case INT32, UINT32, SINT32, FIXED32, SFIXED32, ENUM -> canonicalName(IntConsumer.class);
+            case INT64, UINT64, SINT64, FIXED64, SFIXED64 -> canonicalName(LongConsumer.class);
+            case BOOL -> canonicalName(ProtobufReader.BooleanConsumer.class);
+            case STRING, BYTES, MESSAGE, RAW_MESSAGE, MAP, UNKNOWN ->
+                    throw new IllegalArgumentException("Field cannot be read packed: " + field.name());
+        };
+    }
+
+    private static boolean isRepeatedMessage(FieldDefinition field) {
+        return field.protoKind() == MESSAGE && field.rules().repeated();
+    }
+
+    private static String presenceName(FieldDefinition field) {
+        return field.javaFieldNamePrefixed("has");
+    }
+}
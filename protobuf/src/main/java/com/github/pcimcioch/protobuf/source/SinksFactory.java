@@ -0,0 +1,269 @@
+package com.github.pcimcioch.protobuf.source;
+
+import com.github.pcimcioch.protobuf.code.ClassSource;
+import com.github.pcimcioch.protobuf.code.CodeBody;
+import com.github.pcimcioch.protobuf.code.RecordSource;
+import com.github.pcimcioch.protobuf.code.TypeName;
+import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.dto.RawMessage;
+import com.github.pcimcioch.protobuf.io.ProtobufReader;
+import com.github.pcimcioch.protobuf.model.field.FieldDefinition;
+import com.github.pcimcioch.protobuf.model.message.MessageDefinition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+import static com.github.pcimcioch.protobuf.code.AnnotationSource.annotation;
+import static com.github.pcimcioch.protobuf.code.CodeBody.body;
+import static com.github.pcimcioch.protobuf.code.CodeBody.param;
+import static com.github.pcimcioch.protobuf.code.FieldSource.field;
+import static com.github.pcimcioch.protobuf.code.FinalSource.finalModifier;
+import static com.github.pcimcioch.protobuf.code.MethodSource.method;
+import static com.github.pcimcioch.protobuf.code.ParameterSource.parameter;
+import static com.github.pcimcioch.protobuf.code.ReturnSource.returns;
+import static com.github.pcimcioch.protobuf.code.StaticSource.staticModifier;
+import static com.github.pcimcioch.protobuf.code.ThrowsSource.throwsEx;
+import static com.github.pcimcioch.protobuf.code.TypeName.canonicalName;
+import static com.github.pcimcioch.protobuf.code.TypeName.simpleName;
+import static com.github.pcimcioch.protobuf.code.VisibilitySource.privateVisibility;
+import static com.github.pcimcioch.protobuf.code.VisibilitySource.publicVisibility;
+import static com.github.pcimcioch.protobuf.io.WireType.LEN;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.ENUM;
+
+class SinksFactory {
+    private final DecodingFactory decodingFactory = new DecodingFactory();
+
+    boolean hasSinks(MessageDefinition message) {
+        return message.fields().stream().anyMatch(SinksFactory::isSinkField);
+    }
+
+    void addSinksMethods(RecordSource messageRecord, MessageDefinition message) {
+        addSinksMethod(messageRecord, message);
+        addParseBytesMethod(messageRecord, message);
+        addParseStreamMethod(messageRecord, message);
+        addParseProtobufReaderMethod(messageRecord, message);
+    }
+
+    void addBuilderSinksMethods(ClassSource builderClass, MessageDefinition message) {
+        CodeBody body = body("""
+                        $locals
+
+                        int tag;
+                        while ((tag = reader.readTag()) != -1) {
+                            $readFields
+                        }
+
+                        return this;""",
+                param("locals", locals(message)),
+                param("readFields", readFields(message))
+        );
+
+        builderClass.add(method("mergeFrom")
+                .set(publicVisibility())
+                .set(returns(message.builderName()))
+                .add(throwsEx(IOException.class))
+                .set(body)
+                .add(parameter(ProtobufReader.class, "reader"))
+                .add(parameter(message.sinksName(), "sinks"))
+        );
+    }
+
+    ClassSource buildSinksClass(MessageDefinition message) {
+        ClassSource sinks = ClassSource.clazz(message.sinksName())
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(finalModifier());
+
+        for (FieldDefinition field : message.fields()) {
+            if (isSinkField(field)) {
+                addSinkField(sinks, field);
+                addSinkSetter(sinks, field, message);
+            }
+        }
+
+        return sinks;
+    }
+
+    private void addSinksMethod(RecordSource messageRecord, MessageDefinition message) {
+        messageRecord.add(method("sinks")
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(returns(message.sinksName()))
+                .set(body("return new $SinksType();",
+                        param("SinksType", message.sinksName())))
+        );
+    }
+
+    private void addParseBytesMethod(RecordSource messageRecord, MessageDefinition message) {
+        CodeBody body = body("return parse(new $ProtobufReader(data), sinks);",
+                param("ProtobufReader", ProtobufReader.class)
+        );
+
+        messageRecord.add(method("parse")
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(returns(message.name()))
+                .add(throwsEx(IOException.class))
+                .set(body)
+                .add(parameter(byte[].class, "data"))
+                .add(parameter(message.sinksName(), "sinks"))
+        );
+    }
+
+    private void addParseStreamMethod(RecordSource messageRecord, MessageDefinition message) {
+        CodeBody body = body("return parse(new $ProtobufReader(stream), sinks);",
+                param("ProtobufReader", ProtobufReader.class)
+        );
+
+        messageRecord.add(method("parse")
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(returns(message.name()))
+                .add(throwsEx(IOException.class))
+                .set(body)
+                .add(parameter(InputStream.class, "stream"))
+                .add(parameter(message.sinksName(), "sinks"))
+        );
+    }
+
+    private void addParseProtobufReaderMethod(RecordSource messageRecord, MessageDefinition message) {
+        messageRecord.add(method("parse")
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(returns(message.name()))
+                .add(throwsEx(IOException.class))
+                .set(body("return builder().mergeFrom(reader, sinks).build();"))
+                .add(parameter(ProtobufReader.class, "reader"))
+                .add(parameter(message.sinksName(), "sinks"))
+        );
+    }
+
+    private void addSinkField(ClassSource sinks, FieldDefinition field) {
+        sinks.add(field(sinkType(field), sinkName(field))
+                .set(privateVisibility())
+        );
+    }
+
+    private void addSinkSetter(ClassSource sinks, FieldDefinition field, MessageDefinition message) {
+        sinks.add(method(sinkName(field))
+                .set(publicVisibility())
+                .set(returns(message.sinksName()))
+                .set(body("""
+                                this.$field = sink;
+                                return this;""",
+                        param("field", sinkName(field))))
+                .add(parameter(sinkType(field), "sink"))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+
+        if (field.protoKind() == ENUM) {
+            sinks.add(method(field.javaFieldName())
+                    .set(publicVisibility())
+                    .set(returns(message.sinksName()))
+                    .set(body("""
+                                    this.$field = sink == null
+                                            ? null
+                                            : value -> sink.accept($EnumType.forNumber(value));
+                                    return this;""",
+                            param("field", sinkName(field)),
+                            param("EnumType", field.protobufType())))
+                    .add(parameter(canonicalName(Consumer.class).of(field.protobufType()), "sink"))
+                    .addIf(annotation(Deprecated.class), field.rules().deprecated())
+            );
+        }
+    }
+
+    private CodeBody locals(MessageDefinition message) {
+        CodeBody body = body();
+
+        for (FieldDefinition field : message.fields()) {
+            if (isSinkField(field)) {
+                body.appendln("$SinkType $local = sinks.$field == null ? this::$add : sinks.$field;",
+                        param("SinkType", sinkType(field)),
+                        param("local", localName(field)),
+                        param("field", sinkName(field)),
+                        param("add", addMethodName(field))
+                );
+            }
+        }
+
+        return body;
+    }
+
+    private CodeBody readFields(MessageDefinition message) {
+        CodeBody body = body("switch(tag) {");
+
+        for (FieldDefinition field : message.fields()) {
+            body.appendln(isSinkField(field) ? sinkDecodingCode(field) : decodingFactory.decodingCode(message, field));
+        }
+        body.appendln(decodingFactory.defaultCode(message));
+
+        return body.append("}");
+    }
+
+    private CodeBody sinkDecodingCode(FieldDefinition field) {
+        return switch (field.protoKind()) {
+            case STRING, BYTES, RAW_MESSAGE -> body("case $fieldTag -> $local.accept($read);",
+                    param("fieldTag", LEN.tagFrom(field.number())),
+                    param("local", localName(field)),
+                    param("read", DecodingFactory.scalarRead(field))
+            );
+            case MESSAGE -> body("case $fieldTag -> $local.accept(reader.readMessage($Type::parse));",
+                    param("fieldTag", LEN.tagFrom(field.number())),
+                    param("local", localName(field)),
+                    param("Type", field.protobufType())
+            );
+            default -> body("""
+                            case $fieldTag -> $local.accept($read);
+                            case $packedFieldTag -> reader.$readPacked($local);""",
+                    param("fieldTag", DecodingFactory.scalarTag(field)),
+                    param("packedFieldTag", LEN.tagFrom(field.number())),
+                    param("local", localName(field)),
+                    param("read", DecodingFactory.scalarRead(field)),
+                    param("readPacked", DecodingFactory.packedReadMethodName(field))
+            );
+        };
+    }
+
+    private static boolean isSinkField(FieldDefinition field) {
+        return field.rules().repeated() && switch (field.protoKind()) {
+            case DOUBLE, FLOAT, INT32, INT64, UINT32, UINT64, SINT32, SINT64, FIXED32, FIXED64, SFIXED32, SFIXED64,
+                    BOOL, STRING, BYTES, MESSAGE, RAW_MESSAGE, ENUM -> true;
+            case MAP, UNKNOWN -> false;
+        };
+    }
+
+    private static String sinkName(FieldDefinition field) {
+        return field.protoKind() == ENUM ? field.javaFieldName() + "Value" : field.javaFieldName();
+    }
+
+    private static String addMethodName(FieldDefinition field) {
+        return field.protoKind() == ENUM
+                ? field.javaFieldNamePrefixed("add") + "Value"
+                : field.javaFieldNamePrefixed("add");
+    }
+
+    private static String localName(FieldDefinition field) {
+        return field.javaFieldName() + "Sink";
+    }
+
+    private static TypeName sinkType(FieldDefinition field) {
+        return switch (field.protoKind()) {
+            case DOUBLE -> canonicalName(DoubleConsumer.class);
+            case FLOAT -> canonicalName(ProtobufReader.FloatConsumer.class);
+            case INT32, UINT32, SINT32, FIXED32, SFIXED32, ENUM -> canonicalName(IntConsumer.class);
+            case INT64, UINT64, SINT64, FIXED64, SFIXED64 -> canonicalName(LongConsumer.class);
+            case BOOL -> canonicalName(ProtobufReader.BooleanConsumer.class);
+            case STRING -> canonicalName(Consumer.class).of(simpleName("String"));
+            case BYTES -> canonicalName(Consumer.class).of(canonicalName(ByteArray.class));
+            case MESSAGE -> canonicalName(Consumer.class).of(field.protobufType());
+            case RAW_MESSAGE ->
+                    canonicalName(Consumer.class).of(canonicalName(RawMessage.class).of(field.protobufType()));
+            case MAP, UNKNOWN -> throw new IllegalArgumentException("Field cannot have sink: " + field.name());
+        };
+    }
+}
@@ -6,12 +6,16 @@ import com.github.pcimcioch.protobuf.io.Size;
 import com.github.pcimcioch.protobuf.model.field.FieldDefinition;
 import com.github.pcimcioch.protobuf.model.message.MessageDefinition;
 
+import java.util.List;
+
 import static com.github.pcimcioch.protobuf.code.AnnotationSource.annotation;
 import static com.github.pcimcioch.protobuf.code.CodeBody.body;
 import static com.github.pcimcioch.protobuf.code.CodeBody.param;
 import static com.github.pcimcioch.protobuf.code.MethodSource.method;
 import static com.github.pcimcioch.protobuf.code.ReturnSource.returns;
+import static com.github.pcimcioch.protobuf.code.VisibilitySource.privateVisibility;
 import static com.github.pcimcioch.protobuf.code.VisibilitySource.publicVisibility;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.MAP;
 
 class SizeFactory {
 
@@ -20,21 +24,41 @@ class SizeFactory {
 
         body.appendln("int totalSize = 0;");
         for (FieldDefinition field : message.fields()) {
-            body.appendln("totalSize += $method;",
-                    param("method", sizeMethod(field))
-            );
+            if (field.protoKind() == MAP) {
+                body.appendln(mapSizeMethod(field));
+            } else if (field.isInline()) {
+                body.appendln(inlineSizeMethod(field));
+            } else {
+                body.appendln("totalSize += $method;",
+                        param("method", sizeMethod(field))
+                );
+            }
         }
         body.append("return totalSize;");
 
-        messageRecord.add(method("protobufSize")
-                .set(publicVisibility())
-                .set(returns(int.class))
-                .set(body)
-                .add(annotation(Override.class))
-        );
+        if (message.cacheEncoded()) {
+            messageRecord.add(method("computeProtobufSize")
+                    .set(privateVisibility())
+                    .set(returns(int.class))
+                    .set(body)
+            );
+            messageRecord.add(method("protobufSize")
+                    .set(publicVisibility())
+                    .set(returns(int.class))
+                    .set(body("return ENCODED.encodedSize(this);"))
+                    .add(annotation(Override.class))
+            );
+        } else {
+            messageRecord.add(method("protobufSize")
+                    .set(publicVisibility())
+                    .set(returns(int.class))
+                    .set(body)
+                    .add(annotation(Override.class))
+            );
+        }
     }
 
-    private CodeBody sizeMethod(FieldDefinition field) {
+    CodeBody sizeMethod(FieldDefinition field) {
         String suffix = field.rules().repeated()
                 ? field.rules().packed() ? "Packed" : "Unpacked"
                 : "";
@@ -54,11 +78,13 @@ class SizeFactory {
             case BOOL -> "$Size.ofBool$suffix($number, $name)";
             case STRING -> "$Size.ofString$suffix($number, $name)";
             case MESSAGE -> "$Size.ofMessage$suffix($number, $name)";
+            case RAW_MESSAGE -> "$Size.ofRawMessage$suffix($number, $name)";
             case BYTES -> "$Size.ofBytes$suffix($number, $name)";
             case UNKNOWN -> "$Size.ofUnknownFields$suffix($name)";
             case ENUM -> field.rules().repeated()
                     ? "$Size.ofEnum$suffix($number, $name)"
                     : "$Size.ofInt32$suffix($number, $name)";
+            case MAP -> throw new IllegalArgumentException("Map field size must be computed entry by entry");
         };
 
         return body(method,
@@ -68,4 +94,35 @@ class SizeFactory {
                 param("suffix", suffix)
         );
     }
+
+    private CodeBody inlineSizeMethod(FieldDefinition field) {
+        List<FieldDefinition> storedFields = field.storedFields();
+        return body("""
+                        if (this.$presence) {
+                            totalSize += $Size.ofLengthDelimited($number, $size);
+                        }""",
+                param("presence", storedFields.get(0).javaFieldName()),
+                param("Size", Size.class),
+                param("number", field.number()),
+                param("size", storedFields.subList(1, storedFields.size()).stream().map(this::sizeMethod).toList(),
+                        " + ")
+        );
+    }
+
+    private CodeBody mapSizeMethod(FieldDefinition field) {
+        return body("""
+                        for (int i = 0; i < this.$name.size(); i++) {
+                            $KeyType key = this.$name.keyAt(i);
+                            $ValueType value = this.$name.valueAt(i);
+                            totalSize += $Size.ofLengthDelimited($number, $keySize + $valueSize);
+                        }""",
+                param("Size", Size.class),
+                param("name", field.javaFieldName()),
+                param("number", field.number()),
+                param("KeyType", field.mapKey().javaFieldType()),
+                param("ValueType", field.mapValue().javaFieldType()),
+                param("keySize", sizeMethod(field.mapKey())),
+                param("valueSize", sizeMethod(field.mapValue()))
+        );
+    }
 }
@@ -11,6 +11,7 @@ import com.github.pcimcioch.protobuf.model.message.MessageDefinition;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static com.github.pcimcioch.protobuf.code.StaticSource.staticModifier;
 
@@ -18,10 +19,19 @@ import static com.github.pcimcioch.protobuf.code.StaticSource.staticModifier;
  * Creates java source code for the protobuf transfer objects
  */
 public class SourceFactory {
-    private final MessageFactory messageFactory = new MessageFactory();
+    private final MessageFactory messageFactory;
     private final EnumerationFactory enumerationFactory = new EnumerationFactory();
     private final WrapperFactory wrapperFactory = new WrapperFactory();
 
+    /**
+     * Constructor
+     *
+     * @param features optional parts to generate in each message
+     */
+    public SourceFactory(Set<MessageFeature> features) {
+        this.messageFactory = new MessageFactory(features);
+    }
+
     /**
      * Builds java source files from the protobuf model
      *
@@ -0,0 +1,289 @@
+package com.github.pcimcioch.protobuf.source;
+
+import com.github.pcimcioch.protobuf.code.ClassSource;
+import com.github.pcimcioch.protobuf.code.CodeBody;
+import com.github.pcimcioch.protobuf.code.ParameterSource;
+import com.github.pcimcioch.protobuf.code.RecordSource;
+import com.github.pcimcioch.protobuf.code.TypeName;
+import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.dto.RawMessage;
+import com.github.pcimcioch.protobuf.io.MessageStreamWriter;
+import com.github.pcimcioch.protobuf.io.ProtobufWriter;
+import com.github.pcimcioch.protobuf.model.field.FieldDefinition;
+import com.github.pcimcioch.protobuf.model.message.MessageDefinition;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+
+import static com.github.pcimcioch.protobuf.code.AnnotationSource.annotation;
+import static com.github.pcimcioch.protobuf.code.CodeBody.body;
+import static com.github.pcimcioch.protobuf.code.CodeBody.param;
+import static com.github.pcimcioch.protobuf.code.ConstructorSource.constructor;
+import static com.github.pcimcioch.protobuf.code.FieldSource.field;
+import static com.github.pcimcioch.protobuf.code.FinalSource.finalModifier;
+import static com.github.pcimcioch.protobuf.code.ImplementsSource.implementz;
+import static com.github.pcimcioch.protobuf.code.MethodSource.method;
+import static com.github.pcimcioch.protobuf.code.ParameterSource.parameter;
+import static com.github.pcimcioch.protobuf.code.ReturnSource.returns;
+import static com.github.pcimcioch.protobuf.code.StaticSource.staticModifier;
+import static com.github.pcimcioch.protobuf.code.ThrowsSource.throwsEx;
+import static com.github.pcimcioch.protobuf.code.TypeName.canonicalName;
+import static com.github.pcimcioch.protobuf.code.TypeName.simpleName;
+import static com.github.pcimcioch.protobuf.code.VisibilitySource.privateVisibility;
+import static com.github.pcimcioch.protobuf.code.VisibilitySource.publicVisibility;
+
+class StreamWriterFactory {
+    private final EncodingFactory encodingFactory = new EncodingFactory();
+    private final SizeFactory sizeFactory = new SizeFactory();
+
+    void addStreamWriterMethod(RecordSource messageRecord, MessageDefinition message) {
+        messageRecord.add(method("streamWriter")
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(returns(message.streamWriterName()))
+                .set(body("return new $StreamWriter($MessageStreamWriter.to(output));",
+                        param("StreamWriter", message.streamWriterName()),
+                        param("MessageStreamWriter", MessageStreamWriter.class)))
+                .add(parameter(OutputStream.class, "output"))
+        );
+    }
+
+    ClassSource buildStreamWriterClass(MessageDefinition message) {
+        ClassSource streamWriter = buildSourceFile(message);
+        addMessageField(streamWriter);
+        addConstructor(streamWriter);
+
+        for (FieldDefinition field : message.fields()) {
+            addFieldMethods(streamWriter, field, message);
+        }
+        addCloseMethod(streamWriter);
+
+        return streamWriter;
+    }
+
+    private ClassSource buildSourceFile(MessageDefinition message) {
+        return ClassSource.clazz(message.streamWriterName())
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(finalModifier())
+                .add(implementz(AutoCloseable.class));
+    }
+
+    private void addMessageField(ClassSource streamWriter) {
+        streamWriter.add(field(MessageStreamWriter.class, "message")
+                .set(privateVisibility())
+                .set(finalModifier())
+        );
+    }
+
+    private void addConstructor(ClassSource streamWriter) {
+        streamWriter.add(constructor()
+                .set(publicVisibility())
+                .set(body("this.message = message;"))
+                .add(parameter(MessageStreamWriter.class, "message"))
+        );
+    }
+
+    private void addFieldMethods(ClassSource streamWriter, FieldDefinition field, MessageDefinition message) {
+        switch (field.protoKind()) {
+            case UNKNOWN -> {
+            }
+            case MAP -> addMapPut(streamWriter, field, message);
+            case MESSAGE -> {
+                if (field.rules().repeated()) {
+                    addRepeatedMethods(streamWriter, field, message, field.protobufType(),
+                            "writer.writeMessage($number, value);");
+                } else {
+                    addValueMethod(streamWriter, field, message, field.javaFieldName(), field.javaFieldType(),
+                            encodingFactory.encodingMethod(field, "value"));
+                }
+                addStartNested(streamWriter, field);
+            }
+            case ENUM -> {
+                if (field.rules().repeated()) {
+                    addValueMethod(streamWriter, field, message, field.javaFieldNamePrefixed("add") + "Value",
+                            simpleName("int"),
+                            body("writer.writeInt32Element($number, value);",
+                                    param("number", field.number())));
+                    addValueMethod(streamWriter, field, message, field.javaFieldNamePrefixed("add"),
+                            field.protobufType(),
+                            body("writer.writeInt32Element($number, value == null ? 0 : value.number());",
+                                    param("number", field.number())));
+                } else {
+                    addValueMethod(streamWriter, field, message, field.javaFieldName(), simpleName("int"),
+                            encodingFactory.encodingMethod(field, "value"));
+                    addValueMethod(streamWriter, field, message, field.name(), field.protobufType(),
+                            encodingFactory.encodingMethod(field, "(value == null ? 0 : value.number())"));
+                }
+            }
+            default -> {
+                if (field.rules().repeated()) {
+                    addRepeatedMethods(streamWriter, field, message, elementType(field),
+                            "writer.write" + kindName(field) + "Element($number, value);");
+                } else {
+                    addValueMethod(streamWriter, field, message, field.javaFieldName(), field.javaFieldType(),
+                            encodingFactory.encodingMethod(field, "value"));
+                }
+            }
+        }
+    }
+
+    private void addRepeatedMethods(ClassSource streamWriter, FieldDefinition field, MessageDefinition message,
+                                    TypeName type, String write) {
+        CodeBody writeElement = body(type.isPrimitive() ? write : "if (value != null) {\n" + write + "\n}",
+                param("number", field.number())
+        );
+        addValueMethod(streamWriter, field, message, field.javaFieldNamePrefixed("add"), type, writeElement);
+
+        TypeName iteratorType = iteratorType(field, type);
+        if (iteratorType != null) {
+            CodeBody body = body("""
+                            while (values.hasNext()) {
+                                $Type value = values.$next();
+                                $writeElement
+                            }""",
+                    param("Type", type),
+                    param("next", type.isPrimitive() ? nextMethod(type) : "next"),
+                    param("writeElement", writeElement)
+            );
+            addWriteMethod(streamWriter, field, message, field.javaFieldNamePrefixed("addAll"),
+                    parameter(iteratorType, "values"), body);
+        }
+    }
+
+    private void addValueMethod(ClassSource streamWriter, FieldDefinition field, MessageDefinition message,
+                                String name, TypeName type, CodeBody write) {
+        addWriteMethod(streamWriter, field, message, name, parameter(type, "value"), write);
+    }
+
+    private void addWriteMethod(ClassSource streamWriter, FieldDefinition field, MessageDefinition message, String name,
+                                ParameterSource parameter, CodeBody write) {
+        CodeBody body = body("""
+                        $Writer writer = this.message.writer();
+                        $write
+                        return this;""",
+                param("Writer", ProtobufWriter.class),
+                param("write", write)
+        );
+
+        streamWriter.add(method(name)
+                .set(publicVisibility())
+                .set(returns(message.streamWriterName()))
+                .add(throwsEx(IOException.class))
+                .set(body)
+                .add(parameter)
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addMapPut(ClassSource streamWriter, FieldDefinition field, MessageDefinition message) {
+        CodeBody write = body("""
+                        writer.writeLengthDelimitedHeader($number, $keySize + $valueSize);
+                        $writeKey
+                        $writeValue""",
+                param("number", field.number()),
+                param("keySize", sizeFactory.sizeMethod(field.mapKey())),
+                param("valueSize", sizeFactory.sizeMethod(field.mapValue())),
+                param("writeKey", encodingFactory.encodingMethod(field.mapKey(), field.mapKey().javaFieldName())),
+                param("writeValue", encodingFactory.encodingMethod(field.mapValue(), field.mapValue().javaFieldName()))
+        );
+        CodeBody body = body("""
+                        $Writer writer = this.message.writer();
+                        $write
+                        return this;""",
+                param("Writer", ProtobufWriter.class),
+                param("write", write)
+        );
+
+        streamWriter.add(method(field.javaFieldNamePrefixed("put"))
+                .set(publicVisibility())
+                .set(returns(message.streamWriterName()))
+                .add(throwsEx(IOException.class))
+                .set(body)
+                .add(parameter(field.mapKey().javaFieldType(), field.mapKey().javaFieldName()))
+                .add(parameter(field.mapValue().javaFieldType(), field.mapValue().javaFieldName()))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addStartNested(ClassSource streamWriter, FieldDefinition field) {
+        TypeName nestedType = field.protobufType().with("StreamWriter");
+
+        streamWriter.add(method(field.javaFieldNamePrefixed("start"))
+                .set(publicVisibility())
+                .set(returns(nestedType))
+                .set(body("return new $NestedType(this.message.nested($number));",
+                        param("NestedType", nestedType),
+                        param("number", field.number())))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addCloseMethod(ClassSource streamWriter) {
+        streamWriter.add(method("close")
+                .set(publicVisibility())
+                .add(throwsEx(IOException.class))
+                .set(body("this.message.close();"))
+                .add(annotation(Override.class))
+        );
+    }
+
+    private static String kindName(FieldDefinition field) {
+        return switch (field.protoKind()) {
+            case DOUBLE -> "Double";
+            case FLOAT -> "Float";
+            case INT32 -> "Int32";
+            case INT64 -> "Int64";
+            case UINT32 -> "Uint32";
+            case UINT64 -> "Uint64";
+            case SINT32 -> "Sint32";
+            case SINT64 -> "Sint64";
+            case FIXED32 -> "Fixed32";
+            case FIXED64 -> "Fixed64";
+            case SFIXED32 -> "Sfixed32";
+            case SFIXED64 -> "Sfixed64";
+            case BOOL -> "Bool";
+            case STRING -> "String";
+            case BYTES -> "Bytes";
+            case RAW_MESSAGE -> "RawMessage";
+            case ENUM -> "Int32";
+            case MESSAGE, MAP, UNKNOWN -> throw new IllegalArgumentException("Not a scalar field: " + field.name());
+        };
+    }
+
+    private static TypeName elementType(FieldDefinition field) {
+        return switch (field.protoKind()) {
+            case DOUBLE -> simpleName("double");
+            case FLOAT -> simpleName("float");
+            case INT32, UINT32, SINT32, FIXED32, SFIXED32, ENUM -> simpleName("int");
+            case INT64, UINT64, SINT64, FIXED64, SFIXED64 -> simpleName("long");
+            case BOOL -> simpleName("boolean");
+            case STRING -> simpleName("String");
+            case BYTES -> canonicalName(ByteArray.class);
+            case RAW_MESSAGE -> canonicalName(RawMessage.class).of(field.protobufType());
+            case MESSAGE -> field.protobufType();
+            case MAP, UNKNOWN -> throw new IllegalArgumentException("Not a repeated field: " + field.name());
+        };
+    }
+
+    private static TypeName iteratorType(FieldDefinition field, TypeName type) {
+        return switch (field.protoKind()) {
+            case DOUBLE -> canonicalName(PrimitiveIterator.OfDouble.class);
+            case INT32, UINT32, SINT32, FIXED32, SFIXED32 -> canonicalName(PrimitiveIterator.OfInt.class);
+            case INT64, UINT64, SINT64, FIXED64, SFIXED64 -> canonicalName(PrimitiveIterator.OfLong.class);
+            case FLOAT, BOOL, ENUM, MAP, UNKNOWN -> null;
+            case STRING, BYTES, RAW_MESSAGE, MESSAGE -> canonicalName(Iterator.class).of(type);
+        };
+    }
+
+    private static String nextMethod(TypeName type) {
+        return switch (type.simpleName()) {
+            case "double" -> "nextDouble";
+            case "int" -> "nextInt";
+            case "long" -> "nextLong";
+            default -> throw new IllegalArgumentException("No primitive iterator for " + type.simpleName());
+        };
+    }
+}
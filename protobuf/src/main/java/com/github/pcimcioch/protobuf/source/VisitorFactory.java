@@ -0,0 +1,286 @@
+package com.github.pcimcioch.protobuf.source;
+
+import com.github.pcimcioch.protobuf.code.CodeBody;
+import com.github.pcimcioch.protobuf.code.InterfaceSource;
+import com.github.pcimcioch.protobuf.code.MethodSource;
+import com.github.pcimcioch.protobuf.code.ParameterSource;
+import com.github.pcimcioch.protobuf.code.RecordSource;
+import com.github.pcimcioch.protobuf.code.TypeName;
+import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.io.ProtobufReader;
+import com.github.pcimcioch.protobuf.model.field.FieldDefinition;
+import com.github.pcimcioch.protobuf.model.message.MessageDefinition;
+
+import java.io.IOException;
+
+import static com.github.pcimcioch.protobuf.code.AnnotationSource.annotation;
+import static com.github.pcimcioch.protobuf.code.CodeBody.body;
+import static com.github.pcimcioch.protobuf.code.CodeBody.param;
+import static com.github.pcimcioch.protobuf.code.DefaultSource.defaultModifier;
+import static com.github.pcimcioch.protobuf.code.InterfaceSource.interfaze;
+import static com.github.pcimcioch.protobuf.code.MethodSource.method;
+import static com.github.pcimcioch.protobuf.code.ParameterSource.parameter;
+import static com.github.pcimcioch.protobuf.code.ReturnSource.returns;
+import static com.github.pcimcioch.protobuf.code.StaticSource.staticModifier;
+import static com.github.pcimcioch.protobuf.code.ThrowsSource.throwsEx;
+import static com.github.pcimcioch.protobuf.code.TypeName.canonicalName;
+import static com.github.pcimcioch.protobuf.code.TypeName.simpleName;
+import static com.github.pcimcioch.protobuf.code.VisibilitySource.privateVisibility;
+import static com.github.pcimcioch.protobuf.code.VisibilitySource.publicVisibility;
+import static com.github.pcimcioch.protobuf.io.WireType.LEN;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.ENUM;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.ProtoKind.MAP;
+
+class VisitorFactory {
+
+    InterfaceSource buildVisitorInterface(MessageDefinition message) {
+        InterfaceSource visitor = interfaze(message.visitorName())
+                .set(publicVisibility());
+
+        for (FieldDefinition field : message.fields()) {
+            switch (field.protoKind()) {
+                case MESSAGE, RAW_MESSAGE -> addNestedCallbacks(visitor, field);
+                case STRING, BYTES -> {
+                    addValueCallback(visitor, field, parameter(valueType(field), "value"));
+                    addVisitsCallback(visitor, field);
+                }
+                case MAP -> {
+                    addValueCallback(visitor, field,
+                            parameter(field.mapKey().javaFieldType(), "key"),
+                            parameter(field.mapValue().javaFieldType(), "value"));
+                    addVisitsCallback(visitor, field);
+                }
+                case UNKNOWN -> {
+                }
+                default -> addValueCallback(visitor, field, parameter(valueType(field), "value"));
+            }
+        }
+
+        return visitor;
+    }
+
+    void addVisitMethods(RecordSource messageRecord, MessageDefinition message) {
+        addVisitBytesMethod(messageRecord, message);
+        addVisitProtobufReaderMethod(messageRecord, message);
+        addVisitMapEntryMethods(messageRecord, message);
+    }
+
+    private void addValueCallback(InterfaceSource visitor, FieldDefinition field, ParameterSource... parameters) {
+        MethodSource callback = method(callbackName(field))
+                .set(defaultModifier())
+                .addIf(annotation(Deprecated.class), field.rules().deprecated());
+        for (ParameterSource parameter : parameters) {
+            callback.add(parameter);
+        }
+
+        visitor.add(callback);
+    }
+
+    private void addVisitsCallback(InterfaceSource visitor, FieldDefinition field) {
+        visitor.add(method(field.javaFieldNamePrefixed("visits"))
+                .set(defaultModifier())
+                .set(returns(simpleName("boolean")))
+                .set(body("return true;"))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addNestedCallbacks(InterfaceSource visitor, FieldDefinition field) {
+        visitor.add(method(field.javaFieldNamePrefixed("enter"))
+                .set(defaultModifier())
+                .set(returns(nestedVisitorType(field)))
+                .set(body("return null;"))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+        visitor.add(method(field.javaFieldNamePrefixed("exit"))
+                .set(defaultModifier())
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addVisitBytesMethod(RecordSource messageRecord, MessageDefinition message) {
+        CodeBody body = body("visit(new $ProtobufReader(data), visitor);",
+                param("ProtobufReader", ProtobufReader.class)
+        );
+
+        messageRecord.add(method("visit")
+                .set(publicVisibility())
+                .set(staticModifier())
+                .add(throwsEx(IOException.class))
+                .set(body)
+                .add(parameter(byte[].class, "data"))
+                .add(parameter(message.visitorName(), "visitor"))
+        );
+    }
+
+    private void addVisitProtobufReaderMethod(RecordSource messageRecord, MessageDefinition message) {
+        CodeBody body = body("""
+                        int tag;
+                        while ((tag = reader.readTag()) != -1) {
+                            $visitFields
+                        }""",
+                param("visitFields", visitFields(message))
+        );
+
+        messageRecord.add(method("visit")
+                .set(publicVisibility())
+                .set(staticModifier())
+                .add(throwsEx(IOException.class))
+                .set(body)
+                .add(parameter(ProtobufReader.class, "reader"))
+                .add(parameter(message.visitorName(), "visitor"))
+        );
+    }
+
+    private void addVisitMapEntryMethods(RecordSource messageRecord, MessageDefinition message) {
+        for (FieldDefinition field : message.fields()) {
+            if (field.protoKind() == MAP) {
+                addVisitMapEntryMethod(messageRecord, message, field);
+            }
+        }
+    }
+
+    private void addVisitMapEntryMethod(RecordSource messageRecord, MessageDefinition message, FieldDefinition field) {
+        FieldDefinition key = field.mapKey();
+        FieldDefinition value = field.mapValue();
+        CodeBody body = body("""
+                        $KeyType key = $keyDefault;
+                        $ValueType value = $valueDefault;
+
+                        int tag;
+                        while ((tag = reader.readTag()) != -1) {
+                            switch(tag) {
+                                case $keyTag -> key = $readKey;
+                                case $valueTag -> value = $readValue;
+                                default -> reader.skip(tag);
+                            }
+                        }
+
+                        visitor.$callback(key, value);""",
+                param("KeyType", key.javaFieldType()),
+                param("keyDefault", DecodingFactory.defaultValue(key)),
+                param("keyTag", DecodingFactory.scalarTag(key)),
+                param("readKey", DecodingFactory.scalarRead(key)),
+                param("ValueType", value.javaFieldType()),
+                param("valueDefault", DecodingFactory.defaultValue(value)),
+                param("valueTag", DecodingFactory.scalarTag(value)),
+                param("readValue", DecodingFactory.scalarRead(value)),
+                param("callback", callbackName(field))
+        );
+
+        messageRecord.add(method(visitMapEntryMethodName(field))
+                .set(privateVisibility())
+                .set(staticModifier())
+                .add(throwsEx(IOException.class))
+                .set(body)
+                .add(parameter(message.visitorName(), "visitor"))
+                .add(parameter(ProtobufReader.class, "reader"))
+        );
+    }
+
+    private CodeBody visitFields(MessageDefinition message) {
+        CodeBody body = body("switch(tag) {");
+
+        for (FieldDefinition field : message.fields()) {
+            body.appendln(visitCode(message, field));
+        }
+        body.appendln("default -> reader.skip(tag);");
+
+        return body.append("}");
+    }
+
+    private CodeBody visitCode(MessageDefinition message, FieldDefinition field) {
+        return switch (field.protoKind()) {
+            case MESSAGE, RAW_MESSAGE -> body("""
+                            case $fieldTag -> {
+                                $NestedVisitor nested = visitor.$enter();
+                                if (nested == null) {
+                                    reader.skip(tag);
+                                } else {
+                                    reader.readMessage(nested, (v, r) -> $Type.visit(r, v));
+                                    visitor.$exit();
+                                }
+                            }""",
+                    param("fieldTag", LEN.tagFrom(field.number())),
+                    param("NestedVisitor", nestedVisitorType(field)),
+                    param("enter", field.javaFieldNamePrefixed("enter")),
+                    param("Type", field.protobufType()),
+                    param("exit", field.javaFieldNamePrefixed("exit"))
+            );
+            case STRING, BYTES -> body("""
+                            case $fieldTag -> {
+                                if (visitor.$visits()) {
+                                    visitor.$callback($read);
+                                } else {
+                                    reader.skip(tag);
+                                }
+                            }""",
+                    param("fieldTag", LEN.tagFrom(field.number())),
+                    param("visits", field.javaFieldNamePrefixed("visits")),
+                    param("callback", callbackName(field)),
+                    param("read", DecodingFactory.scalarRead(field))
+            );
+            case MAP -> body("""
+                            case $fieldTag -> {
+                                if (visitor.$visits()) {
+                                    reader.readMessage(visitor, $MessageType::$visitEntry);
+                                } else {
+                                    reader.skip(tag);
+                                }
+                            }""",
+                    param("fieldTag", LEN.tagFrom(field.number())),
+                    param("visits", field.javaFieldNamePrefixed("visits")),
+                    param("MessageType", message.name()),
+                    param("visitEntry", visitMapEntryMethodName(field))
+            );
+            case UNKNOWN -> body();
+            default -> visitScalarCode(field);
+        };
+    }
+
+    private CodeBody visitScalarCode(FieldDefinition field) {
+        CodeBody body = body("case $fieldTag -> visitor.$callback($read);",
+                param("fieldTag", DecodingFactory.scalarTag(field)),
+                param("callback", callbackName(field)),
+                param("read", DecodingFactory.scalarRead(field))
+        );
+
+        if (field.rules().repeated()) {
+            body.appendln("");
+            body.append("case $packedFieldTag -> reader.$readPacked(visitor::$callback);",
+                    param("packedFieldTag", LEN.tagFrom(field.number())),
+                    param("readPacked", DecodingFactory.packedReadMethodName(field)),
+                    param("callback", callbackName(field))
+            );
+        }
+
+        return body;
+    }
+
+    private static String callbackName(FieldDefinition field) {
+        return field.protoKind() == ENUM && field.rules().repeated()
+                ? field.javaFieldNamePrefixed("on") + "Value"
+                : field.javaFieldNamePrefixed("on");
+    }
+
+    private static String visitMapEntryMethodName(FieldDefinition field) {
+        return field.javaFieldNamePrefixed("visit") + "Entry";
+    }
+
+    private static TypeName nestedVisitorType(FieldDefinition field) {
+        return field.protobufType().with("Visitor");
+    }
+
+    private static TypeName valueType(FieldDefinition field) {
+        return switch (field.protoKind()) {
+            case DOUBLE -> simpleName("double");
+            case FLOAT -> simpleName("float");
+            case INT32, UINT32, SINT32, FIXED32, SFIXED32, ENUM -> simpleName("int");
+            case INT64, UINT64, SINT64, FIXED64, SFIXED64 -> simpleName("long");
+            case BOOL -> simpleName("boolean");
+            case STRING -> simpleName("String");
+            case BYTES -> canonicalName(ByteArray.class);
+            case MESSAGE, RAW_MESSAGE, MAP, UNKNOWN -> throw new IllegalArgumentException("Not a scalar field: " + field.name());
+        };
+    }
+}
@@ -0,0 +1,167 @@
+package com.github.pcimcioch.protobuf.source;
+
+import com.github.pcimcioch.protobuf.code.ClassSource;
+import com.github.pcimcioch.protobuf.code.CodeBody;
+import com.github.pcimcioch.protobuf.io.WireMatcher;
+import com.github.pcimcioch.protobuf.model.field.FieldDefinition;
+import com.github.pcimcioch.protobuf.model.message.MessageDefinition;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.github.pcimcioch.protobuf.code.AnnotationSource.annotation;
+import static com.github.pcimcioch.protobuf.code.CodeBody.body;
+import static com.github.pcimcioch.protobuf.code.CodeBody.param;
+import static com.github.pcimcioch.protobuf.code.FieldSource.field;
+import static com.github.pcimcioch.protobuf.code.FinalSource.finalModifier;
+import static com.github.pcimcioch.protobuf.code.InitializerSource.initializer;
+import static com.github.pcimcioch.protobuf.code.MethodSource.method;
+import static com.github.pcimcioch.protobuf.code.ParameterSource.parameter;
+import static com.github.pcimcioch.protobuf.code.ReturnSource.returns;
+import static com.github.pcimcioch.protobuf.code.StaticSource.staticModifier;
+import static com.github.pcimcioch.protobuf.code.TypeName.canonicalName;
+import static com.github.pcimcioch.protobuf.code.VisibilitySource.privateVisibility;
+import static com.github.pcimcioch.protobuf.code.VisibilitySource.publicVisibility;
+
+class WhereClassFactory {
+
+    ClassSource buildWhereClass(MessageDefinition message) {
+        ClassSource whereClass = buildSourceFile(message);
+        addMatcherField(whereClass);
+
+        for (FieldDefinition field : message.fields()) {
+            if (!field.rules().repeated()) {
+                addFieldPredicates(whereClass, field, message);
+            }
+        }
+        addBuildMethod(whereClass);
+
+        return whereClass;
+    }
+
+    private ClassSource buildSourceFile(MessageDefinition message) {
+        return ClassSource.clazz(message.whereName())
+                .set(publicVisibility())
+                .set(staticModifier())
+                .set(finalModifier());
+    }
+
+    private void addMatcherField(ClassSource whereClass) {
+        whereClass.add(field(canonicalName(WireMatcher.Builder.class), "matcher")
+                .set(privateVisibility())
+                .set(finalModifier())
+                .set(initializer(body("$WireMatcher.builder()",
+                        param("WireMatcher", WireMatcher.class))))
+        );
+    }
+
+    private void addFieldPredicates(ClassSource whereClass, FieldDefinition field, MessageDefinition message) {
+        switch (field.protoKind()) {
+            case DOUBLE, FLOAT, INT32, INT64, SINT32, SINT64, SFIXED32, SFIXED64 -> {
+                addComparison(whereClass, field, message, "Equals", "$field == value");
+                addComparison(whereClass, field, message, "GreaterThan", "$field > value");
+                addComparison(whereClass, field, message, "LessThan", "$field < value");
+            }
+            case UINT32, FIXED32 -> {
+                addComparison(whereClass, field, message, "Equals", "$field == value");
+                addComparison(whereClass, field, message, "GreaterThan", "Integer.compareUnsigned($field, value) > 0");
+                addComparison(whereClass, field, message, "LessThan", "Integer.compareUnsigned($field, value) < 0");
+            }
+            case UINT64, FIXED64 -> {
+                addComparison(whereClass, field, message, "Equals", "$field == value");
+                addComparison(whereClass, field, message, "GreaterThan", "Long.compareUnsigned($field, value) > 0");
+                addComparison(whereClass, field, message, "LessThan", "Long.compareUnsigned($field, value) < 0");
+            }
+            case BOOL -> addComparison(whereClass, field, message, "Equals", "$field == value");
+            case ENUM -> {
+                addComparison(whereClass, field, message, "Equals", "$field == value");
+                addEnumEquals(whereClass, field, message);
+            }
+            case STRING -> addBytesEquals(whereClass, field, message,
+                    body("value == null ? new byte[0] : value.getBytes($StandardCharsets.UTF_8)",
+                            param("StandardCharsets", StandardCharsets.class)));
+            case BYTES -> addBytesEquals(whereClass, field, message,
+                    body("value == null ? new byte[0] : value.toByteArray()"));
+            case MESSAGE, RAW_MESSAGE, MAP, UNKNOWN -> {
+            }
+        }
+    }
+
+    private void addComparison(ClassSource whereClass, FieldDefinition field, MessageDefinition message, String suffix, String test) {
+        CodeBody body = body("""
+                        this.matcher.$wireMethod($number, v -> $test);
+                        return this;""",
+                param("wireMethod", wireMethod(field)),
+                param("number", field.number()),
+                param("test", body(test, param("field", wireValue(field))))
+        );
+
+        whereClass.add(method(field.javaFieldName() + suffix)
+                .set(publicVisibility())
+                .set(returns(message.whereName()))
+                .set(body)
+                .add(parameter(field.javaFieldType(), "value"))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addEnumEquals(ClassSource whereClass, FieldDefinition field, MessageDefinition message) {
+        CodeBody body = body("return this.$method(value == null ? 0 : value.number());",
+                param("method", field.javaFieldName() + "Equals")
+        );
+
+        whereClass.add(method(field.name() + "Equals")
+                .set(publicVisibility())
+                .set(returns(message.whereName()))
+                .set(body)
+                .add(parameter(field.protobufType(), "value"))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addBytesEquals(ClassSource whereClass, FieldDefinition field, MessageDefinition message, CodeBody bytes) {
+        CodeBody body = body("""
+                        this.matcher.bytesEqual($number, $bytes);
+                        return this;""",
+                param("number", field.number()),
+                param("bytes", bytes)
+        );
+
+        whereClass.add(method(field.javaFieldName() + "Equals")
+                .set(publicVisibility())
+                .set(returns(message.whereName()))
+                .set(body)
+                .add(parameter(field.javaFieldType(), "value"))
+                .addIf(annotation(Deprecated.class), field.rules().deprecated())
+        );
+    }
+
+    private void addBuildMethod(ClassSource whereClass) {
+        whereClass.add(method("build")
+                .set(publicVisibility())
+                .set(returns(canonicalName(WireMatcher.class)))
+                .set(body("return this.matcher.build();"))
+        );
+    }
+
+    private static String wireMethod(FieldDefinition field) {
+        return switch (field.protoKind()) {
+            case DOUBLE, FIXED64, SFIXED64 -> "fixed64";
+            case FLOAT, FIXED32, SFIXED32 -> "fixed32";
+            case INT32, INT64, UINT32, UINT64, SINT32, SINT64, BOOL, ENUM -> "varint";
+            case STRING, BYTES, MESSAGE, RAW_MESSAGE, MAP, UNKNOWN -> throw new IllegalArgumentException("Not a scalar field: " + field.name());
+        };
+    }
+
+    private static String wireValue(FieldDefinition field) {
+        return switch (field.protoKind()) {
+            case DOUBLE -> "Double.longBitsToDouble(v)";
+            case FLOAT -> "Float.intBitsToFloat(v)";
+            case INT32, UINT32, ENUM -> "(int) v";
+            case SINT32 -> "(((int) v >>> 1) ^ -((int) v & 1))";
+            case SINT64 -> "((v >>> 1) ^ -(v & 1))";
+            case BOOL -> "(v != 0)";
+            case INT64, UINT64, FIXED32, FIXED64, SFIXED32, SFIXED64 -> "v";
+            case STRING, BYTES, MESSAGE, RAW_MESSAGE, MAP, UNKNOWN -> throw new IllegalArgumentException("Not a scalar field: " + field.name());
+        };
+    }
+}
@@ -2,6 +2,7 @@ package com.github.pcimcioch.protobuf.annotation;
 
 import com.github.pcimcioch.protobuf.annotation.Enumeration.Element;
 import com.github.pcimcioch.protobuf.annotation.ProtoFiles.ProtoFile;
+import com.github.pcimcioch.protobuf.dto.ListStorage;
 import com.github.pcimcioch.protobuf.model.ProtoDefinitions;
 import com.github.pcimcioch.protobuf.model.ProtoDefinitionsWrapper;
 import com.github.pcimcioch.protobuf.model.field.FieldDefinition;
@@ -112,6 +113,60 @@ class ModelFactoryTest {
 
             assertThat(definitions).isEqualTo(expected);
         }
+
+        @Test
+        void rawUnknownFields() {
+            // given
+            ProtoFiles files = files(
+                    file(
+                            "com.example",
+                            message("MyMessage",
+                                    NO_RESERVED,
+                                    true,
+                                    true,
+                                    false,
+                                    field("int32", "field", 1))));
+
+            // when
+            ProtoDefinitions definitions = testee.buildProtoDefinitions(files);
+
+            // then
+            ProtoDefinitions expected = definitions(
+                    messageDef("com.example.MyMessage",
+                            scalarField("int32", "field", 1),
+                            FieldDefinition.rawUnknown()));
+
+            assertThat(definitions).isEqualTo(expected);
+        }
+
+        @Test
+        void cacheEncoded() {
+            // given
+            ProtoFiles files = files(
+                    file(
+                            "com.example",
+                            message("MyMessage",
+                                    NO_RESERVED,
+                                    false,
+                                    true,
+                                    field("int32", "field", 1))));
+
+            // when
+            ProtoDefinitions definitions = testee.buildProtoDefinitions(files);
+
+            // then
+            ProtoDefinitions expected = definitions(
+                    new MessageDefinition(
+                            canonicalName("com.example.MyMessage"),
+                            List.of(scalarField("int32", "field", 1)),
+                            NO_RESERVED_DEF,
+                            List.of(),
+                            List.of(),
+                            true
+                    ));
+
+            assertThat(definitions).isEqualTo(expected);
+        }
     }
 
     @Nested
@@ -214,6 +269,85 @@ class ModelFactoryTest {
 
             assertThat(definitions).isEqualTo(expected);
         }
+
+        @Test
+        void createRawMessages() {
+            // given
+            ProtoFiles files = files(
+                    file(
+                            "com.example",
+                            message("Address",
+                                    field("string", "street", 1)),
+                            message("MyMessage",
+                                    field("Address", "address", 1),
+                                    rawField("Address", "rawAddress", 2))));
+
+            // when
+            ProtoDefinitions definitions = testee.buildProtoDefinitions(files);
+
+            // then
+            ProtoDefinitions expected = definitions(
+                    messageDef("com.example.Address",
+                            scalarField("string", "street", 1)),
+                    messageDef("com.example.MyMessage",
+                            messageField("com.example.Address", "address", 1),
+                            FieldDefinition.rawMessage("rawAddress", 2, canonicalName("com.example.Address"), NO_RULES)));
+
+            assertThat(definitions).isEqualTo(expected);
+        }
+
+        @Test
+        void createInlineMessages() {
+            // given
+            ProtoFiles files = files(
+                    file(
+                            "com.example",
+                            message("Point",
+                                    field("double", "x", 1),
+                                    field("Kind", "kind", 2)),
+                            message("Shape",
+                                    inlineField("Point", "center", 1)),
+                            enumeration("Kind",
+                                    element("FIRST", 0))));
+
+            // when
+            ProtoDefinitions definitions = testee.buildProtoDefinitions(files);
+
+            // then
+            ProtoDefinitions expected = definitions(
+                    messageDef("com.example.Point",
+                            scalarField("double", "x", 1),
+                            enumField("com.example.Kind", "kind", 2)),
+                    messageDef("com.example.Shape",
+                            FieldDefinition.inlineMessage("center", 1, canonicalName("com.example.Point"), NO_RULES,
+                                    List.of(scalarField("double", "x", 1), enumField("com.example.Kind", "kind", 2)))),
+                    enumerationDef("com.example.Kind",
+                            elementDef("FIRST", 0)));
+
+            assertThat(definitions).isEqualTo(expected);
+        }
+
+        @Test
+        void createMaps() {
+            // given
+            ProtoFiles files = files(
+                    file(
+                            "com.example",
+                            message("Counters",
+                                    field("map<int32, int64>", "counts", 1),
+                                    field("map<string, sint32>", "names", 2))));
+
+            // when
+            ProtoDefinitions definitions = testee.buildProtoDefinitions(files);
+
+            // then
+            ProtoDefinitions expected = definitions(
+                    messageDef("com.example.Counters",
+                            mapField("map<int32, int64>", "counts", 1),
+                            mapField("map<string, sint32>", "names", 2)));
+
+            assertThat(definitions).isEqualTo(expected);
+        }
     }
 
     @Nested
@@ -561,6 +695,68 @@ class ModelFactoryTest {
                     .hasMessage("Cannot find field type for com.example.Incorrect");
         }
 
+        @Test
+        void rawScalarField() {
+            // given
+            ProtoFiles files = files(
+                    file("com.example",
+                            message("Test",
+                                    rawField("string", "name", 1))));
+
+            // when then
+            assertThatThrownBy(() -> testee.buildProtoDefinitions(files))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Only message fields can be raw: name");
+        }
+
+        @Test
+        void inlineScalarField() {
+            // given
+            ProtoFiles files = files(
+                    file("com.example",
+                            message("Test",
+                                    inlineField("string", "name", 1))));
+
+            // when then
+            assertThatThrownBy(() -> testee.buildProtoDefinitions(files))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Only non-raw message fields can be inline: name");
+        }
+
+        @Test
+        void inlineMessageWithNestedMessage() {
+            // given
+            ProtoFiles files = files(
+                    file("com.example",
+                            message("Point",
+                                    field("Point", "next", 1)),
+                            message("Test",
+                                    inlineField("Point", "point", 1))));
+
+            // when then
+            assertThatThrownBy(() -> testee.buildProtoDefinitions(files))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Inline message can contain only scalar and enum fields: point");
+        }
+
+        @Test
+        void inlineMessageWithUnknownFields() {
+            // given
+            ProtoFiles files = files(
+                    file("com.example",
+                            message("Point",
+                                    NO_RESERVED,
+                                    true,
+                                    field("double", "x", 1)),
+                            message("Test",
+                                    inlineField("Point", "point", 1))));
+
+            // when then
+            assertThatThrownBy(() -> testee.buildProtoDefinitions(files))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Inline message cannot support unknown fields: point");
+        }
+
         @Test
         void duplicatedName() {
             // given
@@ -646,6 +842,14 @@ class ModelFactoryTest {
     }
 
     private static Message message(String name, Reserved reserved, boolean supportUnknownFields, Field... fields) {
+        return message(name, reserved, supportUnknownFields, false, fields);
+    }
+
+    private static Message message(String name, Reserved reserved, boolean supportUnknownFields, boolean cacheEncoded, Field... fields) {
+        return message(name, reserved, supportUnknownFields, false, cacheEncoded, fields);
+    }
+
+    private static Message message(String name, Reserved reserved, boolean supportUnknownFields, boolean rawUnknownFields, boolean cacheEncoded, Field... fields) {
         return new Message() {
             @Override
             public String name() {
@@ -671,6 +875,16 @@ class ModelFactoryTest {
             public boolean supportUnknownFields() {
                 return supportUnknownFields;
             }
+
+            @Override
+            public boolean rawUnknownFields() {
+                return rawUnknownFields;
+            }
+
+            @Override
+            public boolean cacheEncoded() {
+                return cacheEncoded;
+            }
         };
     }
 
@@ -679,6 +893,22 @@ class ModelFactoryTest {
     }
 
     private static Field field(String type, String name, int number, boolean deprecated, boolean repeated, boolean packed) {
+        return field(type, name, number, deprecated, repeated, packed, false);
+    }
+
+    private static Field rawField(String type, String name, int number) {
+        return field(type, name, number, false, false, false, true);
+    }
+
+    private static Field inlineField(String type, String name, int number) {
+        return field(type, name, number, false, false, false, false, true);
+    }
+
+    private static Field field(String type, String name, int number, boolean deprecated, boolean repeated, boolean packed, boolean raw) {
+        return field(type, name, number, deprecated, repeated, packed, raw, false);
+    }
+
+    private static Field field(String type, String name, int number, boolean deprecated, boolean repeated, boolean packed, boolean raw, boolean inline) {
         return new Field() {
             @Override
             public String type() {
@@ -710,6 +940,21 @@ class ModelFactoryTest {
                 return packed;
             }
 
+            @Override
+            public ListStorage storage() {
+                return ListStorage.AUTO;
+            }
+
+            @Override
+            public boolean raw() {
+                return raw;
+            }
+
+            @Override
+            public boolean inline() {
+                return inline;
+            }
+
             @Override
             public Class<? extends Annotation> annotationType() {
                 return Field.class;
@@ -862,6 +1107,10 @@ class ModelFactoryTest {
         return FieldDefinition.message(name, number, canonicalName(type), rules);
     }
 
+    private static FieldDefinition mapField(String type, String name, int number) {
+        return FieldDefinition.map(name, number, type, NO_RULES);
+    }
+
     private static EnumerationDefinition enumerationDef(String name, EnumerationElementDefinition... elements) {
         return enumerationDef(name, false, NO_RESERVED_DEF, elements);
     }
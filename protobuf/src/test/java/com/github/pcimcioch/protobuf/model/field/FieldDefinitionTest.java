@@ -1,11 +1,17 @@
 package com.github.pcimcioch.protobuf.model.field;
 
+import com.github.pcimcioch.protobuf.dto.BytesList;
+import com.github.pcimcioch.protobuf.dto.ListStorage;
+import com.github.pcimcioch.protobuf.dto.StringList;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.List;
+
 import static com.github.pcimcioch.protobuf.code.TypeName.canonicalName;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -130,4 +136,219 @@ class FieldDefinitionTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Only primitive types can be packed");
     }
+
+    @Test
+    void rawMessageCannotBePacked() {
+        // when then
+        assertThatThrownBy(() -> FieldDefinition.rawMessage("name", 1, canonicalName("com.example.MessageTest"), new FieldRules(false, true, true)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Only primitive types can be packed");
+    }
+
+    @Test
+    void rawMessageWithoutType() {
+        // when then
+        assertThatThrownBy(() -> FieldDefinition.rawMessage("name", 1, null, NO_RULES))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Must provide protobuf type");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "map<int32, int32>",
+            "map<sint32, int64>",
+            "map<fixed64, uint32>",
+            "map<string, sfixed64>",
+            "map<string,fixed32>"
+    })
+    void correctMaps(String protoType) {
+        // when then
+        assertThatCode(() -> FieldDefinition.map("name", 1, protoType, NO_RULES))
+                .doesNotThrowAnyException();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "map<int32>",
+            "map<int32, int32",
+            "map<, int32>",
+            "map<int32, map<int32, int32>>"
+    })
+    void incorrectMaps(String protoType) {
+        // when then
+        assertThatThrownBy(() -> FieldDefinition.map("name", 1, protoType, NO_RULES))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Incorrect protobuf map type");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "double",
+            "float",
+            "bool",
+            "bytes"
+    })
+    void unsupportedMapKey(String keyType) {
+        // when then
+        assertThatThrownBy(() -> FieldDefinition.map("name", 1, "map<" + keyType + ", int32>", NO_RULES))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported map key type");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "double",
+            "float",
+            "bool",
+            "string",
+            "bytes"
+    })
+    void unsupportedMapValue(String valueType) {
+        // when then
+        assertThatThrownBy(() -> FieldDefinition.map("name", 1, "map<int32, " + valueType + ">", NO_RULES))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported map value type");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "float",
+            "bool"
+    })
+    void unsupportedStorage(String protoType) {
+        // when then
+        assertThatThrownBy(() -> FieldDefinition.scalar("name", 1, protoType, new FieldRules(false, true, false, ListStorage.SEGMENTED)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Storage is supported only by double, integer, string, bytes and message fields");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "double",
+            "string"
+    })
+    void compactStorageOfNonIntegerField(String protoType) {
+        // when then
+        assertThatThrownBy(() -> FieldDefinition.scalar("name", 1, protoType, new FieldRules(false, true, false, ListStorage.BIT_PACKED)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Compact storage is supported only by integer fields");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "int32",
+            "sint64",
+            "fixed32"
+    })
+    void compactStorageOfIntegerField(String protoType) {
+        // when then
+        assertThatCode(() -> FieldDefinition.scalar("name", 1, protoType, new FieldRules(false, true, true, ListStorage.DELTA)))
+                .doesNotThrowAnyException();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "int32",
+            "double"
+    })
+    void arenaStorageOfNonStringField(String protoType) {
+        // when then
+        assertThatThrownBy(() -> FieldDefinition.scalar("name", 1, protoType, new FieldRules(false, true, false, ListStorage.ARENA)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Arena storage is supported only by string and bytes fields");
+    }
+
+    @Test
+    void arenaStorageOfStringAndBytesFields() {
+        // when
+        FieldDefinition strings = FieldDefinition.scalar("name", 1, "string", new FieldRules(false, true, false, ListStorage.ARENA));
+        FieldDefinition bytes = FieldDefinition.scalar("name", 1, "bytes", new FieldRules(false, true, false, ListStorage.ARENA));
+
+        // then
+        assertThat(strings.javaFieldType()).isEqualTo(canonicalName(StringList.class));
+        assertThat(bytes.javaFieldType()).isEqualTo(canonicalName(BytesList.class));
+    }
+
+    @Test
+    void inlineMessageStoredFields() {
+        // given
+        FieldDefinition field = FieldDefinition.inlineMessage("point", 2, canonicalName("com.example.Point"),
+                new FieldRules(true, false, false), List.of(
+                        FieldDefinition.scalar("x", 1, "double", NO_RULES),
+                        FieldDefinition.enumeration("kind", 3, canonicalName("com.example.Kind"), NO_RULES)));
+
+        // when
+        List<FieldDefinition> stored = field.storedFields();
+
+        // then
+        assertThat(field.isInline()).isTrue();
+        assertThat(field.javaFieldType()).isEqualTo(canonicalName("com.example.Point"));
+        assertThat(stored.stream().map(FieldDefinition::javaFieldName).toList())
+                .containsExactly("hasPoint", "pointX", "pointKindValue");
+        assertThat(stored.stream().map(FieldDefinition::number).toList())
+                .containsExactly(2, 1, 3);
+        assertThat(stored.stream().allMatch(f -> f.rules().deprecated())).isTrue();
+    }
+
+    @Test
+    void notInlineStoredFields() {
+        // given
+        FieldDefinition field = FieldDefinition.message("point", 2, canonicalName("com.example.Point"), NO_RULES);
+
+        // when then
+        assertThat(field.isInline()).isFalse();
+        assertThat(field.storedFields()).containsExactly(field);
+    }
+
+    @Test
+    void inlineMessageCannotBeRepeated() {
+        // when then
+        assertThatThrownBy(() -> FieldDefinition.inlineMessage("point", 1, canonicalName("com.example.Point"),
+                new FieldRules(false, true, false), List.of(FieldDefinition.scalar("x", 1, "double", NO_RULES))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Inline message field cannot be repeated");
+    }
+
+    @Test
+    void inlineMessageWithoutFields() {
+        // when then
+        assertThatThrownBy(() -> FieldDefinition.inlineMessage("point", 1, canonicalName("com.example.Point"),
+                NO_RULES, List.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Inline message must have at least one field");
+    }
+
+    @Test
+    void inlineMessageWithNestedMessage() {
+        // given
+        List<FieldDefinition> fields = List.of(
+                FieldDefinition.message("other", 1, canonicalName("com.example.Other"), NO_RULES));
+
+        // when then
+        assertThatThrownBy(() -> FieldDefinition.inlineMessage("point", 1, canonicalName("com.example.Point"),
+                NO_RULES, fields))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Inline message can contain only singular scalar and enum fields");
+    }
+
+    @Test
+    void inlineMessageWithRepeatedField() {
+        // given
+        List<FieldDefinition> fields = List.of(
+                FieldDefinition.scalar("values", 1, "int32", new FieldRules(false, true, false)));
+
+        // when then
+        assertThatThrownBy(() -> FieldDefinition.inlineMessage("point", 1, canonicalName("com.example.Point"),
+                NO_RULES, fields))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Inline message can contain only singular scalar and enum fields");
+    }
+
+    @Test
+    void mapCannotBeRepeated() {
+        // when then
+        assertThatThrownBy(() -> FieldDefinition.map("name", 1, "map<int32, int32>", new FieldRules(false, true, false)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Map field cannot be repeated");
+    }
 }
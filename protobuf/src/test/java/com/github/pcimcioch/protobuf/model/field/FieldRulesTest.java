@@ -1,5 +1,6 @@
 package com.github.pcimcioch.protobuf.model.field;
 
+import com.github.pcimcioch.protobuf.dto.ListStorage;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -13,4 +14,12 @@ class FieldRulesTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Only repeated fields can be packed");
     }
-}
\ No newline at end of file
+
+    @Test
+    void storageButNotRepeated() {
+        // when then
+        assertThatThrownBy(() -> new FieldRules(false, false, false, ListStorage.SEGMENTED))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Only repeated fields can have storage");
+    }
+}
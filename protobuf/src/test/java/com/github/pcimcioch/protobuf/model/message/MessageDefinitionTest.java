@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.Set;
 
 import static com.github.pcimcioch.protobuf.code.TypeName.canonicalName;
+import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.inlineMessage;
 import static com.github.pcimcioch.protobuf.model.field.FieldDefinition.scalar;
 import static java.lang.Integer.MAX_VALUE;
 import static java.util.Arrays.asList;
@@ -109,6 +110,20 @@ class MessageDefinitionTest {
                     .hasMessageContaining("Duplicated field number: 1");
         }
 
+        @Test
+        void duplicatedInlineFieldNames() {
+            // given
+            List<FieldDefinition> fields = asList(
+                    inlineMessage("point", 1, CHILD_MESSAGE_NAME, NO_RULES, List.of(scalar("x", 1, "double", NO_RULES))),
+                    scalar("pointX", 2, "double", NO_RULES)
+            );
+
+            // when then
+            assertThatThrownBy(() -> new MessageDefinition(NAME, fields, NO_RESERVED, emptyList(), emptyList()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Duplicated java field name: pointX");
+        }
+
         @Test
         void nullField() {
             // given
@@ -12,6 +12,16 @@ dependencies {
     jmhAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.36")
 }
 
+tasks.compileJava {
+    options.compilerArgs.add("-Aprotobuf.mutable=true")
+    options.compilerArgs.add("-Aprotobuf.edit=true")
+    options.compilerArgs.add("-Aprotobuf.where=true")
+    options.compilerArgs.add("-Aprotobuf.visitor=true")
+    options.compilerArgs.add("-Aprotobuf.streaming=true")
+    options.compilerArgs.add("-Aprotobuf.sinks=true")
+    options.compilerArgs.add("-Aprotobuf.columns=true")
+}
+
 protobuf {
     protoc {
         artifact = "com.google.protobuf:protoc:3.22.0"
@@ -20,4 +30,5 @@ protobuf {
 
 jmh {
     resultFormat.set("json")
+    profilers.add("gc")
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.AggregationData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+public class AggregationTest extends TestBase {
+
+    @Benchmark
+    public void sumBoxed(Blackhole bh, AggregationData data) {
+        bh.consume(data.sumBoxed());
+    }
+
+    @Benchmark
+    public void sumStreamBoxed(Blackhole bh, AggregationData data) {
+        bh.consume(data.sumStreamBoxed());
+    }
+
+    @Benchmark
+    public void sumIndexed(Blackhole bh, AggregationData data) {
+        bh.consume(data.sumIndexed());
+    }
+
+    @Benchmark
+    public void sumForEach(Blackhole bh, AggregationData data) {
+        bh.consume(data.sumForEach());
+    }
+
+    @Benchmark
+    public void sumStream(Blackhole bh, AggregationData data) {
+        bh.consume(data.sumStream());
+    }
+
+    @Benchmark
+    public void sumCopy(Blackhole bh, AggregationData data) {
+        bh.consume(data.sumCopy());
+    }
+}
@@ -0,0 +1,20 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.BroadcastData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+
+public class BroadcastTest extends TestBase {
+
+    @Benchmark
+    public void plain(Blackhole bh, BroadcastData data) throws IOException {
+        bh.consume(data.broadcastPlain());
+    }
+
+    @Benchmark
+    public void cached(Blackhole bh, BroadcastData data) throws IOException {
+        bh.consume(data.broadcastCached());
+    }
+}
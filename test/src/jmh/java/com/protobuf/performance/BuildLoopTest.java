@@ -0,0 +1,18 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.BuildLoopData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+public class BuildLoopTest extends TestBase {
+
+    @Benchmark
+    public void newBuilder(Blackhole bh, BuildLoopData data) {
+        bh.consume(data.buildNew());
+    }
+
+    @Benchmark
+    public void reusedBuilder(Blackhole bh, BuildLoopData data) {
+        bh.consume(data.buildReused());
+    }
+}
@@ -0,0 +1,30 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.ColumnsData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+
+public class ColumnsTest extends TestBase {
+
+    @Benchmark
+    public void parseThenSumRecords(Blackhole bh, ColumnsData data) throws IOException {
+        bh.consume(data.parseThenSumRecords());
+    }
+
+    @Benchmark
+    public void parseThenSumColumns(Blackhole bh, ColumnsData data) throws IOException {
+        bh.consume(data.parseThenSumColumns());
+    }
+
+    @Benchmark
+    public void sumRecords(Blackhole bh, ColumnsData data) {
+        bh.consume(data.sumRecords());
+    }
+
+    @Benchmark
+    public void sumColumns(Blackhole bh, ColumnsData data) {
+        bh.consume(data.sumColumns());
+    }
+}
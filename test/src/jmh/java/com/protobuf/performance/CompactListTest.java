@@ -0,0 +1,23 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.CompactListData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+public class CompactListTest extends TestBase {
+
+    @Benchmark
+    public void build(Blackhole bh, CompactListData data) {
+        bh.consume(data.build());
+    }
+
+    @Benchmark
+    public void sequentialAccess(Blackhole bh, CompactListData data) {
+        bh.consume(data.sequentialAccess());
+    }
+
+    @Benchmark
+    public void randomAccess(Blackhole bh, CompactListData data) {
+        bh.consume(data.randomAccess());
+    }
+}
@@ -0,0 +1,28 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.EnumIterationData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+public class EnumIterationTest extends TestBase {
+
+    @Benchmark
+    public void forNumber(Blackhole bh, EnumIterationData data) {
+        bh.consume(data.forNumber());
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh, EnumIterationData data) {
+        bh.consume(data.iterate());
+    }
+
+    @Benchmark
+    public void iterateResolved(Blackhole bh, EnumIterationData data) {
+        bh.consume(data.iterateResolved());
+    }
+
+    @Benchmark
+    public void resolveAndIterate(Blackhole bh, EnumIterationData data) {
+        bh.consume(data.resolveAndIterate());
+    }
+}
@@ -0,0 +1,20 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.FilterData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+
+public class FilterTest extends TestBase {
+
+    @Benchmark
+    public void parseThenTest(Blackhole bh, FilterData data) throws IOException {
+        bh.consume(data.filterParsed());
+    }
+
+    @Benchmark
+    public void wireMatcher(Blackhole bh, FilterData data) throws IOException {
+        bh.consume(data.filterWire());
+    }
+}
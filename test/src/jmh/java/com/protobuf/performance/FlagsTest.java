@@ -0,0 +1,33 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.FlagsData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+public class FlagsTest extends TestBase {
+
+    @Benchmark
+    public void buildFlags(Blackhole bh, FlagsData data) {
+        bh.consume(data.buildFlags());
+    }
+
+    @Benchmark
+    public void buildStatuses(Blackhole bh, FlagsData data) {
+        bh.consume(data.buildStatuses());
+    }
+
+    @Benchmark
+    public void countFlags(Blackhole bh, FlagsData data) {
+        bh.consume(data.countFlags());
+    }
+
+    @Benchmark
+    public void countFlagsLoop(Blackhole bh, FlagsData data) {
+        bh.consume(data.countFlagsLoop());
+    }
+
+    @Benchmark
+    public void sumStatuses(Blackhole bh, FlagsData data) {
+        bh.consume(data.sumStatuses());
+    }
+}
@@ -0,0 +1,20 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.GatewayData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+
+public class GatewayTest extends TestBase {
+
+    @Benchmark
+    public void forwardParsed(Blackhole bh, GatewayData data) throws IOException {
+        bh.consume(data.forwardParsed());
+    }
+
+    @Benchmark
+    public void forwardRaw(Blackhole bh, GatewayData data) throws IOException {
+        bh.consume(data.forwardRaw());
+    }
+}
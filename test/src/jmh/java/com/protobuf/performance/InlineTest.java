@@ -0,0 +1,20 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.InlineData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+
+public class InlineTest extends TestBase {
+
+    @Benchmark
+    public void parse(Blackhole bh, InlineData data) throws IOException {
+        bh.consume(data.parse());
+    }
+
+    @Benchmark
+    public void length(Blackhole bh, InlineData data) {
+        bh.consume(data.length());
+    }
+}
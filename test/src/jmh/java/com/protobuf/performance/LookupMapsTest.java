@@ -0,0 +1,22 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.MapsData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+public class LookupMapsTest extends TestBase {
+
+    @Benchmark
+    public void int32Keys(Blackhole bh, MapsData data) {
+        for (int key : data.int32Keys) {
+            bh.consume(data.int32Lookup.applyAsLong(key));
+        }
+    }
+
+    @Benchmark
+    public void stringKeys(Blackhole bh, MapsData data) {
+        for (String key : data.stringKeys) {
+            bh.consume(data.stringLookup.applyAsInt(key));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.MessageKeyData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+
+public class MessageKeyTest extends TestBase {
+
+    @Benchmark
+    public void lookup(Blackhole bh, MessageKeyData data) {
+        bh.consume(data.lookup());
+    }
+
+    @Benchmark
+    public void lookupMissing(Blackhole bh, MessageKeyData data) {
+        bh.consume(data.lookupMissing());
+    }
+
+    @Benchmark
+    public void lookupParsed(Blackhole bh, MessageKeyData data) throws IOException {
+        bh.consume(data.lookupParsed());
+    }
+}
@@ -0,0 +1,20 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.OffHeapData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+
+public class OffHeapTest extends TestBase {
+
+    @Benchmark
+    public void decode(Blackhole bh, OffHeapData data) throws IOException {
+        bh.consume(data.decode());
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh, OffHeapData data) {
+        bh.consume(data.iterate());
+    }
+}
@@ -0,0 +1,25 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.PackedSizeData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+
+public class PackedSizeTest extends TestBase {
+
+    @Benchmark
+    public void size(Blackhole bh, PackedSizeData data) {
+        bh.consume(data.size());
+    }
+
+    @Benchmark
+    public void serialize(Blackhole bh, PackedSizeData data) throws IOException {
+        bh.consume(data.serialize());
+    }
+
+    @Benchmark
+    public void serializeFirstTime(Blackhole bh, PackedSizeData data) throws IOException {
+        bh.consume(data.serializeFirstTime());
+    }
+}
@@ -0,0 +1,20 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.PassThroughData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+
+public class PassThroughTest extends TestBase {
+
+    @Benchmark
+    public void unknownFieldRecords(Blackhole bh, PassThroughData data) throws IOException {
+        bh.consume(data.passRecords());
+    }
+
+    @Benchmark
+    public void rawUnknownFields(Blackhole bh, PassThroughData data) throws IOException {
+        bh.consume(data.passRaw());
+    }
+}
@@ -0,0 +1,20 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.PatchData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+
+public class PatchTest extends TestBase {
+
+    @Benchmark
+    public void parseAndEncode(Blackhole bh, PatchData data) throws IOException {
+        bh.consume(data.patchRecord());
+    }
+
+    @Benchmark
+    public void wireRewrite(Blackhole bh, PatchData data) throws IOException {
+        bh.consume(data.patchWire());
+    }
+}
@@ -0,0 +1,20 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.LargeRepeatedData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+
+public class ReadLargeRepeatedTest extends TestBase {
+
+    @Benchmark
+    public void decode(Blackhole bh, LargeRepeatedData data) throws IOException {
+        bh.consume(data.decode());
+    }
+
+    @Benchmark
+    public void record(Blackhole bh, LargeRepeatedData data) throws IOException {
+        bh.consume(data.parseRecord());
+    }
+}
@@ -0,0 +1,18 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.MapsData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+public class ReadMapsTest extends TestBase {
+
+    @Benchmark
+    public void bytes(Blackhole bh, MapsData data) throws Exception {
+        bh.consume(data.algorithm.parseBytes());
+    }
+
+    @Benchmark
+    public void stream(Blackhole bh, MapsData data) throws Exception {
+        bh.consume(data.algorithm.parseStream());
+    }
+}
@@ -0,0 +1,18 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.MutableData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+public class ReadMutableTest extends TestBase {
+
+    @Benchmark
+    public void record(Blackhole bh, MutableData data) throws Exception {
+        bh.consume(data.parseRecord());
+    }
+
+    @Benchmark
+    public void mutable(Blackhole bh, MutableData data) throws Exception {
+        bh.consume(data.parseMutable());
+    }
+}
@@ -0,0 +1,18 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.PartialUpdatesData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+public class ReadPartialUpdatesTest extends TestBase {
+
+    @Benchmark
+    public void bytes(Blackhole bh, PartialUpdatesData data) throws Exception {
+        bh.consume(data.parseBytes());
+    }
+
+    @Benchmark
+    public void stream(Blackhole bh, PartialUpdatesData data) throws Exception {
+        bh.consume(data.parseStream());
+    }
+}
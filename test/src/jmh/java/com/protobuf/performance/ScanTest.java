@@ -0,0 +1,20 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.ScanData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+
+public class ScanTest extends TestBase {
+
+    @Benchmark
+    public void scanFlat(Blackhole bh, ScanData data) throws IOException {
+        bh.consume(data.scanFlat());
+    }
+
+    @Benchmark
+    public void scanDeep(Blackhole bh, ScanData data) throws IOException {
+        bh.consume(data.scanDeep());
+    }
+}
@@ -0,0 +1,20 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.SinksData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+
+public class SinksTest extends TestBase {
+
+    @Benchmark
+    public void parseThenSum(Blackhole bh, SinksData data) throws IOException {
+        bh.consume(data.sumParsed());
+    }
+
+    @Benchmark
+    public void sinks(Blackhole bh, SinksData data) throws IOException {
+        bh.consume(data.sumSinks());
+    }
+}
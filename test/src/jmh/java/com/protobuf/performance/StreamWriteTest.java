@@ -0,0 +1,19 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.StreamWriteData;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.io.IOException;
+
+public class StreamWriteTest extends TestBase {
+
+    @Benchmark
+    public void builder(StreamWriteData data) throws IOException {
+        data.writeBuilt();
+    }
+
+    @Benchmark
+    public void streamWriter(StreamWriteData data) throws IOException {
+        data.writeStreamed();
+    }
+}
@@ -0,0 +1,25 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.StringArenaData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+
+public class StringArenaTest extends TestBase {
+
+    @Benchmark
+    public void parse(Blackhole bh, StringArenaData data) throws IOException {
+        bh.consume(data.parse());
+    }
+
+    @Benchmark
+    public void write(Blackhole bh, StringArenaData data) throws IOException {
+        bh.consume(data.write());
+    }
+
+    @Benchmark
+    public void scan(Blackhole bh, StringArenaData data) {
+        bh.consume(data.scan());
+    }
+}
@@ -0,0 +1,20 @@
+package com.protobuf.performance;
+
+import com.protobuf.performance.data.VisitData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+
+public class VisitTest extends TestBase {
+
+    @Benchmark
+    public void parseThenSum(Blackhole bh, VisitData data) throws IOException {
+        bh.consume(data.sumParsed());
+    }
+
+    @Benchmark
+    public void visitor(Blackhole bh, VisitData data) throws IOException {
+        bh.consume(data.sumVisited());
+    }
+}
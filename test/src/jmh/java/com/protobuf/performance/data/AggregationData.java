@@ -0,0 +1,76 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.dto.IntList;
+import com.github.pcimcioch.protobuf.dto.ListStorage;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+@State(Scope.Thread)
+public class AggregationData {
+
+    @Param({"CONTIGUOUS", "SEGMENTED", "BIT_PACKED"})
+    public ListStorage storage;
+
+    @Param({"1000000"})
+    public int size;
+
+    private IntList list;
+    private int[] buffer;
+    private long sum;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        IntList.Builder builder = IntList.builder(storage);
+        for (int i = 0; i < size; i++) {
+            builder.add(random.nextInt(100_000));
+        }
+
+        this.list = builder.build();
+        this.buffer = new int[size];
+    }
+
+    public long sumBoxed() {
+        long result = 0L;
+        for (Integer element : list) {
+            result += element;
+        }
+        return result;
+    }
+
+    public long sumStreamBoxed() {
+        return list.stream().mapToLong(Integer::longValue).sum();
+    }
+
+    public long sumIndexed() {
+        long result = 0L;
+        for (int i = 0; i < size; i++) {
+            result += list.getInt(i);
+        }
+        return result;
+    }
+
+    public long sumForEach() {
+        sum = 0L;
+        list.forEachInt(element -> sum += element);
+        return sum;
+    }
+
+    public long sumStream() {
+        return list.intStream().asLongStream().sum();
+    }
+
+    public long sumCopy() {
+        list.copyTo(buffer, 0);
+        long result = 0L;
+        for (int element : buffer) {
+            result += element;
+        }
+        return result;
+    }
+}
@@ -44,6 +44,10 @@ public final class Algorithm<T> {
         }
     }
 
+    public byte[] bytes() {
+        return bytes;
+    }
+
     public byte[] serializeBytes() throws Exception {
         return bytesSerializer.call(data);
     }
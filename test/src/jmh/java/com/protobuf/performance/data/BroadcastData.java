@@ -0,0 +1,67 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.dto.LongList;
+import com.protobuf.model.CachedPart;
+import com.protobuf.model.CachedSnapshot;
+import com.protobuf.model.PlainSnapshot;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+@State(Scope.Thread)
+public class BroadcastData {
+
+    @Param({"10000"})
+    public int size;
+
+    @Param({"100"})
+    public int subscribers;
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private CachedSnapshot cached;
+    private PlainSnapshot plain;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        LongList.Builder values = LongList.builder();
+        for (int i = 0; i < size; i++) {
+            values.add(random.nextLong());
+        }
+
+        this.cached = CachedSnapshot.builder()
+                .name("snapshot")
+                .version(random.nextInt())
+                .values(values.build())
+                .part(new CachedPart("payload"))
+                .build();
+        this.plain = PlainSnapshot.builder()
+                .name(cached.name())
+                .version(cached.version())
+                .values(cached.values())
+                .part(cached.part())
+                .build();
+    }
+
+    public int broadcastPlain() throws IOException {
+        output.reset();
+        for (int i = 0; i < subscribers; i++) {
+            plain.writeTo(output);
+        }
+        return output.size();
+    }
+
+    public int broadcastCached() throws IOException {
+        output.reset();
+        for (int i = 0; i < subscribers; i++) {
+            cached.writeTo(output);
+        }
+        return output.size();
+    }
+}
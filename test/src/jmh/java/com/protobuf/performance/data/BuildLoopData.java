@@ -0,0 +1,80 @@
+package com.protobuf.performance.data;
+
+import com.protobuf.performance.RepeatedPacked;
+import com.protobuf.performance.RepeatedPackedProto;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import static com.protobuf.performance.data.Algorithm.OUR;
+import static com.protobuf.performance.data.Algorithm.PROTO;
+
+@State(Scope.Thread)
+public class BuildLoopData {
+    private static final int MESSAGES = 100;
+    private static final int ELEMENTS = 20;
+
+    @Param({OUR, PROTO})
+    public String type;
+
+    private final RepeatedPacked.Builder ourBuilder = RepeatedPacked.builder();
+    private final RepeatedPackedProto.Builder protoBuilder = RepeatedPackedProto.newBuilder();
+
+    public Object buildNew() {
+        return switch (type) {
+            case OUR -> {
+                RepeatedPacked last = null;
+                for (int i = 0; i < MESSAGES; i++) {
+                    last = fill(RepeatedPacked.builder(), i).build();
+                }
+                yield last;
+            }
+            case PROTO -> {
+                RepeatedPackedProto last = null;
+                for (int i = 0; i < MESSAGES; i++) {
+                    last = fill(RepeatedPackedProto.newBuilder(), i).build();
+                }
+                yield last;
+            }
+            default -> null;
+        };
+    }
+
+    public Object buildReused() {
+        return switch (type) {
+            case OUR -> {
+                RepeatedPacked last = null;
+                for (int i = 0; i < MESSAGES; i++) {
+                    last = fill(ourBuilder.reset(), i).build();
+                }
+                yield last;
+            }
+            case PROTO -> {
+                RepeatedPackedProto last = null;
+                for (int i = 0; i < MESSAGES; i++) {
+                    last = fill(protoBuilder.clear(), i).build();
+                }
+                yield last;
+            }
+            default -> null;
+        };
+    }
+
+    private static RepeatedPacked.Builder fill(RepeatedPacked.Builder builder, int seed) {
+        for (int i = 0; i < ELEMENTS; i++) {
+            builder.addInt32(seed + i)
+                    .addInt64(seed * 1000L + i)
+                    .addBool(i % 2 == 0);
+        }
+        return builder;
+    }
+
+    private static RepeatedPackedProto.Builder fill(RepeatedPackedProto.Builder builder, int seed) {
+        for (int i = 0; i < ELEMENTS; i++) {
+            builder.addInt32(seed + i)
+                    .addInt64(seed * 1000L + i)
+                    .addBool(i % 2 == 0);
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,69 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.dto.DoubleList;
+import com.github.pcimcioch.protobuf.dto.ObjectList;
+import com.protobuf.performance.Chunk;
+import com.protobuf.performance.Point;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+
+@State(Scope.Thread)
+public class ColumnsData {
+
+    @Param({"1000", "1000000"})
+    public int points;
+
+    private byte[] data;
+    private ObjectList<Point> records;
+    private Point.Columns columns;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Chunk.Builder builder = Chunk.builder().id("chunk");
+        for (int i = 0; i < points; i++) {
+            builder.addPoints(new Point("point", i * 0.001d, i * 0.002d));
+        }
+        Chunk chunk = builder.build();
+
+        this.data = chunk.toByteArray();
+        this.records = chunk.points();
+        this.columns = Point.Columns.copyOf(records);
+    }
+
+    public double parseThenSumRecords() throws IOException {
+        return sum(Chunk.parse(data).points());
+    }
+
+    public double parseThenSumColumns() throws IOException {
+        return sum(Chunk.parsePointsColumns(data).latitude());
+    }
+
+    public double sumRecords() {
+        return sum(records);
+    }
+
+    public double sumColumns() {
+        return sum(columns.latitude());
+    }
+
+    private static double sum(ObjectList<Point> points) {
+        double sum = 0d;
+        for (Point point : points) {
+            sum += point.latitude();
+        }
+        return sum;
+    }
+
+    private static double sum(DoubleList latitudes) {
+        double sum = 0d;
+        for (int i = 0; i < latitudes.size(); i++) {
+            sum += latitudes.getDouble(i);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,75 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.dto.ListStorage;
+import com.github.pcimcioch.protobuf.dto.LongList;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+@State(Scope.Thread)
+public class CompactListData {
+    private static final String SMALL = "SMALL";
+    private static final String SORTED = "SORTED";
+
+    @Param({"CONTIGUOUS", "BIT_PACKED", "DELTA"})
+    public ListStorage storage;
+
+    @Param({SMALL, SORTED})
+    public String values;
+
+    @Param({"100000"})
+    public int size;
+
+    private long[] source;
+    private int[] randomIndexes;
+    private LongList list;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        this.source = new long[size];
+        long timestamp = 1_700_000_000_000L;
+        for (int i = 0; i < size; i++) {
+            source[i] = switch (values) {
+                case SMALL -> random.nextInt(1000);
+                case SORTED -> timestamp += random.nextInt(50);
+                default -> throw new IllegalArgumentException("Unknown values " + values);
+            };
+        }
+
+        this.randomIndexes = new int[1024];
+        for (int i = 0; i < randomIndexes.length; i++) {
+            randomIndexes[i] = random.nextInt(size);
+        }
+
+        this.list = build();
+    }
+
+    public LongList build() {
+        LongList.Builder builder = LongList.builder(storage);
+        for (long value : source) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+
+    public long sequentialAccess() {
+        long sum = 0L;
+        for (int i = 0; i < size; i++) {
+            sum += list.getLong(i);
+        }
+        return sum;
+    }
+
+    public long randomAccess() {
+        long sum = 0L;
+        for (int index : randomIndexes) {
+            sum += list.getLong(index);
+        }
+        return sum;
+    }
+}
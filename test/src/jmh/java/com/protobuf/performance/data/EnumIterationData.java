@@ -0,0 +1,70 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.dto.EnumList;
+import com.protobuf.model.RepeatableEnum;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+@State(Scope.Thread)
+public class EnumIterationData {
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"10"})
+    public int passes;
+
+    private EnumList<RepeatableEnum> list;
+    private EnumList<RepeatableEnum> resolvedList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        EnumList.Builder<RepeatableEnum> builder = EnumList.builder(RepeatableEnum::forNumber);
+        for (int i = 0; i < size; i++) {
+            builder.addValue(random.nextInt(3));
+        }
+
+        this.list = builder.build();
+        this.resolvedList = list.resolved();
+    }
+
+    public int forNumber() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (RepeatableEnum.forNumber(i % 4) == RepeatableEnum.SECOND) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int iterate() {
+        return countSecond(list);
+    }
+
+    public int iterateResolved() {
+        return countSecond(resolvedList);
+    }
+
+    public int resolveAndIterate() {
+        return countSecond(list.resolved());
+    }
+
+    private int countSecond(EnumList<RepeatableEnum> elements) {
+        int count = 0;
+        for (int pass = 0; pass < passes; pass++) {
+            for (RepeatableEnum element : elements) {
+                if (element == RepeatableEnum.SECOND) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
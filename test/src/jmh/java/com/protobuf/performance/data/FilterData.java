@@ -0,0 +1,113 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.dto.LongList;
+import com.github.pcimcioch.protobuf.io.WireMatcher;
+import com.protobuf.model.SimpleEnum;
+import com.protobuf.model.TelemetryRecord;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+@State(Scope.Thread)
+public class FilterData {
+    private static final long THRESHOLD = 900L;
+
+    @Param({"1000"})
+    public int size;
+
+    private byte[] data;
+    private WireMatcher matcher;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        for (int i = 0; i < size; i++) {
+            LongList.Builder samples = LongList.builder();
+            for (int j = 0; j < 20; j++) {
+                samples.add(random.nextLong());
+            }
+            byte[] payload = new byte[100];
+            random.nextBytes(payload);
+
+            byte[] record = TelemetryRecord.builder()
+                    .timestamp(random.nextInt(1000))
+                    .chunkId(random.nextBoolean() ? "a" : "b")
+                    .value(random.nextDouble())
+                    .offset(random.nextInt())
+                    .priority(random.nextInt(10))
+                    .ratio(random.nextFloat())
+                    .valid(random.nextBoolean())
+                    .kind(SimpleEnum.SECOND)
+                    .payload(ByteArray.fromByteArray(payload))
+                    .sequence(i)
+                    .samples(samples.build())
+                    .build()
+                    .toByteArray();
+            writeVarint(output, record.length);
+            output.write(record);
+        }
+
+        this.data = output.toByteArray();
+        this.matcher = TelemetryRecord.where()
+                .timestampGreaterThan(THRESHOLD)
+                .chunkIdEquals("a")
+                .build();
+    }
+
+    public byte[] filterParsed() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        InputStream input = new ByteArrayInputStream(data);
+
+        int length;
+        while ((length = readVarint(input)) != -1) {
+            byte[] record = input.readNBytes(length);
+            TelemetryRecord parsed = TelemetryRecord.parse(record);
+            if (parsed.timestamp() > THRESHOLD && "a".equals(parsed.chunkId())) {
+                writeVarint(output, length);
+                output.write(record);
+            }
+        }
+
+        return output.toByteArray();
+    }
+
+    public byte[] filterWire() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        matcher.filterDelimited(new ByteArrayInputStream(data), output);
+
+        return output.toByteArray();
+    }
+
+    private static int readVarint(InputStream input) throws IOException {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = input.read();
+            if (b == -1) {
+                return -1;
+            }
+            value |= (b & 0b01111111) << shift;
+            if ((b & 0b10000000) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream output, int value) {
+        while ((value & ~0b01111111) != 0) {
+            output.write((value & 0b01111111) | 0b10000000);
+            value >>>= 7;
+        }
+        output.write(value);
+    }
+}
@@ -0,0 +1,78 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.dto.BooleanList;
+import com.github.pcimcioch.protobuf.dto.EnumList;
+import com.github.pcimcioch.protobuf.dto.IntList;
+import com.protobuf.model.RepeatableEnum;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+@State(Scope.Thread)
+public class FlagsData {
+
+    @Param({"1000000"})
+    public int size;
+
+    private boolean[] flags;
+    private int[] statuses;
+    private BooleanList flagList;
+    private EnumList<RepeatableEnum> statusList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        this.flags = new boolean[size];
+        this.statuses = new int[size];
+        for (int i = 0; i < size; i++) {
+            flags[i] = random.nextInt(10) == 0;
+            statuses[i] = random.nextInt(3);
+        }
+
+        this.flagList = buildFlags();
+        this.statusList = buildStatuses();
+    }
+
+    public BooleanList buildFlags() {
+        BooleanList.Builder builder = BooleanList.builder();
+        for (boolean flag : flags) {
+            builder.add(flag);
+        }
+        return builder.build();
+    }
+
+    public EnumList<RepeatableEnum> buildStatuses() {
+        EnumList.Builder<RepeatableEnum> builder = EnumList.builder(RepeatableEnum::forNumber);
+        for (int status : statuses) {
+            builder.addValue(status);
+        }
+        return builder.build();
+    }
+
+    public int countFlags() {
+        return flagList.cardinality();
+    }
+
+    public int countFlagsLoop() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (flagList.getBoolean(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public long sumStatuses() {
+        IntList values = statusList.valuesList();
+        long sum = 0L;
+        for (int i = 0; i < size; i++) {
+            sum += values.getInt(i);
+        }
+        return sum;
+    }
+}
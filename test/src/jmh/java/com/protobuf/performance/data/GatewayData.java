@@ -0,0 +1,68 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.dto.LongList;
+import com.github.pcimcioch.protobuf.dto.ObjectList;
+import com.protobuf.model.GatewayPayload;
+import com.protobuf.model.ParsedEnvelope;
+import com.protobuf.model.RawEnvelope;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@State(Scope.Thread)
+public class GatewayData {
+
+    @Param({"1000"})
+    public int size;
+
+    private byte[] data;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        LongList.Builder values = LongList.builder();
+        List<String> notes = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            values.add(random.nextLong());
+            notes.add("note " + random.nextInt());
+        }
+
+        GatewayPayload payload = GatewayPayload.builder()
+                .name("payload")
+                .values(values.build())
+                .notes(ObjectList.copyOf(notes))
+                .build();
+        this.data = ParsedEnvelope.builder()
+                .route("route")
+                .hops(1)
+                .payload(payload)
+                .addAttachments(payload)
+                .build()
+                .toByteArray();
+    }
+
+    public byte[] forwardParsed() throws IOException {
+        ParsedEnvelope envelope = ParsedEnvelope.parse(data);
+        return envelope.toBuilder()
+                .route("next")
+                .hops(envelope.hops() + 1)
+                .build()
+                .toByteArray();
+    }
+
+    public byte[] forwardRaw() throws IOException {
+        RawEnvelope envelope = RawEnvelope.parse(data);
+        return envelope.toBuilder()
+                .route("next")
+                .hops(envelope.hops() + 1)
+                .build()
+                .toByteArray();
+    }
+}
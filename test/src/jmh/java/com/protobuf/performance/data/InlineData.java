@@ -0,0 +1,83 @@
+package com.protobuf.performance.data;
+
+import com.protobuf.performance.Coordinate;
+import com.protobuf.performance.InlineSegment;
+import com.protobuf.performance.InlineSegments;
+import com.protobuf.performance.NestedSegment;
+import com.protobuf.performance.NestedSegments;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Random;
+
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class InlineData {
+    private static final String NESTED = "NESTED";
+    private static final String INLINE = "INLINE";
+
+    @Param({NESTED, INLINE})
+    public String layout;
+
+    @Param({"1000000"})
+    public int size;
+
+    // reported by JMH as the heap retained by one parsed message
+    public long retainedBytes;
+
+    private byte[] data;
+    private NestedSegments nested;
+    private InlineSegments inline;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        NestedSegments.Builder builder = NestedSegments.builder();
+        for (int i = 0; i < size; i++) {
+            builder.addSegments(new NestedSegment(
+                    new Coordinate(random.nextDouble(), random.nextDouble()),
+                    new Coordinate(random.nextDouble(), random.nextDouble()),
+                    random.nextInt(1000)));
+        }
+        this.data = builder.build().toByteArray();
+
+        long before = usedHeap();
+        if (INLINE.equals(layout)) {
+            this.inline = InlineSegments.parse(data);
+        } else {
+            this.nested = NestedSegments.parse(data);
+        }
+        this.retainedBytes = usedHeap() - before;
+    }
+
+    public Object parse() throws IOException {
+        return INLINE.equals(layout) ? InlineSegments.parse(data) : NestedSegments.parse(data);
+    }
+
+    public double length() {
+        double length = 0d;
+        if (INLINE.equals(layout)) {
+            for (InlineSegment segment : inline.segments()) {
+                length += Math.hypot(segment.toX() - segment.fromX(), segment.toY() - segment.fromY());
+            }
+        } else {
+            for (NestedSegment segment : nested.segments()) {
+                length += Math.hypot(segment.to().x() - segment.from().x(), segment.to().y() - segment.from().y());
+            }
+        }
+        return length;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,63 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.dto.DoubleList;
+import com.github.pcimcioch.protobuf.dto.IntList;
+import com.github.pcimcioch.protobuf.dto.ListStorage;
+import com.github.pcimcioch.protobuf.dto.LongList;
+import com.github.pcimcioch.protobuf.io.ProtobufReader;
+import com.protobuf.performance.RepeatedPacked;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.List;
+
+@State(Scope.Thread)
+public class LargeRepeatedData {
+
+    @Param({"CONTIGUOUS", "SEGMENTED", "AUTO"})
+    public ListStorage storage;
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private final ProtobufReader reader = new ProtobufReader(new byte[0]);
+    private byte[] bytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        RepeatedPacked.Builder builder = RepeatedPacked.builder();
+        for (int i = 1; i <= size; i++) {
+            builder.addDouble_(10d * i)
+                    .addInt32(30 * i)
+                    .addSint64(-80L * i);
+        }
+        this.bytes = builder.build().toByteArray();
+    }
+
+    public Object decode() throws IOException {
+        DoubleList.Builder doubles = DoubleList.builder(storage);
+        IntList.Builder ints = IntList.builder(storage);
+        LongList.Builder longs = LongList.builder(storage);
+
+        reader.reset(bytes);
+        int tag;
+        while ((tag = reader.readTag()) != -1) {
+            switch (tag) {
+                case 10 -> reader.readDoublePacked(doubles::add);
+                case 26 -> reader.readInt32Packed(ints::add);
+                case 66 -> reader.readSint64Packed(longs::add);
+                default -> reader.skip(tag);
+            }
+        }
+
+        return List.of(doubles.build(), ints.build(), longs.build());
+    }
+
+    public Object parseRecord() throws IOException {
+        return RepeatedPacked.parse(bytes);
+    }
+}
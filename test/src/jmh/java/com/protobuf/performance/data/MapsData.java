@@ -0,0 +1,70 @@
+package com.protobuf.performance.data;
+
+import com.protobuf.performance.Maps;
+import com.protobuf.performance.MapsProto;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.function.IntToLongFunction;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+import static com.protobuf.performance.data.Algorithm.OUR;
+import static com.protobuf.performance.data.Algorithm.PROTO;
+
+@State(Scope.Benchmark)
+public class MapsData {
+    private static final int SIZE = 1000;
+
+    @Param({OUR, PROTO})
+    public String type;
+
+    public Algorithm<?> algorithm;
+
+    public int[] int32Keys;
+    public String[] stringKeys;
+    public IntToLongFunction int32Lookup;
+    public ToIntFunction<String> stringLookup;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.int32Keys = IntStream.range(0, SIZE).map(i -> i * 31).toArray();
+        this.stringKeys = IntStream.range(0, SIZE).mapToObj(i -> "key" + i).toArray(String[]::new);
+
+        switch (type) {
+            case OUR -> {
+                Maps our = our();
+                this.algorithm = new Algorithm<>(our, Maps::toByteArray, Maps::writeTo, Maps::parse, Maps::parse);
+                this.int32Lookup = our.int32ToInt64()::getLong;
+                this.stringLookup = our.stringToInt32()::getInt;
+            }
+            case PROTO -> {
+                MapsProto proto = proto();
+                this.algorithm = new Algorithm<>(proto, MapsProto::toByteArray, MapsProto::writeTo, MapsProto::parseFrom, MapsProto::parseFrom);
+                this.int32Lookup = key -> proto.getInt32ToInt64OrDefault(key, 0L);
+                this.stringLookup = key -> proto.getStringToInt32OrDefault(key, 0);
+            }
+        }
+    }
+
+    private Maps our() {
+        Maps.Builder builder = Maps.builder();
+        for (int i = 0; i < SIZE; i++) {
+            builder.putInt32ToInt64(int32Keys[i], i * 1000L);
+            builder.putStringToInt32(stringKeys[i], i);
+        }
+        return builder.build();
+    }
+
+    private MapsProto proto() {
+        MapsProto.Builder builder = MapsProto.newBuilder();
+        for (int i = 0; i < SIZE; i++) {
+            builder.putInt32ToInt64(int32Keys[i], i * 1000L);
+            builder.putStringToInt32(stringKeys[i], i);
+        }
+        return builder.build();
+    }
+}
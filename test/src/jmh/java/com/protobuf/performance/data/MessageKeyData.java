@@ -0,0 +1,84 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.dto.IntList;
+import com.github.pcimcioch.protobuf.dto.LongList;
+import com.protobuf.model.RepeatablePacked;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+@State(Scope.Thread)
+public class MessageKeyData {
+
+    @Param({"10000"})
+    public int size;
+
+    @Param({"16"})
+    public int keys;
+
+    private final Map<RepeatablePacked, Integer> map = new HashMap<>();
+    private RepeatablePacked[] lookupKeys;
+    private RepeatablePacked[] missingKeys;
+    private byte[][] serializedKeys;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        this.lookupKeys = new RepeatablePacked[keys];
+        this.missingKeys = new RepeatablePacked[keys];
+        this.serializedKeys = new byte[keys][];
+        for (int i = 0; i < keys; i++) {
+            RepeatablePacked key = message(random);
+            map.put(key, i);
+            serializedKeys[i] = key.toByteArray();
+            lookupKeys[i] = RepeatablePacked.parse(serializedKeys[i]);
+            missingKeys[i] = message(random);
+        }
+    }
+
+    private RepeatablePacked message(Random random) {
+        IntList.Builder ints = IntList.builder();
+        LongList.Builder longs = LongList.builder();
+        for (int i = 0; i < size; i++) {
+            ints.add(random.nextInt());
+            longs.add(random.nextLong());
+        }
+        return RepeatablePacked.builder()
+                .int32s(ints.build())
+                .int64s(longs.build())
+                .build();
+    }
+
+    public int lookup() {
+        int result = 0;
+        for (RepeatablePacked key : lookupKeys) {
+            result += map.get(key);
+        }
+        return result;
+    }
+
+    public int lookupMissing() {
+        int result = 0;
+        for (RepeatablePacked key : missingKeys) {
+            if (map.containsKey(key)) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    public int lookupParsed() throws IOException {
+        int result = 0;
+        for (byte[] key : serializedKeys) {
+            result += map.get(RepeatablePacked.parse(key));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,65 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.io.ProtobufReader;
+import com.protobuf.performance.RepeatedPacked;
+import com.protobuf.performance.Scalar;
+import com.protobuf.performance.data.Algorithm.ThrowingFunction;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+
+@State(Scope.Thread)
+public class MutableData {
+    private static final String SCALAR = "SCALAR";
+    private static final String REPEATED_PACKED = "REPEATED_PACKED";
+
+    @Param({SCALAR, REPEATED_PACKED})
+    public String message;
+
+    private final ProtobufReader reader = new ProtobufReader(new byte[0]);
+    private byte[] bytes;
+    private ThrowingFunction<byte[], ?> recordParser;
+    private ThrowingFunction<ProtobufReader, ?> mutableParser;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        switch (message) {
+            case SCALAR -> {
+                Scalar.Mutable mutable = new Scalar.Mutable();
+                this.bytes = new Scalar(10d, 20f, 30, 40L, 50, 60L, 70, 80L, 90, 100L, 110, 120L, true).toByteArray();
+                this.recordParser = Scalar::parse;
+                this.mutableParser = mutable::parseInto;
+            }
+            case REPEATED_PACKED -> {
+                RepeatedPacked.Mutable mutable = new RepeatedPacked.Mutable();
+                this.bytes = repeatedPacked().toByteArray();
+                this.recordParser = RepeatedPacked::parse;
+                this.mutableParser = mutable::parseInto;
+            }
+        }
+    }
+
+    public Object parseRecord() throws Exception {
+        return recordParser.call(bytes);
+    }
+
+    public Object parseMutable() throws Exception {
+        return mutableParser.call(reader.reset(bytes));
+    }
+
+    private static RepeatedPacked repeatedPacked() {
+        RepeatedPacked.Builder builder = RepeatedPacked.builder();
+        for (int i = 1; i <= 100; i++) {
+            builder.addDouble_(10d * i)
+                    .addInt32(30 * i)
+                    .addSint64(-80L * i)
+                    .addFixed32(90 * i)
+                    .addBool(i % 2 == 0);
+        }
+        return builder.build();
+    }
+}
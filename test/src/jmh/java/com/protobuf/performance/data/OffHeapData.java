@@ -0,0 +1,140 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.dto.DoubleList;
+import com.github.pcimcioch.protobuf.dto.LongList;
+import com.github.pcimcioch.protobuf.dto.OffHeapDoubleList;
+import com.github.pcimcioch.protobuf.dto.OffHeapLongList;
+import com.github.pcimcioch.protobuf.io.ProtobufReader;
+import com.protobuf.performance.RepeatedPacked;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
+
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class OffHeapData {
+    private static final String HEAP = "HEAP";
+    private static final String OFF_HEAP = "OFF_HEAP";
+
+    @Param({HEAP, OFF_HEAP})
+    public String storage;
+
+    @Param({"1000000"})
+    public int size;
+
+    // reported by JMH as the heap retained by decoded lists
+    public long retainedBytes;
+
+    private final ProtobufReader reader = new ProtobufReader(new byte[0]);
+    private byte[] bytes;
+    private DoubleList heapDoubles;
+    private LongList heapLongs;
+    private OffHeapDoubleList offHeapDoubles;
+    private OffHeapLongList offHeapLongs;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.bytes = encode(size);
+
+        long before = usedHeap();
+        switch (storage) {
+            case HEAP -> {
+                DoubleList.Builder doubles = DoubleList.builder();
+                LongList.Builder longs = LongList.builder();
+                decode(doubles::add, longs::add);
+                this.heapDoubles = doubles.build();
+                this.heapLongs = longs.build();
+            }
+            case OFF_HEAP -> {
+                OffHeapDoubleList.Builder doubles = OffHeapDoubleList.builder();
+                OffHeapLongList.Builder longs = OffHeapLongList.builder();
+                decode(doubles::add, longs::add);
+                this.offHeapDoubles = doubles.build();
+                this.offHeapLongs = longs.build();
+            }
+        }
+        this.retainedBytes = usedHeap() - before;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (offHeapDoubles != null) {
+            offHeapDoubles.close();
+            offHeapLongs.close();
+        }
+    }
+
+    public Object decode() throws IOException {
+        switch (storage) {
+            case HEAP -> {
+                DoubleList.Builder doubles = DoubleList.builder();
+                LongList.Builder longs = LongList.builder();
+                decode(doubles::add, longs::add);
+                return doubles.build().size() + longs.build().size();
+            }
+            case OFF_HEAP -> {
+                OffHeapDoubleList.Builder doubles = OffHeapDoubleList.builder();
+                OffHeapLongList.Builder longs = OffHeapLongList.builder();
+                decode(doubles::add, longs::add);
+                try (OffHeapDoubleList doubleList = doubles.build(); OffHeapLongList longList = longs.build()) {
+                    return doubleList.size() + longList.size();
+                }
+            }
+        }
+        throw new IllegalStateException("Unknown storage " + storage);
+    }
+
+    public double iterate() {
+        double sum = 0d;
+        switch (storage) {
+            case HEAP -> {
+                for (int i = 0; i < size; i++) {
+                    sum += heapDoubles.getDouble(i) + heapLongs.getLong(i);
+                }
+            }
+            case OFF_HEAP -> {
+                for (int i = 0; i < size; i++) {
+                    sum += offHeapDoubles.getDouble(i) + offHeapLongs.getLong(i);
+                }
+            }
+        }
+        return sum;
+    }
+
+    private void decode(DoubleConsumer doubles, LongConsumer longs) throws IOException {
+        reader.reset(bytes);
+        int tag;
+        while ((tag = reader.readTag()) != -1) {
+            switch (tag) {
+                case 10 -> reader.readDoublePacked(doubles);
+                case 66 -> reader.readSint64Packed(longs);
+                default -> reader.skip(tag);
+            }
+        }
+    }
+
+    private static byte[] encode(int size) throws IOException {
+        RepeatedPacked.Builder builder = RepeatedPacked.builder();
+        for (int i = 1; i <= size; i++) {
+            builder.addDouble_(10d * i)
+                    .addSint64(-80L * i);
+        }
+        return builder.build().toByteArray();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
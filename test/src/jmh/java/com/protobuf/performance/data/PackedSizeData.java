@@ -0,0 +1,58 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.dto.IntList;
+import com.github.pcimcioch.protobuf.dto.LongList;
+import com.protobuf.model.RepeatablePacked;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Random;
+
+@State(Scope.Thread)
+public class PackedSizeData {
+
+    @Param({"1000000"})
+    public int size;
+
+    private int[] ints;
+    private long[] longs;
+    private RepeatablePacked message;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        this.ints = new int[size];
+        this.longs = new long[size];
+        for (int i = 0; i < size; i++) {
+            ints[i] = random.nextInt(1 << random.nextInt(31));
+            longs[i] = random.nextLong() >> random.nextInt(63);
+        }
+
+        this.message = message();
+    }
+
+    private RepeatablePacked message() {
+        return RepeatablePacked.builder()
+                .int32s(IntList.wrap(ints))
+                .sint32s(IntList.wrap(ints))
+                .int64s(LongList.wrap(longs))
+                .sint64s(LongList.wrap(longs))
+                .build();
+    }
+
+    public int size() {
+        return message.protobufSize();
+    }
+
+    public byte[] serialize() throws IOException {
+        return message.toByteArray();
+    }
+
+    public byte[] serializeFirstTime() throws IOException {
+        return message().toByteArray();
+    }
+}
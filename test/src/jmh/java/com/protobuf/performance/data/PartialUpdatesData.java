@@ -0,0 +1,73 @@
+package com.protobuf.performance.data;
+
+import com.protobuf.performance.Position;
+import com.protobuf.performance.Status;
+import com.protobuf.performance.Update;
+import com.protobuf.performance.UpdateProto;
+import com.protobuf.performance.data.Algorithm.ThrowingFunction;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static com.protobuf.performance.data.Algorithm.OUR;
+import static com.protobuf.performance.data.Algorithm.PROTO;
+
+@State(Scope.Benchmark)
+public class PartialUpdatesData {
+    private static final int UPDATES = 100;
+
+    @Param({OUR, PROTO})
+    public String type;
+
+    private byte[] bytes;
+    private ThrowingFunction<byte[], ?> bytesParser;
+    private ThrowingFunction<InputStream, ?> streamParser;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.bytes = updates();
+        switch (type) {
+            case OUR -> {
+                this.bytesParser = Update::parse;
+                this.streamParser = Update::parse;
+            }
+            case PROTO -> {
+                this.bytesParser = UpdateProto::parseFrom;
+                this.streamParser = UpdateProto::parseFrom;
+            }
+        }
+    }
+
+    public Object parseBytes() throws Exception {
+        return bytesParser.call(bytes);
+    }
+
+    public Object parseStream() throws Exception {
+        return streamParser.call(new ByteArrayInputStream(bytes));
+    }
+
+    private static byte[] updates() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < UPDATES; i++) {
+            Status status = switch (i % 3) {
+                case 0 -> Status.builder().timestamp(1676725565L + i).build();
+                case 1 -> Status.builder().state("State " + i).build();
+                default -> Status.builder().position(new Position(i * 0.01, i * 0.02)).build();
+            };
+            Update.builder()
+                    .id("Update")
+                    .status(status)
+                    .build()
+                    .writeTo(out);
+        }
+
+        return out.toByteArray();
+    }
+}
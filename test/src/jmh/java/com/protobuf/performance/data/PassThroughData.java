@@ -0,0 +1,57 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.dto.LongList;
+import com.protobuf.model.RawUnknownFieldsRecord;
+import com.protobuf.model.RawUnknownFieldsSource;
+import com.protobuf.model.UnknownFieldsRecord;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Random;
+
+@State(Scope.Thread)
+public class PassThroughData {
+
+    @Param({"50"})
+    public int size;
+
+    private byte[] data;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        LongList.Builder values = LongList.builder();
+        for (int i = 0; i < size; i++) {
+            values.add(random.nextLong());
+        }
+
+        this.data = RawUnknownFieldsSource.builder()
+                .amount(1)
+                .name("name " + random.nextInt())
+                .code(random.nextInt())
+                .ratio(random.nextDouble())
+                .values(values.build())
+                .build()
+                .toByteArray();
+    }
+
+    public byte[] passRecords() throws IOException {
+        UnknownFieldsRecord record = UnknownFieldsRecord.parse(data);
+        return record.toBuilder()
+                .amount(record.amount() + 1)
+                .build()
+                .toByteArray();
+    }
+
+    public byte[] passRaw() throws IOException {
+        RawUnknownFieldsRecord record = RawUnknownFieldsRecord.parse(data);
+        return record.toBuilder()
+                .amount(record.amount() + 1)
+                .build()
+                .toByteArray();
+    }
+}
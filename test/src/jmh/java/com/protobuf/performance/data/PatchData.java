@@ -0,0 +1,70 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.dto.ObjectList;
+import com.github.pcimcioch.protobuf.io.WireRewriter;
+import com.protobuf.model.EditedEvent;
+import com.protobuf.model.EditedHeader;
+import com.protobuf.model.SimpleEnum;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Random;
+
+@State(Scope.Thread)
+public class PatchData {
+
+    @Param({"20"})
+    public int size;
+
+    private byte[] data;
+    private WireRewriter rewriter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        ObjectList.Builder<String> tags = ObjectList.builder();
+        for (int i = 0; i < size; i++) {
+            tags.add("tag " + random.nextInt());
+        }
+        byte[] payload = new byte[size * 50];
+        random.nextBytes(payload);
+
+        this.data = EditedEvent.builder()
+                .tenant("tenant " + random.nextInt())
+                .timestamp(random.nextLong())
+                .header(EditedHeader.builder()
+                        .source("source " + random.nextInt())
+                        .tenant("tenant " + random.nextInt())
+                        .build())
+                .payload(ByteArray.fromByteArray(payload))
+                .tags(tags.build())
+                .kind(SimpleEnum.SECOND)
+                .build()
+                .toByteArray();
+
+        this.rewriter = EditedEvent.edit()
+                .tenant("patched")
+                .editHeader(EditedHeader.edit().tenant("patched"))
+                .build();
+    }
+
+    public byte[] patchRecord() throws IOException {
+        EditedEvent event = EditedEvent.parse(data);
+        return event.toBuilder()
+                .tenant("patched")
+                .header(event.header().toBuilder()
+                        .tenant("patched")
+                        .build())
+                .build()
+                .toByteArray();
+    }
+
+    public byte[] patchWire() throws IOException {
+        return rewriter.rewrite(data);
+    }
+}
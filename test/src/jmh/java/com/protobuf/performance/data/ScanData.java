@@ -0,0 +1,105 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.io.ProtobufScanner;
+import com.github.pcimcioch.protobuf.io.WireType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+
+import static com.protobuf.performance.data.Algorithm.OUR;
+
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class ScanData {
+
+    @Param({"scalar", "repeated", "repeatedPacked", "nested", "maps"})
+    public String payload;
+
+    // reported by JMH as scanned bytes per second
+    public long bytes;
+
+    private byte[] data;
+    private ProtobufScanner scanner;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.data = switch (payload) {
+            case "scalar" -> {
+                ScalarData source = new ScalarData();
+                source.type = OUR;
+                source.setUp();
+                yield source.algorithm.bytes();
+            }
+            case "repeated" -> {
+                RepeatedData source = new RepeatedData();
+                source.type = OUR;
+                source.setUp();
+                yield source.algorithm.bytes();
+            }
+            case "repeatedPacked" -> {
+                RepeatedPackedData source = new RepeatedPackedData();
+                source.type = OUR;
+                source.setUp();
+                yield source.algorithm.bytes();
+            }
+            case "nested" -> {
+                NestedData source = new NestedData();
+                source.type = OUR;
+                source.setUp();
+                yield source.algorithm.bytes();
+            }
+            case "maps" -> {
+                MapsData source = new MapsData();
+                source.type = OUR;
+                source.setUp();
+                yield source.algorithm.bytes();
+            }
+            default -> null;
+        };
+        this.scanner = new ProtobufScanner(data);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        bytes = 0;
+    }
+
+    public long scanFlat() throws IOException {
+        scanner.reset(data);
+        long checksum = 0L;
+        while (scanner.next()) {
+            checksum += scanner.value();
+        }
+
+        bytes += data.length;
+        return checksum;
+    }
+
+    public long scanDeep() throws IOException {
+        scanner.reset(data);
+        long checksum = scan();
+
+        bytes += data.length;
+        return checksum;
+    }
+
+    private long scan() throws IOException {
+        long checksum = 0L;
+        while (scanner.next()) {
+            if (scanner.wireType() == WireType.LEN && scanner.looksLikeMessage()) {
+                scanner.enter();
+                checksum += scan();
+                scanner.exit();
+            } else {
+                checksum += scanner.value();
+            }
+        }
+
+        return checksum;
+    }
+}
@@ -0,0 +1,107 @@
+package com.protobuf.performance.data;
+
+import com.protobuf.performance.Chunk;
+import com.protobuf.performance.Data;
+import com.protobuf.performance.Point;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class SinksData {
+    private static final int POINTS_PER_CHUNK = 1000;
+
+    @Param({"1000000", "10000000"})
+    public int points;
+
+    // reported by JMH as the highest heap usage seen during the iteration, garbage included
+    public long peakHeapBytes;
+
+    private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+    private final Data.Sinks sinks = Data.sinks().chunks(this::sumChunk);
+    private Path file;
+    private double sum;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("points", ".bin");
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(file));
+             Data.StreamWriter data = Data.streamWriter(output)) {
+            data.version("1.0");
+            for (int chunk = 0; chunk < points / POINTS_PER_CHUNK; chunk++) {
+                try (Chunk.StreamWriter writer = data.startChunks()) {
+                    writer.id("chunk");
+                    for (int point = 0; point < POINTS_PER_CHUNK; point++) {
+                        writer.addPoints(new Point("point", chunk * 0.001d, point * 0.001d));
+                    }
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakHeap() {
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        peakHeapBytes = 0;
+    }
+
+    public double sumParsed() throws IOException {
+        sum = 0d;
+        try (InputStream input = Files.newInputStream(file)) {
+            for (Chunk chunk : Data.parse(input).chunks()) {
+                sumChunk(chunk);
+            }
+        }
+
+        updatePeakHeap();
+        return sum;
+    }
+
+    public double sumSinks() throws IOException {
+        sum = 0d;
+        try (InputStream input = Files.newInputStream(file)) {
+            Data.parse(input, sinks);
+        }
+
+        updatePeakHeap();
+        return sum;
+    }
+
+    private void sumChunk(Chunk chunk) {
+        for (Point point : chunk.points()) {
+            sum += point.latitude();
+        }
+    }
+
+    private void updatePeakHeap() {
+        long peak = 0L;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        peakHeapBytes = Math.max(peakHeapBytes, peak);
+    }
+}
@@ -0,0 +1,87 @@
+package com.protobuf.performance.data;
+
+import com.protobuf.performance.Chunk;
+import com.protobuf.performance.Data;
+import com.protobuf.performance.Point;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class StreamWriteData {
+    private static final int POINTS_PER_CHUNK = 1000;
+
+    @Param({"1000000", "10000000"})
+    public int points;
+
+    // reported by JMH as the highest heap usage seen during the iteration
+    public long peakHeapBytes;
+
+    private final OutputStream output = OutputStream.nullOutputStream();
+    private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+
+    @Setup(Level.Iteration)
+    public void resetPeakHeap() {
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        peakHeapBytes = 0;
+    }
+
+    public void writeBuilt() throws IOException {
+        Data.Builder data = Data.builder()
+                .version("1.0")
+                .timestamp(1000L);
+        for (int chunk = 0; chunk < points / POINTS_PER_CHUNK; chunk++) {
+            Chunk.Builder builder = Chunk.builder().id("chunk");
+            for (int point = 0; point < POINTS_PER_CHUNK; point++) {
+                builder.addPoints(point(chunk, point));
+            }
+            data.addChunks(builder.build());
+        }
+        data.build().writeTo(output);
+
+        updatePeakHeap();
+    }
+
+    public void writeStreamed() throws IOException {
+        try (Data.StreamWriter data = Data.streamWriter(output)) {
+            data.version("1.0")
+                    .timestamp(1000L);
+            for (int chunk = 0; chunk < points / POINTS_PER_CHUNK; chunk++) {
+                try (Chunk.StreamWriter writer = data.startChunks()) {
+                    writer.id("chunk");
+                    for (int point = 0; point < POINTS_PER_CHUNK; point++) {
+                        writer.addPoints(point(chunk, point));
+                    }
+                }
+            }
+        }
+
+        updatePeakHeap();
+    }
+
+    private void updatePeakHeap() {
+        long peak = 0L;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        peakHeapBytes = Math.max(peakHeapBytes, peak);
+    }
+
+    private static Point point(int chunk, int point) {
+        return new Point("point", chunk * 0.001d, point * 0.001d);
+    }
+}
@@ -0,0 +1,96 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.dto.ListStorage;
+import com.protobuf.performance.ArenaTags;
+import com.protobuf.performance.Tags;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class StringArenaData {
+    private static final String TARGET = "tag-4242";
+    private static final byte[] TARGET_ENCODED = TARGET.getBytes(UTF_8);
+
+    @Param({"AUTO", "ARENA"})
+    public ListStorage storage;
+
+    @Param({"1000000"})
+    public int size;
+
+    // reported by JMH as the heap retained by one parsed message
+    public long retainedBytes;
+
+    private byte[] data;
+    private Tags tags;
+    private ArenaTags arenaTags;
+    private int matches;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        Tags.Builder builder = Tags.builder();
+        byte[] hash = new byte[8];
+        for (int i = 0; i < size; i++) {
+            random.nextBytes(hash);
+            builder.addTags("tag-" + random.nextInt(100_000));
+            builder.addHashes(ByteArray.fromByteArray(hash));
+        }
+        this.data = builder.build().toByteArray();
+
+        long before = usedHeap();
+        if (storage == ListStorage.ARENA) {
+            this.arenaTags = ArenaTags.parse(data);
+        } else {
+            this.tags = Tags.parse(data);
+        }
+        this.retainedBytes = usedHeap() - before;
+    }
+
+    public Object parse() throws IOException {
+        return storage == ListStorage.ARENA ? ArenaTags.parse(data) : Tags.parse(data);
+    }
+
+    public byte[] write() throws IOException {
+        return storage == ListStorage.ARENA ? arenaTags.toByteArray() : tags.toByteArray();
+    }
+
+    public int scan() {
+        matches = 0;
+        if (storage == ListStorage.ARENA) {
+            arenaTags.tags().forEachEncoded(this::match);
+        } else {
+            for (String tag : tags.tags()) {
+                if (TARGET.equals(tag)) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void match(byte[] data, int offset, int length) {
+        if (Arrays.equals(data, offset, offset + length, TARGET_ENCODED, 0, TARGET_ENCODED.length)) {
+            matches++;
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,90 @@
+package com.protobuf.performance.data;
+
+import com.github.pcimcioch.protobuf.io.ProtobufReader;
+import com.protobuf.performance.Chunk;
+import com.protobuf.performance.Data;
+import com.protobuf.performance.Point;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+
+import static com.protobuf.performance.data.Algorithm.OUR;
+
+@State(Scope.Thread)
+public class VisitData {
+    private byte[] data;
+    private ProtobufReader reader;
+    private double sum;
+
+    private final Point.Visitor pointVisitor = new Point.Visitor() {
+        @Override
+        public void onLatitude(double value) {
+            sum += value;
+        }
+
+        @Override
+        public boolean visitsId() {
+            return false;
+        }
+    };
+
+    private final Chunk.Visitor chunkVisitor = new Chunk.Visitor() {
+        @Override
+        public Point.Visitor enterPoints() {
+            return pointVisitor;
+        }
+
+        @Override
+        public boolean visitsId() {
+            return false;
+        }
+    };
+
+    private final Data.Visitor dataVisitor = new Data.Visitor() {
+        @Override
+        public Chunk.Visitor enterChunks() {
+            return chunkVisitor;
+        }
+
+        @Override
+        public boolean visitsVersion() {
+            return false;
+        }
+
+        @Override
+        public boolean visitsDescription() {
+            return false;
+        }
+    };
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        NestedData source = new NestedData();
+        source.type = OUR;
+        source.setUp();
+
+        this.data = source.algorithm.bytes();
+        this.reader = new ProtobufReader(data);
+    }
+
+    public double sumParsed() throws IOException {
+        double result = 0d;
+        for (Chunk chunk : Data.parse(data).chunks()) {
+            for (Point point : chunk.points()) {
+                result += point.latitude();
+            }
+        }
+
+        return result;
+    }
+
+    public double sumVisited() throws IOException {
+        sum = 0d;
+        Data.visit(reader.reset(data), dataVisitor);
+
+        return sum;
+    }
+}
@@ -0,0 +1,33 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.annotation.Field;
+import com.github.pcimcioch.protobuf.annotation.Message;
+
+@Message(
+        name = "CachedPart",
+        cacheEncoded = true,
+        fields = {
+                @Field(type = Field.string, name = "payload", number = 1)
+        }
+)
+@Message(
+        name = "CachedSnapshot",
+        cacheEncoded = true,
+        fields = {
+                @Field(type = Field.string, name = "name", number = 1),
+                @Field(type = Field.int32, name = "version", number = 2),
+                @Field(type = Field.int64, name = "values", number = 3, repeated = true, packed = true),
+                @Field(type = "CachedPart", name = "part", number = 4)
+        }
+)
+@Message(
+        name = "PlainSnapshot",
+        fields = {
+                @Field(type = Field.string, name = "name", number = 1),
+                @Field(type = Field.int32, name = "version", number = 2),
+                @Field(type = Field.int64, name = "values", number = 3, repeated = true, packed = true),
+                @Field(type = "CachedPart", name = "part", number = 4)
+        }
+)
+class CachedEncodingMarker {
+}
@@ -0,0 +1,45 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.annotation.Enumeration;
+import com.github.pcimcioch.protobuf.annotation.Enumeration.Element;
+import com.github.pcimcioch.protobuf.annotation.Field;
+import com.github.pcimcioch.protobuf.annotation.Message;
+
+@Enumeration(
+        name = "Corner",
+        elements = {
+                @Element(name = "NONE", number = 0),
+                @Element(name = "ROUND", number = 1),
+                @Element(name = "SHARP", number = 2)
+        }
+)
+@Message(
+        name = "Vertex",
+        fields = {
+                @Field(type = Field.int32, name = "id", number = 1),
+                @Field(type = Field.double_, name = "x", number = 2),
+                @Field(type = Field.double_, name = "y", number = 3),
+                @Field(type = Field.string, name = "label", number = 4),
+                @Field(type = "Corner", name = "corner", number = 5)
+        }
+)
+@Message(
+        name = "InlineShape",
+        fields = {
+                @Field(type = Field.string, name = "name", number = 1),
+                @Field(type = "Vertex", name = "origin", number = 2, inline = true),
+                @Field(type = Field.int32, name = "sides", number = 3),
+                @Field(type = "Vertex", name = "center", number = 4, inline = true)
+        }
+)
+@Message(
+        name = "NestedShape",
+        fields = {
+                @Field(type = Field.string, name = "name", number = 1),
+                @Field(type = "Vertex", name = "origin", number = 2),
+                @Field(type = Field.int32, name = "sides", number = 3),
+                @Field(type = "Vertex", name = "center", number = 4)
+        }
+)
+class InlineMessageMarker {
+}
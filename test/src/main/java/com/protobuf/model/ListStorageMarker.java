@@ -0,0 +1,25 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.annotation.Field;
+import com.github.pcimcioch.protobuf.annotation.Message;
+
+import static com.github.pcimcioch.protobuf.dto.ListStorage.ARENA;
+import static com.github.pcimcioch.protobuf.dto.ListStorage.BIT_PACKED;
+import static com.github.pcimcioch.protobuf.dto.ListStorage.CONTIGUOUS;
+import static com.github.pcimcioch.protobuf.dto.ListStorage.DELTA;
+import static com.github.pcimcioch.protobuf.dto.ListStorage.SEGMENTED;
+
+@Message(
+        name = "ListStorageRecord",
+        fields = {
+                @Field(type = "int64", name = "ids", number = 1, repeated = true, packed = true, storage = DELTA),
+                @Field(type = "uint32", name = "offsets", number = 2, repeated = true, packed = true, storage = BIT_PACKED),
+                @Field(type = "sint64", name = "values", number = 3, repeated = true, storage = BIT_PACKED),
+                @Field(type = "double", name = "doubles", number = 4, repeated = true, packed = true, storage = CONTIGUOUS),
+                @Field(type = "string", name = "names", number = 5, repeated = true, storage = SEGMENTED),
+                @Field(type = "string", name = "tags", number = 6, repeated = true, storage = ARENA),
+                @Field(type = "bytes", name = "blobs", number = 7, repeated = true, storage = ARENA)
+        }
+)
+class ListStorageMarker {
+}
@@ -0,0 +1,18 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.annotation.Field;
+import com.github.pcimcioch.protobuf.annotation.Message;
+
+@Message(
+        name = "MapRecord",
+        fields = {
+                @Field(type = "map<int32, int32>", name = "int32ToInt32", number = 1),
+                @Field(type = "map<sint32, int64>", name = "sint32ToInt64", number = 2),
+                @Field(type = "map<int64, uint32>", name = "int64ToUint32", number = 3),
+                @Field(type = "map<fixed64, sfixed64>", name = "fixed64ToSfixed64", number = 4),
+                @Field(type = "map<string, fixed32>", name = "stringToFixed32", number = 5),
+                @Field(type = "map<string, sint64>", name = "stringToSint64", number = 6)
+        }
+)
+class MapRecordMarker {
+}
@@ -0,0 +1,33 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.annotation.Field;
+import com.github.pcimcioch.protobuf.annotation.Message;
+
+@Message(
+        name = "GatewayPayload",
+        fields = {
+                @Field(type = Field.string, name = "name", number = 1),
+                @Field(type = Field.int64, name = "values", number = 2, repeated = true, packed = true),
+                @Field(type = Field.string, name = "notes", number = 3, repeated = true)
+        }
+)
+@Message(
+        name = "RawEnvelope",
+        fields = {
+                @Field(type = Field.string, name = "route", number = 1),
+                @Field(type = Field.int32, name = "hops", number = 2),
+                @Field(type = "GatewayPayload", name = "payload", number = 3, raw = true),
+                @Field(type = "GatewayPayload", name = "attachments", number = 4, repeated = true, raw = true)
+        }
+)
+@Message(
+        name = "ParsedEnvelope",
+        fields = {
+                @Field(type = Field.string, name = "route", number = 1),
+                @Field(type = Field.int32, name = "hops", number = 2),
+                @Field(type = "GatewayPayload", name = "payload", number = 3),
+                @Field(type = "GatewayPayload", name = "attachments", number = 4, repeated = true)
+        }
+)
+class RawMessageMarker {
+}
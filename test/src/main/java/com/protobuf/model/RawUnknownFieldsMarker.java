@@ -0,0 +1,25 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.annotation.Field;
+import com.github.pcimcioch.protobuf.annotation.Message;
+
+@Message(
+        name = "RawUnknownFieldsRecord",
+        supportUnknownFields = true,
+        rawUnknownFields = true,
+        fields = {
+                @Field(type = Field.int32, name = "amount", number = 1)
+        }
+)
+@Message(
+        name = "RawUnknownFieldsSource",
+        fields = {
+                @Field(type = Field.int32, name = "amount", number = 1),
+                @Field(type = Field.string, name = "name", number = 2),
+                @Field(type = Field.fixed32, name = "code", number = 3),
+                @Field(type = Field.double_, name = "ratio", number = 4),
+                @Field(type = Field.sint64, name = "values", number = 5, repeated = true)
+        }
+)
+class RawUnknownFieldsMarker {
+}
@@ -0,0 +1,15 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.annotation.Enumeration;
+import com.github.pcimcioch.protobuf.annotation.Enumeration.Element;
+
+@Enumeration(
+        name = "SignedEnum",
+        elements = {
+                @Element(name = "ZERO", number = 0),
+                @Element(name = "ONE", number = 1),
+                @Element(name = "MINUS_ONE", number = -1)
+        }
+)
+class SignedEnumMarker {
+}
@@ -0,0 +1,17 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.annotation.Enumeration;
+import com.github.pcimcioch.protobuf.annotation.Enumeration.Element;
+
+@Enumeration(
+        name = "SparseEnum",
+        allowAlias = true,
+        elements = {
+                @Element(name = "ZERO", number = 0),
+                @Element(name = "FIVE", number = 5),
+                @Element(name = "ALSO_FIVE", number = 5),
+                @Element(name = "HUNDRED", number = 100)
+        }
+)
+class SparseEnumMarker {
+}
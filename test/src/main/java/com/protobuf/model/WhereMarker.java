@@ -0,0 +1,23 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.annotation.Field;
+import com.github.pcimcioch.protobuf.annotation.Message;
+
+@Message(
+        name = "TelemetryRecord",
+        fields = {
+                @Field(type = Field.int64, name = "timestamp", number = 1),
+                @Field(type = Field.string, name = "chunkId", number = 2),
+                @Field(type = Field.double_, name = "value", number = 3),
+                @Field(type = Field.sint32, name = "offset", number = 4),
+                @Field(type = Field.uint32, name = "priority", number = 5),
+                @Field(type = Field.float_, name = "ratio", number = 6),
+                @Field(type = Field.bool, name = "valid", number = 7),
+                @Field(type = "SimpleEnum", name = "kind", number = 8),
+                @Field(type = Field.bytes, name = "payload", number = 9),
+                @Field(type = Field.fixed64, name = "sequence", number = 10),
+                @Field(type = Field.int64, name = "samples", number = 11, repeated = true)
+        }
+)
+class WhereMarker {
+}
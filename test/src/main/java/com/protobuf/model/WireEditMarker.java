@@ -0,0 +1,26 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.annotation.Field;
+import com.github.pcimcioch.protobuf.annotation.Message;
+
+@Message(
+        name = "EditedHeader",
+        fields = {
+                @Field(type = Field.string, name = "source", number = 1),
+                @Field(type = Field.string, name = "tenant", number = 2)
+        }
+)
+@Message(
+        name = "EditedEvent",
+        fields = {
+                @Field(type = Field.string, name = "tenant", number = 1),
+                @Field(type = Field.int64, name = "timestamp", number = 2),
+                @Field(type = "EditedHeader", name = "header", number = 3),
+                @Field(type = Field.bytes, name = "payload", number = 4),
+                @Field(type = Field.string, name = "tags", number = 5, repeated = true),
+                @Field(type = "map<string, int32>", name = "counters", number = 6),
+                @Field(type = "SimpleEnum", name = "kind", number = 7)
+        }
+)
+class WireEditMarker {
+}
@@ -0,0 +1,14 @@
+package com.protobuf.performance;
+
+import com.github.pcimcioch.protobuf.annotation.Field;
+import com.github.pcimcioch.protobuf.annotation.Message;
+
+@Message(
+        name = "Maps",
+        fields = {
+                @Field(type = "map<int32, int64>", name = "int32ToInt64", number = 1),
+                @Field(type = "map<string, int32>", name = "stringToInt32", number = 2),
+        }
+)
+class MapsMarker {
+}
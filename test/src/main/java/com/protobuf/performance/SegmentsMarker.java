@@ -0,0 +1,45 @@
+package com.protobuf.performance;
+
+import com.github.pcimcioch.protobuf.annotation.Field;
+import com.github.pcimcioch.protobuf.annotation.Message;
+
+import static com.github.pcimcioch.protobuf.annotation.Field.double_;
+import static com.github.pcimcioch.protobuf.annotation.Field.int32;
+
+@Message(
+        name = "Coordinate",
+        fields = {
+                @Field(name = "x", type = double_, number = 1),
+                @Field(name = "y", type = double_, number = 2)
+        }
+)
+@Message(
+        name = "NestedSegment",
+        fields = {
+                @Field(name = "from", type = "Coordinate", number = 1),
+                @Field(name = "to", type = "Coordinate", number = 2),
+                @Field(name = "weight", type = int32, number = 3)
+        }
+)
+@Message(
+        name = "InlineSegment",
+        fields = {
+                @Field(name = "from", type = "Coordinate", number = 1, inline = true),
+                @Field(name = "to", type = "Coordinate", number = 2, inline = true),
+                @Field(name = "weight", type = int32, number = 3)
+        }
+)
+@Message(
+        name = "NestedSegments",
+        fields = {
+                @Field(name = "segments", type = "NestedSegment", number = 1, repeated = true)
+        }
+)
+@Message(
+        name = "InlineSegments",
+        fields = {
+                @Field(name = "segments", type = "InlineSegment", number = 1, repeated = true)
+        }
+)
+class SegmentsMarker {
+}
@@ -0,0 +1,25 @@
+package com.protobuf.performance;
+
+import com.github.pcimcioch.protobuf.annotation.Field;
+import com.github.pcimcioch.protobuf.annotation.Message;
+
+import static com.github.pcimcioch.protobuf.annotation.Field.bytes;
+import static com.github.pcimcioch.protobuf.annotation.Field.string;
+import static com.github.pcimcioch.protobuf.dto.ListStorage.ARENA;
+
+@Message(
+        name = "Tags",
+        fields = {
+                @Field(name = "tags", type = string, number = 1, repeated = true),
+                @Field(name = "hashes", type = bytes, number = 2, repeated = true)
+        }
+)
+@Message(
+        name = "ArenaTags",
+        fields = {
+                @Field(name = "tags", type = string, number = 1, repeated = true, storage = ARENA),
+                @Field(name = "hashes", type = bytes, number = 2, repeated = true, storage = ARENA)
+        }
+)
+class TagsMarker {
+}
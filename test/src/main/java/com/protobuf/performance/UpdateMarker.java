@@ -0,0 +1,33 @@
+package com.protobuf.performance;
+
+import com.github.pcimcioch.protobuf.annotation.Field;
+import com.github.pcimcioch.protobuf.annotation.Message;
+
+import static com.github.pcimcioch.protobuf.annotation.Field.double_;
+import static com.github.pcimcioch.protobuf.annotation.Field.int64;
+import static com.github.pcimcioch.protobuf.annotation.Field.string;
+
+@Message(
+        name = "Update",
+        fields = {
+                @Field(name = "id", type = string, number = 1),
+                @Field(name = "status", type = "Status", number = 2)
+        }
+)
+@Message(
+        name = "Status",
+        fields = {
+                @Field(name = "timestamp", type = int64, number = 1),
+                @Field(name = "state", type = string, number = 2),
+                @Field(name = "position", type = "Position", number = 3)
+        }
+)
+@Message(
+        name = "Position",
+        fields = {
+                @Field(name = "latitude", type = double_, number = 1),
+                @Field(name = "longitude", type = double_, number = 2)
+        }
+)
+class UpdateMarker {
+}
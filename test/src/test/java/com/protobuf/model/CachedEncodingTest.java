@@ -0,0 +1,84 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.dto.LongList;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedEncodingTest {
+
+    @Test
+    void encodeOnce() throws IOException {
+        // given
+        CachedSnapshot model = snapshot();
+
+        // when
+        byte[] first = model.toByteArray();
+        byte[] second = model.toByteArray();
+
+        // then
+        assertThat(second).isEqualTo(first);
+        assertThat(second).isNotSameAs(first);
+        assertThat(model.protobufSize()).isEqualTo(first.length);
+        assertThat(CachedSnapshot.parse(first)).isEqualTo(model);
+    }
+
+    @Test
+    void sameBytesAsPlainMessage() throws IOException {
+        // given
+        CachedSnapshot model = snapshot();
+        PlainSnapshot plain = PlainSnapshot.builder()
+                .name(model.name())
+                .version(model.version())
+                .values(model.values())
+                .part(model.part())
+                .build();
+
+        // when
+        byte[] cached = model.toByteArray();
+        byte[] notCached = plain.toByteArray();
+
+        // then
+        assertThat(cached).isEqualTo(notCached);
+        assertThat(PlainSnapshot.parse(cached)).isEqualTo(plain);
+    }
+
+    @Test
+    void writeToStream() throws IOException {
+        // given
+        CachedSnapshot model = snapshot();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        model.writeTo(output);
+        model.writeTo(output);
+
+        // then
+        byte[] expected = model.toByteArray();
+        byte[] written = output.toByteArray();
+        assertThat(written.length).isEqualTo(2 * expected.length);
+        assertThat(CachedSnapshot.parse(expected)).isEqualTo(model);
+    }
+
+    @Test
+    void emptyMessage() throws IOException {
+        // when
+        CachedSnapshot model = CachedSnapshot.empty();
+
+        // then
+        assertThat(model.protobufSize()).isEqualTo(0);
+        assertThat(model.toByteArray()).isEmpty();
+    }
+
+    private static CachedSnapshot snapshot() {
+        return CachedSnapshot.builder()
+                .name("snapshot")
+                .version(7)
+                .values(LongList.of(1L, -1L, 300L))
+                .part(new CachedPart("payload"))
+                .build();
+    }
+}
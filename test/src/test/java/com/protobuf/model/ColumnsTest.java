@@ -0,0 +1,127 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.dto.DoubleList;
+import com.github.pcimcioch.protobuf.dto.IntList;
+import com.github.pcimcioch.protobuf.dto.LongList;
+import com.github.pcimcioch.protobuf.dto.ObjectList;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnsTest {
+
+    @Test
+    void scalarColumns() {
+        // given
+        FullRecord first = FullRecord.builder()
+                .double_(10d)
+                .int32(30)
+                .bool(true)
+                .string("first")
+                .build();
+        FullRecord second = FullRecord.builder()
+                .double_(20d)
+                .sint64(-80L)
+                .build();
+
+        // when
+        FullRecord.Columns columns = FullRecord.Columns.copyOf(List.of(first, second));
+
+        // then
+        assertThat(columns.size()).isEqualTo(2);
+        assertThat(columns.double_()).isEqualTo(DoubleList.of(10d, 20d));
+        assertThat(columns.int32()).isEqualTo(IntList.of(30, 0));
+        assertThat(columns.sint64()).isEqualTo(LongList.of(0L, -80L));
+        assertThat(columns.string()).isEqualTo(ObjectList.of("first", ""));
+        assertThat(columns.get(0)).isEqualTo(first);
+        assertThat(columns.get(1)).isEqualTo(second);
+        assertThat(columns.toList()).containsExactly(first, second);
+    }
+
+    @Test
+    void nestedAndRepeatedColumns() {
+        // given
+        ParsedEnvelope first = ParsedEnvelope.builder()
+                .route("first")
+                .payload(GatewayPayload.builder().name("payload").addValues(1L).build())
+                .addAttachments(GatewayPayload.builder().name("attachment").build())
+                .build();
+        ParsedEnvelope second = ParsedEnvelope.builder()
+                .route("second")
+                .hops(2)
+                .build();
+
+        // when
+        ParsedEnvelope.Columns columns = ParsedEnvelope.Columns.copyOf(List.of(first, second));
+
+        // then
+        assertThat(columns.route()).isEqualTo(ObjectList.of("first", "second"));
+        assertThat(columns.hops()).isEqualTo(IntList.of(0, 2));
+        assertThat(columns.payload()).containsExactly(first.payload(), GatewayPayload.empty());
+        assertThat(columns.attachments()).containsExactly(first.attachments(), ObjectList.of());
+        assertThat(columns.toList()).containsExactly(first, second);
+    }
+
+    @Test
+    void emptyColumns() {
+        // when
+        FullRecord.Columns columns = FullRecord.Columns.builder().build();
+
+        // then
+        assertThat(columns.size()).isZero();
+        assertThat(columns.double_()).isEmpty();
+        assertThat(columns.toList()).isEmpty();
+    }
+
+    @Test
+    void parseRepeatedMessageIntoColumns() throws IOException {
+        // given
+        byte[] data = RepeatableOtherWork.builder()
+                .addAddresses(new RepeatableOtherAddress("first", 1))
+                .addAddresses(new RepeatableOtherAddress("", 0))
+                .addAddresses(new RepeatableOtherAddress("third", 3))
+                .build()
+                .toByteArray();
+
+        // when
+        RepeatableOtherAddress.Columns columns = RepeatableOtherWork.parseAddressesColumns(data);
+
+        // then
+        assertThat(columns.size()).isEqualTo(3);
+        assertThat(columns.street()).isEqualTo(ObjectList.of("first", "", "third"));
+        assertThat(columns.number()).isEqualTo(IntList.of(1, 0, 3));
+    }
+
+    @Test
+    void parseNestedFieldsIntoColumns() throws IOException {
+        // given
+        GatewayPayload first = GatewayPayload.builder()
+                .name("first")
+                .addValues(1L)
+                .addValues(2L)
+                .addNotes("note")
+                .build();
+        GatewayPayload second = GatewayPayload.builder()
+                .name("second")
+                .build();
+        byte[] data = ParsedEnvelope.builder()
+                .route("route")
+                .payload(GatewayPayload.builder().name("skipped").build())
+                .addAttachments(first)
+                .addAttachments(second)
+                .build()
+                .toByteArray();
+
+        // when
+        GatewayPayload.Columns columns = ParsedEnvelope.parseAttachmentsColumns(new ByteArrayInputStream(data));
+
+        // then
+        assertThat(columns.name()).isEqualTo(ObjectList.of("first", "second"));
+        assertThat(columns.values()).containsExactly(LongList.of(1L, 2L), LongList.of());
+        assertThat(columns.toList()).containsExactly(first, second);
+    }
+}
@@ -82,4 +82,33 @@ class EnumTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Unrecognized enum does not have a number");
     }
+
+    @Test
+    void denseForNumber() {
+        // when then
+        assertThat(SimpleEnum.forNumber(0)).isEqualTo(FIRST);
+        assertThat(SimpleEnum.forNumber(2)).isEqualTo(THIRD);
+        assertThat(SimpleEnum.forNumber(3)).isEqualTo(UNRECOGNIZED);
+        assertThat(SimpleEnum.forNumber(-1)).isEqualTo(UNRECOGNIZED);
+        assertThat(SimpleEnum.forNumber(Integer.MIN_VALUE)).isEqualTo(UNRECOGNIZED);
+    }
+
+    @Test
+    void denseForNumberWithNegativeNumbers() {
+        // when then
+        assertThat(SignedEnum.forNumber(-1)).isEqualTo(SignedEnum.MINUS_ONE);
+        assertThat(SignedEnum.forNumber(0)).isEqualTo(SignedEnum.ZERO);
+        assertThat(SignedEnum.forNumber(1)).isEqualTo(SignedEnum.ONE);
+        assertThat(SignedEnum.forNumber(2)).isEqualTo(SignedEnum.UNRECOGNIZED);
+        assertThat(SignedEnum.forNumber(Integer.MAX_VALUE)).isEqualTo(SignedEnum.UNRECOGNIZED);
+    }
+
+    @Test
+    void sparseForNumber() {
+        // when then
+        assertThat(SparseEnum.forNumber(0)).isEqualTo(SparseEnum.ZERO);
+        assertThat(SparseEnum.forNumber(5)).isEqualTo(SparseEnum.FIVE);
+        assertThat(SparseEnum.forNumber(100)).isEqualTo(SparseEnum.HUNDRED);
+        assertThat(SparseEnum.forNumber(1)).isEqualTo(SparseEnum.UNRECOGNIZED);
+    }
 }
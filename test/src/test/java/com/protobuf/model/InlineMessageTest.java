@@ -0,0 +1,128 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.dto.BooleanList;
+import com.github.pcimcioch.protobuf.dto.DoubleList;
+import com.github.pcimcioch.protobuf.dto.IntList;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InlineMessageTest {
+    private static final Vertex ORIGIN = Vertex.builder()
+            .id(1)
+            .x(10d)
+            .y(-20d)
+            .label("origin")
+            .corner(Corner.ROUND)
+            .build();
+    private static final Vertex CENTER = Vertex.builder()
+            .y(5d)
+            .build();
+
+    @Test
+    void flattenedFields() {
+        // when
+        InlineShape shape = new InlineShape("square", ORIGIN, 4, null);
+
+        // then
+        assertThat(shape.hasOrigin()).isTrue();
+        assertThat(shape.originId()).isEqualTo(1);
+        assertThat(shape.originX()).isEqualTo(10d);
+        assertThat(shape.originY()).isEqualTo(-20d);
+        assertThat(shape.originLabel()).isEqualTo("origin");
+        assertThat(shape.originCornerValue()).isEqualTo(Corner.ROUND.number());
+        assertThat(shape.origin()).isEqualTo(ORIGIN);
+        assertThat(shape.hasCenter()).isFalse();
+        assertThat(shape.center()).isEqualTo(Vertex.empty());
+    }
+
+    @Test
+    void emptyNestedMessageIsAbsent() {
+        // when
+        InlineShape empty = new InlineShape("square", Vertex.empty(), 4, null);
+        InlineShape absent = new InlineShape("square", false, 1, 2d, 3d, "ignored", 2, 4, false, 0, 0d, 0d, "", 0);
+
+        // then
+        assertThat(empty.hasOrigin()).isFalse();
+        assertThat(absent.originX()).isZero();
+        assertThat(absent.originLabel()).isEmpty();
+        assertThat(empty).isEqualTo(absent);
+        assertThat(empty).isEqualTo(new InlineShape("square", null, 4, null));
+        assertThat(InlineShape.empty().isEmpty()).isTrue();
+    }
+
+    @Test
+    void sameWireFormatAsNestedMessage() throws IOException {
+        // given
+        InlineShape inline = new InlineShape("square", ORIGIN, 4, CENTER);
+        NestedShape nested = new NestedShape("square", ORIGIN, 4, CENTER);
+
+        // when
+        byte[] inlineData = inline.toByteArray();
+        byte[] nestedData = nested.toByteArray();
+
+        // then
+        assertThat(inlineData).isEqualTo(nestedData);
+        assertThat(inline.protobufSize()).isEqualTo(nested.protobufSize());
+        assertThat(InlineShape.parse(nestedData)).isEqualTo(inline);
+        assertThat(NestedShape.parse(inlineData)).isEqualTo(nested);
+    }
+
+    @Test
+    void mergeRepeatedOccurrences() throws IOException {
+        // given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(new NestedShape("first", ORIGIN, 3, null).toByteArray());
+        output.write(new NestedShape("", Vertex.builder().x(7d).build(), 0, CENTER).toByteArray());
+
+        // when
+        InlineShape shape = InlineShape.parse(output.toByteArray());
+
+        // then
+        assertThat(shape.origin()).isEqualTo(ORIGIN.toBuilder().x(7d).build());
+        assertThat(shape.center()).isEqualTo(CENTER);
+        assertThat(shape).isEqualTo(new InlineShape(NestedShape.parse(output.toByteArray()).name(),
+                ORIGIN.toBuilder().x(7d).build(), 3, CENTER));
+    }
+
+    @Test
+    void builder() {
+        // given
+        InlineShape shape = new InlineShape("square", ORIGIN, 4, null);
+
+        // when
+        InlineShape changed = shape.toBuilder()
+                .sides(5)
+                .center(CENTER)
+                .build();
+        InlineShape merged = shape.merge(InlineShape.builder()
+                .origin(Vertex.builder().label("merged").build())
+                .build());
+
+        // then
+        assertThat(changed).isEqualTo(new InlineShape("square", ORIGIN, 5, CENTER));
+        assertThat(merged.origin()).isEqualTo(ORIGIN.toBuilder().label("merged").build());
+    }
+
+    @Test
+    void flattenedColumns() {
+        // given
+        InlineShape first = new InlineShape("first", ORIGIN, 4, null);
+        InlineShape second = new InlineShape("second", null, 3, CENTER);
+
+        // when
+        InlineShape.Columns columns = InlineShape.Columns.copyOf(List.of(first, second));
+
+        // then
+        assertThat(columns.hasOrigin()).isEqualTo(BooleanList.of(true, false));
+        assertThat(columns.originX()).isEqualTo(DoubleList.of(10d, 0d));
+        assertThat(columns.originId()).isEqualTo(IntList.of(1, 0));
+        assertThat(columns.hasCenter()).isEqualTo(BooleanList.of(false, true));
+        assertThat(columns.centerY()).isEqualTo(DoubleList.of(0d, 5d));
+        assertThat(columns.toList()).containsExactly(first, second);
+    }
+}
@@ -0,0 +1,194 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.dto.BytesList;
+import com.github.pcimcioch.protobuf.dto.IntList;
+import com.github.pcimcioch.protobuf.dto.ListStorage;
+import com.github.pcimcioch.protobuf.dto.LongList;
+import com.github.pcimcioch.protobuf.dto.ObjectList;
+import com.github.pcimcioch.protobuf.dto.StringList;
+import com.github.pcimcioch.protobuf.io.ProtobufReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ListStorageRecordTest {
+
+    @Test
+    void defaultValues() {
+        // when
+        ListStorageRecord model = ListStorageRecord.empty();
+
+        // then
+        assertThat(model.ids()).isEmpty();
+        assertThat(model.offsets()).isEmpty();
+        assertThat(model.values()).isEmpty();
+        assertThat(model.doubles()).isEmpty();
+        assertThat(model.names()).isEmpty();
+        assertThat(model.tags()).isEmpty();
+        assertThat(model.blobs()).isEmpty();
+    }
+
+    @Test
+    void compactLists() {
+        // when
+        ListStorageRecord model = ListStorageRecord.builder()
+                .addIds(1_000_000_000_000L)
+                .addIds(1_000_000_000_005L)
+                .addIds(1_000_000_000_007L)
+                .addOffsets(7)
+                .addOffsets(3)
+                .addValues(-5L)
+                .addValues(Long.MAX_VALUE)
+                .addValues(Long.MIN_VALUE)
+                .build();
+
+        // then
+        assertThat(model.ids().isCompact()).isTrue();
+        assertThat(model.offsets().isCompact()).isTrue();
+        assertThat(model.values().isCompact()).isTrue();
+        assertThat(model.ids()).isEqualTo(LongList.of(1_000_000_000_000L, 1_000_000_000_005L, 1_000_000_000_007L));
+        assertThat(model.offsets()).isEqualTo(IntList.of(7, 3));
+        assertThat(model.values()).isEqualTo(LongList.of(-5L, Long.MAX_VALUE, Long.MIN_VALUE));
+        assertThat(model.values().getLong(2)).isEqualTo(Long.MIN_VALUE);
+    }
+
+    @Test
+    void largeCompactLists() {
+        // given
+        ListStorageRecord.Builder builder = ListStorageRecord.builder();
+        LongList.Builder expectedIds = LongList.builder(ListStorage.CONTIGUOUS);
+        IntList.Builder expectedOffsets = IntList.builder(ListStorage.CONTIGUOUS);
+        for (int i = 0; i < 20_000; i++) {
+            long id = 1_700_000_000_000L + i * 1000L + (i % 7);
+            int offset = (i * 31) % 4096;
+            builder.addIds(id).addOffsets(offset);
+            expectedIds.add(id);
+            expectedOffsets.add(offset);
+        }
+
+        // when
+        ListStorageRecord model = builder.build();
+
+        // then
+        assertThat(model.ids()).isEqualTo(expectedIds.build());
+        assertThat(model.offsets()).isEqualTo(expectedOffsets.build());
+        assertThat(model.ids().getLong(19_999)).isEqualTo(1_700_000_000_000L + 19_999_000L + 19_999 % 7);
+        assertThat(model.offsets().getInt(12_345)).isEqualTo((12_345 * 31) % 4096);
+    }
+
+    @Test
+    void otherStorages() {
+        // when
+        ListStorageRecord model = ListStorageRecord.builder()
+                .addDoubles(1d)
+                .addNames("first")
+                .build();
+
+        // then
+        assertThat(model.doubles().isSegmented()).isFalse();
+        assertThat(model.names().isSegmented()).isTrue();
+        assertThat(model.names()).containsExactly("first");
+    }
+
+    @Test
+    void parse() throws IOException {
+        // given
+        ListStorageRecord model = ListStorageRecord.builder()
+                .addIds(10L)
+                .addIds(20L)
+                .addOffsets(5)
+                .addValues(-1L)
+                .addDoubles(2d)
+                .addNames("name")
+                .build();
+
+        // when
+        ListStorageRecord parsed = ListStorageRecord.parse(model.toByteArray());
+
+        // then
+        assertThat(parsed).isEqualTo(model);
+        assertThat(parsed.ids().isCompact()).isTrue();
+        assertThat(parsed.values().isCompact()).isTrue();
+    }
+
+    @Test
+    void arenaLists() {
+        // when
+        ListStorageRecord model = ListStorageRecord.builder()
+                .addTags("first")
+                .addAllTags(List.of("second", "third"))
+                .addBlobs(ByteArray.fromByteArray(new byte[]{1, 2}))
+                .build();
+
+        // then
+        assertThat(model.tags()).isEqualTo(StringList.of("first", "second", "third"));
+        assertThat(model.tags()).isEqualTo(ObjectList.of("first", "second", "third"));
+        assertThat(model.blobs()).isEqualTo(BytesList.of(ByteArray.fromByteArray(new byte[]{1, 2})));
+    }
+
+    @Test
+    void arenaListsSameWireFormat() throws IOException {
+        // given
+        ListStorageRecord arena = ListStorageRecord.builder()
+                .addTags("first")
+                .addTags("")
+                .addTags("third")
+                .build();
+        ListStorageRecord objects = ListStorageRecord.builder()
+                .addNames("first")
+                .addNames("")
+                .addNames("third")
+                .build();
+
+        // when
+        byte[] arenaBytes = arena.toByteArray();
+        byte[] objectBytes = objects.toByteArray();
+
+        // then
+        assertThat(arenaBytes).hasSize(objectBytes.length);
+        assertThat(arena.protobufSize()).isEqualTo(objects.protobufSize());
+        assertThat(ListStorageRecord.parse(arenaBytes).tags()).isEqualTo(objects.names());
+    }
+
+    @Test
+    void parseArenaLists() throws IOException {
+        // given
+        ListStorageRecord model = ListStorageRecord.builder()
+                .addTags("tag")
+                .addTags("x".repeat(10_000))
+                .addBlobs(ByteArray.fromByteArray(new byte[]{5}))
+                .addBlobs(ByteArray.empty())
+                .build();
+
+        // when
+        ListStorageRecord fromBytes = ListStorageRecord.parse(model.toByteArray());
+        ListStorageRecord fromStream = ListStorageRecord.parse(new ByteArrayInputStream(model.toByteArray()));
+
+        // then
+        assertThat(fromBytes).isEqualTo(model);
+        assertThat(fromStream).isEqualTo(model);
+    }
+
+    @Test
+    void mergeArenaLists() throws IOException {
+        // given
+        ListStorageRecord first = ListStorageRecord.builder().addTags("a").build();
+        ListStorageRecord second = ListStorageRecord.builder().addTags("b").build();
+
+        // when
+        ListStorageRecord merged = first.merge(second);
+        ListStorageRecord mergedFromBytes = ListStorageRecord.builder()
+                .merge(first)
+                .mergeFrom(new ProtobufReader(second.toByteArray()))
+                .build();
+
+        // then
+        assertThat(merged.tags()).containsExactly("a", "b");
+        assertThat(mergedFromBytes).isEqualTo(merged);
+    }
+}
@@ -0,0 +1,217 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.dto.IntIntMap;
+import com.github.pcimcioch.protobuf.dto.IntLongMap;
+import com.github.pcimcioch.protobuf.dto.LongIntMap;
+import com.github.pcimcioch.protobuf.dto.LongLongMap;
+import com.github.pcimcioch.protobuf.dto.StringIntMap;
+import com.github.pcimcioch.protobuf.dto.StringLongMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MapTest {
+
+    @Test
+    void defaultValues() {
+        // when
+        MapRecord model = MapRecord.empty();
+
+        // then
+        assertThat(model.int32ToInt32()).isEmpty();
+        assertThat(model.sint32ToInt64()).isEmpty();
+        assertThat(model.int64ToUint32()).isEmpty();
+        assertThat(model.fixed64ToSfixed64()).isEmpty();
+        assertThat(model.stringToFixed32()).isEmpty();
+        assertThat(model.stringToSint64()).isEmpty();
+        assertThat(model.isEmpty()).isTrue();
+        assertThat(model.protobufSize()).isEqualTo(0);
+    }
+
+    @Test
+    void nullValues() {
+        // when
+        MapRecord model = new MapRecord(null, null, null, null, null, null);
+
+        // then
+        assertThat(model).isEqualTo(MapRecord.empty());
+    }
+
+    @Test
+    void builderPut() {
+        // when
+        MapRecord model = MapRecord.builder()
+                .putInt32ToInt32(1, 10)
+                .putSint32ToInt64(-2, 20L)
+                .putInt64ToUint32(3L, 30)
+                .putFixed64ToSfixed64(4L, -40L)
+                .putStringToFixed32("five", 50)
+                .putStringToSint64("six", -60L)
+                .build();
+
+        // then
+        assertThat(model.int32ToInt32()).containsExactly(Map.entry(1, 10));
+        assertThat(model.sint32ToInt64()).containsExactly(Map.entry(-2, 20L));
+        assertThat(model.int64ToUint32()).containsExactly(Map.entry(3L, 30));
+        assertThat(model.fixed64ToSfixed64()).containsExactly(Map.entry(4L, -40L));
+        assertThat(model.stringToFixed32()).containsExactly(Map.entry("five", 50));
+        assertThat(model.stringToSint64()).containsExactly(Map.entry("six", -60L));
+        assertThat(model.isEmpty()).isFalse();
+    }
+
+    @Test
+    void duplicatedKeys() {
+        // when
+        MapRecord model = MapRecord.builder()
+                .putInt32ToInt32(1, 10)
+                .putInt32ToInt32(2, 20)
+                .putInt32ToInt32(1, 11)
+                .putStringToFixed32("a", 1)
+                .putStringToFixed32("b", 2)
+                .putStringToFixed32("a", 3)
+                .build();
+
+        // then
+        assertThat(model.int32ToInt32()).containsExactly(Map.entry(1, 11), Map.entry(2, 20));
+        assertThat(model.stringToFixed32()).containsExactly(Map.entry("a", 3), Map.entry("b", 2));
+    }
+
+    @Test
+    void primitiveLookups() {
+        // given
+        IntLongMap.Builder builder = IntLongMap.builder();
+        for (int i = 0; i < 1000; i++) {
+            builder.put(i * 7, i * 100L);
+        }
+        IntLongMap map = builder.build();
+
+        // when then
+        assertThat(map.size()).isEqualTo(1000);
+        assertThat(map.getLong(7 * 500)).isEqualTo(50000L);
+        assertThat(map.getLong(3)).isEqualTo(0L);
+        assertThat(map.getLongOrDefault(3, -1L)).isEqualTo(-1L);
+        assertThat(map.containsKey(7 * 999)).isTrue();
+        assertThat(map.containsKey(8)).isFalse();
+        assertThat(map.indexOf(14)).isEqualTo(2);
+        assertThat(map.keyAt(2)).isEqualTo(14);
+        assertThat(map.valueAt(2)).isEqualTo(200L);
+        assertThat(map.indexOf(15)).isEqualTo(-1);
+    }
+
+    @Test
+    void positionOutOfRange() {
+        // given
+        IntIntMap map = IntIntMap.copyOf(Map.of(1, 2));
+
+        // when then
+        assertThatThrownBy(() -> map.keyAt(1))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> map.valueAt(-1))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void equalToJavaMaps() {
+        // given
+        Map<String, Long> expected = new HashMap<>();
+        expected.put("a", 1L);
+        expected.put("b", 2L);
+        expected.put("c", 3L);
+
+        // when
+        StringLongMap map = StringLongMap.copyOf(expected);
+
+        // then
+        assertThat(map).isEqualTo(expected);
+        assertThat(expected).isEqualTo(map);
+        assertThat(map.hashCode()).isEqualTo(expected.hashCode());
+    }
+
+    @Test
+    void nullStringKey() {
+        // given
+        StringIntMap.Builder builder = StringIntMap.builder();
+
+        // when
+        builder.put(null, 5);
+
+        // then
+        assertThat(builder.build()).containsExactly(Map.entry("", 5));
+    }
+
+    @Test
+    void builderSetterOverrides() {
+        // when
+        MapRecord model = MapRecord.builder()
+                .putInt32ToInt32(1, 10)
+                .int32ToInt32(IntIntMap.copyOf(Map.of(2, 20)))
+                .putInt64ToUint32(1L, 10)
+                .int64ToUint32(null)
+                .build();
+
+        // then
+        assertThat(model.int32ToInt32()).containsExactly(Map.entry(2, 20));
+        assertThat(model.int64ToUint32()).isEmpty();
+    }
+
+    @Test
+    void builderPutAll() {
+        // when
+        MapRecord model = MapRecord.builder()
+                .putFixed64ToSfixed64(1L, 10L)
+                .putAllFixed64ToSfixed64(LongLongMap.copyOf(Map.of(1L, 11L, 2L, 20L)))
+                .build();
+
+        // then
+        assertThat(model.fixed64ToSfixed64()).containsOnly(Map.entry(1L, 11L), Map.entry(2L, 20L));
+    }
+
+    @Test
+    void merge() {
+        // given
+        MapRecord first = MapRecord.builder()
+                .putInt32ToInt32(1, 10)
+                .putInt32ToInt32(2, 20)
+                .putSint32ToInt64(1, 10L)
+                .build();
+        MapRecord second = MapRecord.builder()
+                .putInt32ToInt32(2, 21)
+                .putInt32ToInt32(3, 30)
+                .putInt64ToUint32(1L, 10)
+                .build();
+
+        // when
+        MapRecord merged = first.merge(second);
+
+        // then
+        assertThat(merged.int32ToInt32()).containsExactly(Map.entry(1, 10), Map.entry(2, 21), Map.entry(3, 30));
+        assertThat(merged.sint32ToInt64()).containsExactly(Map.entry(1, 10L));
+        assertThat(merged.int64ToUint32()).containsExactly(Map.entry(1L, 10));
+    }
+
+    @Test
+    void outputMapIsImmutable() {
+        // given
+        MapRecord model = MapRecord.builder()
+                .putStringToSint64("a", 1L)
+                .build();
+
+        // when then
+        assertThatThrownBy(() -> model.stringToSint64().put("b", 2L))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(model.stringToSint64()).containsExactly(Map.entry("a", 1L));
+    }
+
+    @Test
+    void copyOfSameTypeReturnsSameInstance() {
+        // given
+        LongIntMap map = LongIntMap.copyOf(Map.of(1L, 1));
+
+        // when then
+        assertThat(LongIntMap.copyOf(map)).isSameAs(map);
+    }
+}
@@ -1,7 +1,10 @@
 package com.protobuf.model;
 
+import com.github.pcimcioch.protobuf.io.ProtobufReader;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+
 import static com.protobuf.ByteUtils.ba;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -109,4 +112,116 @@ class MergeTest {
                 )
         ));
     }
+
+    @Test
+    void mergeFromBytes() throws IOException {
+        // given
+        OtherMessageRecord base = new OtherMessageRecord(
+                "test",
+                10,
+                null,
+                new OtherMessageWork(
+                        new OtherMessageAddress("Test", 20),
+                        "Work",
+                        1999
+                )
+        );
+        OtherMessageRecord toMerge = new OtherMessageRecord(
+                "test2",
+                0,
+                new OtherMessageAddress("Sun Street", 100),
+                new OtherMessageWork(
+                        new OtherMessageAddress("", 200),
+                        "",
+                        2022
+                )
+        );
+
+        // when
+        OtherMessageRecord merged = base.toBuilder()
+                .mergeFrom(new ProtobufReader(toMerge.toByteArray()))
+                .build();
+
+        // then
+        assertThat(merged).isEqualTo(base.merge(toMerge));
+    }
+
+    @Test
+    void builderMergeSubMessageAfterDecoding() throws IOException {
+        // given
+        OtherMessageRecord decoded = new OtherMessageRecord(
+                "test",
+                10,
+                new OtherMessageAddress("Test", 20),
+                null
+        );
+
+        // when
+        OtherMessageRecord merged = OtherMessageRecord.builder()
+                .mergeFrom(new ProtobufReader(decoded.toByteArray()))
+                .mergeAddress(new OtherMessageAddress("", 30))
+                .mergeWork(new OtherMessageWork(null, "Work", 0))
+                .build();
+
+        // then
+        assertThat(merged).isEqualTo(new OtherMessageRecord(
+                "test",
+                10,
+                new OtherMessageAddress("Test", 30),
+                new OtherMessageWork(null, "Work", 0)
+        ));
+    }
+
+    @Test
+    void builderSetSubMessageAfterDecoding() throws IOException {
+        // given
+        OtherMessageRecord decoded = new OtherMessageRecord(
+                "test",
+                10,
+                new OtherMessageAddress("Test", 20),
+                null
+        );
+
+        // when
+        OtherMessageRecord merged = OtherMessageRecord.builder()
+                .mergeFrom(new ProtobufReader(decoded.toByteArray()))
+                .address(new OtherMessageAddress("Other", 0))
+                .build();
+
+        // then
+        assertThat(merged).isEqualTo(new OtherMessageRecord(
+                "test",
+                10,
+                new OtherMessageAddress("Other", 0),
+                null
+        ));
+    }
+
+    @Test
+    void builderResetAfterDecoding() throws IOException {
+        // given
+        OtherMessageRecord decoded = new OtherMessageRecord(
+                "test",
+                10,
+                new OtherMessageAddress("Test", 20),
+                null
+        );
+        OtherMessageRecord.Builder builder = OtherMessageRecord.builder()
+                .mergeFrom(new ProtobufReader(decoded.toByteArray()))
+                .mergeAddress(new OtherMessageAddress("", 30));
+
+        // when
+        OtherMessageRecord reset = builder
+                .reset()
+                .mergeAddress(new OtherMessageAddress("Other", 0))
+                .build();
+
+        // then
+        assertThat(reset).isEqualTo(new OtherMessageRecord(
+                "",
+                0,
+                new OtherMessageAddress("Other", 0),
+                null
+        ));
+    }
 }
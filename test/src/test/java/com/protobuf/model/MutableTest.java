@@ -0,0 +1,214 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.dto.ObjectList;
+import com.github.pcimcioch.protobuf.io.ProtobufReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static com.protobuf.model.RepeatableEnum.SECOND;
+import static com.protobuf.model.RepeatableEnum.THIRD;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MutableTest {
+
+    @Test
+    void defaultValues() {
+        // when
+        OtherMessageRecord.Mutable model = new OtherMessageRecord.Mutable();
+
+        // then
+        assertThat(model.name()).isEmpty();
+        assertThat(model.age()).isEqualTo(0);
+        assertThat(model.hasAddress()).isFalse();
+        assertThat(model.address()).isNull();
+        assertThat(model.toImmutable()).isEqualTo(OtherMessageRecord.empty());
+    }
+
+    @Test
+    void setters() {
+        // when
+        OtherMessageRecord.Mutable model = new OtherMessageRecord.Mutable()
+                .name("test")
+                .age(10);
+        model.mutableAddress().street("Test").number(20);
+
+        // then
+        assertThat(model.toImmutable()).isEqualTo(new OtherMessageRecord(
+                "test",
+                10,
+                new OtherMessageAddress("Test", 20),
+                null
+        ));
+    }
+
+    @Test
+    void enumSetters() {
+        // when
+        SimpleEnumMessage.Mutable model = new SimpleEnumMessage.Mutable()
+                .order(SimpleEnum.SECOND);
+
+        // then
+        assertThat(model.orderValue()).isEqualTo(1);
+        assertThat(model.order()).isEqualTo(SimpleEnum.SECOND);
+    }
+
+    @Test
+    void parseInto() throws IOException {
+        // given
+        OtherMessageRecord record = new OtherMessageRecord(
+                "test",
+                10,
+                new OtherMessageAddress("Test", 20),
+                new OtherMessageWork(null, "Work", 2022)
+        );
+
+        // when
+        OtherMessageRecord.Mutable model = new OtherMessageRecord.Mutable()
+                .parseInto(new ProtobufReader(record.toByteArray()));
+
+        // then
+        assertThat(model.name()).isEqualTo("test");
+        assertThat(model.address().street()).isEqualTo("Test");
+        assertThat(model.work().hasAddress()).isFalse();
+        assertThat(model.toImmutable()).isEqualTo(record);
+    }
+
+    @Test
+    void parseIntoOverwritesPreviousValues() throws IOException {
+        // given
+        OtherMessageRecord first = new OtherMessageRecord(
+                "first",
+                10,
+                new OtherMessageAddress("Test", 20),
+                new OtherMessageWork(null, "Work", 2022)
+        );
+        OtherMessageRecord second = new OtherMessageRecord(
+                "",
+                11,
+                new OtherMessageAddress("", 21),
+                null
+        );
+        OtherMessageRecord.Mutable model = new OtherMessageRecord.Mutable()
+                .parseInto(new ProtobufReader(first.toByteArray()));
+        OtherMessageAddress.Mutable address = model.address();
+
+        // when
+        model.parseInto(new ProtobufReader(second.toByteArray()));
+
+        // then
+        assertThat(model.toImmutable()).isEqualTo(second);
+        assertThat(model.address()).isSameAs(address);
+        assertThat(model.hasWork()).isFalse();
+    }
+
+    @Test
+    void parseIntoRepeated() throws IOException {
+        // given
+        RepeatablePacked first = RepeatablePacked.builder()
+                .addDoubles(10d)
+                .addDoubles(11d)
+                .addInt32s(30)
+                .addBools(true)
+                .addOrders(SECOND)
+                .build();
+        RepeatablePacked second = RepeatablePacked.builder()
+                .addInt32s(31)
+                .addOrders(THIRD)
+                .build();
+        RepeatablePacked.Mutable model = new RepeatablePacked.Mutable();
+        ProtobufReader reader = new ProtobufReader(first.toByteArray());
+
+        // when
+        model.parseInto(reader);
+        RepeatablePacked firstParsed = model.toImmutable();
+        model.parseInto(reader.reset(second.toByteArray()));
+        RepeatablePacked secondParsed = model.toImmutable();
+
+        // then
+        assertThat(firstParsed).isEqualTo(first);
+        assertThat(secondParsed).isEqualTo(second);
+        assertThat(model.int32s().size()).isEqualTo(1);
+        assertThat(model.int32s().getInt(0)).isEqualTo(31);
+        assertThat(model.orders().get(0)).isEqualTo(THIRD);
+    }
+
+    @Test
+    void parseIntoRepeatedMessages() throws IOException {
+        // given
+        RepeatableOtherWork first = new RepeatableOtherWork(ObjectList.of(
+                new RepeatableOtherAddress("first", 1),
+                new RepeatableOtherAddress("second", 2)
+        ));
+        RepeatableOtherWork second = new RepeatableOtherWork(ObjectList.of(
+                new RepeatableOtherAddress("", 3)
+        ));
+        RepeatableOtherWork.Mutable model = new RepeatableOtherWork.Mutable()
+                .parseInto(new ProtobufReader(first.toByteArray()));
+        RepeatableOtherAddress.Mutable address = model.addresses().get(0);
+
+        // when
+        model.parseInto(new ProtobufReader(second.toByteArray()));
+
+        // then
+        assertThat(model.addresses().size()).isEqualTo(1);
+        assertThat(model.addresses().get(0)).isSameAs(address);
+        assertThat(model.toImmutable()).isEqualTo(second);
+    }
+
+    @Test
+    void parseIntoMaps() throws IOException {
+        // given
+        MapRecord record = MapRecord.builder()
+                .putInt32ToInt32(1, 10)
+                .putStringToSint64("a", -1L)
+                .build();
+
+        // when
+        MapRecord.Mutable model = new MapRecord.Mutable()
+                .parseInto(new ProtobufReader(record.toByteArray()));
+
+        // then
+        assertThat(model.toImmutable()).isEqualTo(record);
+    }
+
+    @Test
+    void parseIntoSelfReference() throws IOException {
+        // given
+        SelfReference record = new SelfReference(1, new SelfReference(2, new SelfReference(3, null)));
+
+        // when
+        SelfReference.Mutable model = new SelfReference.Mutable()
+                .parseInto(new ProtobufReader(record.toByteArray()));
+
+        // then
+        assertThat(model.next().next().value()).isEqualTo(3);
+        assertThat(model.next().next().hasNext()).isFalse();
+        assertThat(model.toImmutable()).isEqualTo(record);
+    }
+
+    @Test
+    void mergeFrom() throws IOException {
+        // given
+        OtherMessageRecord base = new OtherMessageRecord(
+                "test",
+                10,
+                new OtherMessageAddress("Test", 20),
+                null
+        );
+        OtherMessageRecord toMerge = new OtherMessageRecord(
+                "",
+                11,
+                new OtherMessageAddress("", 30),
+                null
+        );
+
+        // when
+        OtherMessageRecord.Mutable model = new OtherMessageRecord.Mutable()
+                .parseInto(new ProtobufReader(base.toByteArray()))
+                .mergeFrom(new ProtobufReader(toMerge.toByteArray()));
+
+        // then
+        assertThat(model.toImmutable()).isEqualTo(base.merge(toMerge));
+    }
+}
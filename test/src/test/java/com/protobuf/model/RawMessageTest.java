@@ -0,0 +1,135 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.dto.LongList;
+import com.github.pcimcioch.protobuf.dto.ObjectList;
+import com.github.pcimcioch.protobuf.dto.RawMessage;
+import com.github.pcimcioch.protobuf.io.ProtobufReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RawMessageTest {
+    private static final GatewayPayload PAYLOAD = GatewayPayload.builder()
+            .name("payload")
+            .values(LongList.of(1L, -1L, 300L))
+            .notes(ObjectList.of("first", "second"))
+            .build();
+    private static final GatewayPayload ATTACHMENT = GatewayPayload.builder()
+            .name("attachment")
+            .build();
+
+    @Test
+    void readRaw() throws IOException {
+        // given
+        byte[] data = parsedEnvelope().toByteArray();
+
+        // when
+        RawEnvelope envelope = RawEnvelope.parse(data);
+
+        // then
+        assertThat(envelope.route()).isEqualTo("route");
+        assertThat(envelope.hops()).isEqualTo(3);
+        assertThat(envelope.payload().toByteArray()).isEqualTo(PAYLOAD.toByteArray());
+        assertThat(envelope.payload().parse()).isEqualTo(PAYLOAD);
+        assertThat(envelope.attachments()).hasSize(2);
+        assertThat(envelope.attachments().get(1).parse()).isEqualTo(ATTACHMENT);
+        assertThat(envelope.protobufSize()).isEqualTo(data.length);
+    }
+
+    @Test
+    void forward() throws IOException {
+        // given
+        RawEnvelope envelope = RawEnvelope.parse(parsedEnvelope().toByteArray());
+
+        // when
+        RawEnvelope forwarded = envelope.toBuilder()
+                .route("next")
+                .hops(envelope.hops() + 1)
+                .build();
+
+        // then
+        ParsedEnvelope expected = parsedEnvelope().toBuilder()
+                .route("next")
+                .hops(4)
+                .build();
+        assertThat(forwarded.toByteArray()).isEqualTo(expected.toByteArray());
+        assertThat(ParsedEnvelope.parse(forwarded.toByteArray())).isEqualTo(expected);
+    }
+
+    @Test
+    void writeRaw() throws IOException {
+        // given
+        RawEnvelope envelope = RawEnvelope.builder()
+                .route("route")
+                .hops(3)
+                .payload(RawMessage.of(PAYLOAD, GatewayPayload::parse))
+                .addAttachments(RawMessage.of(ATTACHMENT, GatewayPayload::parse))
+                .addAttachments(RawMessage.fromByteArray(ATTACHMENT.toByteArray(), GatewayPayload::parse))
+                .build();
+
+        // when
+        byte[] data = envelope.toByteArray();
+
+        // then
+        assertThat(data).isEqualTo(parsedEnvelope().toByteArray());
+        assertThat(RawEnvelope.parse(data)).isEqualTo(envelope);
+    }
+
+    @Test
+    void mergeRepeatedOccurrences() throws IOException {
+        // given
+        GatewayPayload first = GatewayPayload.builder().name("first").addValues(1L).build();
+        GatewayPayload second = GatewayPayload.builder().addValues(2L).addNotes("note").build();
+        byte[] data = concat(
+                ParsedEnvelope.builder().payload(first).build().toByteArray(),
+                ParsedEnvelope.builder().payload(second).build().toByteArray()
+        );
+
+        // when
+        RawEnvelope envelope = RawEnvelope.parse(data);
+        RawEnvelope merged = RawEnvelope.builder()
+                .payload(RawMessage.of(first, GatewayPayload::parse))
+                .mergePayload(RawMessage.of(second, GatewayPayload::parse))
+                .build();
+        RawEnvelope.Mutable mutable = new RawEnvelope.Mutable().parseInto(new ProtobufReader(data));
+
+        // then
+        GatewayPayload expected = first.merge(second);
+        assertThat(envelope.payload().parse()).isEqualTo(expected);
+        assertThat(merged).isEqualTo(envelope);
+        assertThat(mutable.toImmutable()).isEqualTo(envelope);
+    }
+
+    @Test
+    void emptyPayload() throws IOException {
+        // when
+        RawEnvelope envelope = RawEnvelope.builder()
+                .payload(RawMessage.empty(GatewayPayload::parse))
+                .build();
+
+        // then
+        assertThat(envelope.payload().isEmpty()).isTrue();
+        assertThat(envelope.payload().parse()).isEqualTo(GatewayPayload.empty());
+        assertThat(envelope).isEqualTo(RawEnvelope.empty());
+        assertThat(envelope.toByteArray()).isEmpty();
+    }
+
+    private static ParsedEnvelope parsedEnvelope() {
+        return ParsedEnvelope.builder()
+                .route("route")
+                .hops(3)
+                .payload(PAYLOAD)
+                .addAttachments(ATTACHMENT)
+                .addAttachments(ATTACHMENT)
+                .build();
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = new byte[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
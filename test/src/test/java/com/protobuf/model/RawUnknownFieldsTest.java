@@ -0,0 +1,126 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.dto.LongList;
+import com.github.pcimcioch.protobuf.io.ProtobufReader;
+import com.github.pcimcioch.protobuf.io.UnknownField.BytesField;
+import com.github.pcimcioch.protobuf.io.UnknownField.I32Field;
+import com.github.pcimcioch.protobuf.io.UnknownField.I64Field;
+import com.github.pcimcioch.protobuf.io.UnknownField.VarintField;
+import com.github.pcimcioch.protobuf.io.UnknownFields;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static com.protobuf.ByteUtils.ba;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RawUnknownFieldsTest {
+
+    @Test
+    void defaultValues() {
+        // when
+        RawUnknownFieldsRecord model = RawUnknownFieldsRecord.empty();
+
+        // then
+        assertThat(model.amount()).isEqualTo(0);
+        assertThat(model.unknownFields().isEmpty()).isTrue();
+        assertThat(model.protobufSize()).isEqualTo(0);
+    }
+
+    @Test
+    void passThrough() throws IOException {
+        // given
+        byte[] source = source().toByteArray();
+
+        // when
+        RawUnknownFieldsRecord model = RawUnknownFieldsRecord.parse(source);
+
+        // then
+        assertThat(model.amount()).isEqualTo(10);
+        assertThat(model.unknownFields().protobufSize()).isEqualTo(source.length - 2);
+        assertThat(model.protobufSize()).isEqualTo(source.length);
+        assertThat(model.toByteArray()).isEqualTo(source);
+        assertThat(RawUnknownFieldsSource.parse(model.toByteArray())).isEqualTo(source());
+    }
+
+    @Test
+    void decodeOnDemand() throws IOException {
+        // given
+        RawUnknownFieldsRecord model = RawUnknownFieldsRecord.parse(source().toByteArray());
+
+        // when then
+        assertThat(model.unknownFields().fields()).containsExactly(
+                new BytesField(2, ba('n', 'a', 'm', 'e')),
+                new I32Field(3, 7),
+                new I64Field(4, Double.doubleToLongBits(0.5)),
+                new VarintField(5, 2L),
+                new VarintField(5, 1L)
+        );
+    }
+
+    @Test
+    void builder() throws IOException {
+        // when
+        RawUnknownFieldsRecord model = RawUnknownFieldsRecord.builder()
+                .amount(10)
+                .addUnknownFields(new BytesField(2, ba('n', 'a', 'm', 'e')))
+                .addUnknownFields(new I32Field(3, 7))
+                .addAllUnknownFields(UnknownFields.of(
+                        new I64Field(4, Double.doubleToLongBits(0.5)),
+                        new VarintField(5, 2L),
+                        new VarintField(5, 1L)
+                ))
+                .build();
+
+        // then
+        assertThat(model.toByteArray()).isEqualTo(source().toByteArray());
+        assertThat(model).isEqualTo(RawUnknownFieldsRecord.parse(source().toByteArray()));
+    }
+
+    @Test
+    void merge() throws IOException {
+        // given
+        RawUnknownFieldsRecord first = RawUnknownFieldsRecord.builder()
+                .amount(1)
+                .addUnknownFields(new VarintField(5, 2L))
+                .build();
+        RawUnknownFieldsRecord second = RawUnknownFieldsRecord.builder()
+                .addUnknownFields(new I32Field(3, 7))
+                .build();
+
+        // when
+        RawUnknownFieldsRecord merged = first.merge(second);
+
+        // then
+        assertThat(merged.amount()).isEqualTo(1);
+        assertThat(merged.unknownFields().fields()).containsExactly(
+                new VarintField(5, 2L),
+                new I32Field(3, 7)
+        );
+    }
+
+    @Test
+    void mutableReusesBuffer() throws IOException {
+        // given
+        RawUnknownFieldsRecord.Mutable model = new RawUnknownFieldsRecord.Mutable();
+        byte[] source = source().toByteArray();
+
+        // when
+        model.parseInto(new ProtobufReader(new byte[]{0x08, 0x01, 0x30, 0x02}));
+        model.parseInto(new ProtobufReader(source));
+
+        // then
+        assertThat(model.toImmutable().toByteArray()).isEqualTo(source);
+        assertThat(model.unknownFields().build().fields()).hasSize(5);
+    }
+
+    private static RawUnknownFieldsSource source() {
+        return RawUnknownFieldsSource.builder()
+                .amount(10)
+                .name("name")
+                .code(7)
+                .ratio(0.5)
+                .values(LongList.of(1L, -1L))
+                .build();
+    }
+}
@@ -125,6 +125,53 @@ class RepeatableEnumTest {
         assertThat(model.protobufSize()).isEqualTo(6);
     }
 
+    @Test
+    void narrowValues() {
+        // when
+        RepeatableEnumMessage model = RepeatableEnumMessage.builder()
+                .ordersValue(List.of(0, 255, 2))
+                .build();
+
+        // then
+        assertThat(model.ordersValue().isCompact()).isTrue();
+        assertThat(model.ordersValue()).isEqualTo(List.of(0, 255, 2));
+        assertThat(model.orders()).containsExactly(FIRST, UNRECOGNIZED, THIRD);
+    }
+
+    @Test
+    void wideUnknownValues() {
+        // when
+        RepeatableEnumMessage model = RepeatableEnumMessage.builder()
+                .ordersValue(List.of(0, 70_000, -1))
+                .build();
+
+        // then
+        assertThat(model.ordersValue().isCompact()).isFalse();
+        assertThat(model.ordersValue()).isEqualTo(List.of(0, 70_000, -1));
+        assertThat(model.orders()).containsExactly(FIRST, UNRECOGNIZED, UNRECOGNIZED);
+    }
+
+    @Test
+    void resolvedList() {
+        // given
+        RepeatableEnumMessage model = RepeatableEnumMessage.builder()
+                .ordersValue(List.of(0, 10, 2))
+                .build();
+
+        // when
+        EnumList<RepeatableEnum> resolved = model.orders().resolved();
+
+        // then
+        assertThat(model.orders().isResolved()).isFalse();
+        assertThat(resolved.isResolved()).isTrue();
+        assertThat(resolved.resolved()).isSameAs(resolved);
+        assertThat(resolved).containsExactly(FIRST, UNRECOGNIZED, THIRD);
+        assertThat(resolved).isEqualTo(model.orders());
+        assertThat(resolved.valuesList()).isEqualTo(List.of(0, 10, 2));
+        assertThatThrownBy(() -> resolved.get(3))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
     @Test
     void setUnknown() {
         // when
@@ -5,6 +5,7 @@ import com.github.pcimcioch.protobuf.dto.DoubleList;
 import com.github.pcimcioch.protobuf.dto.EnumList;
 import com.github.pcimcioch.protobuf.dto.FloatList;
 import com.github.pcimcioch.protobuf.dto.IntList;
+import com.github.pcimcioch.protobuf.dto.ListStorage;
 import com.github.pcimcioch.protobuf.dto.LongList;
 import org.junit.jupiter.api.Test;
 
@@ -200,6 +201,75 @@ class RepeatablePackedTest {
         assertThat(model.protobufSize()).isEqualTo(8);
     }
 
+    @Test
+    void builderReusedAfterBuild() {
+        // given
+        RepeatablePacked.Builder modelBuilder = RepeatablePacked.builder()
+                .addDoubles(10d)
+                .addOrders(SECOND);
+        RepeatablePacked first = modelBuilder.build();
+
+        // when
+        RepeatablePacked second = modelBuilder
+                .addDoubles(11d)
+                .addOrders(THIRD)
+                .build();
+
+        // then
+        assertThat(first.doubles()).containsExactly(10d);
+        assertThat(first.orders()).containsExactly(SECOND);
+        assertThat(second.doubles()).containsExactly(10d, 11d);
+        assertThat(second.orders()).containsExactly(SECOND, THIRD);
+    }
+
+    @Test
+    void builderReset() {
+        // given
+        RepeatablePacked.Builder modelBuilder = RepeatablePacked.builder()
+                .addDoubles(10d)
+                .addInt32s(30)
+                .addOrders(SECOND);
+        RepeatablePacked first = modelBuilder.build();
+
+        // when
+        RepeatablePacked empty = modelBuilder.reset().build();
+        RepeatablePacked second = modelBuilder
+                .addInt32s(31)
+                .build();
+
+        // then
+        assertThat(first.doubles()).containsExactly(10d);
+        assertThat(first.int32s()).containsExactly(30);
+        assertThat(first.orders()).containsExactly(SECOND);
+        assertThat(empty).isEqualTo(RepeatablePacked.empty());
+        assertThat(second.doubles()).isEmpty();
+        assertThat(second.int32s()).containsExactly(31);
+        assertThat(second.orders()).isEmpty();
+    }
+
+    @Test
+    void largeListsAreSegmented() {
+        // given
+        RepeatablePacked.Builder modelBuilder = RepeatablePacked.builder();
+        IntList.Builder contiguous = IntList.builder(ListStorage.CONTIGUOUS);
+        for (int i = 0; i < 20_000; i++) {
+            modelBuilder.addInt32s(i);
+            contiguous.add(i);
+        }
+
+        // when
+        RepeatablePacked model = modelBuilder.build();
+        IntList expected = contiguous.build();
+
+        // then
+        assertThat(model.int32s().isSegmented()).isTrue();
+        assertThat(expected.isSegmented()).isFalse();
+        assertThat(model.int32s()).hasSize(20_000);
+        assertThat(model.int32s().getInt(16_384)).isEqualTo(16_384);
+        assertThat(model.int32s()).isEqualTo(expected);
+        assertThat(model.int32s().hashCode()).isEqualTo(expected.hashCode());
+    }
+
     @Test
     void unknownValue() {
         // when
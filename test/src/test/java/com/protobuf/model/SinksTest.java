@@ -0,0 +1,136 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.dto.LongList;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SinksTest {
+
+    @Test
+    void repeatedScalars() throws IOException {
+        // given
+        byte[] data = GatewayPayload.builder()
+                .name("payload")
+                .addValues(10L)
+                .addValues(20L)
+                .addNotes("first")
+                .addNotes("second")
+                .build()
+                .toByteArray();
+        List<Object> values = new ArrayList<>();
+
+        // when
+        GatewayPayload header = GatewayPayload.parse(data, GatewayPayload.sinks()
+                .values(values::add)
+                .notes(values::add));
+
+        // then
+        assertThat(values).containsExactly(10L, 20L, "first", "second");
+        assertThat(header).isEqualTo(GatewayPayload.builder()
+                .name("payload")
+                .build());
+    }
+
+    @Test
+    void packedAndUnpackedScalars() throws IOException {
+        // given
+        byte[] packed = RepeatablePacked.builder()
+                .addDoubles(1d)
+                .addDoubles(2d)
+                .addInt64s(3L)
+                .build()
+                .toByteArray();
+        byte[] unpacked = RepeatableScalar.builder()
+                .addDoubles(4d)
+                .addDoubles(5d)
+                .addInt64s(6L)
+                .build()
+                .toByteArray();
+        List<Object> values = new ArrayList<>();
+
+        // when
+        RepeatablePacked.parse(packed, RepeatablePacked.sinks()
+                .doubles(values::add)
+                .int64s(values::add));
+        RepeatablePacked.parse(unpacked, RepeatablePacked.sinks()
+                .doubles(values::add)
+                .int64s(values::add));
+
+        // then
+        assertThat(values).containsExactly(1d, 2d, 3L, 4d, 5d, 6L);
+    }
+
+    @Test
+    void repeatedMessages() throws IOException {
+        // given
+        GatewayPayload first = GatewayPayload.builder().name("first").addValues(1L).build();
+        GatewayPayload second = GatewayPayload.builder().name("second").addNotes("note").build();
+        byte[] data = ParsedEnvelope.builder()
+                .route("route")
+                .hops(3)
+                .payload(GatewayPayload.builder().name("main").build())
+                .addAttachments(first)
+                .addAttachments(second)
+                .build()
+                .toByteArray();
+        List<GatewayPayload> attachments = new ArrayList<>();
+
+        // when
+        ParsedEnvelope header = ParsedEnvelope.parse(new ByteArrayInputStream(data), ParsedEnvelope.sinks()
+                .attachments(attachments::add));
+
+        // then
+        assertThat(attachments).containsExactly(first, second);
+        assertThat(header).isEqualTo(ParsedEnvelope.builder()
+                .route("route")
+                .hops(3)
+                .payload(GatewayPayload.builder().name("main").build())
+                .build());
+    }
+
+    @Test
+    void enums() throws IOException {
+        // given
+        byte[] data = RepeatableEnumMessage.builder()
+                .addOrders(RepeatableEnum.SECOND)
+                .addOrders(RepeatableEnum.THIRD)
+                .addOrdersValue(10)
+                .build()
+                .toByteArray();
+        List<RepeatableEnum> orders = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+
+        // when
+        RepeatableEnumMessage.parse(data, RepeatableEnumMessage.sinks().orders(orders::add));
+        RepeatableEnumMessage.parse(data, RepeatableEnumMessage.sinks().ordersValue(values::add));
+
+        // then
+        assertThat(orders).containsExactly(RepeatableEnum.SECOND, RepeatableEnum.THIRD, RepeatableEnum.UNRECOGNIZED);
+        assertThat(values).containsExactly(1, 2, 10);
+    }
+
+    @Test
+    void fieldsWithoutSinksAreCollected() throws IOException {
+        // given
+        GatewayPayload payload = GatewayPayload.builder()
+                .name("payload")
+                .addValues(10L)
+                .addNotes("first")
+                .build();
+        List<String> notes = new ArrayList<>();
+
+        // when
+        GatewayPayload header = GatewayPayload.parse(payload.toByteArray(), GatewayPayload.sinks().notes(notes::add));
+
+        // then
+        assertThat(notes).containsExactly("first");
+        assertThat(header.values()).isEqualTo(LongList.of(10L));
+        assertThat(GatewayPayload.parse(payload.toByteArray(), GatewayPayload.sinks())).isEqualTo(payload);
+    }
+}
@@ -0,0 +1,226 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.dto.ByteArray;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamWriterTest {
+
+    @Test
+    void scalars() throws IOException {
+        // given
+        FullRecord expected = FullRecord.builder()
+                .double_(10d)
+                .float_(20f)
+                .int32(30)
+                .int64(40L)
+                .uint32(-50)
+                .uint64(-60L)
+                .sint32(-70)
+                .sint64(-80L)
+                .fixed32(90)
+                .fixed64(100L)
+                .sfixed32(-110)
+                .sfixed64(-120L)
+                .bool(true)
+                .string("text")
+                .bytes(ByteArray.fromByteArray(new byte[]{1, 2}))
+                .build();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        try (FullRecord.StreamWriter writer = FullRecord.streamWriter(output)) {
+            writer.double_(10d)
+                    .float_(20f)
+                    .int32(30)
+                    .int64(40L)
+                    .uint32(-50)
+                    .uint64(-60L)
+                    .sint32(-70)
+                    .sint64(-80L)
+                    .fixed32(90)
+                    .fixed64(100L)
+                    .sfixed32(-110)
+                    .sfixed64(-120L)
+                    .bool(true)
+                    .string("text")
+                    .bytes(ByteArray.fromByteArray(new byte[]{1, 2}));
+        }
+
+        // then
+        assertThat(output.toByteArray()).isEqualTo(expected.toByteArray());
+    }
+
+    @Test
+    void enums() throws IOException {
+        // given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        try (SimpleEnumMessage.StreamWriter writer = SimpleEnumMessage.streamWriter(output)) {
+            writer.order(SimpleEnum.THIRD);
+        }
+
+        // then
+        assertThat(SimpleEnumMessage.parse(output.toByteArray()).order()).isEqualTo(SimpleEnum.THIRD);
+    }
+
+    @Test
+    void repeatedScalars() throws IOException {
+        // given
+        RepeatablePacked expected = RepeatablePacked.builder()
+                .addDoubles(1d)
+                .addDoubles(0d)
+                .addDoubles(2d)
+                .addDoubles(3d)
+                .addBools(false)
+                .addBools(true)
+                .addOrders(RepeatableEnum.FIRST)
+                .addOrdersValue(2)
+                .build();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        try (RepeatablePacked.StreamWriter writer = RepeatablePacked.streamWriter(output)) {
+            writer.addDoubles(1d)
+                    .addDoubles(0d)
+                    .addAllDoubles(List.of(2d, 3d).stream().mapToDouble(Double::doubleValue).iterator())
+                    .addBools(false)
+                    .addBools(true)
+                    .addOrders(RepeatableEnum.FIRST)
+                    .addOrdersValue(2);
+        }
+
+        // then
+        assertThat(RepeatablePacked.parse(output.toByteArray())).isEqualTo(expected);
+    }
+
+    @Test
+    void repeatedObjects() throws IOException {
+        // given
+        RepeatableScalar expected = RepeatableScalar.builder()
+                .addStrings("first")
+                .addStrings("")
+                .addStrings("third")
+                .addStrings("fourth")
+                .build();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        try (RepeatableScalar.StreamWriter writer = RepeatableScalar.streamWriter(output)) {
+            writer.addStrings("first")
+                    .addStrings("")
+                    .addStrings(null)
+                    .addAllStrings(List.of("third", "fourth").iterator());
+        }
+
+        // then
+        assertThat(RepeatableScalar.parse(output.toByteArray())).isEqualTo(expected);
+    }
+
+    @Test
+    void nestedMessages() throws IOException {
+        // given
+        OtherMessageRecord expected = OtherMessageRecord.builder()
+                .name("Tomas")
+                .address(OtherMessageAddress.builder()
+                        .street("Java St.")
+                        .number(12)
+                        .build())
+                .work(OtherMessageWork.builder()
+                        .year(2001)
+                        .address(OtherMessageAddress.builder()
+                                .number(34000)
+                                .build())
+                        .build())
+                .build();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        try (OtherMessageRecord.StreamWriter writer = OtherMessageRecord.streamWriter(output)) {
+            writer.name("Tomas")
+                    .address(OtherMessageAddress.builder()
+                            .street("Java St.")
+                            .number(12)
+                            .build());
+            try (OtherMessageWork.StreamWriter work = writer.startWork()) {
+                work.year(2001);
+                try (OtherMessageAddress.StreamWriter address = work.startAddress()) {
+                    address.number(34000);
+                }
+            }
+        }
+
+        // then
+        assertThat(OtherMessageRecord.parse(output.toByteArray())).isEqualTo(expected);
+    }
+
+    @Test
+    void repeatedMessages() throws IOException {
+        // given
+        RepeatableOtherWork expected = RepeatableOtherWork.builder()
+                .addAddresses(new RepeatableOtherAddress("first", 1))
+                .addAddresses(new RepeatableOtherAddress("second", 2))
+                .addAddresses(new RepeatableOtherAddress("third", 3))
+                .addAddresses(new RepeatableOtherAddress("fourth", 4))
+                .build();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        try (RepeatableOtherWork.StreamWriter writer = RepeatableOtherWork.streamWriter(output)) {
+            writer.addAddresses(new RepeatableOtherAddress("first", 1))
+                    .addAllAddresses(List.of(new RepeatableOtherAddress("second", 2)).iterator());
+            for (int i = 3; i <= 4; i++) {
+                try (RepeatableOtherAddress.StreamWriter address = writer.startAddresses()) {
+                    address.street(i == 3 ? "third" : "fourth").number(i);
+                }
+            }
+        }
+
+        // then
+        assertThat(output.toByteArray()).isEqualTo(expected.toByteArray());
+    }
+
+    @Test
+    void maps() throws IOException {
+        // given
+        MapRecord expected = MapRecord.builder()
+                .putInt32ToInt32(1, 10)
+                .putInt32ToInt32(0, 0)
+                .putStringToSint64("six", -60L)
+                .build();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        try (MapRecord.StreamWriter writer = MapRecord.streamWriter(output)) {
+            writer.putInt32ToInt32(1, 10)
+                    .putInt32ToInt32(0, 0)
+                    .putStringToSint64("six", -60L);
+        }
+
+        // then
+        assertThat(MapRecord.parse(output.toByteArray())).isEqualTo(expected);
+    }
+
+    @Test
+    void manyElements() throws IOException {
+        // given
+        RepeatableScalar.Builder expected = RepeatableScalar.builder();
+        IntStream.range(0, 100_000).forEach(expected::addInt32s);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        try (RepeatableScalar.StreamWriter writer = RepeatableScalar.streamWriter(output)) {
+            writer.addAllInt32s(IntStream.range(0, 100_000).iterator());
+        }
+
+        // then
+        assertThat(RepeatableScalar.parse(output.toByteArray())).isEqualTo(expected.build());
+    }
+}
@@ -0,0 +1,321 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.dto.ByteArray;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VisitorTest {
+
+    @Test
+    void scalars() throws IOException {
+        // given
+        FullRecord record = FullRecord.builder()
+                .double_(10d)
+                .float_(20f)
+                .int32(30)
+                .int64(40L)
+                .uint32(-50)
+                .uint64(-60L)
+                .sint32(-70)
+                .sint64(-80L)
+                .fixed32(90)
+                .fixed64(100L)
+                .sfixed32(-110)
+                .sfixed64(-120L)
+                .bool(true)
+                .string("text")
+                .bytes(ByteArray.fromByteArray(new byte[]{1, 2}))
+                .build();
+        List<Object> values = new ArrayList<>();
+
+        // when
+        FullRecord.visit(record.toByteArray(), new FullRecord.Visitor() {
+            @Override
+            public void onDouble_(double value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onFloat_(float value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onInt32(int value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onInt64(long value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onUint32(int value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onUint64(long value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onSint32(int value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onSint64(long value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onFixed32(int value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onFixed64(long value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onSfixed32(int value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onSfixed64(long value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onBool(boolean value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onString(String value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onBytes(ByteArray value) {
+                values.add(value);
+            }
+        });
+
+        // then
+        assertThat(values).containsExactly(10d, 20f, 30, 40L, -50, -60L, -70, -80L, 90, 100L, -110, -120L, true, "text",
+                ByteArray.fromByteArray(new byte[]{1, 2}));
+    }
+
+    @Test
+    void skippedStrings() throws IOException {
+        // given
+        FullRecord record = FullRecord.builder()
+                .int32(30)
+                .string("text")
+                .build();
+        List<Object> values = new ArrayList<>();
+
+        // when
+        FullRecord.visit(record.toByteArray(), new FullRecord.Visitor() {
+            @Override
+            public void onInt32(int value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onString(String value) {
+                values.add(value);
+            }
+
+            @Override
+            public boolean visitsString() {
+                return false;
+            }
+        });
+
+        // then
+        assertThat(values).containsExactly(30);
+    }
+
+    @Test
+    void repeatedScalars() throws IOException {
+        // given
+        byte[] packed = RepeatablePacked.builder()
+                .addDoubles(1d)
+                .addDoubles(2d)
+                .addOrdersValue(1)
+                .addOrdersValue(5)
+                .build()
+                .toByteArray();
+        byte[] unpacked = RepeatableScalar.builder()
+                .addDoubles(3d)
+                .addDoubles(4d)
+                .build()
+                .toByteArray();
+        List<Object> values = new ArrayList<>();
+
+        // when
+        RepeatablePacked.visit(packed, new RepeatablePacked.Visitor() {
+            @Override
+            public void onDoubles(double value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onOrdersValue(int value) {
+                values.add(value);
+            }
+        });
+        RepeatableScalar.visit(unpacked, new RepeatableScalar.Visitor() {
+            @Override
+            public void onDoubles(double value) {
+                values.add(value);
+            }
+        });
+
+        // then
+        assertThat(values).containsExactly(1d, 2d, 1, 5, 3d, 4d);
+    }
+
+    @Test
+    void nestedMessages() throws IOException {
+        // given
+        OtherMessageRecord record = OtherMessageRecord.builder()
+                .name("Tomas")
+                .address(OtherMessageAddress.builder()
+                        .street("Java St.")
+                        .number(12)
+                        .build())
+                .work(OtherMessageWork.builder()
+                        .year(2001)
+                        .address(OtherMessageAddress.builder()
+                                .number(34000)
+                                .build())
+                        .build())
+                .build();
+        List<Object> values = new ArrayList<>();
+        OtherMessageAddress.Visitor addressVisitor = new OtherMessageAddress.Visitor() {
+            @Override
+            public void onNumber(int value) {
+                values.add(value);
+            }
+        };
+
+        // when
+        OtherMessageRecord.visit(record.toByteArray(), new OtherMessageRecord.Visitor() {
+            @Override
+            public OtherMessageAddress.Visitor enterAddress() {
+                values.add("enter");
+                return addressVisitor;
+            }
+
+            @Override
+            public void exitAddress() {
+                values.add("exit");
+            }
+
+            @Override
+            public void onName(String value) {
+                values.add(value);
+            }
+        });
+
+        // then
+        assertThat(values).containsExactly("Tomas", "enter", 12, "exit");
+    }
+
+    @Test
+    void repeatedMessages() throws IOException {
+        // given
+        RepeatableOtherWork work = RepeatableOtherWork.builder()
+                .addAddresses(new RepeatableOtherAddress("first", 1))
+                .addAddresses(new RepeatableOtherAddress("second", 2))
+                .addAddresses(new RepeatableOtherAddress("third", 3))
+                .build();
+        int[] sum = new int[1];
+        int[] exits = new int[1];
+
+        // when
+        RepeatableOtherWork.visit(work.toByteArray(), new RepeatableOtherWork.Visitor() {
+            @Override
+            public RepeatableOtherAddress.Visitor enterAddresses() {
+                return new RepeatableOtherAddress.Visitor() {
+                    @Override
+                    public void onNumber(int value) {
+                        sum[0] += value;
+                    }
+                };
+            }
+
+            @Override
+            public void exitAddresses() {
+                exits[0]++;
+            }
+        });
+
+        // then
+        assertThat(sum[0]).isEqualTo(6);
+        assertThat(exits[0]).isEqualTo(3);
+    }
+
+    @Test
+    void maps() throws IOException {
+        // given
+        MapRecord record = MapRecord.builder()
+                .putInt32ToInt32(1, 10)
+                .putStringToSint64("six", -60L)
+                .build();
+        List<Object> values = new ArrayList<>();
+
+        // when
+        MapRecord.visit(record.toByteArray(), new MapRecord.Visitor() {
+            @Override
+            public void onInt32ToInt32(int key, int value) {
+                values.add(key);
+                values.add(value);
+            }
+
+            @Override
+            public void onStringToSint64(String key, long value) {
+                values.add(key);
+                values.add(value);
+            }
+        });
+
+        // then
+        assertThat(values).containsExactly(1, 10, "six", -60L);
+    }
+
+    @Test
+    void unknownFields() throws IOException {
+        // given
+        byte[] data = FullRecord.builder()
+                .double_(10d)
+                .int32(30)
+                .string("text")
+                .build()
+                .toByteArray();
+        List<Object> values = new ArrayList<>();
+
+        // when
+        SimpleRecord.visit(data, new SimpleRecord.Visitor() {
+            @Override
+            public void onLatitude(double value) {
+                values.add(value);
+            }
+        });
+
+        // then
+        assertThat(values).isEmpty();
+    }
+}
@@ -0,0 +1,195 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.dto.ByteArray;
+import com.github.pcimcioch.protobuf.io.WireMatcher;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static com.protobuf.ByteUtils.ba;
+import static com.protobuf.ByteUtils.concatenate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WhereTest {
+
+    @Test
+    void noConditions() throws IOException {
+        // when
+        WireMatcher matcher = TelemetryRecord.where().build();
+
+        // then
+        assertThat(matcher.matches(record().toByteArray())).isTrue();
+        assertThat(matcher.matches(new byte[0])).isTrue();
+    }
+
+    @Test
+    void integers() throws IOException {
+        // given
+        byte[] data = record().toByteArray();
+
+        // when then
+        assertThat(TelemetryRecord.where().timestampEquals(1000L).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().timestampEquals(1001L).build().matches(data)).isFalse();
+        assertThat(TelemetryRecord.where().timestampGreaterThan(999L).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().timestampGreaterThan(1000L).build().matches(data)).isFalse();
+        assertThat(TelemetryRecord.where().timestampLessThan(1001L).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().timestampLessThan(1000L).build().matches(data)).isFalse();
+        assertThat(TelemetryRecord.where().offsetEquals(-5).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().offsetLessThan(-4).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().offsetGreaterThan(-5).build().matches(data)).isFalse();
+    }
+
+    @Test
+    void unsignedIntegers() throws IOException {
+        // given
+        byte[] data = record().toBuilder()
+                .priority(-1)
+                .sequence(-1L)
+                .build()
+                .toByteArray();
+
+        // when then
+        assertThat(TelemetryRecord.where().priorityEquals(-1).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().priorityGreaterThan(10).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().priorityLessThan(10).build().matches(data)).isFalse();
+        assertThat(TelemetryRecord.where().sequenceGreaterThan(Long.MAX_VALUE).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().sequenceLessThan(0L).build().matches(data)).isFalse();
+    }
+
+    @Test
+    void floatingPoints() throws IOException {
+        // given
+        byte[] data = record().toByteArray();
+
+        // when then
+        assertThat(TelemetryRecord.where().valueEquals(12.5d).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().valueGreaterThan(12d).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().valueLessThan(12d).build().matches(data)).isFalse();
+        assertThat(TelemetryRecord.where().ratioEquals(0.25f).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().ratioGreaterThan(0.5f).build().matches(data)).isFalse();
+    }
+
+    @Test
+    void equalities() throws IOException {
+        // given
+        byte[] data = record().toByteArray();
+
+        // when then
+        assertThat(TelemetryRecord.where().chunkIdEquals("chunk-a").build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().chunkIdEquals("chunk-b").build().matches(data)).isFalse();
+        assertThat(TelemetryRecord.where().chunkIdEquals("chunk").build().matches(data)).isFalse();
+        assertThat(TelemetryRecord.where().validEquals(true).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().validEquals(false).build().matches(data)).isFalse();
+        assertThat(TelemetryRecord.where().kindEquals(SimpleEnum.SECOND).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().kindValueEquals(2).build().matches(data)).isFalse();
+        assertThat(TelemetryRecord.where().payloadEquals(ba(1, 2, 3)).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().payloadEquals(ba(1, 2)).build().matches(data)).isFalse();
+    }
+
+    @Test
+    void missingFieldsHaveDefaultValues() throws IOException {
+        // given
+        byte[] data = TelemetryRecord.builder()
+                .chunkId("chunk-a")
+                .build()
+                .toByteArray();
+
+        // when then
+        assertThat(TelemetryRecord.where().timestampEquals(0L).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().timestampGreaterThan(0L).build().matches(data)).isFalse();
+        assertThat(TelemetryRecord.where().validEquals(false).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().kindEquals(SimpleEnum.FIRST).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().payloadEquals(ba()).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().chunkIdEquals("").build().matches(new byte[0])).isTrue();
+    }
+
+    @Test
+    void allConditionsMustPass() throws IOException {
+        // given
+        byte[] data = record().toByteArray();
+
+        // when then
+        assertThat(TelemetryRecord.where()
+                .timestampGreaterThan(500L)
+                .timestampLessThan(1500L)
+                .chunkIdEquals("chunk-a")
+                .build()
+                .matches(data)).isTrue();
+        assertThat(TelemetryRecord.where()
+                .timestampGreaterThan(500L)
+                .timestampLessThan(800L)
+                .chunkIdEquals("chunk-a")
+                .build()
+                .matches(data)).isFalse();
+    }
+
+    @Test
+    void lastOccurrenceWins() throws IOException {
+        // given
+        byte[] first = TelemetryRecord.builder().timestamp(1L).build().toByteArray();
+        byte[] second = TelemetryRecord.builder().timestamp(2L).build().toByteArray();
+        byte[] data = concatenate(first, second);
+
+        // when then
+        assertThat(TelemetryRecord.where().timestampEquals(2L).build().matches(data)).isTrue();
+        assertThat(TelemetryRecord.where().timestampEquals(1L).build().matches(data)).isFalse();
+    }
+
+    @Test
+    void filterDelimitedStream() throws IOException {
+        // given
+        ByteArrayOutputStream input = new ByteArrayOutputStream();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (int i = 0; i < 100; i++) {
+            TelemetryRecord record = record().toBuilder()
+                    .timestamp(i)
+                    .chunkId(i % 3 == 0 ? "chunk-a" : "chunk-b")
+                    .payload(ByteArray.fromByteArray(new byte[i * 5]))
+                    .build();
+            writeDelimited(input, record);
+            if (i > 10 && i % 3 == 0) {
+                writeDelimited(expected, record);
+            }
+        }
+        WireMatcher matcher = TelemetryRecord.where()
+                .timestampGreaterThan(10L)
+                .chunkIdEquals("chunk-a")
+                .build();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        long matching = matcher.filterDelimited(new ByteArrayInputStream(input.toByteArray()), output);
+
+        // then
+        assertThat(matching).isEqualTo(30L);
+        assertThat(output.toByteArray()).isEqualTo(expected.toByteArray());
+    }
+
+    private static void writeDelimited(ByteArrayOutputStream output, TelemetryRecord record) throws IOException {
+        byte[] data = record.toByteArray();
+        int length = data.length;
+        while ((length & ~0b01111111) != 0) {
+            output.write((length & 0b01111111) | 0b10000000);
+            length >>>= 7;
+        }
+        output.write(length);
+        output.write(data);
+    }
+
+    private static TelemetryRecord record() {
+        return TelemetryRecord.builder()
+                .timestamp(1000L)
+                .chunkId("chunk-a")
+                .value(12.5d)
+                .offset(-5)
+                .priority(7)
+                .ratio(0.25f)
+                .valid(true)
+                .kind(SimpleEnum.SECOND)
+                .payload(ba(1, 2, 3))
+                .sequence(42L)
+                .build();
+    }
+}
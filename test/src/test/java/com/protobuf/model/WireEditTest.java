@@ -0,0 +1,160 @@
+package com.protobuf.model;
+
+import com.github.pcimcioch.protobuf.dto.ObjectList;
+import com.github.pcimcioch.protobuf.dto.StringIntMap;
+import com.github.pcimcioch.protobuf.io.WireRewriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static com.protobuf.ByteUtils.ba;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WireEditTest {
+
+    @Test
+    void noEdits() throws IOException {
+        // given
+        byte[] data = event().toByteArray();
+
+        // when
+        byte[] rewritten = EditedEvent.edit().build().rewrite(data);
+
+        // then
+        assertThat(rewritten).isEqualTo(data);
+    }
+
+    @Test
+    void setScalars() throws IOException {
+        // given
+        WireRewriter rewriter = EditedEvent.edit()
+                .timestamp(2000L)
+                .tenant("other")
+                .kind(SimpleEnum.THIRD)
+                .build();
+
+        // when
+        byte[] rewritten = rewriter.rewrite(event().toByteArray());
+
+        // then
+        EditedEvent expected = event().toBuilder()
+                .timestamp(2000L)
+                .tenant("other")
+                .kind(SimpleEnum.THIRD)
+                .build();
+        assertThat(EditedEvent.parse(rewritten)).isEqualTo(expected);
+        assertThat(rewritten).isEqualTo(expected.toByteArray());
+    }
+
+    @Test
+    void setMissingField() throws IOException {
+        // given
+        byte[] data = event().toBuilder().timestamp(0L).build().toByteArray();
+
+        // when
+        byte[] rewritten = EditedEvent.edit().timestamp(5L).build().rewrite(data);
+
+        // then
+        assertThat(EditedEvent.parse(rewritten)).isEqualTo(event().toBuilder().timestamp(5L).build());
+    }
+
+    @Test
+    void removeFields() throws IOException {
+        // when
+        byte[] rewritten = EditedEvent.edit()
+                .clearTenant()
+                .clearTags()
+                .clearCounters()
+                .build()
+                .rewrite(event().toByteArray());
+
+        // then
+        assertThat(EditedEvent.parse(rewritten)).isEqualTo(event().toBuilder()
+                .tenant("")
+                .tags(null)
+                .counters(null)
+                .build());
+    }
+
+    @Test
+    void setCollections() throws IOException {
+        // when
+        byte[] rewritten = EditedEvent.edit()
+                .tags(ObjectList.of("x"))
+                .counters(counters("c", 3))
+                .build()
+                .rewrite(event().toByteArray());
+
+        // then
+        assertThat(EditedEvent.parse(rewritten)).isEqualTo(event().toBuilder()
+                .tags(ObjectList.of("x"))
+                .counters(counters("c", 3))
+                .build());
+    }
+
+    @Test
+    void editNested() throws IOException {
+        // when
+        byte[] rewritten = EditedEvent.edit()
+                .editHeader(EditedHeader.edit().tenant("nested tenant"))
+                .build()
+                .rewrite(event().toByteArray());
+
+        // then
+        assertThat(EditedEvent.parse(rewritten)).isEqualTo(event().toBuilder()
+                .header(new EditedHeader("gateway", "nested tenant"))
+                .build());
+    }
+
+    @Test
+    void editMissingNested() throws IOException {
+        // given
+        byte[] data = event().toBuilder().header(null).build().toByteArray();
+
+        // when
+        byte[] rewritten = EditedEvent.edit()
+                .editHeader(EditedHeader.edit().tenant("nested tenant"))
+                .build()
+                .rewrite(data);
+
+        // then
+        assertThat(EditedEvent.parse(rewritten)).isEqualTo(event().toBuilder()
+                .header(new EditedHeader("", "nested tenant"))
+                .build());
+    }
+
+    @Test
+    void replaceRepeatedOccurrences() throws IOException {
+        // given
+        byte[] first = EditedEvent.builder().timestamp(1L).tenant("first").build().toByteArray();
+        byte[] second = EditedEvent.builder().timestamp(2L).build().toByteArray();
+        byte[] data = new byte[first.length + second.length];
+        System.arraycopy(first, 0, data, 0, first.length);
+        System.arraycopy(second, 0, data, first.length, second.length);
+
+        // when
+        byte[] rewritten = EditedEvent.edit().timestamp(3L).build().rewrite(data);
+
+        // then
+        assertThat(rewritten).isEqualTo(EditedEvent.builder().tenant("first").timestamp(3L).build().toByteArray());
+    }
+
+    private static EditedEvent event() {
+        return EditedEvent.builder()
+                .tenant("tenant")
+                .timestamp(1000L)
+                .header(new EditedHeader("gateway", "tenant"))
+                .payload(ba(1, 2, 3, 4))
+                .tags(ObjectList.of("a", "b"))
+                .putCounters("a", 1)
+                .putCounters("b", 2)
+                .kind(SimpleEnum.SECOND)
+                .build();
+    }
+
+    private static StringIntMap counters(String key, int value) {
+        StringIntMap.Builder counters = StringIntMap.builder();
+        counters.put(key, value);
+        return counters.build();
+    }
+}
@@ -0,0 +1,294 @@
+package com.protobuf.serialization;
+
+import com.github.pcimcioch.protobuf.io.ProtobufAssertion;
+import com.github.pcimcioch.protobuf.io.ProtobufEncoder;
+import com.protobuf.model.MapRecord;
+import com.protobuf.model.MapRecordProto;
+import org.assertj.core.api.ThrowingConsumer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static com.github.pcimcioch.protobuf.io.ProtobufAssertion.assertProto;
+import static com.protobuf.ByteUtils.concatenate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MapSerializationTest extends SerializationTestBase {
+
+    @Nested
+    class Serialization {
+
+        @Test
+        void fullObject() throws IOException {
+            // given
+            MapRecord record = MapRecord.builder()
+                    .putInt32ToInt32(1, 10)
+                    .putInt32ToInt32(2, 20)
+                    .putSint32ToInt64(-3, 30L)
+                    .putInt64ToUint32(4L, 40)
+                    .putFixed64ToSfixed64(5L, -50L)
+                    .putStringToFixed32("six", 60)
+                    .putStringToSint64("seven", -70L)
+                    .build();
+
+            // when then
+            assertProto(serialize(record))
+                    .message(1, entry -> entry.int32(1, 1).int32(2, 10).end())
+                    .message(1, entry -> entry.int32(1, 2).int32(2, 20).end())
+                    .message(2, entry -> entry.sint32(1, -3).int64(2, 30L).end())
+                    .message(3, entry -> entry.int64(1, 4L).uint32(2, 40).end())
+                    .message(4, entry -> entry.fixed64(1, 5L).sfixed64(2, -50L).end())
+                    .message(5, entry -> entry.string(1, "six").fixed32(2, 60).end())
+                    .message(6, entry -> entry.string(1, "seven").sint64(2, -70L).end())
+                    .end();
+        }
+
+        @Test
+        void defaultKeysAndValues() throws IOException {
+            // given
+            MapRecord record = MapRecord.builder()
+                    .putInt32ToInt32(0, 10)
+                    .putInt32ToInt32(1, 0)
+                    .putStringToFixed32("", 0)
+                    .build();
+
+            // when then
+            assertProto(serialize(record))
+                    .message(1, entry -> entry.int32(2, 10).end())
+                    .message(1, entry -> entry.int32(1, 1).end())
+                    .message(5, ProtobufAssertion::end)
+                    .end();
+        }
+
+        @Test
+        void emptyObject() throws IOException {
+            // given
+            MapRecord record = MapRecord.empty();
+
+            // when then
+            assertProto(serialize(record))
+                    .end();
+        }
+    }
+
+    @Nested
+    class Deserialization {
+
+        @Test
+        void emptyObject() throws IOException {
+            // given when
+            MapRecord record = deserialize(new byte[0]);
+
+            // then
+            assertThat(record).isEqualTo(MapRecord.empty());
+        }
+
+        @Test
+        void fullObject() throws IOException {
+            // given when
+            MapRecord record = deserialize(writer -> writer
+                    .writeBytes(1, serialize(entry -> entry.writeInt32(1, 1).writeInt32(2, 10)))
+                    .writeBytes(2, serialize(entry -> entry.writeSint32(1, -3).writeInt64(2, 30L)))
+                    .writeBytes(3, serialize(entry -> entry.writeInt64(1, 4L).writeUint32(2, 40)))
+                    .writeBytes(4, serialize(entry -> entry.writeFixed64(1, 5L).writeSfixed64(2, -50L)))
+                    .writeBytes(5, serialize(entry -> entry.writeString(1, "six").writeFixed32(2, 60)))
+                    .writeBytes(6, serialize(entry -> entry.writeString(1, "seven").writeSint64(2, -70L)))
+                    .writeBytes(1, serialize(entry -> entry.writeInt32(1, 2).writeInt32(2, 20)))
+            );
+
+            // then
+            assertThat(record.int32ToInt32()).containsExactly(Map.entry(1, 10), Map.entry(2, 20));
+            assertThat(record.sint32ToInt64()).containsExactly(Map.entry(-3, 30L));
+            assertThat(record.int64ToUint32()).containsExactly(Map.entry(4L, 40));
+            assertThat(record.fixed64ToSfixed64()).containsExactly(Map.entry(5L, -50L));
+            assertThat(record.stringToFixed32()).containsExactly(Map.entry("six", 60));
+            assertThat(record.stringToSint64()).containsExactly(Map.entry("seven", -70L));
+        }
+
+        @Test
+        void missingKeyAndValue() throws IOException {
+            // given when
+            MapRecord record = deserialize(writer -> writer
+                    .writeBytes(1, serialize(entry -> entry.writeInt32(2, 10)))
+                    .writeBytes(1, serialize(entry -> entry.writeInt32(1, 1)))
+                    .writeBytes(5, new byte[0])
+            );
+
+            // then
+            assertThat(record.int32ToInt32()).containsExactly(Map.entry(0, 10), Map.entry(1, 0));
+            assertThat(record.stringToFixed32()).containsExactly(Map.entry("", 0));
+        }
+
+        @Test
+        void reversedEntryFields() throws IOException {
+            // given when
+            MapRecord record = deserialize(writer -> writer
+                    .writeBytes(5, serialize(entry -> entry.writeFixed32(2, 60).writeString(1, "six")))
+            );
+
+            // then
+            assertThat(record.stringToFixed32()).containsExactly(Map.entry("six", 60));
+        }
+
+        @Test
+        void unknownEntryFields() throws IOException {
+            // given when
+            MapRecord record = deserialize(writer -> writer
+                    .writeBytes(1, serialize(entry -> entry
+                            .writeString(3, "unknown")
+                            .writeInt32(1, 1)
+                            .writeFixed64(4, 123L)
+                            .writeInt32(2, 10)))
+            );
+
+            // then
+            assertThat(record.int32ToInt32()).containsExactly(Map.entry(1, 10));
+        }
+
+        @Test
+        void duplicatedKeys() throws IOException {
+            // given when
+            MapRecord record = deserialize(writer -> writer
+                    .writeBytes(1, serialize(entry -> entry.writeInt32(1, 1).writeInt32(2, 10)))
+                    .writeBytes(1, serialize(entry -> entry.writeInt32(1, 2).writeInt32(2, 20)))
+                    .writeBytes(1, serialize(entry -> entry.writeInt32(1, 1).writeInt32(2, 11)))
+            );
+
+            // then
+            assertThat(record.int32ToInt32()).containsExactly(Map.entry(1, 11), Map.entry(2, 20));
+        }
+    }
+
+    @Nested
+    class InternalCompatibility {
+
+        @Test
+        void emptyObject() throws IOException {
+            // given
+            MapRecord record = MapRecord.empty();
+
+            // when
+            MapRecord deserialized = deserialize(serialize(record));
+
+            // then
+            assertThat(deserialized).isEqualTo(record);
+        }
+
+        @Test
+        void fullObject() throws IOException {
+            // given
+            MapRecord record = fullRecord();
+
+            // when
+            MapRecord deserialized = deserialize(serialize(record));
+
+            // then
+            assertThat(deserialized).isEqualTo(record);
+        }
+    }
+
+    @Nested
+    class ExternalCompatibility {
+
+        @Test
+        void emptyObject() throws IOException {
+            // given
+            MapRecord our = MapRecord.empty();
+            MapRecordProto proto = MapRecordProto.newBuilder().build();
+            byte[] ourBytes = our.toByteArray();
+            byte[] protoBytes = proto.toByteArray();
+
+            // when then
+            assertProtoEqual(our, MapRecordProto.parseFrom(ourBytes));
+            assertProtoEqual(MapRecord.parse(protoBytes), proto);
+        }
+
+        @Test
+        void fullObject() throws IOException {
+            // given
+            MapRecord our = fullRecord();
+            MapRecordProto proto = MapRecordProto.newBuilder()
+                    .putInt32ToInt32(1, 10)
+                    .putInt32ToInt32(0, 20)
+                    .putInt32ToInt32(3, 0)
+                    .putSint32ToInt64(-4, 40L)
+                    .putInt64ToUint32(Long.MAX_VALUE, -1)
+                    .putFixed64ToSfixed64(-6L, Long.MIN_VALUE)
+                    .putStringToFixed32("seven", 70)
+                    .putStringToFixed32("", 71)
+                    .putStringToSint64("eight", -80L)
+                    .build();
+            byte[] ourBytes = our.toByteArray();
+            byte[] protoBytes = proto.toByteArray();
+
+            // when then
+            assertProtoEqual(our, MapRecordProto.parseFrom(ourBytes));
+            assertProtoEqual(MapRecord.parse(protoBytes), proto);
+        }
+
+        @Test
+        void merge() throws IOException {
+            // given
+            MapRecord ourBase = MapRecord.builder()
+                    .putInt32ToInt32(1, 10)
+                    .putInt32ToInt32(2, 20)
+                    .putStringToSint64("a", 1L)
+                    .build();
+            MapRecord ourToMerge = MapRecord.builder()
+                    .putInt32ToInt32(2, 21)
+                    .putInt32ToInt32(3, 30)
+                    .build();
+            MapRecordProto protoBase = MapRecordProto.newBuilder()
+                    .putInt32ToInt32(1, 10)
+                    .putInt32ToInt32(2, 20)
+                    .putStringToSint64("a", 1L)
+                    .build();
+            MapRecordProto protoToMerge = MapRecordProto.newBuilder()
+                    .putInt32ToInt32(2, 21)
+                    .putInt32ToInt32(3, 30)
+                    .build();
+            byte[] ourBytes = concatenate(ourBase.toByteArray(), ourToMerge.toByteArray());
+            byte[] protoBytes = concatenate(protoBase.toByteArray(), protoToMerge.toByteArray());
+
+            // when then
+            MapRecord ourExpected = ourBase.merge(ourToMerge);
+            MapRecordProto protoExpected = protoBase.toBuilder().mergeFrom(protoToMerge).build();
+
+            assertProtoEqual(ourExpected, MapRecordProto.parseFrom(ourBytes));
+            assertProtoEqual(MapRecord.parse(protoBytes), protoExpected);
+        }
+
+        private void assertProtoEqual(MapRecord our, MapRecordProto proto) {
+            assertThat(our.int32ToInt32()).isEqualTo(proto.getInt32ToInt32Map());
+            assertThat(our.sint32ToInt64()).isEqualTo(proto.getSint32ToInt64Map());
+            assertThat(our.int64ToUint32()).isEqualTo(proto.getInt64ToUint32Map());
+            assertThat(our.fixed64ToSfixed64()).isEqualTo(proto.getFixed64ToSfixed64Map());
+            assertThat(our.stringToFixed32()).isEqualTo(proto.getStringToFixed32Map());
+            assertThat(our.stringToSint64()).isEqualTo(proto.getStringToSint64Map());
+        }
+    }
+
+    private static MapRecord fullRecord() {
+        return MapRecord.builder()
+                .putInt32ToInt32(1, 10)
+                .putInt32ToInt32(0, 20)
+                .putInt32ToInt32(3, 0)
+                .putSint32ToInt64(-4, 40L)
+                .putInt64ToUint32(Long.MAX_VALUE, -1)
+                .putFixed64ToSfixed64(-6L, Long.MIN_VALUE)
+                .putStringToFixed32("seven", 70)
+                .putStringToFixed32("", 71)
+                .putStringToSint64("eight", -80L)
+                .build();
+    }
+
+    private MapRecord deserialize(ThrowingConsumer<ProtobufEncoder> writerAction) throws IOException {
+        return deserialize(MapRecord::parse, MapRecord::parse, writerAction);
+    }
+
+    private MapRecord deserialize(byte[] data) throws IOException {
+        return deserialize(MapRecord::parse, MapRecord::parse, data);
+    }
+}
@@ -268,6 +268,37 @@ class MessageSerializationTest extends SerializationTestBase {
                     )
             ));
         }
+
+        @Test
+        void manyPartialUpdates() throws IOException {
+            // given when
+            OtherMessageRecord record = deserialize(writer -> {
+                for (int i = 0; i < 100; i++) {
+                    int number = i;
+                    writer.writeBytes(4, serialize(work -> work
+                            .writeBytes(1, serialize(address -> address
+                                    .writeInt32(2, number)
+                            ))
+                    ));
+                }
+                writer.writeBytes(4, serialize(work -> work
+                        .writeBytes(1, serialize(address -> address
+                                .writeString(1, "Test Al.")
+                        ))
+                        .writeString(2, "Work")
+                ));
+            });
+
+            // then
+            assertThat(record).isEqualTo(OtherMessageRecord.builder()
+                    .work(new OtherMessageWork(
+                            new OtherMessageAddress("Test Al.", 99),
+                            "Work",
+                            0
+                    ))
+                    .build()
+            );
+        }
     }
 
     @Nested
@@ -537,6 +537,25 @@ class RepeatablePackedSerializationTest extends SerializationTestBase {
             assertThat(deserialized).isEqualTo(record);
         }
 
+        @Test
+        void largeObject() throws IOException {
+            // given
+            RepeatablePacked.Builder builder = RepeatablePacked.builder();
+            for (int i = 0; i < 40_000; i++) {
+                builder.addDoubles(i).addInt32s(-i).addInt64s(i * 3L);
+            }
+            RepeatablePacked record = builder.build();
+
+            // when
+            RepeatablePacked deserialized = deserialize(serialize(record));
+
+            // then
+            assertThat(deserialized).isEqualTo(record);
+            assertThat(deserialized.int32s().isSegmented()).isTrue();
+            assertThat(deserialized.int32s().getInt(39_999)).isEqualTo(-39_999);
+            assertThat(deserialized.int64s().getLong(16_384)).isEqualTo(49_152L);
+        }
+
         @Test
         void negativeValues() throws IOException {
             // given